@@ -19,9 +19,9 @@
 package info.bioinfweb.libralign.pherogram.provider;
 
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.TreeMap;
 
 import org.biojava.bio.chromatogram.Chromatogram;
 import org.biojava.bio.chromatogram.ChromatogramFactory;
@@ -41,59 +41,151 @@ import org.biojava.bio.symbol.IntegerAlphabet;
  * {@link Chromatogram} instance start with 1. (This class converts the indices accordingly.)
  * <p>
  * Trace indices (x-values) start with 0 in LibrAlign and in BioJava.
+ * <p>
+ * Since methods like {@link #getTraceValue(char, int)} are called very often during painting, the trace curves, 
+ * base calls and base call positions are decoded from the chromatogram into primitive arrays on the first call 
+ * of one of the according methods. Trace curves with up to 16 significant bits are stored as {@code short} arrays. 
+ * Annotations are decoded separately for each label when they are first requested.
  *
  * @author Ben St&ouml;ver
  * @bioinfweb.module info.bioinfweb.libralign.biojava1
  */
 public class BioJavaPherogramProvider implements PherogramProvider {
 	public static final String QUALITY_LABEL_PREFIX = "quality-";
+	
+	private static final char[] TRACE_CURVE_NUCLEOTIDES = {'A', 'C', 'G', 'T'};
+	private static final int[] NO_ANNOTATION = new int[0];
 
 
 	private Chromatogram chromatogram;
-	private Map<Character, AtomicSymbol> traceCurveMap = createTraceCurveMap();
-	private double maxTraceValue = 0;  // Must be double in order to avoid an integer division in normalizeTraceValue().
+	private double normalizationFactor;  // Must be double in order to avoid an integer division in normalizeTraceValue().
+	
+	private volatile boolean decoded = false;
+	private short[][] shortTraces = null;  // Used if all trace values fit into 16 bits. 
+	private int[][] intTraces = null;  // Used otherwise.
+	private double[] maxTraceValues;
+	private char[] baseCalls;
+	private int[] baseCallPositions;
+	private final Map<String, int[]> annotations = new HashMap<String, int[]>();
 
 
 	/**
-	 * Creates a new instance of this class.
+	 * Creates a new instance of this class. The data of {@code chromatogram} is not decoded before it is accessed 
+	 * for the first time.
 	 *
 	 * @param chromatogram - the BioJava pherogram instance
 	 */
 	public BioJavaPherogramProvider(Chromatogram chromatogram) {
 		super();
 		this.chromatogram = chromatogram;
-		maxTraceValue = chromatogram.getMax();
+		normalizationFactor = 1.0 / chromatogram.getMax();
 	}
 
 
-	private static Map<Character, AtomicSymbol> createTraceCurveMap() {
-		Map<Character, AtomicSymbol> result = new TreeMap<Character, AtomicSymbol>();
-		result.put('A', DNATools.a());
-		result.put('T', DNATools.t());
-		result.put('C', DNATools.c());
-		result.put('G', DNATools.g());
-		return result;
+	private static AtomicSymbol symbolByChannel(int channel) {
+		switch (channel) {
+			case 0:
+				return DNATools.a();
+			case 1:
+				return DNATools.c();
+			case 2:
+				return DNATools.g();
+			default:
+				return DNATools.t();
+		}
 	}
-
-
-	private AtomicSymbol symbolByNucleotide(char nucleotide) {
-		return traceCurveMap.get(Character.toUpperCase(nucleotide));
+	
+	
+	private static int channelByNucleotide(char nucleotide) {
+		switch (nucleotide) {
+			case 'A':
+			case 'a':
+				return 0;
+			case 'C':
+			case 'c':
+				return 1;
+			case 'G':
+			case 'g':
+				return 2;
+			case 'T':
+			case 't':
+				return 3;
+			default:
+				throw new IllegalArgumentException("No trace data for the nucleotide " + nucleotide + " is available.");
+		}
+	}
+	
+	
+	/**
+	 * Decodes all trace curves, base calls and base call positions of the underlying chromatogram, if this has not been 
+	 * done before.
+	 */
+	private void ensureDecoded() {
+		if (!decoded) {
+			synchronized (this) {
+				if (!decoded) {
+					try {
+						int traceLength = chromatogram.getTraceLength();
+						boolean useShort = (chromatogram.getSignificantBits() <= 16) && (chromatogram.getMax() <= 0xFFFF);
+						if (useShort) {
+							shortTraces = new short[TRACE_CURVE_NUCLEOTIDES.length][];
+						}
+						else {
+							intTraces = new int[TRACE_CURVE_NUCLEOTIDES.length][];
+						}
+						maxTraceValues = new double[TRACE_CURVE_NUCLEOTIDES.length];
+						for (int channel = 0; channel < TRACE_CURVE_NUCLEOTIDES.length; channel++) {
+							AtomicSymbol symbol = symbolByChannel(channel);
+							int[] trace = chromatogram.getTrace(symbol);
+							if (useShort) {
+								short[] values = new short[traceLength];
+								for (int x = 0; x < traceLength; x++) {
+									values[x] = (short)trace[x];  // Read with "& 0xFFFF" to restore unsigned values.
+								}
+								shortTraces[channel] = values;
+							}
+							else {
+								intTraces[channel] = trace.clone();
+							}
+							maxTraceValues[channel] = normalizeTraceValue(chromatogram.getMax(symbol));
+						}
+						
+						int sequenceLength = chromatogram.getSequenceLength();
+						char[] calls = new char[sequenceLength];
+						int[] positions = new int[sequenceLength];
+						for (int i = 0; i < sequenceLength; i++) {
+							calls[i] = Character.toUpperCase(DNATools.dnaToken(chromatogram.getBaseCalls().symbolAt(Chromatogram.DNA, i + 1)));
+							positions[i] = ((IntegerAlphabet.IntegerSymbol)chromatogram.getBaseCalls().symbolAt(
+									Chromatogram.OFFSETS, i + 1)).intValue();
+						}
+						baseCalls = calls;
+						baseCallPositions = positions;
+					}
+					catch (IllegalSymbolException e) {
+						throw new InternalError("An unexpected internal error occurred. No trace data for the symbol " +
+					      e.getSymbol() + " was found.");
+					}
+					decoded = true;
+				}
+			}
+		}
 	}
 
 
 	private double normalizeTraceValue(int value) {
-		return value / maxTraceValue;
+		return value * normalizationFactor;
 	}
 
 
 	@Override
 	public double getTraceValue(char nucleotide, int x) {
-		try {
-			return normalizeTraceValue(chromatogram.getTrace(symbolByNucleotide(nucleotide))[x]);
+		ensureDecoded();
+		int channel = channelByNucleotide(nucleotide);
+		if (shortTraces != null) {
+			return (shortTraces[channel][x] & 0xFFFF) * normalizationFactor;
 		}
-		catch (IllegalSymbolException e) {
-			throw new InternalError("An unexpected internal error occurred. No trace data for the symbol " +
-		      e.getSymbol() + " was found.");
+		else {
+			return intTraces[channel][x] * normalizationFactor;
 		}
 	}
 
@@ -106,32 +198,22 @@ public class BioJavaPherogramProvider implements PherogramProvider {
 
 	@Override
 	public double getMaxTraceValue(char nucleotide) {
-		try {
-			return normalizeTraceValue(chromatogram.getMax(symbolByNucleotide(nucleotide)));
-		}
-		catch (IllegalSymbolException e) {
-			throw new InternalError("An unexpected internal error occurred. No trace data for the symbol " +
-		      e.getSymbol() + " was found.");
-		}
+		ensureDecoded();
+		return maxTraceValues[channelByNucleotide(nucleotide)];
 	}
 
 
 	@Override
 	public char getBaseCall(int baseIndex) {
-		try {
-			return Character.toUpperCase(DNATools.dnaToken(chromatogram.getBaseCalls().symbolAt(Chromatogram.DNA, baseIndex + 1)));
-		}
-		catch (IllegalSymbolException e) {
-			throw new InternalError("An unexpected internal error occurred. No trace data for the symbol " +
-		      e.getSymbol() + " was found.");
-		}
+		ensureDecoded();
+		return baseCalls[baseIndex];
 	}
 
 
 	@Override
 	public int getBaseCallPosition(int baseIndex) {
-		return ((IntegerAlphabet.IntegerSymbol)chromatogram.getBaseCalls().symbolAt(
-				Chromatogram.OFFSETS, baseIndex + 1)).intValue();
+		ensureDecoded();
+		return baseCallPositions[baseIndex];
 	}
 
 
@@ -139,17 +221,40 @@ public class BioJavaPherogramProvider implements PherogramProvider {
 	public int getQuality(char nucleotide, int baseIndex) {
 		return getAnnotation(QUALITY_LABEL_PREFIX + Character.toLowerCase(nucleotide), baseIndex);
 	}
+	
+	
+	private int[] decodeAnnotation(String label) {
+		int sequenceLength = chromatogram.getSequenceLength();
+		int[] result = new int[sequenceLength];
+		try {
+			for (int i = 0; i < sequenceLength; i++) {
+				result[i] = ((IntegerAlphabet.IntegerSymbol)chromatogram.getBaseCalls().symbolAt(label, i + 1)).intValue();
+			}
+			return result;
+		}
+		catch (NoSuchElementException e) {
+			return NO_ANNOTATION;
+		}
+	}
 
 
 	@Override
 	public int getAnnotation(String label, int baseIndex) {
-		try {
-			return ((IntegerAlphabet.IntegerSymbol)chromatogram.getBaseCalls().symbolAt(
-					label, baseIndex + 1)).intValue();
+		int[] values;
+		synchronized (annotations) {
+			values = annotations.get(label);
+			if (values == null) {
+				values = decodeAnnotation(label);
+				annotations.put(label, values);
+			}
 		}
-		catch (NoSuchElementException e) {
+		
+		if (values == NO_ANNOTATION) {
 			return -1;
 		}
+		else {
+			return values[baseIndex];
+		}
 	}
 
 
@@ -20,18 +20,23 @@ package info.bioinfweb.libralign.pherogram.provider;
 
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
-import java.util.Map;
-import java.util.TreeMap;
 
 import org.biojava.bio.chromatogram.ChromatogramFactory;
 import org.biojava.bio.chromatogram.UnsupportedChromatogramFormatException;
 
 
 
-public class BioJavaPherogramProviderByURL implements PherogramProviderByURL{
+/**
+ * Loads pherograms from URLs using <i>BioJava</i> 1 and shares the resulting {@link BioJavaPherogramProvider}s for
+ * equal URLs as long as they are in use (see {@link AbstractCachingPherogramProviderByURL}).
+ * 
+ * @author Ben St&ouml;ver
+ * @bioinfweb.module info.bioinfweb.libralign.biojava1
+ */
+public class BioJavaPherogramProviderByURL extends AbstractCachingPherogramProviderByURL {
 	private static BioJavaPherogramProviderByURL firstInstance = null;
-	private Map<String, PherogramProvider> pherogramProviderMap = new TreeMap<String, PherogramProvider>();	
 
 	
 	private BioJavaPherogramProviderByURL() {
@@ -39,7 +44,7 @@ public class BioJavaPherogramProviderByURL implements PherogramProviderByURL{
 	}
 	
 	
-	public static BioJavaPherogramProviderByURL getInstance() {
+	public static synchronized BioJavaPherogramProviderByURL getInstance() {
 		if (firstInstance == null) {
 			firstInstance = new BioJavaPherogramProviderByURL();
 		}
@@ -48,20 +53,16 @@ public class BioJavaPherogramProviderByURL implements PherogramProviderByURL{
 	
 
 	@Override
-	public PherogramProvider getPherogramProvider(URL url) throws IOException {
-		PherogramProvider pherogramProvider = null;		
-		if (pherogramProviderMap.get(url.toString()) == null) {
-			try {
-				pherogramProvider = new BioJavaPherogramProvider(ChromatogramFactory.create(url.openStream()));
-			} 
-			catch (UnsupportedChromatogramFormatException e) {
-				throw new IOException(e.getLocalizedMessage(), e);
-			} 
-			pherogramProviderMap.put(url.toString(), pherogramProvider);		
+	protected PherogramProvider loadPherogramProvider(URL url) throws IOException {
+		InputStream stream = url.openStream();
+		try {
+			return new BioJavaPherogramProvider(ChromatogramFactory.create(stream));
+		} 
+		catch (UnsupportedChromatogramFormatException e) {
+			throw new IOException(e.getLocalizedMessage(), e);
 		}
-		else {
-			pherogramProvider = pherogramProviderMap.get(url.toString());
+		finally {
+			stream.close();
 		}
-		return pherogramProvider;
 	}
 }
@@ -27,6 +27,7 @@ import info.bioinfweb.libralign.model.exception.AlignmentSourceNotWritableExcept
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 
 
 
@@ -180,12 +181,7 @@ public class AlignmentActionProvider<T> {
 	public int elongateSequence(String sequenceID, int newLength) {
 		int additionalLength = newLength - getModel().getSequenceLength(sequenceID);
 		if (additionalLength > 0) {
-			T gapToken = getModel().getTokenSet().getGapToken();
-			Collection<T> tokens = new ArrayList<T>(additionalLength);
-			for (int i = 0; i < additionalLength; i++) {
-				tokens.add(gapToken);
-			}
-			
+			Collection<T> tokens = Collections.nCopies(additionalLength, getModel().getTokenSet().getGapToken());  // Avoids storing the same reference additionalLength times.
 			getModel().appendTokens(sequenceID, tokens, getAlignmentArea().getEditSettings().isInsertLeftInDataArea());
 			return additionalLength;
 		}
@@ -39,6 +39,7 @@ import info.bioinfweb.commons.events.GenericEventObject;
 import info.bioinfweb.libralign.actions.AlignmentActionProvider;
 import info.bioinfweb.libralign.alignmentarea.content.AlignmentContentArea;
 import info.bioinfweb.libralign.alignmentarea.content.AlignmentSubArea;
+import info.bioinfweb.libralign.alignmentarea.content.SequenceArea;
 import info.bioinfweb.libralign.alignmentarea.content.ToolkitSpecificAlignmentContentArea;
 import info.bioinfweb.libralign.alignmentarea.label.AlignmentLabelArea;
 import info.bioinfweb.libralign.alignmentarea.label.AlignmentLabelSubArea;
@@ -182,12 +183,22 @@ public class AlignmentArea extends ScrollingTICComponent {
 		public void afterSequenceChange(SequenceChangeEvent<Object> e) {
 			if (e.getSource().equals(getAlignmentModel())) {
 				if (e.getType().equals(ListChangeType.DELETION)) {
-					getDataAreas().removeSequenceList(e.getSequenceID());
+					getDataAreas().removeSequenceList(e.getSequenceID());  // Label widths of the data areas are removed by the data area listener.
+					SequenceArea sequenceArea = getContentArea().getSequenceAreaByID(e.getSequenceID());
+					if (sequenceArea != null) {
+						getLabelArea().removeNeededWidth(sequenceArea.getLabelSubArea());  // Needs to be called before assignSizeToAll().
+					}
 				}
 
-				getLabelArea().setLocalMaxWidthRecalculateToAll();  // Needs to be called before assignSizeToAll().
 				getSequenceOrder().refreshFromSource();
 				updateSubelements();
+				
+				if (e.getType().equals(ListChangeType.INSERTION)) {
+					updateSequenceLabelWidth(e.getSequenceID());  // Needs to be called before assignSizeToAll().
+				}
+				else if (!e.getType().equals(ListChangeType.DELETION)) {
+					getLabelArea().setLocalMaxWidthRecalculate();
+				}
 			}
 			assignSizeToAll();
 		}
@@ -196,10 +207,21 @@ public class AlignmentArea extends ScrollingTICComponent {
 		@Override
 		public void afterSequenceRenamed(SequenceRenamedEvent<Object> e) {
 			if (e.getSource().equals(getAlignmentModel())) {
-				getLabelArea().setLocalMaxWidthRecalculateToAll();  // Needs to be called before assignSizeToAll().
+				updateSequenceLabelWidth(e.getSequenceID());  // Needs to be called before assignSizeToAll().
 			}
 			assignSizeToAll();  // Other label areas might also have to adopt their width.
 		}
+		
+		
+		private void updateSequenceLabelWidth(String sequenceID) {
+			SequenceArea sequenceArea = getContentArea().getSequenceAreaByID(sequenceID);
+			if (sequenceArea != null) {
+				getLabelArea().updateNeededWidth(sequenceArea.getLabelSubArea());
+			}
+			else {
+				getLabelArea().setLocalMaxWidthRecalculate();
+			}
+		}
 
 
 		@Override
@@ -394,9 +416,22 @@ public class AlignmentArea extends ScrollingTICComponent {
 		dataAreas = new DataAreaLists(this, dataAreaListenerList);
 		dataAreaListenerList.add(new DataAreasAdapter() {
 			@SuppressWarnings("unchecked")
+			private boolean isOwnDataArea(EventObject event) {
+				if (event.getSource() instanceof DataArea) {  // Visibility change events are fired by the data area itself.
+					return ((DataArea)event.getSource()).getOwner() == AlignmentArea.this;
+				}
+				else {
+					return ((DataList<AlignmentArea, DataArea>)event.getSource()).getOwner() == getDataAreas();
+				}
+			}
+			
 			private void react(EventObject event) {
+				boolean ownDataArea = isOwnDataArea(event);
+				if (ownDataArea) {
+					getContentArea().invalidateSubAreaStructure();  // Necessary, if no toolkit component has been created yet.
+				}
 				if (hasToolkitComponent()) {
-					if (((DataList<AlignmentArea, DataArea>)event.getSource()).getOwner() == getDataAreas()) {
+					if (ownDataArea) {
 						getSizeManager().setLocalMaxLengthBeforeAfterRecalculate();
 						updateSubelements();
 					}
@@ -411,16 +446,34 @@ public class AlignmentArea extends ScrollingTICComponent {
 
 			@Override
 			public void afterElementsAdded(ListAddEvent<DataArea> event) {
+				if (isOwnDataArea(event)) {
+					for (DataArea dataArea : event.getAffectedElements()) {
+						getLabelArea().updateNeededWidth(dataArea.getLabelSubArea());
+					}
+				}
 				react(event);
 			}
 
 			@Override
 			public void afterElementReplaced(ListReplaceEvent<DataArea> event) {
+				if (isOwnDataArea(event)) {
+					getLabelArea().removeNeededWidth(event.getOldElement().getLabelSubArea());
+					getLabelArea().updateNeededWidth(event.getNewElement().getLabelSubArea());
+					if (event.getOldElement() != event.getNewElement()) {
+						event.getOldElement().afterRemovedFromAlignmentArea();
+					}
+				}
 				react(event);
 			}
 
 			@Override
 			public void afterElementsRemoved(ListRemoveEvent<DataArea, DataArea> event) {
+				if (isOwnDataArea(event)) {
+					for (DataArea dataArea : event.getAffectedElements()) {
+						getLabelArea().removeNeededWidth(dataArea.getLabelSubArea());
+						dataArea.afterRemovedFromAlignmentArea();
+					}
+				}
 				react(event);
 			}
 		});
@@ -753,7 +806,9 @@ public class AlignmentArea extends ScrollingTICComponent {
 	/**
 	 * Returns the name of a toolkit specific <i>Swing</i> component displaying the contents of this instance.
 	 * 
-	 * @param parameters This implementation does not recognize any additional parameters.
+	 * @param parameters This implementation does not recognize any additional parameters. (The {@link Boolean}
+	 *        parameter determining whether subcomponents shall be used is evaluated by 
+	 *        {@link #getSwingComponentConstructorParameters(Object...)}.)
 	 * @return the name of a toolkit specific <i>Swing</i> component
 	 */
 	@Override
@@ -762,6 +817,21 @@ public class AlignmentArea extends ScrollingTICComponent {
 	}
 
 
+	/**
+	 * Returns the parameters for the constructor of the toolkit specific <i>Swing</i> component.
+	 * 
+	 * @param parameters This implementation expects no or a single {@link Boolean} parameter which determines 
+	 *        whether the content area shall contain subcomponents for each sequence and data area or shall 
+	 *        paint all its contents directly into a single buffered component. If no parameter is passed, 
+	 *        {@code true} is assumed.
+	 * @return an array containing the {@link Boolean} value
+	 */
+	@Override
+	protected Object[] getSwingComponentConstructorParameters(Object... parameters) {
+		return new Object[]{Boolean.valueOf(GUITools.determineUseSubcomponents(parameters, true))};
+	}
+
+
 	/**
 	 * Returns the name of a toolkit specific <i>SWT</i> component displaying the contents of this instance.
 	 * 
@@ -815,6 +885,7 @@ public class AlignmentArea extends ScrollingTICComponent {
 	 * their subcomponents and on this instance.
 	 */
 	public void assignSizeToAll() {
+		getContentArea().invalidateSubAreaHeights();
 		if (hasToolkitComponent()) {
 			if (getLabelArea().hasToolkitComponent()) {
 				Iterator<AlignmentLabelSubArea> iterator = getLabelArea().subAreaIterator();
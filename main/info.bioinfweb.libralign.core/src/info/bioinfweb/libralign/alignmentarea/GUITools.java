@@ -44,7 +44,21 @@ public class GUITools {
 	 * @return {@code true} if subcomponents shall be created, {@code false} otherwise
 	 */
 	public static boolean determineUseSubcomponents(Object[] parameters) {
-		boolean result = false;
+		return determineUseSubcomponents(parameters, false);
+	}
+	
+	
+	/**
+	 * Used by {@link AlignmentArea} and {@link AlignmentContentArea} to determine whether to create subcomponents
+	 * for each sequence and data area or not.
+	 * 
+	 * @param parameters the parameters passed to the <i>TIC</i> component factory
+	 * @param defaultValue the value to be returned if no according parameter was specified
+	 * @return {@code true} if subcomponents shall be created, {@code false} otherwise
+	 * @since 0.10.0
+	 */
+	public static boolean determineUseSubcomponents(Object[] parameters, boolean defaultValue) {
+		boolean result = defaultValue;
 		if ((parameters.length >= 1) && (parameters[0] instanceof Boolean)) {
 			result = (Boolean)parameters[0];
 		}
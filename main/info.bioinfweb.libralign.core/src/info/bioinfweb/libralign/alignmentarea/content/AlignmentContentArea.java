@@ -22,13 +22,11 @@ package info.bioinfweb.libralign.alignmentarea.content;
 import info.bioinfweb.commons.Math2;
 import info.bioinfweb.commons.SystemUtils;
 import info.bioinfweb.libralign.alignmentarea.AlignmentArea;
+import info.bioinfweb.libralign.alignmentarea.GUITools;
 import info.bioinfweb.libralign.alignmentarea.SizeManager;
 import info.bioinfweb.libralign.alignmentarea.label.AlignmentLabelArea;
 import info.bioinfweb.libralign.alignmentarea.paintsettings.PaintSettings;
 import info.bioinfweb.libralign.alignmentarea.selection.SelectionModel;
-import info.bioinfweb.libralign.dataarea.DataArea;
-import info.bioinfweb.libralign.dataelement.DataListType;
-import info.bioinfweb.libralign.dataelement.DataLocation;
 import info.bioinfweb.libralign.model.AlignmentModel;
 import info.bioinfweb.libralign.model.concatenated.ConcatenatedAlignmentModel;
 import info.bioinfweb.libralign.multiplealignments.MultipleAlignmentsContainer;
@@ -46,7 +44,6 @@ import java.awt.event.KeyEvent;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 
 import javax.swing.AbstractAction;
@@ -75,6 +72,7 @@ public class AlignmentContentArea extends TICComponent {
 
 	private final AlignmentArea owner;
 	private SequenceAreaMap sequenceAreaMap;
+	private final SubAreaHeightIndex heightIndex = new SubAreaHeightIndex(this);
 	private Map<KeyStroke, Action> actionMap = new HashMap<KeyStroke, Action>();  //TODO Should this property be available in AlignmentArea directly? At least using a delegate getter?
 
 
@@ -365,12 +363,46 @@ public class AlignmentContentArea extends TICComponent {
 	
 	public void updateSubelements() {
 		getSequenceAreaMap().updateElements();
+		heightIndex.invalidateStructure();
 		if (hasToolkitComponent()) {
 			getToolkitComponent().reinsertSubelements();  // Will have no effect, if no subcomponents are used.
 		}
 	}
 
 
+	/**
+	 * Notifies this instance that the heights of some of its subareas may have changed. The cached heights of all
+	 * data areas will be compared to their current values with the next access. This method is called by
+	 * {@link AlignmentArea#assignSizeToAll()}.
+	 * <p>
+	 * Changes of the set or order of subareas and of the visibility of data areas are detected automatically.
+	 */
+	public void invalidateSubAreaHeights() {
+		heightIndex.invalidateHeights();
+	}
+	
+	
+	/**
+	 * Notifies this instance that subareas were added, removed or faded in or out. This method is called by 
+	 * {@link #updateSubelements()} and by the owning {@link AlignmentArea} when its data areas change.
+	 */
+	public void invalidateSubAreaStructure() {
+		heightIndex.invalidateStructure();
+	}
+	
+	
+	/**
+	 * Updates the cached height of a single subarea. Data areas that change their height without calling 
+	 * {@link AlignmentArea#revalidate()} can use this method instead of {@link #invalidateSubAreaHeights()} 
+	 * to avoid that the heights of all other data areas are checked as well.
+	 * 
+	 * @param area the subarea whose height may have changed
+	 */
+	public void invalidateSubAreaHeight(AlignmentSubArea area) {
+		heightIndex.invalidateHeight(area);
+	}
+
+
 	/**
 	 * Returns the rectangle in the paint coordinate system of scrolled area displaying the sequences, that contains
 	 * all cells currently occupied by the alignment cursor.
@@ -413,7 +445,6 @@ public class AlignmentContentArea extends TICComponent {
 	 */
 	@Override
 	public void paint(TICPaintEvent event) {
-		double y = 0;
 		Rectangle2D r = event.getRectangle();
 		Graphics2D g = event.getGraphics();
 		AffineTransform saveAT = g.getTransform();
@@ -425,22 +456,30 @@ public class AlignmentContentArea extends TICComponent {
 			lastIndex = getOwner().getAlignmentModel().getMaxSequenceLength();
 		}
 
-		Iterator<AlignmentSubArea> iterator = subAreaIterator();
-		while (iterator.hasNext()) {
-			AlignmentSubArea area = iterator.next();
-			if (Math2.overlaps(y, y + area.getHeight(), r.getMinY(), r.getMaxY())) {
+		int position = heightIndex.getPositionByY(Math.max(0, r.getMinY()));  // Only the visible areas are iterated.
+		if (position == -1) {  // The paint rectangle is located below all areas.
+			position = heightIndex.size();
+		}
+		double y = heightIndex.getY(position);
+		while ((position < heightIndex.size()) && (y < r.getMaxY())) {
+			AlignmentSubArea area = heightIndex.getArea(position);
+			double height = heightIndex.getHeight(position);
+			if (Math2.overlaps(y, y + height, r.getMinY(), r.getMaxY())) {
 				double yDif = Math.max(0, r.getMinY() - y);
 				g.translate(0, y);
 				area.paintPart(new AlignmentPaintEvent(this, getOwner(), 
 						firstIndex, lastIndex, g, 
-						new Rectangle2D.Double(r.getMinX(), yDif, r.getWidth(), Math.min(r.getHeight(), area.getHeight() - yDif))));
+						new Rectangle2D.Double(r.getMinX(), yDif, r.getWidth(), Math.min(r.getHeight(), height - yDif))));
 				g.setTransform(saveAT);
 			}
-			y += area.getHeight();
+			y += height;
+			position++;
 		}
 		
 		g.setColor(SystemColor.control);  //TODO Which color should be used?
-		g.fill(new Rectangle2D.Double(r.getMinX(), y, r.getWidth(), r.getHeight() - Math.max(0, r.getMinY() - y)));  // The remaining space needs to be filled. Otherwise scrolling artifacts are drawn there.
+		if (y < r.getMaxY()) {
+			g.fill(new Rectangle2D.Double(r.getMinX(), y, r.getWidth(), r.getHeight() - Math.max(0, r.getMinY() - y)));  // The remaining space needs to be filled. Otherwise scrolling artifacts are drawn there.
+		}
 	}
 
 
@@ -450,9 +489,23 @@ public class AlignmentContentArea extends TICComponent {
 	}
 
 
+	/**
+	 * Returns the name of a toolkit specific <i>Swing</i> component displaying the contents of this instance.
+	 * 
+	 * @param parameters This implementation expects no or a single {@link Boolean} parameter which determines 
+	 *        whether the name of a <i>Swing</i> component using subcomponents for each sequence and data area 
+	 *        or a single buffered component for direct painting shall be returned. If no parameter is passed, 
+	 *        {@code true} is assumed.
+	 * @return the name of a toolkit specific <i>Swing</i> component
+	 */
 	@Override
 	protected String getSwingComponentClassName(Object... parameters) {
-		return "info.bioinfweb.libralign.alignmentarea.content.ScrollContainerSwingAlignmentContentArea";
+		if (GUITools.determineUseSubcomponents(parameters, true)) {
+			return "info.bioinfweb.libralign.alignmentarea.content.ScrollContainerSwingAlignmentContentArea";
+		}
+		else {
+			return "info.bioinfweb.libralign.alignmentarea.content.DirectPaintingSwingAlignmentContentArea";
+		}
 	}
 
 
@@ -526,17 +579,13 @@ public class AlignmentContentArea extends TICComponent {
 	 * @return the info object or {@code null} if {@code y} is below 0 or higher than this instance
 	 */
 	public AlignmentSubAreaInfo getAreaInfoByPaintY(double y) {
-		double currentY = 0;
-		Iterator<AlignmentSubArea> iterator = subAreaIterator();
-		while (iterator.hasNext()) {
-			AlignmentSubArea area = iterator.next();
-			double height = area.getHeight();
-			if (Math2.isBetween(y, currentY, currentY + height)) {
-				return new AlignmentSubAreaInfo(area, currentY);
-			}
-			currentY += height;
+		int position = heightIndex.getPositionByY(y);
+		if (position == -1) {
+			return null;
+		}
+		else {
+			return new AlignmentSubAreaInfo(heightIndex.getArea(position), heightIndex.getY(position));
 		}
-		return null;
 	}
 	
 	
@@ -549,15 +598,9 @@ public class AlignmentContentArea extends TICComponent {
 	 * @return a valid sequence position.
 	 */
 	public int rowByPaintY(double y) {
-		AlignmentSubArea subArea = getAreaByPaintY(y);
-		if (subArea instanceof DataArea) {
-			DataLocation location = ((DataArea)subArea).getList().getLocation();
-			if (location.getListType().equals(DataListType.SEQUENCE)) {
-				subArea = getSequenceAreaByID(location.getSequenceID());
-			}
-		}
-		if (subArea instanceof SequenceArea) {
-			return getOwner().getSequenceOrder().indexByID(((SequenceArea)subArea).getSequenceID());
+		int position = heightIndex.getPositionByY(y);
+		if ((position != -1) && (heightIndex.getRow(position) != -1)) {  // Sequence areas and their data areas
+			return heightIndex.getRow(position);
 		}
 		else if (y < 0) {
 			return 0;
@@ -584,19 +627,8 @@ public class AlignmentContentArea extends TICComponent {
 	 */
 	public double paintYByRow(int row) {
 		row = Math.max(0, Math.min(getOwner().getAlignmentModel().getSequenceCount() - 1, row));
-		
-		double y = 0.0;
-		int currentRow = 0;
-		Iterator<AlignmentSubArea> iterator = subAreaIterator();
-		while (iterator.hasNext()) {
-			AlignmentSubArea area = iterator.next();
-			if (area instanceof SequenceArea) {
-				if (currentRow == row) {
-					return y;
-				}
-				currentRow++;
-			}
-			y += area.getHeight();
+		if (row < heightIndex.getRowCount()) {
+			return heightIndex.getYByRow(row);
 		}
 		throw new InternalError("There were not enough sequence areas returned by the interator. "  // This should not happen due to the setting of row above.
 				+ "This is an unexpected internal LibrAlign error. Please inform the developers at http://bioinfweb.info/LibrAlign.");  //TODO Use global constant for URL in the future.
@@ -35,6 +35,7 @@ import info.bioinfweb.libralign.alignmentarea.paintsettings.PaintSettings;
 import info.bioinfweb.libralign.alignmentarea.selection.SelectionModel;
 import info.bioinfweb.libralign.alignmentarea.selection.SelectionType;
 import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.SequenceHandle;
 
 
 
@@ -49,6 +50,8 @@ public class SequenceArea extends AlignmentSubArea {
 	
 	
 	private String sequenceID;
+	private AlignmentModel<?> handleModel = null;
+	private SequenceHandle sequenceHandle = null;
 	
 	
 	/**
@@ -93,6 +96,26 @@ public class SequenceArea extends AlignmentSubArea {
   }
   
   
+	/**
+	 * Returns the handle of the displayed sequence. The handle is reused for all subsequent paint operations as long 
+	 * as the alignment model of the owner is not replaced and the sequence is not removed from it.
+	 */
+	private SequenceHandle getSequenceHandle() {
+		AlignmentModel<?> model = getOwner().getAlignmentModel();
+		if ((sequenceHandle == null) || (handleModel != model) || (model.getSequenceLength(sequenceHandle) == -1)) {
+			sequenceHandle = model.getSequenceHandle(getSequenceID());
+			handleModel = model;
+		}
+		return sequenceHandle;
+	}
+	
+	
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private void readTokens(SequenceHandle handle, Object[] tokens, int beginIndex, int endIndex) {
+		((AlignmentModel)getOwner().getAlignmentModel()).getTokens(handle, beginIndex, endIndex, tokens, 0);
+	}
+	
+	
   @Override
 	public void paintPart(AlignmentPaintEvent event) {
   	event.getGraphics().setColor(DEFAULT_BACKGROUND_COLOR);  //TODO Define different background color for whole component and unknown tokens
@@ -101,7 +124,8 @@ public class SequenceArea extends AlignmentSubArea {
   	//TODO Replace the following block by using values from the event.
 		int firstIndex = Math.max(0, getOwner().getContentArea().columnByPaintX((int)event.getRectangle().getMinX()));
 		int lastIndex = getOwner().getContentArea().columnByPaintX((int)event.getRectangle().getMaxX());
-		int lastColumn = getOwner().getAlignmentModel().getSequenceLength(getSequenceID()) - 1;
+		SequenceHandle handle = getSequenceHandle();
+		int lastColumn = getOwner().getAlignmentModel().getSequenceLength(handle) - 1;
 		if ((lastIndex == -1) || (lastIndex > lastColumn)) {  //TODO Elongate to the length of the longest sequence and paint empty/special tokens on the right end?
 			lastIndex = lastColumn;
 		}
@@ -110,13 +134,19 @@ public class SequenceArea extends AlignmentSubArea {
 		event.getGraphics().setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB);  //TODO Is this optimal also for other monitor types?
 		event.getGraphics().setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
 		
-		double x = getOwner().getContentArea().paintXByColumn(firstIndex);
-		PaintSettings paintSettings = getOwner().getPaintSettings();
-		for (int i = firstIndex; i <= lastIndex; i++) {
-			paintSettings.getTokenPainterList().painterByColumn(i).paintToken(getOwner(), getSequenceID(), i, event.getGraphics(), 
-					new Rectangle2D.Double(x, 0, paintSettings.getTokenWidth(i), paintSettings.getTokenHeight()), paintSettings.getSelectionColor());
-	    x += paintSettings.getTokenWidth(i);
-    }
+		if (firstIndex <= lastIndex) {
+			Object[] tokens = new Object[lastIndex - firstIndex + 1];  // Read all visible tokens at once instead of one model lookup per token.
+			readTokens(handle, tokens, firstIndex, lastIndex + 1);
+			
+			double x = getOwner().getContentArea().paintXByColumn(firstIndex);
+			PaintSettings paintSettings = getOwner().getPaintSettings();
+			for (int i = firstIndex; i <= lastIndex; i++) {
+				paintSettings.getTokenPainterList().painterByColumn(i).paintToken(getOwner(), getSequenceID(), i, tokens[i - firstIndex], 
+						event.getGraphics(), new Rectangle2D.Double(x, 0, paintSettings.getTokenWidth(i), paintSettings.getTokenHeight()), 
+						paintSettings.getSelectionColor());
+		    x += paintSettings.getTokenWidth(i);
+	    }
+		}
 		
 		if (!getOwner().getSelection().getType().equals(SelectionType.ROW_ONLY)) {
 			paintCursor(event.getGraphics());
@@ -0,0 +1,278 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.alignmentarea.content;
+
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import info.bioinfweb.libralign.alignmentarea.order.SequenceOrder;
+import info.bioinfweb.libralign.dataarea.DataArea;
+
+
+
+/**
+ * Caches the heights of all visible subareas of an {@link AlignmentContentArea} in the order returned by 
+ * {@link AlignmentContentArea#subAreaIterator()} and stores their prefix sums in a Fenwick tree, so that the
+ * subarea at a y-coordinate and the y-coordinate of a row can be determined in logarithmic time.
+ * <p>
+ * The list of subareas is rebuilt if {@link #invalidateStructure()} was called or the {@link SequenceOrder} 
+ * was modified. After {@link #invalidateHeights()}, the heights of all data areas are compared to the cached 
+ * values once. Since all sequence areas have the same height, only the height of one of them needs to be 
+ * checked.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+final class SubAreaHeightIndex {
+	private final AlignmentContentArea owner;
+	private boolean structureValid = false;
+	private boolean heightsValid = false;
+	private int sequenceOrderModificationCount;
+	
+	private AlignmentSubArea[] areas = new AlignmentSubArea[0];
+	private double[] heights = new double[0];
+	private double[] tree = new double[1];  // 1-based Fenwick tree of the heights
+	private int[] rows = new int[0];  // The row of the sequence each area is associated with or -1 for top data areas
+	private int[] positionByRow = new int[0];
+	private int[] dataAreaPositions = new int[0];
+	private final Map<AlignmentSubArea, Integer> positionByArea = new IdentityHashMap<AlignmentSubArea, Integer>();
+	
+	
+	public SubAreaHeightIndex(AlignmentContentArea owner) {
+		super();
+		this.owner = owner;
+	}
+	
+	
+	public void invalidateStructure() {
+		structureValid = false;
+	}
+	
+	
+	public void invalidateHeights() {
+		heightsValid = false;
+	}
+	
+	
+	/**
+	 * Updates the cached height of a single subarea.
+	 * 
+	 * @param area the area which may have changed its height
+	 */
+	public void invalidateHeight(AlignmentSubArea area) {
+		if (structureValid) {
+			Integer position = positionByArea.get(area);
+			if (position != null) {
+				updateHeight(position, area.getHeight());
+			}
+		}
+	}
+	
+	
+	private void updateHeight(int position, double height) {
+		double difference = height - heights[position];
+		if (difference != 0) {
+			heights[position] = height;
+			for (int i = position + 1; i < tree.length; i += i & -i) {
+				tree[i] += difference;
+			}
+		}
+	}
+	
+	
+	private void buildTree() {
+		tree = new double[areas.length + 1];
+		for (int i = 1; i < tree.length; i++) {
+			tree[i] += heights[i - 1];
+			int parent = i + (i & -i);
+			if (parent < tree.length) {
+				tree[parent] += tree[i];
+			}
+		}
+	}
+	
+	
+	private void rebuild() {
+		SequenceOrder order = owner.getOwner().getSequenceOrder();
+		List<AlignmentSubArea> areaList = new ArrayList<AlignmentSubArea>();
+		List<Integer> rowList = new ArrayList<Integer>();
+		List<Integer> positionByRowList = new ArrayList<Integer>();
+		List<Integer> dataAreaPositionList = new ArrayList<Integer>();
+		
+		Iterator<AlignmentSubArea> iterator = owner.subAreaIterator();
+		while (iterator.hasNext()) {
+			AlignmentSubArea area = iterator.next();
+			if (area instanceof DataArea) {
+				if (!((DataArea)area).isVisible()) {
+					continue;  // Invisible data areas occupy no space.
+				}
+				dataAreaPositionList.add(areaList.size());
+			}
+			else if (area instanceof SequenceArea) {
+				positionByRowList.add(areaList.size());
+			}
+			areaList.add(area);
+			rowList.add(positionByRowList.size() - 1);  // Data areas are associated with the preceding sequence. (Bottom data areas are therefore associated with the last sequence.)
+		}
+		
+		areas = areaList.toArray(new AlignmentSubArea[areaList.size()]);
+		heights = new double[areas.length];
+		rows = new int[areas.length];
+		positionByArea.clear();
+		for (int position = 0; position < areas.length; position++) {
+			heights[position] = areas[position].getHeight();
+			rows[position] = rowList.get(position);
+			positionByArea.put(areas[position], position);
+		}
+		positionByRow = new int[positionByRowList.size()];
+		for (int row = 0; row < positionByRow.length; row++) {
+			positionByRow[row] = positionByRowList.get(row);
+		}
+		dataAreaPositions = new int[dataAreaPositionList.size()];
+		for (int i = 0; i < dataAreaPositions.length; i++) {
+			dataAreaPositions[i] = dataAreaPositionList.get(i);
+		}
+		buildTree();
+		
+		sequenceOrderModificationCount = order.getModificationCount();
+		structureValid = true;
+		heightsValid = true;
+	}
+	
+	
+	private void recheckHeights() {
+		if ((positionByRow.length > 0) && (areas[positionByRow[0]].getHeight() != heights[positionByRow[0]])) {
+			for (int position = 0; position < areas.length; position++) {
+				heights[position] = areas[position].getHeight();
+			}
+			buildTree();  // Faster than updating each sequence area separately.
+		}
+		else {
+			for (int position : dataAreaPositions) {
+				updateHeight(position, areas[position].getHeight());
+			}
+		}
+		heightsValid = true;
+	}
+	
+	
+	private void validate() {
+		if (!structureValid || (sequenceOrderModificationCount != owner.getOwner().getSequenceOrder().getModificationCount())) {
+			rebuild();
+		}
+		else if (!heightsValid) {
+			recheckHeights();
+		}
+	}
+	
+	
+	public int size() {
+		validate();
+		return areas.length;
+	}
+	
+	
+	public AlignmentSubArea getArea(int position) {
+		validate();
+		return areas[position];
+	}
+	
+	
+	public double getHeight(int position) {
+		validate();
+		return heights[position];
+	}
+	
+	
+	/**
+	 * Returns the row of the sequence the subarea at the specified position belongs to.
+	 * 
+	 * @return the row or -1 if the area is a data area displayed above all sequences
+	 */
+	public int getRow(int position) {
+		validate();
+		return rows[position];
+	}
+	
+	
+	public int getRowCount() {
+		validate();
+		return positionByRow.length;
+	}
+	
+	
+	/**
+	 * Returns the y-coordinate of the top of the subarea at the specified position.
+	 * 
+	 * @param position the position of the subarea (The number of subareas is also allowed, in which case the 
+	 *        total height is returned.)
+	 * @return the sum of the heights of all subareas above
+	 */
+	public double getY(int position) {
+		validate();
+		double result = 0;
+		for (int i = position; i > 0; i -= i & -i) {
+			result += tree[i];
+		}
+		return result;
+	}
+	
+	
+	public double getYByRow(int row) {
+		validate();
+		return getY(positionByRow[row]);
+	}
+	
+	
+	/**
+	 * Returns the position of the first subarea that contains the specified y-coordinate. (The lower border of
+	 * an area is considered to be contained, as well as the upper border.)
+	 * 
+	 * @param y the y-coordinate
+	 * @return the position of the subarea or -1 if {@code y} is negative or greater than the total height
+	 */
+	public int getPositionByY(double y) {
+		validate();
+		if (y < 0) {
+			return -1;
+		}
+		else {
+			int position = 0;  // Determines the number of areas whose lower border is above y.
+			double remaining = y;
+			for (int step = Integer.highestOneBit(Math.max(1, areas.length)); step > 0; step >>= 1) {
+				int next = position + step;
+				if ((next < tree.length) && (tree[next] < remaining)) {
+					position = next;
+					remaining -= tree[next];
+				}
+			}
+			
+			if (position < areas.length) {
+				return position;
+			}
+			else {
+				return -1;
+			}
+		}
+	}
+}
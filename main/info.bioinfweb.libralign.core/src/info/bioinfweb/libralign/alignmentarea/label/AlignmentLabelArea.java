@@ -19,19 +19,30 @@
 package info.bioinfweb.libralign.alignmentarea.label;
 
 
+import info.bioinfweb.commons.graphics.FontCalculator;
 import info.bioinfweb.libralign.alignmentarea.AlignmentArea;
 import info.bioinfweb.libralign.multiplealignments.MultipleAlignmentsContainer;
 import info.bioinfweb.tic.TICComponent;
 import info.bioinfweb.tic.TICPaintEvent;
 
 import java.awt.Dimension;
+import java.awt.Font;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 
 
 /**
  * A toolkit independent GUI component displaying the sequence names in an {@link AlignmentArea}.
  * <p>
+ * The needed widths of all label subareas are stored in an index, which allows to update the maximum needed 
+ * width in logarithmic time if single labels are added, removed or changed (e.g. when sequences are added or
+ * renamed), instead of measuring all labels again. Measured text widths are additionally cached for the 
+ * current font.
+ * <p>
  * Application developers will not need to create instances of this class directly but should 
  * use {@link AlignmentArea}.
  * 
@@ -42,9 +53,22 @@ public class AlignmentLabelArea extends TICComponent {
 	public static final int BORDER_WIDTH = 2;
 	public static final double RECALCULATE_VALUE = -1.0;
 	
+	private static final int MAX_CACHED_TEXT_WIDTHS = 4096;
+	
 	
   private AlignmentArea owner;
-  private double localMaxNeededWidth = RECALCULATE_VALUE;
+  private Map<AlignmentLabelSubArea, Integer> neededWidths = new IdentityHashMap<AlignmentLabelSubArea, Integer>();
+  private TreeMap<Integer, Integer> neededWidthCounts = new TreeMap<Integer, Integer>();  // Sorted multiset of all values in neededWidths.
+  private boolean neededWidthsValid = false;
+  private Font textWidthFont = null;
+  private Map<String, Float> textWidths = new LinkedHashMap<String, Float>(16, 0.75f, true) {  // Access order is used.
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Float> eldest) {
+			return size() > MAX_CACHED_TEXT_WIDTHS;  // Avoids keeping the widths of removed or renamed labels forever.
+		}
+  };
 	
 	
 	/**
@@ -82,14 +106,104 @@ public class AlignmentLabelArea extends TICComponent {
 	 * @return a value >= 0
 	 */
 	public double getLocalMaximumNeededWidth() {  //TODO Consider moving this method and related elements and/or use shared functionality with SizeManager. (See #360.)
-		if (localMaxNeededWidth == RECALCULATE_VALUE) {
-			localMaxNeededWidth = 0;
+		if (!neededWidthsValid) {
+			neededWidths.clear();
+			neededWidthCounts.clear();
 			Iterator<AlignmentLabelSubArea> iterator = subAreaIterator();
 			while (iterator.hasNext()) {
-				localMaxNeededWidth = Math.max(localMaxNeededWidth, iterator.next().getNeededWidth());
+				addNeededWidth(iterator.next());
 			}
+			neededWidthsValid = true;
+		}
+		
+		if (neededWidthCounts.isEmpty()) {
+			return 0;
+		}
+		else {
+			return neededWidthCounts.lastKey();
+		}
+	}
+	
+	
+	private void addNeededWidth(AlignmentLabelSubArea area) {
+		int width = area.getNeededWidth();
+		neededWidths.put(area, width);
+		Integer count = neededWidthCounts.get(width);
+		neededWidthCounts.put(width, (count == null) ? 1 : count + 1);
+	}
+	
+	
+	private void removeIndexedWidth(AlignmentLabelSubArea area) {
+		Integer width = neededWidths.remove(area);
+		if (width != null) {
+			int count = neededWidthCounts.get(width);
+			if (count == 1) {
+				neededWidthCounts.remove(width);
+			}
+			else {
+				neededWidthCounts.put(width, count - 1);
+			}
+		}
+	}
+	
+	
+	/**
+	 * Measures the needed width of the specified label subarea again and updates the maximum needed width of this
+	 * area accordingly. This method should be called if a single label was added or its contents changed (e.g. if
+	 * a sequence was renamed). In contrast to {@link #setLocalMaxWidthRecalculate()}, the widths of all other labels
+	 * do not need to be measured again.
+	 * <p>
+	 * Application code will usually not have to call this method directly.
+	 * 
+	 * @param area the label subarea that was added or changed
+	 * @since 0.10.0
+	 */
+	public void updateNeededWidth(AlignmentLabelSubArea area) {
+		if (neededWidthsValid) {  // Otherwise all widths will be measured with the next access anyway.
+			removeIndexedWidth(area);
+			addNeededWidth(area);
+		}
+	}
+	
+	
+	/**
+	 * Removes the needed width of the specified label subarea from the maximum needed width of this area. This 
+	 * method should be called if the subarea labeled by {@code area} is removed from the alignment area.
+	 * <p>
+	 * Application code will usually not have to call this method directly.
+	 * 
+	 * @param area the label subarea that was removed
+	 * @since 0.10.0
+	 */
+	public void removeNeededWidth(AlignmentLabelSubArea area) {
+		if (neededWidthsValid) {
+			removeIndexedWidth(area);
+		}
+	}
+	
+	
+	/**
+	 * Returns the width of the specified text in the specified font. Measured widths are cached as long as the 
+	 * same font is used, so that label subareas can use this method to avoid measuring unchanged texts again.
+	 * The cache is limited to the most recently used texts.
+	 * 
+	 * @param font the font to be used
+	 * @param text the text to be measured
+	 * @return the width of the text in pixels
+	 * @since 0.10.0
+	 */
+	public float getTextWidth(Font font, String text) {
+		if (!font.equals(textWidthFont)) {
+			textWidths.clear();
+			textWidthFont = font;
+		}
+		
+		Float result = textWidths.get(text);
+		if (result == null) {
+			result = FontCalculator.getInstance().getWidth(font, text);
+			textWidths.put(text, result);
 		}
-		return localMaxNeededWidth;
+		return result;
 	}
 	
 	
@@ -103,7 +217,7 @@ public class AlignmentLabelArea extends TICComponent {
 	 * Application code will usually not have to call this method directly.
 	 */
 	public void setLocalMaxWidthRecalculate() {
-		localMaxNeededWidth = RECALCULATE_VALUE;
+		neededWidthsValid = false;
 	}
 	
 	
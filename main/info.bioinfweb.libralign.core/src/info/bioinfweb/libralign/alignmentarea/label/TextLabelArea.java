@@ -20,7 +20,6 @@ package info.bioinfweb.libralign.alignmentarea.label;
 
 
 import info.bioinfweb.commons.Math2;
-import info.bioinfweb.commons.graphics.FontCalculator;
 import info.bioinfweb.tic.TICPaintEvent;
 import info.bioinfweb.libralign.alignmentarea.AlignmentArea;
 import info.bioinfweb.libralign.alignmentarea.content.AlignmentSubArea;
@@ -64,7 +63,7 @@ public abstract class TextLabelArea extends AlignmentLabelSubArea {
 
 	@Override
 	public int getNeededWidth() {
-		return Math2.roundUp(FontCalculator.getInstance().getWidth(getOwner().getPaintSettings().getTokenHeightFont(),
+		return Math2.roundUp(getOwner().getLabelArea().getTextWidth(getOwner().getPaintSettings().getTokenHeightFont(),
 				getText())) +	2 * AlignmentLabelArea.BORDER_WIDTH;
 	}
 }
\ No newline at end of file
@@ -61,6 +61,7 @@ public class SequenceOrder {
 	private List<String> idList = new ArrayList<String>();
 	private Map<String, Integer> indexByIDMap = new TreeMap<String, Integer>();
 	private SequenceOrderType orderType = SequenceOrderType.SOURCE;
+	private int modificationCount = 0;
 
 	
 	/**
@@ -86,6 +87,17 @@ public class SequenceOrder {
 	public SequenceOrderType getOrderType() {
 		return orderType;
 	}
+	
+	
+	/**
+	 * Returns a counter that is incremented each time the order of the sequences is changed. Classes caching
+	 * information on the current order can compare this value to determine whether their cache is still valid.
+	 * 
+	 * @return the number of modifications since this instance was created
+	 */
+	public int getModificationCount() {
+		return modificationCount;
+	}
 
 
 	/**
@@ -140,6 +152,7 @@ public class SequenceOrder {
 	 */
 	public void setSourceSequenceOrder() {
 		indexByIDMap.clear();
+		modificationCount++;
 		orderType = SequenceOrderType.SOURCE;
 		idList.clear();
 		if (getOwner().hasAlignmentModel()) {
@@ -159,6 +172,7 @@ public class SequenceOrder {
 	 */
 	public void setAlphabeticalSequenceOrder(boolean ascending) {
 		indexByIDMap.clear();
+		modificationCount++;
 		if (ascending) {
 			orderType = SequenceOrderType.ALPHABETICAL_ASCENDENT;
 			Collections.sort(idList, ASCENDING_ALPHABETICAL_COMPARATOR);
@@ -183,6 +197,7 @@ public class SequenceOrder {
 	 */
 	public int moveSequence(int index, int offset) {
 		indexByIDMap.clear();
+		modificationCount++;
 		int newIndex = Math.max(0, Math.min(idList.size() - 1, index + offset));
 		String id = idList.get(index);
 		if (newIndex < index) {
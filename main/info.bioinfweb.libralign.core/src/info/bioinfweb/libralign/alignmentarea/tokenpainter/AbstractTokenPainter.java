@@ -39,12 +39,16 @@ import java.util.List;
  * @since 0.4.0
  */
 public abstract class AbstractTokenPainter implements TokenPainter {
+	private Object passedToken = null;  // The token passed to the paint method with a token parameter, which is currently executed.
+	private boolean hasPassedToken = false;  // Necessary since null may be a valid token.
+	
+	
 	/**
 	 * Method to be implemented by inherited classes performing the actual paint operation. It extends the paint 
 	 * method specified in {@link TokenPainter} by an additional parameter providing the string representation of
 	 * the token.
 	 * 
--	 * @param alignmentArea the alignment area displaying the token to be painted
+	 * @param alignmentArea the alignment area displaying the token to be painted
 	 * @param sequenceID the ID of the sequence containing the token to be painted
 	 * @param columnIndex the index of the alignment column containing  the token to be painted
 	 * @param token the token to be painted
@@ -83,11 +87,13 @@ public abstract class AbstractTokenPainter implements TokenPainter {
 	
 	/**
 	 * Default implementation that delegates to 
-	 * {@link #doPaintToken(AlignmentModel, Object, String, Graphics2D, Rectangle2D)} and determines 
-	 * the string representation of the specified token from the token set of the specified alignment 
-	 * model.
+	 * {@link #doPaintToken(AlignmentArea, String, int, Object, String, Graphics2D, Rectangle2D, Color)} and determines 
+	 * the string representation of the token from the token set of the alignment model of the specified area.
+	 * <p>
+	 * If this method is called by {@link #paintToken(AlignmentArea, String, int, Object, Graphics2D, Rectangle2D, Color)},
+	 * the token passed there is used. Otherwise the token is read from the alignment model.
 	 * 
--	 * @param alignmentArea the alignment area displaying the token to be painted
+	 * @param alignmentArea the alignment area displaying the token to be painted
 	 * @param sequenceID the ID of the sequence containing the token to be painted
 	 * @param columnIndex the index of the alignment column containing  the token to be painted
 	 * @param g the graphics context to paint to
@@ -100,7 +106,14 @@ public abstract class AbstractTokenPainter implements TokenPainter {
 			Rectangle2D paintArea, Color selectionColor) {
 		
 		AlignmentModel alignmentModel = (AlignmentModel)alignmentArea.getAlignmentModel();
-		Object token = alignmentModel.getTokenAt(sequenceID, columnIndex);
+		Object token;
+		if (hasPassedToken) {
+			token = passedToken;
+			clearPassedToken();  // Nested calls for other tokens must read their token from the model.
+		}
+		else {
+			token = alignmentModel.getTokenAt(sequenceID, columnIndex);
+		}
 		if (!alignmentArea.getSelection().isSelected(columnIndex, alignmentArea.getSequenceOrder().indexByID(sequenceID))) {
 			selectionColor = null;
 		}
@@ -111,6 +124,41 @@ public abstract class AbstractTokenPainter implements TokenPainter {
 	}
 
 
+	private void clearPassedToken() {
+		passedToken = null;
+		hasPassedToken = false;
+	}
+	
+	
+	/**
+	 * Default implementation that delegates to {@link #paintToken(AlignmentArea, String, int, Graphics2D, Rectangle2D, Color)},
+	 * so that inherited classes overwriting only that method are still used. The specified token is passed to the 
+	 * default implementation of that method, which therefore does not need to read it from the alignment model again.
+	 * 
+	 * @param alignmentArea the alignment area displaying the token to be painted
+	 * @param sequenceID the ID of the sequence containing the token to be painted
+	 * @param columnIndex the index of the alignment column containing  the token to be painted
+	 * @param token the token to be painted
+	 * @param g the graphics context to paint to
+	 * @param paintArea the rectangle to be filled with the representation of the token
+	 * @param selectionColor this color must be mixed by half with the painted output if it is not {@code null}
+	 * @since 0.10.0
+	 */
+	@Override
+	public void paintToken(AlignmentArea alignmentArea, String sequenceID, int columnIndex, Object token, Graphics2D g, 
+			Rectangle2D paintArea, Color selectionColor) {
+		
+		passedToken = token;
+		hasPassedToken = true;
+		try {
+			paintToken(alignmentArea, sequenceID, columnIndex, g, paintArea, selectionColor);
+		}
+		finally {
+			clearPassedToken();  // In case an overwritten version did not call the default implementation.
+		}
+	}
+
+
 	/**
 	 * Default implementation that returns {@code null}. Inherited classes providing colors should overwrite this method.
 	 * 
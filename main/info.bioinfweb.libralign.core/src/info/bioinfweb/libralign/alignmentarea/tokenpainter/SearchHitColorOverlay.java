@@ -0,0 +1,160 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.alignmentarea.tokenpainter;
+
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import info.bioinfweb.libralign.alignmentarea.AlignmentArea;
+import info.bioinfweb.libralign.model.utils.search.SequenceSearchHit;
+import info.bioinfweb.libralign.model.utils.search.SequenceSearchResult;
+
+
+
+/**
+ * Color overlay that highlights all hits of a {@link SequenceSearchResult}. Hits that are added to the result after
+ * this overlay was created are considered on the next call of {@link #getColor(AlignmentArea, String, int)}, but 
+ * the alignment area is not repainted automatically when new hits are found.
+ * <p>
+ * The hits are indexed by sequence and looked up using a binary search. Since the hits of one sequence do not 
+ * overlap, each cell is covered by at most one hit.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class SearchHitColorOverlay implements ColorOverlay {
+	public static final Color DEFAULT_COLOR = Color.YELLOW;
+	
+	
+	private static class SequenceHits {
+		private int[] startColumns;
+		private int[] endColumns;
+		private int size = 0;
+		
+		
+		public SequenceHits(int initialCapacity) {
+			super();
+			startColumns = new int[initialCapacity];
+			endColumns = new int[initialCapacity];
+		}
+		
+		
+		public void add(SequenceSearchHit hit) {
+			if (size == startColumns.length) {
+				startColumns = Arrays.copyOf(startColumns, 2 * size);
+				endColumns = Arrays.copyOf(endColumns, 2 * size);
+			}
+			startColumns[size] = hit.getStartColumn();
+			endColumns[size] = hit.getEndColumn();
+			size++;
+		}
+		
+		
+		public boolean contains(int column) {
+			int index = Arrays.binarySearch(startColumns, 0, size, column);
+			if (index < 0) {
+				index = -index - 2;  // Index of the last hit starting before column.
+			}
+			return (index >= 0) && (column < endColumns[index]);
+		}
+	}
+	
+	
+	private final SequenceSearchResult result;
+	private Color color;
+	private final Map<String, SequenceHits> hitsBySequence = new HashMap<String, SequenceHits>();
+	private int indexedHitCount = 0;
+	
+	
+	/**
+	 * Creates a new instance of this class using {@link #DEFAULT_COLOR}.
+	 * 
+	 * @param result the search result to be highlighted
+	 */
+	public SearchHitColorOverlay(SequenceSearchResult result) {
+		this(result, DEFAULT_COLOR);
+	}
+
+
+	/**
+	 * Creates a new instance of this class.
+	 * 
+	 * @param result the search result to be highlighted
+	 * @param color the color to overlay hits with
+	 */
+	public SearchHitColorOverlay(SequenceSearchResult result, Color color) {
+		super();
+		this.result = result;
+		this.color = color;
+	}
+
+
+	public SequenceSearchResult getResult() {
+		return result;
+	}
+
+
+	public Color getColor() {
+		return color;
+	}
+
+
+	public void setColor(Color color) {
+		this.color = color;
+	}
+	
+	
+	/**
+	 * Adds all hits that were found since the last call to the index. Since all hits of a sequence are added to the
+	 * result at once and in ascending order, the arrays of each sequence remain sorted.
+	 */
+	private void updateIndex() {
+		if (result.getHitCount() > indexedHitCount) {
+			List<SequenceSearchHit> newHits = result.getHits(indexedHitCount);
+			for (SequenceSearchHit hit : newHits) {
+				if (hit.getEndColumn() > hit.getStartColumn()) {  // Empty matches cannot be displayed.
+					SequenceHits sequenceHits = hitsBySequence.get(hit.getSequenceID());
+					if (sequenceHits == null) {
+						sequenceHits = new SequenceHits(4);
+						hitsBySequence.put(hit.getSequenceID(), sequenceHits);
+					}
+					sequenceHits.add(hit);
+				}
+			}
+			indexedHitCount += newHits.size();
+		}
+	}
+	
+
+	@Override
+	public Color getColor(AlignmentArea alignmentArea, String sequenceID, int columnIndex) {
+		updateIndex();
+		SequenceHits sequenceHits = hitsBySequence.get(sequenceID);
+		if ((sequenceHits != null) && sequenceHits.contains(columnIndex)) {
+			return color;
+		}
+		else {
+			return null;
+		}
+	}
+}
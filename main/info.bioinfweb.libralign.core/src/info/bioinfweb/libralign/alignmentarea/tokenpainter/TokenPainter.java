@@ -61,6 +61,31 @@ public interface TokenPainter {
 	public void paintToken(AlignmentArea alignmentArea, String sequenceID, int columnIndex, Graphics2D g, Rectangle2D paintArea, 
 			Color selectionColor);
 	
+	/**
+	 * Paints a representation of the specified token filling up the specified area. This method behaves like
+	 * {@link #paintToken(AlignmentArea, String, int, Graphics2D, Rectangle2D, Color)}, but receives the token that 
+	 * has already been read from the alignment model by the caller (e.g. as part of a bulk read of all visible 
+	 * tokens of a sequence), so that no additional model access is necessary.
+	 * <p>
+	 * This default implementation ignores {@code token} and delegates to
+	 * {@link #paintToken(AlignmentArea, String, int, Graphics2D, Rectangle2D, Color)}. Implementing classes should 
+	 * overwrite it to make use of the provided token.
+	 * 
+	 * @param alignmentArea the alignment area displaying the token to be painted
+	 * @param sequenceID the ID of the sequence containing the token to be painted
+	 * @param columnIndex the index of the alignment column containing  the token to be painted
+	 * @param token the token to be painted (must be the token currently contained at {@code columnIndex})
+	 * @param g the graphics context to paint to
+	 * @param paintArea the rectangle to be filled with the representation of the token
+	 * @param selectionColor this color must be mixed by half with the painted output if it is not {@code null}
+	 * @since 0.10.0
+	 */
+	public default void paintToken(AlignmentArea alignmentArea, String sequenceID, int columnIndex, Object token, Graphics2D g, 
+			Rectangle2D paintArea, Color selectionColor) {
+		
+		paintToken(alignmentArea, sequenceID, columnIndex, g, paintArea, selectionColor);
+	}
+	
 	/**
 	 * Returns the optimal width this painter would need to paint a supported token in original size (100 % zoom).
 	 * 
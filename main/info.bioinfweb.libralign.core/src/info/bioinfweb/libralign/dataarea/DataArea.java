@@ -149,6 +149,18 @@ public abstract class DataArea extends AlignmentSubArea {
 	}
 
 
+	/**
+	 * This method is called by the owning {@link AlignmentArea} after this data area has been removed from one of its 
+	 * data area lists.
+	 * <p>
+	 * Inherited classes should overwrite this method to remove listeners they have registered on objects that may
+	 * exist longer than this data area (e.g. the alignment model). This default implementation is empty.
+	 * 
+	 * @since 0.10.0
+	 */
+	public void afterRemovedFromAlignmentArea() {}
+
+
 	/**
 	 * Registers a property change listener for all properties.
 	 * <p>
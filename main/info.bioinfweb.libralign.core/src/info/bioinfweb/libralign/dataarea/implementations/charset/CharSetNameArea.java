@@ -27,7 +27,6 @@ import java.awt.SystemColor;
 import java.util.Iterator;
 
 import info.bioinfweb.commons.Math2;
-import info.bioinfweb.commons.graphics.FontCalculator;
 import info.bioinfweb.tic.TICPaintEvent;
 import info.bioinfweb.libralign.alignmentarea.AlignmentArea;
 import info.bioinfweb.libralign.alignmentarea.label.AlignmentLabelArea;
@@ -86,7 +85,7 @@ public class CharSetNameArea extends AlignmentLabelSubArea {
 			Iterator<CharSet> iterator = getLabeledArea().getModel().valueList().iterator();
 			float maxWidth = 0;
 			while (iterator.hasNext()) {
-				maxWidth = Math.max(maxWidth, FontCalculator.getInstance().getWidth(compundFont, iterator.next().getName()));
+				maxWidth = Math.max(maxWidth, getOwner().getLabelArea().getTextWidth(compundFont, iterator.next().getName()));
 			}
 			return Math2.roundUp(maxWidth) + 2 * AlignmentLabelArea.BORDER_WIDTH;
 		}
@@ -30,6 +30,7 @@ import info.bioinfweb.commons.bio.SequenceUtils;
 import info.bioinfweb.commons.events.GenericEventObject;
 import info.bioinfweb.libralign.model.AlignmentModel;
 import info.bioinfweb.libralign.model.AlignmentModelAdapter;
+import info.bioinfweb.libralign.model.SequenceCursor;
 import info.bioinfweb.libralign.model.data.AbstractDataModel;
 import info.bioinfweb.libralign.model.events.SequenceChangeEvent;
 import info.bioinfweb.libralign.model.events.TokenChangeEvent;
@@ -39,6 +40,7 @@ import info.bioinfweb.libralign.model.tokenset.TokenSet;
 
 public class ConsensusSequenceModel extends AbstractDataModel<ConsensusSequenceModelListener> {
 	private final Map<Integer, List<FractionInfo>> fractionsMap = new TreeMap<Integer, List<FractionInfo>>();
+	private List<SequenceCursor<?>> cursors = null;
 
 
 	public ConsensusSequenceModel(AlignmentModel<?> alignmentModel) {
@@ -46,6 +48,7 @@ public class ConsensusSequenceModel extends AbstractDataModel<ConsensusSequenceM
 		alignmentModel.addModelListener(new AlignmentModelAdapter() {
 			private void react() {
 				fractionsMap.clear();
+				cursors = null;
 				fireAfterConsensusUpdated();
 			}
 			
@@ -66,11 +69,29 @@ public class ConsensusSequenceModel extends AbstractDataModel<ConsensusSequenceM
 	}
 
 
-	private <T> String getRepresentation(AlignmentModel<T> model, String sequenceID, int column) {
-		if (model.getSequenceLength(sequenceID) > column) {  // Sequences may have different lengths.
-			T token = model.getTokenAt(sequenceID, column);
-			if (!model.getTokenSet().isGapToken(token)) {
-				return model.getTokenSet().representationByToken(token);
+	/**
+	 * Returns cursors for all sequences of the alignment model, so that the sequences do not have to be looked up 
+	 * again for each column. The cursors are discarded whenever the alignment model changes.
+	 */
+	private List<SequenceCursor<?>> getCursors() {
+		if (cursors == null) {
+			AlignmentModel<?> model = getAlignmentModel();
+			cursors = new ArrayList<SequenceCursor<?>>(model.getSequenceCount());
+			Iterator<String> iterator = model.sequenceIDIterator();
+			while (iterator.hasNext()) {
+				cursors.add(model.getSequenceCursor(iterator.next()));
+			}
+		}
+		return cursors;
+	}
+	
+	
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private String getRepresentation(TokenSet tokenSet, SequenceCursor<?> cursor, int column) {
+		if (cursor.getLength() > column) {  // Sequences may have different lengths.
+			Object token = cursor.getTokenAt(column);
+			if (!tokenSet.isGapToken(token)) {
+				return tokenSet.representationByToken(token);
 			}
 		}
 		return Character.toString(SequenceUtils.GAP_CHAR);  //TODO Is the missing data token also relevant here?
@@ -85,25 +106,21 @@ public class ConsensusSequenceModel extends AbstractDataModel<ConsensusSequenceM
 			
 			AlignmentModel model = getAlignmentModel();
 			TokenSet tokenSet = model.getTokenSet();
-			Iterator<String> iterator = model.sequenceIDIterator();
+			List<SequenceCursor<?>> cursors = getCursors();
 			if (tokenSet.getType().isNucleotide() || tokenSet.getType().equals(CharacterStateSetType.AMINO_ACID)) {
 				Map<Character, Double> frequencies;
 				
 				if (tokenSet.getType().isNucleotide()) {
-					char[] tokens = new char[model.getSequenceCount()];
-					int row = 0;
-					while (iterator.hasNext()) {
-						tokens[row] =	getRepresentation(model, iterator.next(), column).charAt(0);
-						row++;
+					char[] tokens = new char[cursors.size()];
+					for (int row = 0; row < tokens.length; row++) {
+						tokens[row] =	getRepresentation(tokenSet, cursors.get(row), column).charAt(0);
 					}
 					frequencies = SequenceUtils.nucleotideFrequencies(tokens);
 				}
 				else {  // Amino acid
-					String[] tokens = new String[model.getSequenceCount()];
-					int row = 0;
-					while (iterator.hasNext()) {
-						tokens[row] =	getRepresentation(model, iterator.next(), column);
-						row++;
+					String[] tokens = new String[cursors.size()];
+					for (int row = 0; row < tokens.length; row++) {
+						tokens[row] =	getRepresentation(tokenSet, cursors.get(row), column);
 					}
 					frequencies = SequenceUtils.aminoAcidFrequencies(tokens);
 				}
@@ -115,10 +132,9 @@ public class ConsensusSequenceModel extends AbstractDataModel<ConsensusSequenceM
 			else {  //TODO Implement special treatment (e.g., calculating the mean value) for discrete values one day?
 		  	Map<String, Double> frequencies = new TreeMap<String, Double>();
 		  	double sum = 0.0;
-		  	while (iterator.hasNext()) {
-					String sequenceID = iterator.next();
-					if (model.getSequenceLength(sequenceID) > column) {  // Sequences may have different lengths.
-						Object token = model.getTokenAt(sequenceID, column);
+		  	for (SequenceCursor<?> cursor : cursors) {
+					if (cursor.getLength() > column) {  // Sequences may have different lengths.
+						Object token = cursor.getTokenAt(column);
 						if (!tokenSet.isGapToken(token)) {
 							String representation = tokenSet.representationByToken(token);
 							Double frequency = frequencies.get(representation);
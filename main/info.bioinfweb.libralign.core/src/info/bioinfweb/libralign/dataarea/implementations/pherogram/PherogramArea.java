@@ -26,10 +26,11 @@ import java.awt.RenderingHints;
 import java.awt.geom.Rectangle2D;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.ListIterator;
 import java.util.Set;
 
 import info.bioinfweb.commons.collections.SimpleSequenceInterval;
@@ -46,10 +47,10 @@ import info.bioinfweb.libralign.model.events.SequenceChangeEvent;
 import info.bioinfweb.libralign.model.events.SequenceRenamedEvent;
 import info.bioinfweb.libralign.model.events.TokenChangeEvent;
 import info.bioinfweb.libralign.model.tokenset.TokenSet;
+import info.bioinfweb.libralign.pherogram.BaseCallPositionIndex;
 import info.bioinfweb.libralign.pherogram.PherogramComponent;
 import info.bioinfweb.libralign.pherogram.PherogramFormats;
 import info.bioinfweb.libralign.pherogram.PherogramPainter;
-import info.bioinfweb.libralign.pherogram.PherogramUtils;
 import info.bioinfweb.libralign.pherogram.distortion.GapPattern;
 import info.bioinfweb.libralign.pherogram.distortion.ScaledPherogramDistortion;
 import info.bioinfweb.libralign.pherogram.model.PherogramAlignmentRelation;
@@ -60,6 +61,8 @@ import info.bioinfweb.libralign.pherogram.model.PherogramModelListener;
 import info.bioinfweb.libralign.pherogram.model.PherogramProviderChangeEvent;
 import info.bioinfweb.libralign.pherogram.model.PherogramShiftChangeUpdateEvent;
 import info.bioinfweb.libralign.pherogram.model.ShiftChange;
+import info.bioinfweb.libralign.pherogram.provider.PherogramProvider;
+import info.bioinfweb.libralign.pherogram.provider.PherogramReference;
 import info.bioinfweb.libralign.pherogram.view.PherogramTraceCurveView;
 import info.bioinfweb.libralign.pherogram.view.PherogramView;
 import info.bioinfweb.tic.TICPaintEvent;
@@ -81,6 +84,12 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
 	private double verticalScale;
 	private PherogramFormats formats;
 	private PherogramPainter painter = new PherogramPainter(this);
+	private ScaledPherogramDistortion distortion = null;
+	private PherogramAreaModel distortionModel = null;
+	private PherogramProvider distortionProvider = null;
+	private double distortionTokenWidth = 0;
+	private int firstInvalidDistortionIndex = 0;
+	private AlignmentModel<?> listenedAlignmentModel = null;
 
 	
 	private final PropertyChangeListener FORMATS_LISTENER = new PropertyChangeListener() {
@@ -92,6 +101,16 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
 	};
 	
 	
+	private final AlignmentModelListener<Object> ALIGNMENT_MODEL_LISTENER = new AlignmentModelAdapter<Object>() {
+		@Override
+		public void afterTokenChange(TokenChangeEvent<Object> e) {
+			if (hasModel() && getModel().isPherogramLoaded() && e.getSequenceID().equals(getModel().getLabeledSequenceID())) {  // Gap patterns of the following shift changes may have changed.
+				invalidatePherogramDistortion(getModel().baseCallIndexByEditableIndex(e.getStartIndex() - 1).getBeforeValidIndex());
+			}
+		}
+	};
+	
+	
 	/**
 	 * Creates a new instance of this class with its own {@link PherogramFormats} instance.
 	 * 
@@ -129,6 +148,7 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
 		return new PherogramModelListener() {
 			@Override
 			public void pherogramProviderChange(PherogramProviderChangeEvent event) {
+				invalidatePherogramDistortion(0);
 				getOwner().getSizeManager().setLocalMaxLengthBeforeAfterRecalculate();  // Could happen if cut lengths at the beginning and end differ.
 				getOwner().assignSizeToAll();
 				if (!event.isMoreEventsUpcoming()) {
@@ -139,6 +159,7 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
 			
 			@Override
 			public void leftCutPositionChange(PherogramCutPositionChangeEvent event) {
+				invalidatePherogramDistortion(0);  // Cut off shift changes may have been removed.
 				if (!event.isMoreEventsUpcoming()) {
 					updateChangedPosition();
 				}
@@ -161,6 +182,7 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
 			
 			@Override
 			public void rightCutPositionChange(PherogramCutPositionChangeEvent event) {
+				invalidatePherogramDistortion(0);  // Cut off shift changes may have been removed.
 				if (!event.isMoreEventsUpcoming()) {
 					updateChangedPosition();
 				}
@@ -186,6 +208,7 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
 
 			@Override
 			public void firstSequencePositionChange(PherogramFirstSeqPosChangeEvent event) {
+				invalidatePherogramDistortion(0);
 				if (!event.isMoreEventsUpcoming()) {
 					updateChangedPosition();
 				}
@@ -194,6 +217,7 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
 
 			@Override
 			public void shiftChangeEdited(PherogramShiftChangeUpdateEvent event) {
+				invalidatePherogramDistortion(event.getBaseCallIndex());
 				if (!event.isMoreEventsUpcoming()) {
 					repaint();
 				}
@@ -232,78 +256,100 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
 	}
 	
 
-	public ScaledPherogramDistortion createPherogramDistortion() {
-		if (hasModel()) {
-			ScaledPherogramDistortion result = new ScaledPherogramDistortion(getModel().getPherogramProvider().getSequenceLength());
-	  	
-			int startTraceIndex = 0;  //getTracePosition(startBaseCallIndex);
-			Iterator<ShiftChange> shiftChangeIterator = getModel().shiftChangeIterator();
-			ShiftChange shiftChange = null;
-			if (shiftChangeIterator.hasNext()) {
-				shiftChange = shiftChangeIterator.next();
-			}
-			
-			if (getModel().getAlignmentModel() instanceof ConcatenatedAlignmentModel) {  //TODO This reference could also me made using getOwner().getOwner().getAlignmentModel(). Would this be better?
-				throw new InternalError("Support for concatenated models not yet implemented.");
-			}
-			final double compoundWidth = getEditableTokenWidth();
-			int stepWidth = 1;
-			int editPosPerBaseCallPos = 1;
-			double baseCallPaintX = 0; //0.5 * compoundWidth;
-			for (int baseCallIndex = 0; baseCallIndex < getModel().getPherogramProvider().getSequenceLength(); baseCallIndex += stepWidth) {
-				// Treat possible gaps:
-				if ((shiftChange != null) && (baseCallIndex == shiftChange.getBaseCallIndex())) {
-					if (shiftChange.getShiftChange() < 0) {  // Deletion in editable sequence
-						stepWidth = -shiftChange.getShiftChange() + 1;
-						editPosPerBaseCallPos = 1;
-					}
-					else {  // Insertion in editable sequence
-						stepWidth = 1;
-						GapPattern gapPattern = getModel().getGapPattern(shiftChange);
-						editPosPerBaseCallPos = shiftChange.getShiftChange() + 1 - gapPattern.getGapCount();
-						result.setGapPattern(baseCallIndex, gapPattern);
-					}
-	
-					if (shiftChangeIterator.hasNext()) {
-						shiftChange = shiftChangeIterator.next();
-					}
-					else {
-						shiftChange = null;
-					}
+	/**
+	 * Calculates the distortion of the pherogram starting at the specified base call index. All values before
+	 * {@code firstBaseCallIndex} are expected to be already present in {@code result}.
+	 * 
+	 * @param result the distortion object to be filled
+	 * @param firstBaseCallIndex the first base call index to be calculated (must not be located inside the area
+	 *        of a negative shift change, except its first base call index)
+	 * @param compoundWidth the width of a token in the editable sequence
+	 */
+	private void calculatePherogramDistortion(ScaledPherogramDistortion result, int firstBaseCallIndex, double compoundWidth) {
+		BaseCallPositionIndex positionIndex = getModel().getBaseCallPositionIndex();
+		int startTraceIndex = positionIndex.getFirstTracePosition(firstBaseCallIndex);
+		Iterator<ShiftChange> shiftChangeIterator = getModel().shiftChangeIteratorByBaseCallIndex(firstBaseCallIndex);
+		ShiftChange shiftChange = null;
+		if (shiftChangeIterator.hasNext()) {
+			shiftChange = shiftChangeIterator.next();
+		}
+		
+		if (getModel().getAlignmentModel() instanceof ConcatenatedAlignmentModel) {  //TODO This reference could also me made using getOwner().getOwner().getAlignmentModel(). Would this be better?
+			throw new InternalError("Support for concatenated models not yet implemented.");
+		}
+		int stepWidth = 1;
+		int editPosPerBaseCallPos = 1;
+		double baseCallPaintX = 0; //0.5 * compoundWidth;
+		if (firstBaseCallIndex > 0) {
+			baseCallPaintX = result.getPaintStartX(firstBaseCallIndex);  // Value was calculated by the previous step.
+		}
+		result.clear(firstBaseCallIndex);
+		for (int baseCallIndex = firstBaseCallIndex; baseCallIndex < getModel().getPherogramProvider().getSequenceLength(); baseCallIndex += stepWidth) {
+			// Treat possible gaps:
+			if ((shiftChange != null) && (baseCallIndex == shiftChange.getBaseCallIndex())) {
+				if (shiftChange.getShiftChange() < 0) {  // Deletion in editable sequence
+					stepWidth = -shiftChange.getShiftChange() + 1;
+					editPosPerBaseCallPos = 1;
 				}
-				else {
+				else {  // Insertion in editable sequence
 					stepWidth = 1;
-					editPosPerBaseCallPos = 1;
+					GapPattern gapPattern = getModel().getGapPattern(shiftChange);
+					editPosPerBaseCallPos = shiftChange.getShiftChange() + 1 - gapPattern.getGapCount();
+					result.setGapPattern(baseCallIndex, gapPattern);
 				}
-				
-				// Calculate scale and initialize variables:
-				int endTraceIndex = PherogramUtils.getFirstTracePosition(getModel().getPherogramProvider(), baseCallIndex + stepWidth);
-				result.setHorizontalScale(baseCallIndex, editPosPerBaseCallPos * compoundWidth / (double)(endTraceIndex - startTraceIndex));
-	
-				// Calculate paint positions:
-				double baseCallPaintDistance = compoundWidth * editPosPerBaseCallPos / stepWidth;
-				result.setPaintStartX(baseCallIndex, baseCallPaintX);
-				baseCallPaintX += 0.5 * baseCallPaintDistance;
-				if (result.getGapPattern(baseCallIndex) == null) {
-					result.setPaintCenterX(baseCallIndex, baseCallPaintX);
-					for (int i = 1; i < stepWidth; i++) {
-						result.setHorizontalScale(baseCallIndex + i, result.getHorizontalScale(baseCallIndex));  // Scale remains constant.
-						baseCallPaintX += 0.5 * baseCallPaintDistance;
-						result.setPaintStartX(baseCallIndex + i, baseCallPaintX);
-						baseCallPaintX += 0.5 * baseCallPaintDistance;
-						result.setPaintCenterX(baseCallIndex + i, baseCallPaintX);
-						// GapPattern does not need to be set, because it must be null in this case.
-					}
+
+				if (shiftChangeIterator.hasNext()) {
+					shiftChange = shiftChangeIterator.next();
+				}
+				else {
+					shiftChange = null;
 				}
-				else {	// Treat gaps (in this case stepWidth should always be 1):
-					GapPattern gapPattern = result.getGapPattern(baseCallIndex);
-					result.setPaintCenterX(baseCallIndex, baseCallPaintX + compoundWidth * gapPattern.countGapsBeforeCurveCenter());
-					baseCallPaintX += compoundWidth * gapPattern.getGapCount();
+			}
+			else {
+				stepWidth = 1;
+				editPosPerBaseCallPos = 1;
+			}
+			
+			// Calculate scale and initialize variables:
+			int endTraceIndex = positionIndex.getFirstTracePosition(baseCallIndex + stepWidth);
+			result.setHorizontalScale(baseCallIndex, editPosPerBaseCallPos * compoundWidth / (double)(endTraceIndex - startTraceIndex));
+
+			// Calculate paint positions:
+			double baseCallPaintDistance = compoundWidth * editPosPerBaseCallPos / stepWidth;
+			result.setPaintStartX(baseCallIndex, baseCallPaintX);
+			baseCallPaintX += 0.5 * baseCallPaintDistance;
+			if (result.getGapPattern(baseCallIndex) == null) {
+				result.setPaintCenterX(baseCallIndex, baseCallPaintX);
+				for (int i = 1; i < stepWidth; i++) {
+					result.setHorizontalScale(baseCallIndex + i, result.getHorizontalScale(baseCallIndex));  // Scale remains constant.
+					baseCallPaintX += 0.5 * baseCallPaintDistance;
+					result.setPaintStartX(baseCallIndex + i, baseCallPaintX);
+					baseCallPaintX += 0.5 * baseCallPaintDistance;
+					result.setPaintCenterX(baseCallIndex + i, baseCallPaintX);
+					// GapPattern does not need to be set, because it must be null in this case.
 				}
-				baseCallPaintX += 0.5 * baseCallPaintDistance;
-				startTraceIndex = endTraceIndex;
 			}
-	  	
+			else {	// Treat gaps (in this case stepWidth should always be 1):
+				GapPattern gapPattern = result.getGapPattern(baseCallIndex);
+				result.setPaintCenterX(baseCallIndex, baseCallPaintX + compoundWidth * gapPattern.countGapsBeforeCurveCenter());
+				baseCallPaintX += compoundWidth * gapPattern.getGapCount();
+			}
+			baseCallPaintX += 0.5 * baseCallPaintDistance;
+			startTraceIndex = endTraceIndex;
+		}
+	}
+	
+
+	/**
+	 * Creates a new object describing how the pherogram is distorted to align to the editable sequence. Note that
+	 * {@link #getPherogramDistortion()} should be preferred, if the returned object is not modified by the caller.
+	 * 
+	 * @return the new distortion object
+	 */
+	public ScaledPherogramDistortion createPherogramDistortion() {
+		if (hasModel()) {
+			ScaledPherogramDistortion result = new ScaledPherogramDistortion(getModel().getPherogramProvider().getSequenceLength());
+			calculatePherogramDistortion(result, 0, getEditableTokenWidth());
 	  	return result;
 		}
 		else {
@@ -312,12 +358,138 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
   }	
 
 	
+	/**
+	 * Returns the distortion of the pherogram that is currently used for painting. The returned object is reused
+	 * by subsequent calls. It is only recalculated from the first affected base call, if the shift changes, the 
+	 * cut positions or the editable sequence are modified, and completely if the provider or the zoom change.
+	 * <p>
+	 * The returned object must not be modified by the caller. Use {@link #createPherogramDistortion()} instead, 
+	 * if a modifiable copy is needed.
+	 * 
+	 * @return the current distortion object
+	 * @since 0.10.0
+	 */
+	public ScaledPherogramDistortion getPherogramDistortion() {
+		if (hasModel()) {
+			updateAlignmentModelListener();
+			double tokenWidth = getEditableTokenWidth();
+			if ((distortion == null) || (distortionModel != getModel()) || 
+					(distortionProvider != getModel().getPherogramProvider()) || (distortionTokenWidth != tokenWidth)) {
+				
+				distortion = new ScaledPherogramDistortion(getModel().getPherogramProvider().getSequenceLength());
+				distortionModel = getModel();
+				distortionProvider = getModel().getPherogramProvider();
+				distortionTokenWidth = tokenWidth;
+				firstInvalidDistortionIndex = 0;
+			}
+			
+			if (firstInvalidDistortionIndex < distortion.size()) {
+				int restartIndex = 0;
+				ListIterator<ShiftChange> iterator = getModel().shiftChangeIteratorByBaseCallIndex(firstInvalidDistortionIndex);
+				if (iterator.hasPrevious()) {
+					restartIndex = iterator.previous().getBaseCallIndex();  // The last shift change before might have been combined with a changed one or its area might contain the invalid index.
+				}
+				calculatePherogramDistortion(distortion, restartIndex, tokenWidth);
+				firstInvalidDistortionIndex = Integer.MAX_VALUE;
+			}
+			return distortion;
+		}
+		else {
+			return new ScaledPherogramDistortion(0);
+		}
+	}
+	
+	
+	/**
+	 * Marks the distortion returned by {@link #getPherogramDistortion()} as outdated starting with the specified 
+	 * base call index. The values will be recalculated on the next call of {@link #getPherogramDistortion()}.
+	 * 
+	 * @param firstBaseCallIndex the first base call index that may be affected by a change
+	 * @since 0.10.0
+	 */
+	protected void invalidatePherogramDistortion(int firstBaseCallIndex) {
+		firstInvalidDistortionIndex = Math.min(firstInvalidDistortionIndex, Math.max(0, firstBaseCallIndex));
+	}
+	
+	
+	private void updateAlignmentModelListener() {
+		AlignmentModel<?> alignmentModel = getModel().getAlignmentModel();
+		if (alignmentModel != listenedAlignmentModel) {
+			removeAlignmentModelListener();
+			if (alignmentModel != null) {
+				listenedAlignmentModel = alignmentModel;
+				listenedAlignmentModel.addModelListener(ALIGNMENT_MODEL_LISTENER);
+			}
+			invalidatePherogramDistortion(0);
+		}
+	}
+	
+	
+	private void removeAlignmentModelListener() {
+		if (listenedAlignmentModel != null) {
+			listenedAlignmentModel.removeModelListener(ALIGNMENT_MODEL_LISTENER);
+			listenedAlignmentModel = null;
+		}
+	}
+	
+	
+	/**
+	 * Removes the listener of this area from the alignment model of the previous model, if a different model is set.
+	 * It will be registered again on the alignment model of the new model, when the pherogram distortion is calculated
+	 * the next time.
+	 */
+	@Override
+	public PherogramAreaModel setModel(PherogramAreaModel model) {
+		if (model != getModel()) {
+			removeAlignmentModelListener();
+		}
+		return super.setModel(model);
+	}
+
+
+	/**
+	 * Removes the listener of this area from the alignment model. It will be registered again, if this area is added
+	 * to an alignment area again and its pherogram distortion is calculated.
+	 */
+	@Override
+	public void afterRemovedFromAlignmentArea() {
+		removeAlignmentModelListener();
+	}
+
+	
+	/**
+	 * Paints a placeholder as long as the pherogram of the model is still loading.
+	 */
+	private void paintPlaceholder(AlignmentPaintEvent e) {
+		Graphics2D g = e.getGraphics();
+		g.setColor(getFormats().getCutBackgroundColor());
+		g.fill(new Rectangle2D.Double(e.getRectangle().getMinX(), e.getRectangle().getMinY(), 
+				e.getRectangle().getWidth(), e.getRectangle().getHeight()));
+		
+		String text = "Loading pherogram...";
+		if ((getModel() instanceof PherogramReference) && 
+				((PherogramReference)getModel()).getLoadingFuture().isCompletedExceptionally()) {
+			
+			text = "The pherogram could not be loaded.";
+		}
+		Font font = getFormats().getIndexFont().createFont(getFormats().calculateFontZoomFactor(this));
+		g.setFont(font);
+		g.setColor(Color.GRAY);
+		g.drawString(text, (float)Math.max(e.getRectangle().getMinX(), 
+				getOwner().getContentArea().paintXByColumn(Math.max(0, getModel().getFirstSeqPos()))), 
+				(float)(font.getSize2D() * PherogramFormats.FONT_HEIGHT_FACTOR));
+	}
+	
+	
 	@Override
 	public void paintPart(AlignmentPaintEvent e) {
 		Graphics2D g = e.getGraphics();
 		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 		
-		if (hasModel()) {
+		if (hasModel() && !getModel().isPherogramLoaded()) {
+			paintPlaceholder(e);
+		}
+		else if (hasModel()) {
 			double leftX = getOwner().getContentArea().paintXByColumn(
 					getModel().editableIndexByBaseCallIndex(getModel().getLeftCutPosition()).getBefore()); // getAfter());
 			double rightX = getOwner().getContentArea().paintXByColumn(
@@ -350,7 +522,7 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
 				double y = 0; 
 				double height = getHeight();
 				double fontZoom = getFormats().calculateFontZoomFactor(this);
-				ScaledPherogramDistortion distortion = createPherogramDistortion();
+				ScaledPherogramDistortion distortion = getPherogramDistortion();
 				
 				// Paint gaps:
 				if (getModel().getAlignmentModel() instanceof ConcatenatedAlignmentModel) {
@@ -469,10 +641,7 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
 	private void setGaps(int startEditableIndex, int length) {
   	if (hasModel() && (getList() != null)) {
   		AlignmentModel<Object> model = (AlignmentModel<Object>)getModel().getAlignmentModel();
-	  	Collection<Object> tokens = new ArrayList<Object>(length);
-	  	for (int i = 0; i < length; i++) {
-				tokens.add(model.getTokenSet().getGapToken());
-			}
+	  	Collection<Object> tokens = Collections.nCopies(length, model.getTokenSet().getGapToken());
 	  	String sequenceID = getList().getLocation().getSequenceID();
 	  	if (sequenceID != null) {
 	  		model.setTokensAt(sequenceID, startEditableIndex, tokens);
@@ -591,7 +760,7 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
 
 	@Override
 	public double getLengthBeforeStart() {
-		if (hasModel()) {
+		if (hasModel() && getModel().isPherogramLoaded()) {
 			return Math.max(0, getOwner().getContentArea().paintXByColumn(getModel().baseCallIndexByEditableIndex(0).getAfter()));
 		}
 		else {
@@ -602,7 +771,7 @@ public class PherogramArea extends ModelBasedDataArea<PherogramAreaModel, Pherog
 
 	@Override
 	public double getLengthAfterEnd() {
-		if (hasModel()) {
+		if (hasModel() && getModel().isPherogramLoaded()) {
 			int lastEditableIndex = getModel().editableIndexByBaseCallIndex(getModel().getRightCutPosition() - 1).getAfter();
 			double lengthOfOutputAfterAlignmentStart = getOwner().getContentArea().paintXByColumn(lastEditableIndex) + 
 					(1 + getModel().getPherogramProvider().getSequenceLength() - getModel().getRightCutPosition()) *  
@@ -92,7 +92,9 @@ public class DataLists<O, E> {
 	public void removeSequenceList(String sequenceID) {
 		DataList<O, E> list = sequenceLists.remove(sequenceID);
 		if (list != null) {
-			list.clear();  // Fire remove events for all entries.
+			if (!list.isEmpty()) {  // Clearing an empty observable list would fire an event without affected elements, which is not allowed.
+				list.clear();  // Fire remove events for all entries.
+			}
 			list.removeListChangeListener(listChangeListener);
 		}
 	}
@@ -277,6 +277,165 @@ public interface AlignmentModel<T> {
 	 */
 	public T getTokenAt(String sequenceID, int index);
 	
+	/**
+	 * Copies a range of tokens of the specified sequence into an array. Using this method is more efficient than 
+	 * calling {@link #getTokenAt(String, int)} for each token, since the sequence only needs to be looked up once.
+	 * <p>
+	 * This default implementation delegates to {@link #getTokenAt(String, int)}. Implementations should overwrite 
+	 * it with a more efficient version.
+	 * 
+	 * @param sequenceID the identifier the sequence where the tokens are contained
+	 * @param beginIndex the index of the first token to be copied
+	 * @param endIndex the index after the last token to be copied
+	 * @param destination the array to copy the tokens to
+	 * @param destinationOffset the index in {@code destination} where the first token shall be stored
+	 * @throws SequenceNotFoundException if no according sequence to the specified ID was found in this model
+	 * @throws IndexOutOfBoundsException if the specified range is not contained in the specified sequence or does not
+	 *         fit into {@code destination}
+	 * @since 0.10.0
+	 */
+	public default void getTokens(String sequenceID, int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		for (int index = beginIndex; index < endIndex; index++) {
+			destination[destinationOffset + index - beginIndex] = getTokenAt(sequenceID, index);
+		}
+	}
+	
+	/**
+	 * Calls the specified visitor for each token in a range of the specified sequence.
+	 * <p>
+	 * This default implementation reads the tokens using the cursor returned by {@link #getSequenceCursor(String)}.
+	 * 
+	 * @param sequenceID the identifier the sequence where the tokens are contained
+	 * @param beginIndex the index of the first token to be visited
+	 * @param endIndex the index after the last token to be visited
+	 * @param visitor the visitor to be called for each token
+	 * @throws SequenceNotFoundException if no according sequence to the specified ID was found in this model
+	 * @throws IndexOutOfBoundsException if the specified range is not contained in the specified sequence
+	 * @since 0.10.0
+	 */
+	public default void forEachToken(String sequenceID, int beginIndex, int endIndex, TokenVisitor<? super T> visitor) {
+		SequenceCursor<T> cursor = getSequenceCursor(sequenceID);
+		for (int index = beginIndex; index < endIndex; index++) {
+			visitor.visitToken(index, cursor.getTokenAt(index));
+		}
+	}
+	
+	/**
+	 * Returns a cursor that allows to read the tokens of the specified sequence without looking up the sequence
+	 * again for each access.
+	 * <p>
+	 * This default implementation returns a {@link DefaultSequenceCursor} delegating to the methods of this model. 
+	 * Implementations should overwrite it with a more efficient version.
+	 * 
+	 * @param sequenceID the identifier of the sequence to be accessed
+	 * @return the new cursor
+	 * @throws SequenceNotFoundException if no according sequence to the specified ID was found in this model
+	 * @since 0.10.0
+	 */
+	public default SequenceCursor<T> getSequenceCursor(String sequenceID) {
+		return new DefaultSequenceCursor<T>(this, sequenceID);
+	}
+	
+	/**
+	 * Returns a handle referencing the specified sequence, which can be passed to the handle based accessors of this
+	 * model instead of the sequence ID. Handles should be obtained once and reused for many accesses to the same 
+	 * sequence (e.g. while painting), since implementations can resolve them faster than sequence IDs.
+	 * <p>
+	 * This default implementation returns a new handle with the index {@link SequenceHandle#NO_INDEX}. The handle 
+	 * based default methods of this interface delegate to their sequence ID based counterparts. Implementations 
+	 * should overwrite these methods to resolve their handles more efficiently.
+	 * 
+	 * @param sequenceID the identifier of the sequence to be referenced
+	 * @return the handle of the specified sequence
+	 * @throws SequenceNotFoundException if no according sequence to the specified ID was found in this model
+	 * @since 0.10.0
+	 */
+	public default SequenceHandle getSequenceHandle(String sequenceID) {
+		if (containsSequence(sequenceID)) {
+			return new SequenceHandle(this, sequenceID, SequenceHandle.NO_INDEX);
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequenceID);
+		}
+	}
+	
+	/**
+	 * Returns the length of the sequence referenced by the specified handle.
+	 * 
+	 * @param sequence the handle of the sequence obtained from {@link #getSequenceHandle(String)}
+	 * @return the length of the sequence or {@code -1} if the referenced sequence is no longer contained in this model
+	 * @see #getSequenceLength(String)
+	 * @since 0.10.0
+	 */
+	public default int getSequenceLength(SequenceHandle sequence) {
+		return getSequenceLength(sequence.getSequenceID());
+	}
+	
+	/**
+	 * Returns the token at the specified position of the sequence referenced by the specified handle.
+	 * 
+	 * @param sequence the handle of the sequence obtained from {@link #getSequenceHandle(String)}
+	 * @param index the index of the element contained in the specified sequence (The first element has the index 0.)
+	 * @return the token at the specified position
+	 * @throws SequenceNotFoundException if the referenced sequence is no longer contained in this model
+	 * @throws IndexOutOfBoundsException if the specified index is below zero or greater or equal to the length of the
+	 *         specified sequence 
+	 * @see #getTokenAt(String, int)
+	 * @since 0.10.0
+	 */
+	public default T getTokenAt(SequenceHandle sequence, int index) {
+		return getTokenAt(sequence.getSequenceID(), index);
+	}
+	
+	/**
+	 * Copies a range of tokens of the sequence referenced by the specified handle into an array.
+	 * 
+	 * @param sequence the handle of the sequence obtained from {@link #getSequenceHandle(String)}
+	 * @param beginIndex the index of the first token to be copied
+	 * @param endIndex the index after the last token to be copied
+	 * @param destination the array to copy the tokens to
+	 * @param destinationOffset the index in {@code destination} where the first token shall be stored
+	 * @throws SequenceNotFoundException if the referenced sequence is no longer contained in this model
+	 * @throws IndexOutOfBoundsException if the specified range is not contained in the specified sequence or does not
+	 *         fit into {@code destination}
+	 * @see #getTokens(String, int, int, Object[], int)
+	 * @since 0.10.0
+	 */
+	public default void getTokens(SequenceHandle sequence, int beginIndex, int endIndex, T[] destination, 
+			int destinationOffset) {
+		
+		getTokens(sequence.getSequenceID(), beginIndex, endIndex, destination, destinationOffset);
+	}
+	
+	/**
+	 * Returns a cursor for the sequence referenced by the specified handle.
+	 * 
+	 * @param sequence the handle of the sequence obtained from {@link #getSequenceHandle(String)}
+	 * @return the new cursor
+	 * @throws SequenceNotFoundException if the referenced sequence is no longer contained in this model
+	 * @see #getSequenceCursor(String)
+	 * @since 0.10.0
+	 */
+	public default SequenceCursor<T> getSequenceCursor(SequenceHandle sequence) {
+		return getSequenceCursor(sequence.getSequenceID());
+	}
+	
+	/**
+	 * Returns a counter that is increased each time sequences are added, removed or renamed or tokens are changed
+	 * in this model. It allows other objects to cache values calculated from the contents of this model (e.g. the 
+	 * number of columns) without registering a listener. The absolute value has no meaning, only whether it 
+	 * changed between two calls.
+	 * <p>
+	 * This default implementation always returns -1, which indicates that modifications are not counted and
+	 * values calculated from this model must not be cached.
+	 * 
+	 * @return the current modification count or -1 if modifications are not counted by this model
+	 * @since 0.10.0
+	 */
+	public default long getModificationCount() {
+		return -1;
+	}
+	
 	/**
 	 * Replaces the token at the specified position by the passed token.
 	 * 
@@ -0,0 +1,91 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model;
+
+
+import info.bioinfweb.libralign.model.exception.SequenceNotFoundException;
+
+
+
+/**
+ * Default implementation of {@link SequenceCursor} that delegates all calls to the methods of its alignment
+ * model. It is returned by the default implementation of {@link AlignmentModel#getSequenceCursor(String)}
+ * and does not offer any performance advantage. Implementations of {@link AlignmentModel} should provide
+ * cursors directly accessing their sequence objects instead.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens in the sequence
+ */
+public class DefaultSequenceCursor<T> implements SequenceCursor<T> {
+	private AlignmentModel<T> model;
+	private String sequenceID;
+
+
+	/**
+	 * Creates a new instance of this class.
+	 *
+	 * @param model the alignment model containing the sequence
+	 * @param sequenceID the ID of the sequence to be accessed
+	 * @throws SequenceNotFoundException if {@code model} does not contain a sequence with the specified ID
+	 */
+	public DefaultSequenceCursor(AlignmentModel<T> model, String sequenceID) {
+		super();
+		if (!model.containsSequence(sequenceID)) {
+			throw new SequenceNotFoundException(model, sequenceID);
+		}
+		this.model = model;
+		this.sequenceID = sequenceID;
+	}
+
+
+	/**
+	 * Returns the alignment model containing the sequence of this cursor.
+	 *
+	 * @return the underlying alignment model
+	 */
+	public AlignmentModel<T> getModel() {
+		return model;
+	}
+
+
+	@Override
+	public String getSequenceID() {
+		return sequenceID;
+	}
+
+
+	@Override
+	public int getLength() {
+		return model.getSequenceLength(sequenceID);
+	}
+
+
+	@Override
+	public T getTokenAt(int index) {
+		return model.getTokenAt(sequenceID, index);
+	}
+
+
+	@Override
+	public void getTokens(int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		model.getTokens(sequenceID, beginIndex, endIndex, destination, destinationOffset);
+	}
+}
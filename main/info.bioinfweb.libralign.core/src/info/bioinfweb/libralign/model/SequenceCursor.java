@@ -0,0 +1,73 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model;
+
+
+
+/**
+ * Provides read access to the tokens of a single sequence of an {@link AlignmentModel}. In contrast to the
+ * methods of {@link AlignmentModel}, the sequence only needs to be looked up once when the cursor is created
+ * and not on each token access.
+ * <p>
+ * Instances are obtained from {@link AlignmentModel#getSequenceCursor(String)}. A cursor reflects all changes
+ * of the tokens of its sequence, but becomes invalid if its sequence is removed from the model. Cursors should
+ * therefore be used for a series of read operations and not be stored permanently.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens in the sequence
+ */
+public interface SequenceCursor<T> {
+	/**
+	 * Returns the ID of the sequence this cursor provides access to.
+	 *
+	 * @return the sequence ID
+	 */
+	public String getSequenceID();
+
+	/**
+	 * Returns the current length of the sequence.
+	 *
+	 * @return the number of tokens in the sequence
+	 */
+	public int getLength();
+
+	/**
+	 * Returns the token at the specified position.
+	 *
+	 * @param index the index of the token (The first element has the index 0.)
+	 * @return the token at {@code index}
+	 * @throws IndexOutOfBoundsException if the specified index is below zero or greater or equal to the length of
+	 *         the sequence
+	 */
+	public T getTokenAt(int index);
+
+	/**
+	 * Copies a range of tokens into the specified array.
+	 *
+	 * @param beginIndex the index of the first token to be copied
+	 * @param endIndex the index after the last token to be copied
+	 * @param destination the array to copy the tokens to
+	 * @param destinationOffset the index in {@code destination} where the first token shall be stored
+	 * @throws IndexOutOfBoundsException if the specified range is not contained in the sequence or does not fit
+	 *         into {@code destination}
+	 */
+	public void getTokens(int beginIndex, int endIndex, T[] destination, int destinationOffset);
+}
@@ -0,0 +1,96 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model;
+
+
+import info.bioinfweb.libralign.model.implementations.AbstractMapBasedAlignmentModel;
+
+
+
+/**
+ * An opaque reference to a sequence of an {@link AlignmentModel} that can be passed to the handle based accessors
+ * of the model (e.g. {@link AlignmentModel#getTokenAt(SequenceHandle, int)}) instead of a sequence ID. Models 
+ * supporting handles (e.g. all models inherited from {@link AbstractMapBasedAlignmentModel}) resolve them in constant 
+ * time using {@link #getIndex()}, without having to look up the sequence ID in a map for each call.
+ * <p>
+ * Instances are obtained from {@link AlignmentModel#getSequenceHandle(String)}. A handle remains valid as long as its 
+ * sequence is contained in the model, even if the sequence is renamed or its tokens are changed. Handle based accessors
+ * of the model will throw a {@link info.bioinfweb.libralign.model.exception.SequenceNotFoundException} if a handle is 
+ * used after its sequence was removed.
+ * <p>
+ * Application code should not create instances of this class directly.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class SequenceHandle {
+	/** The index value of handles that are not resolved using an index by their model. */
+	public static final int NO_INDEX = -1;
+	
+	
+	private final AlignmentModel<?> model;
+	private final String sequenceID;
+	private final int index;
+	
+	
+	/**
+	 * Creates a new instance of this class. This constructor is meant to be used by implementations of 
+	 * {@link AlignmentModel}.
+	 * 
+	 * @param model the model that created the handle
+	 * @param sequenceID the ID of the referenced sequence
+	 * @param index an index that allows {@code model} to resolve this handle in constant time or {@link #NO_INDEX}
+	 */
+	public SequenceHandle(AlignmentModel<?> model, String sequenceID, int index) {
+		super();
+		this.model = model;
+		this.sequenceID = sequenceID;
+		this.index = index;
+	}
+
+
+	/**
+	 * Returns the alignment model that created this handle.
+	 * 
+	 * @return the owning alignment model
+	 */
+	public AlignmentModel<?> getModel() {
+		return model;
+	}
+
+
+	/**
+	 * Returns the ID of the sequence referenced by this handle.
+	 * 
+	 * @return the sequence ID
+	 */
+	public String getSequenceID() {
+		return sequenceID;
+	}
+
+
+	/**
+	 * Returns the index used by the owning model to resolve this handle.
+	 * 
+	 * @return the index or {@link #NO_INDEX}
+	 */
+	public int getIndex() {
+		return index;
+	}
+}
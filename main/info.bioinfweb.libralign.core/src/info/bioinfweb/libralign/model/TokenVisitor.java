@@ -0,0 +1,40 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model;
+
+
+
+/**
+ * Interface to be implemented by classes that process a range of tokens of a sequence using
+ * {@link AlignmentModel#forEachToken(String, int, int, TokenVisitor)}.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens to be visited
+ */
+public interface TokenVisitor<T> {
+	/**
+	 * Called for each token in the visited range in ascending order.
+	 *
+	 * @param index the index of the token in its sequence
+	 * @param token the token at {@code index}
+	 */
+	public void visitToken(int index, T token);
+}
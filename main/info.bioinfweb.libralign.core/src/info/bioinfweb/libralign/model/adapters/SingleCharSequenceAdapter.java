@@ -90,6 +90,17 @@ public class SingleCharSequenceAdapter<T> extends AbstractSingleSequenceDataAdap
 	}
 
 
+	private char charByToken(T token) throws InvalidUnderlyingTokenException {
+		String representation = getUnderlyingModel().getTokenSet().representationByToken(token);
+		if ((representation.length() == 1) || ((representation.length() > 0) && isCutLongRepresentations())) {
+			return representation.charAt(0);
+		}
+		else {
+			throw new InvalidUnderlyingTokenException(this, token, representation);
+		}
+	}
+	
+	
 	/**
 	 * Returns the character representation of the token in the underlying data source at the specified position.
 	 * 
@@ -101,14 +112,7 @@ public class SingleCharSequenceAdapter<T> extends AbstractSingleSequenceDataAdap
 	@Override
 	public char charAt(int index) throws InvalidUnderlyingTokenException, IndexOutOfBoundsException {
 		if (Math2.isBetween(index, 0, length() - 1)) {
-			T token = getUnderlyingModel().getTokenAt(getSequenceID(), getOffset() + index); 
-			String representation = getUnderlyingModel().getTokenSet().representationByToken(token);
-			if ((representation.length() == 1) || ((representation.length() > 0) && isCutLongRepresentations())) {
-				return representation.charAt(0);
-			}
-			else {
-				throw new InvalidUnderlyingTokenException(this, token, representation);
-			}
+			return charByToken(getUnderlyingModel().getTokenAt(getSequenceID(), getOffset() + index));
 		}
 		else {
 			throw new IndexOutOfBoundsException("Invalid index " + index + ".");
@@ -150,6 +154,14 @@ public class SingleCharSequenceAdapter<T> extends AbstractSingleSequenceDataAdap
 	 */
 	@Override
 	public String toString() {
-		return new StringBuffer(this).toString();  //TODO Check if the constructor of StringBuffer does not use the method recursively.
+		@SuppressWarnings("unchecked")
+		T[] tokens = (T[])new Object[length()];
+		getUnderlyingModel().getTokens(getSequenceID(), getOffset(), getOffset() + tokens.length, tokens, 0);  // Read all tokens at once instead of calling charAt() for each.
+		
+		char[] result = new char[tokens.length];
+		for (int i = 0; i < tokens.length; i++) {
+			result[i] = charByToken(tokens[i]);
+		}
+		return new String(result);
 	}
 }
@@ -0,0 +1,109 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.events;
+
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+
+
+
+/**
+ * A collection of tokens that is only created when its elements are accessed for the first time. It can be passed 
+ * to the factory methods of {@link TokenChangeEvent} and {@link SequenceChangeEvent} if creating the token collection
+ * is expensive (e.g. because tokens need to be converted when an event is forwarded by a decorator) and most 
+ * listeners are not expected to read the tokens.
+ * <p>
+ * The size of the collection must be known in advance. Calls of {@link #size()} and {@link #isEmpty()} therefore 
+ * do not trigger the creation of the elements. The elements are created only once by {@link #createTokens()} and 
+ * the returned collection is used for all subsequent accesses.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of the tokens in this collection
+ */
+public abstract class LazyTokenCollection<T> extends AbstractCollection<T> {
+	private final int size;
+	private Collection<? extends T> tokens = null;
+	
+	
+	/**
+	 * Creates a new instance of this class.
+	 * 
+	 * @param size the number of tokens the collection returned by {@link #createTokens()} will contain
+	 */
+	public LazyTokenCollection(int size) {
+		super();
+		this.size = size;
+	}
+	
+	
+	/**
+	 * Inherited classes must create the elements of this collection by implementing this method. It is called at 
+	 * most once for each instance.
+	 * 
+	 * @return a collection containing the tokens (must contain as many elements as specified in the constructor)
+	 */
+	protected abstract Collection<? extends T> createTokens();
+	
+	
+	/**
+	 * Determines whether the tokens of this collection have already been created.
+	 * 
+	 * @return {@code true} if {@link #createTokens()} has already been called, {@code false} otherwise
+	 */
+	public boolean isMaterialized() {
+		return tokens != null;
+	}
+	
+	
+	private Collection<? extends T> getTokens() {
+		if (tokens == null) {
+			tokens = createTokens();
+		}
+		return tokens;
+	}
+	
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Iterator<T> iterator() {
+		return (Iterator<T>)getTokens().iterator();
+	}
+
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+
+	@Override
+	public boolean contains(Object o) {
+		return getTokens().contains(o);
+	}
+}
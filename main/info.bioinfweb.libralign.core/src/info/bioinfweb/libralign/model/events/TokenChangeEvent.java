@@ -30,6 +30,10 @@ import java.util.Collections;
 /**
  * Event object that indicates that tokens in a sequence provided by an instance of 
  * {@link AlignmentModel} were inserted, removed or replaced.
+ * <p>
+ * The token collections of an event may be instances of {@link LazyTokenCollection}, whose elements are only created
+ * when they are accessed. Listeners that do not need the tokens should therefore avoid iterating them. Listeners that
+ * need to store them should keep in mind that they may be views and copy them if necessary.
  * 
  * @author Ben St&ouml;ver
  * @since 0.0.0
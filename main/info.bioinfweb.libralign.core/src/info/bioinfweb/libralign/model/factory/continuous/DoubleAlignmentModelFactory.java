@@ -22,14 +22,14 @@ package info.bioinfweb.libralign.model.factory.continuous;
 import info.bioinfweb.libralign.model.AlignmentModel;
 import info.bioinfweb.libralign.model.factory.AbstractAlignmentModelFactory;
 import info.bioinfweb.libralign.model.factory.NewAlignmentModelParameterMap;
-import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.continuous.DoubleArrayAlignmentModel;
 import info.bioinfweb.libralign.model.tokenset.continuous.ContinuousToken;
 import info.bioinfweb.libralign.model.tokenset.continuous.DoubleTokenSet;
 
 
 
 /**
- * Factory that creates {@link ArrayListAlignmentModel}s with {@link Double} values as tokens.
+ * Factory that creates {@link DoubleArrayAlignmentModel}s with {@link Double} values as tokens.
  * 
  * @author Ben St&ouml;ver
  * @since 0.4.0
@@ -37,6 +37,6 @@ import info.bioinfweb.libralign.model.tokenset.continuous.DoubleTokenSet;
 public class DoubleAlignmentModelFactory extends AbstractAlignmentModelFactory<ContinuousToken<Double>> {
 	@Override
 	public AlignmentModel<ContinuousToken<Double>> doCreateNewModel(NewAlignmentModelParameterMap parameterMap) {
-		return new ArrayListAlignmentModel<ContinuousToken<Double>>(new DoubleTokenSet());
+		return new DoubleArrayAlignmentModel(new DoubleTokenSet());
 	}
 }
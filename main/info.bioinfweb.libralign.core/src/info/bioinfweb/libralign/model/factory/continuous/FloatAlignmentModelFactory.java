@@ -22,14 +22,14 @@ package info.bioinfweb.libralign.model.factory.continuous;
 import info.bioinfweb.libralign.model.AlignmentModel;
 import info.bioinfweb.libralign.model.factory.AbstractAlignmentModelFactory;
 import info.bioinfweb.libralign.model.factory.NewAlignmentModelParameterMap;
-import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.continuous.FloatArrayAlignmentModel;
 import info.bioinfweb.libralign.model.tokenset.continuous.ContinuousToken;
 import info.bioinfweb.libralign.model.tokenset.continuous.FloatTokenSet;
 
 
 
 /**
- * Factory that creates {@link ArrayListAlignmentModel}s with {@link Float} values as tokens.
+ * Factory that creates {@link FloatArrayAlignmentModel}s with {@link Float} values as tokens.
  * 
  * @author Ben St&ouml;ver
  * @since 0.4.0
@@ -37,6 +37,6 @@ import info.bioinfweb.libralign.model.tokenset.continuous.FloatTokenSet;
 public class FloatAlignmentModelFactory extends AbstractAlignmentModelFactory<ContinuousToken<Float>> {
 	@Override
 	public AlignmentModel<ContinuousToken<Float>> doCreateNewModel(NewAlignmentModelParameterMap parameterMap) {
-		return new ArrayListAlignmentModel<ContinuousToken<Float>>(new FloatTokenSet());
+		return new FloatArrayAlignmentModel(new FloatTokenSet());
 	}
 }
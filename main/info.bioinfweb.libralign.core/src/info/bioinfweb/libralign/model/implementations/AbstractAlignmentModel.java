@@ -55,6 +55,7 @@ public abstract class AbstractAlignmentModel<T> implements AlignmentModel<T> {
 	private String label = null;
 	private DataModelLists dataModels;
 	private Set<AlignmentModelListener<? super T>> modelListeners = new HashSet<AlignmentModelListener<? super T>>();
+	private long modificationCount = 0;
 
 
 	public AbstractAlignmentModel() {
@@ -125,6 +126,17 @@ public abstract class AbstractAlignmentModel<T> implements AlignmentModel<T> {
 	}
 
 
+	/**
+	 * Returns the number of sequence and token changes that have been fired by this instance.
+	 * 
+	 * @return a value >= 0
+	 */
+	@Override
+	public long getModificationCount() {
+		return modificationCount;
+	}
+
+
 	@Override
 	public boolean addModelListener(AlignmentModelListener<? super T> listener) {
 		return modelListeners.add(listener);
@@ -142,6 +154,7 @@ public abstract class AbstractAlignmentModel<T> implements AlignmentModel<T> {
 	 */
 	@SuppressWarnings("unchecked")
 	protected void fireAfterSequenceChange(SequenceChangeEvent<T> e) {
+		modificationCount++;
 		for (AlignmentModelListener<T> listener : modelListeners.toArray(new AlignmentModelListener[modelListeners.size()])) {  // Copying the list is necessary to allow listeners to remove themselves from the list without a ConcurrentModificationException being thrown.
 			listener.afterSequenceChange(e);
 		}
@@ -153,6 +166,7 @@ public abstract class AbstractAlignmentModel<T> implements AlignmentModel<T> {
 	 */
 	@SuppressWarnings("unchecked")
 	protected void fireAfterSequenceRenamed(SequenceRenamedEvent<T> e) {
+		modificationCount++;
 		for (AlignmentModelListener<T> listener : modelListeners.toArray(new AlignmentModelListener[modelListeners.size()])) {  // Copying the list is necessary to allow listeners to remove themselves from the list without a ConcurrentModificationException being thrown.
 			listener.afterSequenceRenamed(e);
 		}
@@ -164,6 +178,7 @@ public abstract class AbstractAlignmentModel<T> implements AlignmentModel<T> {
 	 */
 	@SuppressWarnings("unchecked")
 	protected void fireAfterTokenChange(TokenChangeEvent<T> e) {
+		modificationCount++;
 		for (AlignmentModelListener<T> listener : modelListeners.toArray(new AlignmentModelListener[modelListeners.size()])) {  // Copying the list is necessary to allow listeners to remove themselves from the list without a ConcurrentModificationException being thrown.
 			listener.afterTokenChange(e);
 		}
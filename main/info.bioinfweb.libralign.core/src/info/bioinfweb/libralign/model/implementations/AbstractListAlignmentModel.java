@@ -21,6 +21,8 @@ package info.bioinfweb.libralign.model.implementations;
 
 import info.bioinfweb.libralign.model.AlignmentModel;
 import info.bioinfweb.libralign.model.AlignmentModelWriteType;
+import info.bioinfweb.libralign.model.SequenceCursor;
+import info.bioinfweb.libralign.model.SequenceHandle;
 import info.bioinfweb.libralign.model.events.TokenChangeEvent;
 import info.bioinfweb.libralign.model.exception.AlignmentSourceNotWritableException;
 import info.bioinfweb.libralign.model.exception.SequenceNotFoundException;
@@ -30,6 +32,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
 
 
 
@@ -103,6 +107,124 @@ public abstract class AbstractListAlignmentModel<T> extends AbstractMapBasedAlig
 	}
 	
 
+	/**
+	 * Provides access to the list object of one sequence.
+	 */
+	private static class ListSequenceCursor<T> implements SequenceCursor<T> {
+		private String sequenceID;
+		private List<T> sequence;
+		
+		
+		public ListSequenceCursor(String sequenceID, List<T> sequence) {
+			super();
+			this.sequenceID = sequenceID;
+			this.sequence = sequence;
+		}
+
+
+		@Override
+		public String getSequenceID() {
+			return sequenceID;
+		}
+
+
+		@Override
+		public int getLength() {
+			return sequence.size();
+		}
+
+
+		@Override
+		public T getTokenAt(int index) {
+			return sequence.get(index);
+		}
+
+
+		@Override
+		public void getTokens(int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+			copyTokens(sequence, beginIndex, endIndex, destination, destinationOffset);
+		}
+	}
+	
+	
+	private static <T> void copyTokens(List<T> sequence, int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		if ((beginIndex < 0) || (endIndex > sequence.size()) || (beginIndex > endIndex)) {
+			throw new IndexOutOfBoundsException("Invalid range (" + beginIndex + ", " + endIndex + ").");
+		}
+		else if (sequence instanceof RandomAccess) {
+			for (int index = beginIndex; index < endIndex; index++) {
+				destination[destinationOffset++] = sequence.get(index);
+			}
+		}
+		else {
+			ListIterator<T> iterator = sequence.listIterator(beginIndex);
+			for (int index = beginIndex; index < endIndex; index++) {
+				destination[destinationOffset++] = iterator.next();
+			}
+		}
+	}
+	
+	
+	@Override
+	public T getTokenAt(SequenceHandle sequence, int index) {
+		List<T> tokens = sequenceByHandle(sequence);
+		if (tokens != null) {
+			return tokens.get(index);
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequence.getSequenceID());
+		}
+	}
+	
+	
+	@Override
+	public void getTokens(String sequenceID, int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		List<T> sequence = getSequence(sequenceID);
+		if (sequence != null) {
+			copyTokens(sequence, beginIndex, endIndex, destination, destinationOffset);
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequenceID);
+		}
+	}
+	
+	
+	@Override
+	public void getTokens(SequenceHandle sequence, int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		List<T> tokens = sequenceByHandle(sequence);
+		if (tokens != null) {
+			copyTokens(tokens, beginIndex, endIndex, destination, destinationOffset);
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequence.getSequenceID());
+		}
+	}
+	
+	
+	@Override
+	public SequenceCursor<T> getSequenceCursor(String sequenceID) {
+		List<T> sequence = getSequence(sequenceID);
+		if (sequence != null) {
+			return new ListSequenceCursor<T>(sequenceID, sequence);
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequenceID);
+		}
+	}
+	
+
+	@Override
+	public SequenceCursor<T> getSequenceCursor(SequenceHandle sequence) {
+		List<T> tokens = sequenceByHandle(sequence);
+		if (tokens != null) {
+			return new ListSequenceCursor<T>(sequence.getSequenceID(), tokens);
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequence.getSequenceID());
+		}
+	}
+	
+
 	@Override
 	public void setTokenAt(String sequenceID, int index, T token) throws AlignmentSourceNotWritableException {
 		List<T> sequence = getSequence(sequenceID);
@@ -214,6 +336,18 @@ public abstract class AbstractListAlignmentModel<T> extends AbstractMapBasedAlig
 	}
 
 	
+	@Override
+	public int getSequenceLength(SequenceHandle sequence) {
+		List<T> tokens = sequenceByHandle(sequence);
+		if (tokens != null) {
+			return tokens.size();
+		}
+		else {
+			return -1;
+		}
+	}
+
+	
 	@Override
 	public AlignmentModelWriteType getWriteType() {
 		return AlignmentModelWriteType.BOTH;
@@ -22,11 +22,15 @@ package info.bioinfweb.libralign.model.implementations;
 import info.bioinfweb.libralign.alignmentarea.AlignmentArea;
 import info.bioinfweb.libralign.alignmentarea.order.SequenceOrder;
 import info.bioinfweb.libralign.model.SequenceAccessAlignmentModel;
+import info.bioinfweb.libralign.model.SequenceHandle;
 import info.bioinfweb.libralign.model.events.SequenceChangeEvent;
+import info.bioinfweb.libralign.model.exception.SequenceNotFoundException;
 import info.bioinfweb.libralign.model.tokenset.TokenSet;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -55,6 +59,10 @@ import java.util.Map;
 public abstract class AbstractMapBasedAlignmentModel<S, T> extends AbstractUndecoratedAlignmentModel<T> {
   private Map<String, S> sequenceMap;
   private List<String> sequenceOrder;  // Only necessary to save the order the sequences were added, because they might be sorted like this later on. The actual ordering will be done by a SequenceOrder object of the GUI.
+  private Map<String, SequenceHandle> handleMap = new HashMap<String, SequenceHandle>();
+  private List<SequenceHandle> handleSlots = new ArrayList<SequenceHandle>();  // Handles are resolved by their index in this list.
+  private List<S> sequenceSlots = new ArrayList<S>();
+  private Deque<Integer> freeHandleSlots = new ArrayDeque<Integer>();
 
   
 	/**
@@ -153,13 +161,140 @@ public abstract class AbstractMapBasedAlignmentModel<S, T> extends AbstractUndec
 					@Override
 					protected void doRemove() {
 						Collection<T> deletedContent = copySequenceContent(getCurrentID());
+						beforeSequenceRemoved(getCurrentID(), getSequenceMap().get(getCurrentID()));
 						getSequenceMap().remove(getCurrentID());
+						releaseSequenceHandle(getCurrentID());
 						fireAfterSequenceChange(SequenceChangeEvent.newRemoveInstance(getSequenceOrder().indexOf(getCurrentID()), getModel(), getCurrentID(), deletedContent));
 					}
 				};
 	}
 
 
+	/**
+	 * Returns the handle of the specified sequence. Handles are created on the first call of this method for a sequence
+	 * and the same instance is returned for all subsequent calls until the sequence is removed.
+	 * 
+	 * @see info.bioinfweb.libralign.model.AlignmentModel#getSequenceHandle(java.lang.String)
+	 */
+	@Override
+	public SequenceHandle getSequenceHandle(String sequenceID) {
+		SequenceHandle result = handleMap.get(sequenceID);
+		if (result == null) {
+			S sequence = getSequenceMap().get(sequenceID);
+			if (sequence == null) {
+				throw new SequenceNotFoundException(this, sequenceID);
+			}
+			
+			int index;
+			if (freeHandleSlots.isEmpty()) {
+				index = handleSlots.size();
+				handleSlots.add(null);
+				sequenceSlots.add(null);
+			}
+			else {
+				index = freeHandleSlots.pop();
+			}
+			result = new SequenceHandle(this, sequenceID, index);
+			handleSlots.set(index, result);
+			sequenceSlots.set(index, sequence);
+			handleMap.put(sequenceID, result);
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Returns the sequence object referenced by the specified handle. Handles created by this instance are resolved 
+	 * in constant time without accessing the sequence map. Handles from other models (e.g. from a model sharing the
+	 * same {@link SequenceIDManager}) are resolved using their sequence ID.
+	 * 
+	 * @param handle the handle of the sequence
+	 * @return the sequence object or {@code null} if the referenced sequence is not contained in this model (anymore)
+	 */
+	protected S sequenceByHandle(SequenceHandle handle) {
+		if (handle.getModel() == this) {
+			int index = handle.getIndex();
+			if ((index >= 0) && (index < handleSlots.size()) && (handleSlots.get(index) == handle)) {
+				return sequenceSlots.get(index);
+			}
+			else {
+				return null;  // The sequence has been removed.
+			}
+		}
+		else {
+			return getSequenceMap().get(handle.getSequenceID());
+		}
+	}
+	
+	
+	/**
+	 * Copies a range of tokens of the specified sequence object into an array. {@link #getTokens(String, int, int, Object[], int)}
+	 * and {@link #getTokens(SequenceHandle, int, int, Object[], int)} of this class delegate to this method.
+	 * <p>
+	 * This default implementation calls {@link #getTokenAt(String, int)} for each token. Inherited classes should 
+	 * overwrite it, if tokens can be read more efficiently directly from their sequence objects. {@code destination} is 
+	 * declared as {@code Object[]} instead of {@code T[]}, so that inherited classes with a fixed token type can 
+	 * overwrite this method without a bridge method being generated that casts {@code destination} to an array of that 
+	 * type. Such a cast would fail for the arrays generic callers create using {@code (T[])new Object[length]}.
+	 * 
+	 * @param sequenceID the ID of the sequence to read from
+	 * @param sequence the sequence object to read from
+	 * @param beginIndex the index of the first token to be copied
+	 * @param endIndex the index after the last token to be copied
+	 * @param destination the array to copy the tokens to
+	 * @param destinationOffset the index in {@code destination} where the first token shall be stored
+	 * @throws IndexOutOfBoundsException if the specified range is not contained in the sequence or does not fit into 
+	 *         {@code destination}
+	 * @since 0.10.0
+	 */
+	protected void copyTokens(String sequenceID, S sequence, int beginIndex, int endIndex, Object[] destination, 
+			int destinationOffset) {
+		
+		if ((beginIndex < 0) || (endIndex > getSequenceLength(sequenceID)) || (beginIndex > endIndex)) {
+			throw new IndexOutOfBoundsException("Invalid range (" + beginIndex + ", " + endIndex + ").");
+		}
+		else {
+			for (int index = beginIndex; index < endIndex; index++) {
+				destination[destinationOffset++] = getTokenAt(sequenceID, index);
+			}
+		}
+	}
+	
+	
+	@Override
+	public void getTokens(String sequenceID, int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		S sequence = getSequenceMap().get(sequenceID);
+		if (sequence != null) {
+			copyTokens(sequenceID, sequence, beginIndex, endIndex, destination, destinationOffset);
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequenceID);
+		}
+	}
+
+
+	@Override
+	public void getTokens(SequenceHandle sequence, int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		S sequenceObject = sequenceByHandle(sequence);
+		if (sequenceObject != null) {
+			copyTokens(sequence.getSequenceID(), sequenceObject, beginIndex, endIndex, destination, destinationOffset);
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequence.getSequenceID());
+		}
+	}
+	
+	
+	private void releaseSequenceHandle(String sequenceID) {
+		SequenceHandle handle = handleMap.remove(sequenceID);
+		if (handle != null) {
+			handleSlots.set(handle.getIndex(), null);
+			sequenceSlots.set(handle.getIndex(), null);
+			freeHandleSlots.push(handle.getIndex());
+		}
+	}
+	
+	
 	@Override
 	public int getSequenceCount() {
 		return getSequenceMap().size();
@@ -186,9 +321,27 @@ public abstract class AbstractMapBasedAlignmentModel<S, T> extends AbstractUndec
 	}
 	
 
+	/**
+	 * This method is called by {@link #doRemoveSequence(String)} and by the iterator returned by 
+	 * {@link #sequenceIDIterator()} before a sequence object is removed from the underlying map. Inherited classes
+	 * may overwrite this method to release resources associated with the removed sequence object. This default
+	 * implementation is empty.
+	 * 
+	 * @param sequenceID the ID of the sequence that is removed
+	 * @param sequence the sequence object that is removed
+	 * @since 0.10.0
+	 */
+	protected void beforeSequenceRemoved(String sequenceID, S sequence) {}
+	
+
 	@Override
 	protected int doRemoveSequence(String sequenceID) {
+		S sequence = getSequenceMap().get(sequenceID);
+		if (sequence != null) {
+			beforeSequenceRemoved(sequenceID, sequence);
+		}
 		getSequenceMap().remove(sequenceID);
+		releaseSequenceHandle(sequenceID);
 		int index = getSequenceOrder().indexOf(sequenceID);
 		getSequenceOrder().remove(index);
 		return index;
@@ -21,6 +21,9 @@ package info.bioinfweb.libralign.model.implementations;
 
 import info.bioinfweb.libralign.model.SequenceAccessAlignmentModel;
 import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.DefaultSequenceCursor;
+import info.bioinfweb.libralign.model.SequenceCursor;
+import info.bioinfweb.libralign.model.SequenceHandle;
 import info.bioinfweb.libralign.model.exception.SequenceNotFoundException;
 import info.bioinfweb.libralign.model.tokenset.TokenSet;
 
@@ -97,4 +100,70 @@ public class CharSequenceAlignmentModel extends AbstractUnmodifyableAlignmentMod
 			throw new SequenceNotFoundException(this, sequenceID);
 		}
 	}
+
+
+	@Override
+	public int getSequenceLength(SequenceHandle sequence) {
+		CharSequence characters = sequenceByHandle(sequence);
+		if (characters != null) {
+			return characters.length();
+		}
+		else {
+			return -1;
+		}
+	}
+
+
+	@Override
+	public Character getTokenAt(SequenceHandle sequence, int index) {
+		CharSequence characters = sequenceByHandle(sequence);
+		if (characters != null) {
+			return characters.charAt(index);
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequence.getSequenceID());
+		}
+	}
+
+
+	/**
+	 * Copies the characters directly from the specified character sequence.
+	 */
+	@Override
+	protected void copyTokens(String sequenceID, CharSequence sequence, int beginIndex, int endIndex, Object[] destination, 
+			int destinationOffset) {
+		
+		if ((beginIndex < 0) || (endIndex > sequence.length()) || (beginIndex > endIndex)) {
+			throw new IndexOutOfBoundsException("Invalid range (" + beginIndex + ", " + endIndex + ").");
+		}
+		else {
+			for (int index = beginIndex; index < endIndex; index++) {
+				destination[destinationOffset++] = sequence.charAt(index);
+			}
+		}
+	}
+	
+	
+	@Override
+	public SequenceCursor<Character> getSequenceCursor(String sequenceID) {
+		CharSequence sequence = getSequence(sequenceID);
+		if (sequence != null) {
+			return new DefaultSequenceCursor<Character>(this, sequenceID);  // A generic cursor class is used to avoid a bridge method casting the destination of getTokens().
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequenceID);
+		}
+	}
+
+
+	@Override
+	public SequenceCursor<Character> getSequenceCursor(SequenceHandle sequence) {
+		CharSequence characters = sequenceByHandle(sequence);
+		if (characters != null) {
+			return new DefaultSequenceCursor<Character>(this, sequence.getSequenceID());
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequence.getSequenceID());
+		}
+	}
 }
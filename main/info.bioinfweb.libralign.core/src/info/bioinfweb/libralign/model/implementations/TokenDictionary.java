@@ -0,0 +1,83 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations;
+
+
+import info.bioinfweb.libralign.model.implementations.paged.PagedAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.tiled.TiledAlignmentModel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+
+/**
+ * Assigns a 16 bit code to each distinct token that is stored in an alignment model working with primitive token
+ * codes, such as {@link PagedAlignmentModel} or {@link TiledAlignmentModel}. Codes are assigned in the order of
+ * first occurrence and are never removed, so that previously stored codes (e.g. in chunks written to disk) remain
+ * valid.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens to be encoded
+ */
+public final class TokenDictionary<T> {
+	public static final int MAX_TOKEN_COUNT = Character.MAX_VALUE + 1;
+
+
+	private final List<T> tokens = new ArrayList<T>();
+	private final Map<T, Character> codes = new HashMap<T, Character>();
+
+
+	/**
+	 * Returns the code of the specified token. If the token was not encoded before, a new code is assigned to it.
+	 *
+	 * @param token the token to be encoded
+	 * @return the code of {@code token}
+	 * @throws IllegalArgumentException if a new code would be necessary but all {@link #MAX_TOKEN_COUNT} codes are
+	 *         already in use
+	 */
+	public char encode(T token) {
+		Character result = codes.get(token);
+		if (result == null) {
+			if (tokens.size() == MAX_TOKEN_COUNT) {
+				throw new IllegalArgumentException("An alignment model using a token dictionary cannot store more than " + MAX_TOKEN_COUNT +
+						" different tokens.");
+			}
+			result = (char)tokens.size();
+			tokens.add(token);
+			codes.put(token, result);
+		}
+		return result;
+	}
+
+
+	/**
+	 * Returns the token with the specified code.
+	 *
+	 * @param code a code previously returned by {@link #encode(Object)}
+	 * @return the token represented by {@code code}
+	 */
+	public T decode(char code) {
+		return tokens.get(code);
+	}
+}
@@ -0,0 +1,393 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.continuous;
+
+
+import info.bioinfweb.commons.bio.CharacterSymbolMeaning;
+import info.bioinfweb.libralign.model.tokenset.continuous.ContinuousToken;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+
+
+/**
+ * A list of continuous tokens that stores its elements in a primitive {@code double} array.
+ * <p>
+ * Gaps and missing data are stored as NaN values with special payloads (see {@link #GAP_VALUE} and 
+ * {@link #MISSING_VALUE}), which are distinct from {@link Double#NaN}. Therefore each element only takes 
+ * 8 bytes independent of its meaning. Instances of {@link ContinuousToken} are only created, if elements 
+ * are accessed using the methods of the {@link java.util.List} interface. Performance critical code should 
+ * use the primitive accessors like {@link #getValue(int)} or {@link #getValues(int, int, double[], int)} 
+ * instead.
+ * <p>
+ * This list does not permit {@code null} elements.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class DoubleArrayTokenList extends AbstractList<ContinuousToken<Double>> implements RandomAccess {
+	public static final int DEFAULT_INITIAL_CAPACITY = 16;
+	
+	private static final long GAP_BITS = 0x7ff8000000000001L;
+	private static final long MISSING_BITS = 0x7ff8000000000002L;
+	
+	/** The NaN value that is used to represent gaps. */
+	public static final double GAP_VALUE = Double.longBitsToDouble(GAP_BITS);
+	
+	/** The NaN value that is used to represent missing data. */
+	public static final double MISSING_VALUE = Double.longBitsToDouble(MISSING_BITS);
+	
+	
+	private double[] values;
+	private int size = 0;
+	
+	
+	/**
+	 * Creates a new empty instance of this class.
+	 * 
+	 * @param initialCapacity the number of elements the new instance can hold without reallocating its 
+	 *        internal array
+	 */
+	public DoubleArrayTokenList(int initialCapacity) {
+		super();
+		values = new double[Math.max(initialCapacity, 1)];
+	}
+	
+	
+	/**
+	 * Creates a new empty instance of this class with an initial capacity of {@link #DEFAULT_INITIAL_CAPACITY}.
+	 */
+	public DoubleArrayTokenList() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+	
+	
+	/**
+	 * Creates a new instance of this class containing a copy of the specified values.
+	 * 
+	 * @param values the array containing the values to be copied
+	 * @param offset the index of the first value to be copied
+	 * @param length the number of values to be copied
+	 */
+	public DoubleArrayTokenList(double[] values, int offset, int length) {
+		this(length);
+		System.arraycopy(values, offset, this.values, 0, length);
+		size = length;
+	}
+	
+	
+	/**
+	 * Tests whether the specified value represents a gap.
+	 * 
+	 * @param value the value to be tested
+	 * @return {@code true} if {@code value} is the bit pattern of {@link #GAP_VALUE}, {@code false} otherwise
+	 */
+	public static boolean isGapValue(double value) {
+		return Double.doubleToRawLongBits(value) == GAP_BITS;
+	}
+	
+	
+	/**
+	 * Tests whether the specified value represents missing data.
+	 * 
+	 * @param value the value to be tested
+	 * @return {@code true} if {@code value} is the bit pattern of {@link #MISSING_VALUE}, {@code false} otherwise
+	 */
+	public static boolean isMissingValue(double value) {
+		return Double.doubleToRawLongBits(value) == MISSING_BITS;
+	}
+	
+	
+	/**
+	 * Tests whether the specified value represents an actual numeric value and not one of the sentinel values.
+	 * 
+	 * @param value the value to be tested
+	 * @return {@code false} if {@code value} is a gap or missing data, {@code true} otherwise
+	 */
+	public static boolean isCharacterStateValue(double value) {
+		long bits = Double.doubleToRawLongBits(value);
+		return (bits != GAP_BITS) && (bits != MISSING_BITS);
+	}
+	
+	
+	/**
+	 * Converts a token to the primitive value that would be stored for it by this list.
+	 * 
+	 * @param token the token to be converted
+	 * @return the according value or one of the sentinel values
+	 * @throws NullPointerException if {@code token} is {@code null}
+	 */
+	public static double toValue(ContinuousToken<Double> token) {
+		if (token.hasValue()) {
+			double result = token.getValue();
+			if (isCharacterStateValue(result)) {
+				return result;
+			}
+			else {
+				return Double.NaN;  // Avoid that values with the (unlikely) sentinel bit pattern are interpreted as gaps or missing data later on.
+			}
+		}
+		else if (CharacterSymbolMeaning.GAP.equals(token.getMeaning())) {
+			return GAP_VALUE;
+		}
+		else {
+			return MISSING_VALUE;
+		}
+	}
+	
+	
+	/**
+	 * Converts a primitive value stored by this list to a token.
+	 * 
+	 * @param value the value to be converted
+	 * @return a gap or missing data token, if {@code value} is one of the sentinel values or a token 
+	 *         wrapping {@code value} otherwise
+	 */
+	public static ContinuousToken<Double> toToken(double value) {
+		long bits = Double.doubleToRawLongBits(value);
+		if (bits == GAP_BITS) {
+			return ContinuousToken.newGapInstance();
+		}
+		else if (bits == MISSING_BITS) {
+			return ContinuousToken.newMissingInformationInstance();
+		}
+		else {
+			return new ContinuousToken<Double>(value);
+		}
+	}
+	
+	
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity > values.length) {
+			values = Arrays.copyOf(values, Math.max(minCapacity, values.length + (values.length >> 1)));
+		}
+	}
+	
+	
+	private void checkIndex(int index) {
+		if ((index < 0) || (index >= size)) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+	
+	
+	private void checkRange(int beginIndex, int endIndex, int upperBound) {
+		if ((beginIndex < 0) || (endIndex > upperBound) || (beginIndex > endIndex)) {
+			throw new IndexOutOfBoundsException("Invalid range [" + beginIndex + ", " + endIndex + "[ for size " + upperBound + ".");
+		}
+	}
+	
+	
+	/**
+	 * Opens a gap of {@code length} elements at {@code index} without assigning values to it.
+	 */
+	private void makeRoom(int index, int length) {
+		ensureCapacity(size + length);
+		System.arraycopy(values, index, values, index + length, size - index);
+		size += length;
+		modCount++;
+	}
+	
+	
+	@Override
+	public int size() {
+		return size;
+	}
+
+
+	@Override
+	public ContinuousToken<Double> get(int index) {
+		checkIndex(index);
+		return toToken(values[index]);
+	}
+
+
+	@Override
+	public ContinuousToken<Double> set(int index, ContinuousToken<Double> element) {
+		checkIndex(index);
+		double newValue = toValue(element);  // Throws a NullPointerException before the list is modified.
+		ContinuousToken<Double> result = toToken(values[index]);
+		values[index] = newValue;
+		return result;
+	}
+
+
+	@Override
+	public void add(int index, ContinuousToken<Double> element) {
+		checkRange(index, index, size);
+		double newValue = toValue(element);
+		makeRoom(index, 1);
+		values[index] = newValue;
+	}
+
+
+	@Override
+	public boolean addAll(int index, Collection<? extends ContinuousToken<Double>> c) {
+		checkRange(index, index, size);
+		if (c instanceof DoubleArrayTokenList) {
+			DoubleArrayTokenList other = (DoubleArrayTokenList)c;
+			insertValues(index, other.values, 0, other.size);  // Also works if other == this, since the source is copied first in that case.
+		}
+		else {
+			double[] newValues = new double[c.size()];
+			int pos = 0;
+			for (ContinuousToken<Double> token : c) {
+				newValues[pos] = toValue(token);
+				pos++;
+			}
+			insertValues(index, newValues, 0, newValues.length);
+		}
+		return !c.isEmpty();
+	}
+
+
+	@Override
+	public boolean addAll(Collection<? extends ContinuousToken<Double>> c) {
+		return addAll(size, c);
+	}
+
+
+	@Override
+	public ContinuousToken<Double> remove(int index) {
+		checkIndex(index);
+		ContinuousToken<Double> result = toToken(values[index]);
+		removeRange(index, index + 1);
+		return result;
+	}
+
+
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		checkRange(fromIndex, toIndex, size);
+		System.arraycopy(values, toIndex, values, fromIndex, size - toIndex);
+		size -= toIndex - fromIndex;
+		modCount++;
+	}
+
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+	
+	
+	/**
+	 * Returns the primitive value stored at the specified position.
+	 * 
+	 * @param index the index of the value
+	 * @return the value which may be {@link #GAP_VALUE} or {@link #MISSING_VALUE}
+	 * @throws IndexOutOfBoundsException if {@code index} is not a valid index in this list
+	 */
+	public double getValue(int index) {
+		checkIndex(index);
+		return values[index];
+	}
+	
+	
+	/**
+	 * Replaces the primitive value stored at the specified position.
+	 * 
+	 * @param index the index of the value to be replaced
+	 * @param value the new value (may be {@link #GAP_VALUE} or {@link #MISSING_VALUE})
+	 * @return the value previously stored at {@code index}
+	 * @throws IndexOutOfBoundsException if {@code index} is not a valid index in this list
+	 */
+	public double setValue(int index, double value) {
+		checkIndex(index);
+		double result = values[index];
+		values[index] = value;
+		return result;
+	}
+	
+	
+	/**
+	 * Copies a range of values of this list into the specified array.
+	 * 
+	 * @param beginIndex the index of the first value to be copied (inclusive)
+	 * @param endIndex the index after the last value to be copied (exclusive)
+	 * @param dest the array to copy the values to
+	 * @param destPos the index in {@code dest} where the first value shall be stored
+	 * @throws IndexOutOfBoundsException if the range is not valid for this list or does not fit into {@code dest}
+	 */
+	public void getValues(int beginIndex, int endIndex, double[] dest, int destPos) {
+		checkRange(beginIndex, endIndex, size);
+		System.arraycopy(values, beginIndex, dest, destPos, endIndex - beginIndex);
+	}
+	
+	
+	/**
+	 * Replaces a range of values of this list with values from the specified array.
+	 * 
+	 * @param index the index of the first value in this list to be replaced
+	 * @param src the array containing the new values
+	 * @param srcPos the index of the first new value in {@code src}
+	 * @param length the number of values to be replaced
+	 * @throws IndexOutOfBoundsException if the range is not valid for this list or {@code src}
+	 */
+	public void setValues(int index, double[] src, int srcPos, int length) {
+		checkRange(index, index + length, size);
+		System.arraycopy(src, srcPos, values, index, length);
+	}
+	
+	
+	/**
+	 * Inserts values from the specified array into this list.
+	 * 
+	 * @param index the index in this list where the first new value shall be inserted
+	 * @param src the array containing the new values
+	 * @param srcPos the index of the first new value in {@code src}
+	 * @param length the number of values to be inserted
+	 * @throws IndexOutOfBoundsException if {@code index} is not a valid insertion index for this list or the 
+	 *         specified range is not valid for {@code src}
+	 */
+	public void insertValues(int index, double[] src, int srcPos, int length) {
+		checkRange(index, index, size);
+		checkRange(srcPos, srcPos + length, src.length);
+		if (src == values) {
+			src = Arrays.copyOfRange(src, srcPos, srcPos + length);
+			srcPos = 0;
+		}
+		makeRoom(index, length);
+		System.arraycopy(src, srcPos, values, index, length);
+	}
+	
+	
+	/**
+	 * Returns a copy of the values stored in this list.
+	 * 
+	 * @return a new array with the length {@link #size()}
+	 */
+	public double[] toValueArray() {
+		return Arrays.copyOf(values, size);
+	}
+	
+	
+	/**
+	 * Reduces the capacity of the internal array to the current size of this list.
+	 */
+	public void trimToSize() {
+		if (size < values.length) {
+			values = Arrays.copyOf(values, Math.max(size, 1));
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.continuous;
+
+
+import info.bioinfweb.libralign.model.events.TokenChangeEvent;
+import info.bioinfweb.libralign.model.exception.AlignmentSourceNotWritableException;
+import info.bioinfweb.libralign.model.exception.SequenceNotFoundException;
+import info.bioinfweb.libralign.model.implementations.AbstractListAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.SequenceIDManager;
+import info.bioinfweb.libralign.model.tokenset.TokenSet;
+import info.bioinfweb.libralign.model.tokenset.continuous.ContinuousToken;
+import info.bioinfweb.libralign.model.tokenset.continuous.FloatTokenSet;
+
+import java.util.List;
+
+
+
+/**
+ * An alignment model for continuous data that stores the values of each sequence in a {@link FloatArrayTokenList}.
+ * <p>
+ * In contrast to an {@link ArrayListAlignmentModel} with {@link ContinuousToken}s, this implementation only needs 4 bytes 
+ * per alignment cell. Gaps and missing data are stored as the sentinel values {@link FloatArrayTokenList#GAP_VALUE} and 
+ * {@link FloatArrayTokenList#MISSING_VALUE}. All methods of the {@link info.bioinfweb.libralign.model.AlignmentModel}
+ * interface can be used as usual and will create token objects on demand. Code that processes large amounts of data 
+ * should use the primitive accessors of this class (e.g. {@link #getValues(String, int, int, float[], int)}) instead.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class FloatArrayAlignmentModel extends AbstractListAlignmentModel<ContinuousToken<Float>> {
+	/**
+	 * Creates a new instance of this class.
+	 * 
+	 * @param tokenSet the token set which is supported by the implementation
+	 * @param idManager the ID manager to be used by the new instance (maybe shared among multiple instances) 
+	 * @param reuseSequenceIDs Specifies whether unused IDs of the underlying ID manager should be reused by this model.
+	 *        (See the documentation of {@link #isReuseSequenceIDs()} for details. Specify {@code false}, if you are unsure
+	 *        what this property does.) 
+	 */
+	public FloatArrayAlignmentModel(TokenSet<ContinuousToken<Float>> tokenSet, SequenceIDManager idManager, boolean reuseSequenceIDs) {
+		super(tokenSet, idManager, reuseSequenceIDs);
+	}
+
+
+	/**
+	 * Creates a new instance of this class using its own ID manager.
+	 * 
+	 * @param tokenSet the token set which is supported by the implementation
+	 */
+	public FloatArrayAlignmentModel(TokenSet<ContinuousToken<Float>> tokenSet) {
+		this(tokenSet, new SequenceIDManager(), false);
+	}
+
+
+	/**
+	 * Creates a new instance of this class using a new instance of {@link FloatTokenSet} and its own ID manager.
+	 */
+	public FloatArrayAlignmentModel() {
+		this(new FloatTokenSet());
+	}
+
+
+	@Override
+	protected List<ContinuousToken<Float>> createNewSequence(String sequenceID, String sequenceName, int initialCapacity) {
+		return new FloatArrayTokenList(initialCapacity);
+	}
+	
+	
+	@Override
+	public FloatArrayTokenList getSequence(String sequenceID) {
+		return (FloatArrayTokenList)super.getSequence(sequenceID);
+	}
+	
+	
+	private FloatArrayTokenList getExistingSequence(String sequenceID) {
+		FloatArrayTokenList sequence = getSequence(sequenceID);
+		if (sequence != null) {
+			return sequence;
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequenceID);
+		}
+	}
+	
+	
+	/**
+	 * Returns the primitive value stored at the specified position.
+	 * 
+	 * @param sequenceID the identifier the sequence where the value is contained
+	 * @param index the index of the value
+	 * @return the value which may be {@link FloatArrayTokenList#GAP_VALUE} or {@link FloatArrayTokenList#MISSING_VALUE}
+	 * @throws SequenceNotFoundException if no according sequence to the specified ID was found in this model
+	 * @throws IndexOutOfBoundsException if {@code index} is not a valid index in the specified sequence
+	 */
+	public float getValueAt(String sequenceID, int index) {
+		return getExistingSequence(sequenceID).getValue(index);
+	}
+	
+	
+	/**
+	 * Copies a range of values of a sequence into the specified array.
+	 * 
+	 * @param sequenceID the identifier the sequence where the values are contained
+	 * @param beginIndex the index of the first value to be copied (inclusive)
+	 * @param endIndex the index after the last value to be copied (exclusive)
+	 * @param dest the array to copy the values to
+	 * @param destPos the index in {@code dest} where the first value shall be stored
+	 * @throws SequenceNotFoundException if no according sequence to the specified ID was found in this model
+	 * @throws IndexOutOfBoundsException if the range is not valid for the sequence or does not fit into {@code dest}
+	 */
+	public void getValues(String sequenceID, int beginIndex, int endIndex, float[] dest, int destPos) {
+		getExistingSequence(sequenceID).getValues(beginIndex, endIndex, dest, destPos);
+	}
+	
+	
+	/**
+	 * Returns a copy of all values of the specified sequence.
+	 * 
+	 * @param sequenceID the identifier the sequence
+	 * @return a new array containing the values
+	 * @throws SequenceNotFoundException if no according sequence to the specified ID was found in this model
+	 */
+	public float[] getValues(String sequenceID) {
+		return getExistingSequence(sequenceID).toValueArray();
+	}
+	
+	
+	/**
+	 * Replaces a range of values in a sequence. An according {@link TokenChangeEvent} is fired.
+	 * 
+	 * @param sequenceID the identifier the sequence where the values are contained
+	 * @param beginIndex the index of the first value to be replaced
+	 * @param values the new values (may contain {@link FloatArrayTokenList#GAP_VALUE} or 
+	 *        {@link FloatArrayTokenList#MISSING_VALUE})
+	 * @throws AlignmentSourceNotWritableException if the underlying data source is not writable for tokens 
+	 * @throws SequenceNotFoundException if no according sequence to the specified ID was found in this model
+	 * @throws IndexOutOfBoundsException if the range is not valid for the sequence
+	 */
+	public void setValuesAt(String sequenceID, int beginIndex, float[] values) throws AlignmentSourceNotWritableException {
+		FloatArrayTokenList sequence = getExistingSequence(sequenceID);
+		float[] replacedValues = new float[values.length];
+		sequence.getValues(beginIndex, beginIndex + values.length, replacedValues, 0);
+		sequence.setValues(beginIndex, values, 0, values.length);
+		fireAfterTokenChange(TokenChangeEvent.newReplaceInstance(this, sequenceID, beginIndex, 
+				new FloatArrayTokenList(replacedValues, 0, replacedValues.length), new FloatArrayTokenList(values, 0, values.length)));
+	}
+	
+	
+	/**
+	 * Inserts values into a sequence. An according {@link TokenChangeEvent} is fired.
+	 * 
+	 * @param sequenceID the identifier the sequence where the values are contained
+	 * @param beginIndex the index where the first new value shall be inserted
+	 * @param values the new values (may contain {@link FloatArrayTokenList#GAP_VALUE} or 
+	 *        {@link FloatArrayTokenList#MISSING_VALUE})
+	 * @param leftBound determines whether the new values should be inserted left bound or right bound 
+	 * @throws AlignmentSourceNotWritableException if the underlying data source is not writable for tokens 
+	 * @throws SequenceNotFoundException if no according sequence to the specified ID was found in this model
+	 * @throws IndexOutOfBoundsException if {@code beginIndex} is not a valid insertion index for the sequence
+	 */
+	public void insertValuesAt(String sequenceID, int beginIndex, float[] values, boolean leftBound) 
+			throws AlignmentSourceNotWritableException {
+		
+		getExistingSequence(sequenceID).insertValues(beginIndex, values, 0, values.length);
+		fireAfterTokenChange(TokenChangeEvent.newInsertInstance(this, sequenceID, beginIndex, leftBound, 
+				new FloatArrayTokenList(values, 0, values.length)));
+	}
+	
+	
+	/**
+	 * Appends values to the end of a sequence. An according {@link TokenChangeEvent} is fired.
+	 * 
+	 * @param sequenceID the identifier the sequence where the values are contained
+	 * @param values the new values (may contain {@link FloatArrayTokenList#GAP_VALUE} or 
+	 *        {@link FloatArrayTokenList#MISSING_VALUE})
+	 * @param leftBound determines whether the new values should be inserted left bound or right bound 
+	 * @throws AlignmentSourceNotWritableException if the underlying data source is not writable for tokens 
+	 * @throws SequenceNotFoundException if no according sequence to the specified ID was found in this model
+	 */
+	public void appendValues(String sequenceID, float[] values, boolean leftBound) throws AlignmentSourceNotWritableException {
+		insertValuesAt(sequenceID, getExistingSequence(sequenceID).size(), values, leftBound);
+	}
+}
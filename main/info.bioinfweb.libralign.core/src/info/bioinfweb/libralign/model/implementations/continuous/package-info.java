@@ -0,0 +1,8 @@
+/**
+ * Contains alignment model implementations for continuous data that store their values in primitive arrays
+ * instead of one {@link info.bioinfweb.libralign.model.tokenset.continuous.ContinuousToken} object per cell.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+package info.bioinfweb.libralign.model.implementations.continuous;
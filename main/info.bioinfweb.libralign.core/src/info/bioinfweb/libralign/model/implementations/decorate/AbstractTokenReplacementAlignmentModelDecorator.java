@@ -29,6 +29,9 @@ import info.bioinfweb.commons.collections.PackedObjectArrayList;
 import info.bioinfweb.libralign.model.AlignmentModel;
 import info.bioinfweb.libralign.model.AlignmentModelView;
 import info.bioinfweb.libralign.model.AlignmentModelWriteType;
+import info.bioinfweb.libralign.model.SequenceCursor;
+import info.bioinfweb.libralign.model.SequenceHandle;
+import info.bioinfweb.libralign.model.events.LazyTokenCollection;
 import info.bioinfweb.libralign.model.events.SequenceChangeEvent;
 import info.bioinfweb.libralign.model.events.TokenChangeEvent;
 import info.bioinfweb.libralign.model.exception.AlignmentSourceNotWritableException;
@@ -123,7 +126,7 @@ public abstract class AbstractTokenReplacementAlignmentModelDecorator<T, U> exte
 				case INSERTION:
 					return SequenceChangeEvent.newInsertInstance(event.getIndex(), this, decoratedID, event.getSequenceName());
 				case DELETION:
-					return SequenceChangeEvent.newRemoveInstance(event.getIndex(), this, decoratedID, convertUnderlyingTokens(event.getSequenceID(), 0, event.getDeletedContent()));
+					return SequenceChangeEvent.newRemoveInstance(event.getIndex(), this, decoratedID, lazilyConvertUnderlyingTokens(event.getSequenceID(), 0, event.getDeletedContent()));
 				default:  // Just in case more valid types are added in the future.
 					throw new IllegalArgumentException("The change type \"" + event.getType() + " is not supported.");
 			}
@@ -143,17 +146,17 @@ public abstract class AbstractTokenReplacementAlignmentModelDecorator<T, U> exte
 				case INSERTION:
 					newEvent = TokenChangeEvent.newInsertInstance(this, convertUnderlyingSequenceID(event.getSequenceID()), 
 							convertUnderlyingTokenIndex(event.getSequenceID(), event.getStartIndex()), event.isLeftBound(), 
-							convertUnderlyingTokens(event.getSequenceID(), event.getStartIndex(), event.getAffectedTokens()));
+							lazilyConvertUnderlyingTokens(event.getSequenceID(), event.getStartIndex(), event.getAffectedTokens()));
 					break;
 				case DELETION:
 					newEvent = TokenChangeEvent.newRemoveInstance(this, convertUnderlyingSequenceID(event.getSequenceID()), 
 							convertUnderlyingTokenIndex(event.getSequenceID(), event.getStartIndex()), 
-							convertUnderlyingTokens(event.getSequenceID(), event.getStartIndex(), event.getAffectedTokens())); 
+							lazilyConvertUnderlyingTokens(event.getSequenceID(), event.getStartIndex(), event.getAffectedTokens())); 
 					break;
 				case REPLACEMENT:
 					newEvent = TokenChangeEvent.newReplaceInstance(this, convertUnderlyingSequenceID(event.getSequenceID()), 
 							convertUnderlyingTokenIndex(event.getSequenceID(), event.getStartIndex()), 
-							convertUnderlyingTokens(event.getSequenceID(), event.getStartIndex(), event.getAffectedTokens()), convertUnderlyingTokens(event.getSequenceID(), event.getStartIndex(), event.getNewTokens())); 
+							lazilyConvertUnderlyingTokens(event.getSequenceID(), event.getStartIndex(), event.getAffectedTokens()), lazilyConvertUnderlyingTokens(event.getSequenceID(), event.getStartIndex(), event.getNewTokens())); 
 					break;
 				default:  // Just in case more types are added in the future.
 					throw new IllegalArgumentException("The change type \"" + event.getType() + " is not supported.");
@@ -164,6 +167,35 @@ public abstract class AbstractTokenReplacementAlignmentModelDecorator<T, U> exte
 	}
 
 
+	/**
+	 * Returns a collection that converts the specified underlying tokens using 
+	 * {@link #convertUnderlyingTokens(String, int, Collection)} not before its elements are accessed for the first time.
+	 * This method is used when events of the underlying model are forwarded, so that tokens are only converted if a 
+	 * listener actually reads them.
+	 * 
+	 * @param underlyingSequenceID the ID of the sequence in the underlying model containing the tokens to be converted 
+	 * @param underlyingIndex the column index of the first token to be converted in the underlying model
+	 * @param underlyingTokens the tokens from the underlying model (may be {@code null})
+	 * @return the lazily converted collection or {@code null} if {@code underlyingTokens} was {@code null}
+	 * @since 0.10.0
+	 */
+	protected Collection<T> lazilyConvertUnderlyingTokens(final String underlyingSequenceID, final int underlyingIndex, 
+			final Collection<? extends U> underlyingTokens) {
+		
+		if (underlyingTokens == null) {
+			return null;
+		}
+		else {
+			return new LazyTokenCollection<T>(underlyingTokens.size()) {
+				@Override
+				protected Collection<? extends T> createTokens() {
+					return convertUnderlyingTokens(underlyingSequenceID, underlyingIndex, underlyingTokens);
+				}
+			};
+		}
+	}
+	
+	
 	protected Collection<T> convertUnderlyingTokens(String underlyingSequenceID, int underlyingIndex, 
 			Collection<? extends U> underlyingTokens) {
 		
@@ -224,6 +256,175 @@ public abstract class AbstractTokenReplacementAlignmentModelDecorator<T, U> exte
 	}
 
 
+	/**
+	 * Handle of this decorator that references the handle of the according sequence in the underlying model.
+	 */
+	private static final class DecoratedSequenceHandle extends SequenceHandle {
+		private final SequenceHandle underlyingHandle;
+		
+		
+		public DecoratedSequenceHandle(AlignmentModel<?> model, String sequenceID, SequenceHandle underlyingHandle) {
+			super(model, sequenceID, NO_INDEX);
+			this.underlyingHandle = underlyingHandle;
+		}
+	}
+	
+	
+	/**
+	 * Returns a handle of this decorator that wraps the handle of the underlying sequence, so that calls of the handle
+	 * based accessors do not need to convert the sequence ID again.
+	 */
+	@Override
+	public SequenceHandle getSequenceHandle(String sequenceID) {
+		String underlyingID = convertDecoratedSequenceID(sequenceID);
+		if (underlyingID != null) {
+			return new DecoratedSequenceHandle(this, sequenceID, getUnderlyingModel().getSequenceHandle(underlyingID));
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequenceID);
+		}
+	}
+	
+	
+	private SequenceHandle underlyingHandle(SequenceHandle sequence) {
+		if ((sequence.getModel() == this) && (sequence instanceof DecoratedSequenceHandle)) {
+			return ((DecoratedSequenceHandle)sequence).underlyingHandle;
+		}
+		else {
+			String underlyingID = convertDecoratedSequenceID(sequence.getSequenceID());
+			if (underlyingID != null) {
+				return getUnderlyingModel().getSequenceHandle(underlyingID);
+			}
+			else {
+				throw new SequenceNotFoundException(this, sequence.getSequenceID());
+			}
+		}
+	}
+	
+	
+	@Override
+	public T getTokenAt(SequenceHandle sequence, int index) {
+		SequenceHandle underlyingHandle = underlyingHandle(sequence);
+		return convertUnderlyingToken(underlyingHandle.getSequenceID(), index, 
+				getUnderlyingModel().getTokenAt(underlyingHandle, index));
+	}
+	
+	
+	@Override
+	public int getSequenceLength(SequenceHandle sequence) {
+		return getUnderlyingModel().getSequenceLength(underlyingHandle(sequence));
+	}
+	
+	
+	/**
+	 * Reads a range of tokens from the specified underlying cursor into a temporary array and converts them using 
+	 * {@link #convertUnderlyingToken(String, int, Object)}.
+	 */
+	@SuppressWarnings("unchecked")
+	private void getConvertedTokens(SequenceCursor<U> underlyingCursor, int beginIndex, int endIndex, T[] destination, 
+			int destinationOffset) {
+		
+		if (beginIndex > endIndex) {
+			throw new IndexOutOfBoundsException("Invalid range (" + beginIndex + ", " + endIndex + ").");
+		}
+		U[] underlyingTokens = (U[])new Object[endIndex - beginIndex];
+		underlyingCursor.getTokens(beginIndex, endIndex, underlyingTokens, 0);
+		convertUnderlyingTokens(underlyingCursor.getSequenceID(), beginIndex, underlyingTokens, destination, destinationOffset);
+	}
+	
+	
+	/**
+	 * Converts a range of tokens read from the underlying model. This method is used by all bulk read methods of this 
+	 * class.
+	 * <p>
+	 * This default implementation calls {@link #convertUnderlyingToken(String, int, Object)} for each token. Inherited 
+	 * classes may overwrite it with a more efficient implementation.
+	 * 
+	 * @param underlyingSequenceID the ID of the sequence in the underlying model containing the tokens to be converted 
+	 * @param underlyingIndex the column index of the first token to be converted in the underlying model
+	 * @param underlyingTokens the tokens from the underlying model
+	 * @param destination the array to write the converted tokens to
+	 * @param destinationOffset the index in {@code destination} where the first converted token shall be stored
+	 * @since 0.10.0
+	 */
+	protected void convertUnderlyingTokens(String underlyingSequenceID, int underlyingIndex, U[] underlyingTokens, 
+			T[] destination, int destinationOffset) {
+		
+		for (int i = 0; i < underlyingTokens.length; i++) {
+			destination[destinationOffset + i] = convertUnderlyingToken(underlyingSequenceID, underlyingIndex + i, 
+					underlyingTokens[i]);
+		}
+	}
+	
+	
+	/**
+	 * Reads all tokens of the range from the underlying model at once and converts them afterwards. (Since index
+	 * shifts are not allowed in this class, decorated and underlying indices are identical.)
+	 */
+	@Override
+	public void getTokens(String sequenceID, int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		String underlyingID = convertDecoratedSequenceID(sequenceID);
+		if (underlyingID != null) {
+			getConvertedTokens(getUnderlyingModel().getSequenceCursor(underlyingID), beginIndex, endIndex, destination, 
+					destinationOffset);
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequenceID);
+		}
+	}
+
+
+	@Override
+	public void getTokens(SequenceHandle sequence, int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		getConvertedTokens(getUnderlyingModel().getSequenceCursor(underlyingHandle(sequence)), beginIndex, endIndex, 
+				destination, destinationOffset);
+	}
+
+
+	private SequenceCursor<T> createCursor(final String sequenceID, final SequenceCursor<U> underlyingCursor) {
+		final String underlyingID = underlyingCursor.getSequenceID();
+		return new SequenceCursor<T>() {
+			@Override
+			public String getSequenceID() {
+				return sequenceID;
+			}
+
+			@Override
+			public int getLength() {
+				return underlyingCursor.getLength();
+			}
+
+			@Override
+			public T getTokenAt(int index) {
+				return convertUnderlyingToken(underlyingID, index, underlyingCursor.getTokenAt(index));
+			}
+
+			@Override
+			public void getTokens(int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+				getConvertedTokens(underlyingCursor, beginIndex, endIndex, destination, destinationOffset);
+			}
+		};
+	}
+	
+	
+	@Override
+	public SequenceCursor<T> getSequenceCursor(String sequenceID) {
+		String underlyingID = convertDecoratedSequenceID(sequenceID);
+		if (underlyingID != null) {
+			return createCursor(sequenceID, getUnderlyingModel().getSequenceCursor(underlyingID));
+		}
+		else {
+			throw new SequenceNotFoundException(this, sequenceID);
+		}
+	}
+
+
+	@Override
+	public SequenceCursor<T> getSequenceCursor(SequenceHandle sequence) {
+		return createCursor(sequence.getSequenceID(), getUnderlyingModel().getSequenceCursor(underlyingHandle(sequence)));
+	}
+
+
 	@Override
 	public void setTokenAt(String sequenceID, int index, T token) throws AlignmentSourceNotWritableException {
 		String underlyingID = convertDecoratedSequenceID(sequenceID);
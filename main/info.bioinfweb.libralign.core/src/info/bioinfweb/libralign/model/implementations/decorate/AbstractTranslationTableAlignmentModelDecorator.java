@@ -0,0 +1,177 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.decorate;
+
+
+import java.util.HashMap;
+import java.util.Map;
+
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.tokenset.TokenSet;
+
+
+
+/**
+ * Abstract implementation of a token replacement decorator that replaces each token independent of its sequence 
+ * and position. Inherited classes define the translation of single tokens by implementing 
+ * {@link #translateUnderlyingToken(Object)} and {@link #translateDecoratedToken(Object)}. These methods are called 
+ * once for each token of the two token sets to create translation tables, which are used for all subsequent 
+ * conversions. Conversions therefore need no string operations, even if the translation itself is based on token 
+ * representations.
+ * <p>
+ * The tables are recreated if the token set of this decorator or of the underlying model is replaced or if 
+ * tokens are added to or removed from one of them. If an inherited class changes its translation in any other way, 
+ * it must call {@link #invalidateTranslationTables()}. Tokens not contained in the respective token set are
+ * translated directly without using the tables.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of sequence elements (tokens) the implementing decorator works with
+ * @param <U> the type of sequence elements (tokens) the underlying model works with
+ */
+public abstract class AbstractTranslationTableAlignmentModelDecorator<T, U> 
+		extends AbstractTokenReplacementAlignmentModelDecorator<T, U> {
+	
+	private Map<U, T> underlyingTable = null;
+	private Map<T, U> decoratedTable = null;
+	private TokenSet<U> tableUnderlyingTokenSet;
+	private int tableUnderlyingTokenCount;
+	private TokenSet<T> tableTokenSet;
+	private int tableTokenCount;
+	
+	
+	/**
+	 * Creates a new instance of this class.
+	 * 
+	 * @param tokenSet the token set to be used by the decorator
+	 * @param underlyingModel the underlying model to be decorated
+	 */
+	public AbstractTranslationTableAlignmentModelDecorator(TokenSet<T> tokenSet, AlignmentModel<U> underlyingModel) {
+		super(tokenSet, underlyingModel);
+	}
+	
+	
+	/**
+	 * Inherited classes must perform the translation of a token of the underlying model to a token of this decorator 
+	 * by implementing this method.
+	 * 
+	 * @param underlyingToken the token of the underlying model (never {@code null})
+	 * @return the token that shall be shown instead
+	 */
+	protected abstract T translateUnderlyingToken(U underlyingToken);
+	
+	
+	/**
+	 * Inherited classes must perform the translation of a token of this decorator to a token of the underlying model 
+	 * by implementing this method.
+	 * 
+	 * @param decoratedToken the token of this decorator (never {@code null})
+	 * @return the token to be stored in the underlying model
+	 */
+	protected abstract U translateDecoratedToken(T decoratedToken);
+	
+	
+	/**
+	 * Discards the current translation tables. They will be recreated on the next token conversion.
+	 */
+	public void invalidateTranslationTables() {
+		underlyingTable = null;
+		decoratedTable = null;
+	}
+	
+	
+	private void ensureTranslationTables() {
+		TokenSet<U> underlyingTokenSet = getUnderlyingModel().getTokenSet();
+		TokenSet<T> tokenSet = getTokenSet();
+		if ((underlyingTable == null) || (underlyingTokenSet != tableUnderlyingTokenSet) || 
+				(underlyingTokenSet.size() != tableUnderlyingTokenCount) || (tokenSet != tableTokenSet) || 
+				(tokenSet.size() != tableTokenCount)) {
+			
+			Map<U, T> newUnderlyingTable = new HashMap<U, T>();
+			for (U token : underlyingTokenSet) {
+				if (token != null) {
+					newUnderlyingTable.put(token, translateUnderlyingToken(token));
+				}
+			}
+			Map<T, U> newDecoratedTable = new HashMap<T, U>();
+			for (T token : tokenSet) {
+				if (token != null) {
+					newDecoratedTable.put(token, translateDecoratedToken(token));
+				}
+			}
+			
+			underlyingTable = newUnderlyingTable;
+			decoratedTable = newDecoratedTable;
+			tableUnderlyingTokenSet = underlyingTokenSet;
+			tableUnderlyingTokenCount = underlyingTokenSet.size();
+			tableTokenSet = tokenSet;
+			tableTokenCount = tokenSet.size();
+		}
+	}
+	
+	
+	private T lookUpUnderlyingToken(Map<U, T> table, U underlyingToken) {
+		if (underlyingToken == null) {
+			return null;
+		}
+		else {
+			T result = table.get(underlyingToken);
+			if ((result == null) && !table.containsKey(underlyingToken)) {
+				result = translateUnderlyingToken(underlyingToken);
+			}
+			return result;
+		}
+	}
+
+
+	@Override
+	protected T convertUnderlyingToken(String underlyingSequenceID, int underlyingIndex, U underlyingToken) {
+		ensureTranslationTables();
+		return lookUpUnderlyingToken(underlyingTable, underlyingToken);
+	}
+
+
+	@Override
+	protected void convertUnderlyingTokens(String underlyingSequenceID, int underlyingIndex, U[] underlyingTokens, 
+			T[] destination, int destinationOffset) {
+		
+		ensureTranslationTables();  // Only checked once for the whole range.
+		Map<U, T> table = underlyingTable;
+		for (int i = 0; i < underlyingTokens.length; i++) {
+			destination[destinationOffset + i] = lookUpUnderlyingToken(table, underlyingTokens[i]);
+		}
+	}
+
+
+	@Override
+	protected U convertDecoratedToken(String viewedSequenceID, int viewedIndex, T decoratedToken) {
+		if (decoratedToken == null) {
+			return null;
+		}
+		else {
+			ensureTranslationTables();
+			U result = decoratedTable.get(decoratedToken);
+			if ((result == null) && !decoratedTable.containsKey(decoratedToken)) {
+				result = translateDecoratedToken(decoratedToken);
+			}
+			return result;
+		}
+	}
+}
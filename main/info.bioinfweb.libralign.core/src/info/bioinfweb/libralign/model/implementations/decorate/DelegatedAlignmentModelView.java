@@ -26,6 +26,9 @@ import java.util.Set;
 import info.bioinfweb.libralign.model.AlignmentModel;
 import info.bioinfweb.libralign.model.AlignmentModelView;
 import info.bioinfweb.libralign.model.AlignmentModelWriteType;
+import info.bioinfweb.libralign.model.SequenceCursor;
+import info.bioinfweb.libralign.model.SequenceHandle;
+import info.bioinfweb.libralign.model.TokenVisitor;
 import info.bioinfweb.libralign.model.adapters.AbstractBasicAlignmentModelView;
 import info.bioinfweb.libralign.model.exception.AlignmentSourceNotWritableException;
 import info.bioinfweb.libralign.model.exception.SequenceNotFoundException;
@@ -42,7 +45,11 @@ import info.bioinfweb.libralign.model.tokenset.TokenSet;
  * modifying this list, actually modifies the listener list of the underlying model.
  * <p>
  * This class is marked as abstract, since it does not behave different then the underlying model,
- * if no method is overwritten or added in inherited classes.
+ * if no method is overwritten or added in inherited classes. Note that inherited classes that overwrite 
+ * {@link #getTokenAt(String, int)} should also overwrite the bulk read methods 
+ * {@link #getTokens(String, int, int, Object[], int)}, {@link #forEachToken(String, int, int, TokenVisitor)}, 
+ * {@link #getSequenceCursor(String)} and the according methods accepting a {@link SequenceHandle}, since these also 
+ * delegate directly to the underlying model.
  * 
  * @author Ben St&ouml;ver
  *
@@ -166,6 +173,46 @@ public abstract class DelegatedAlignmentModelView<T> extends AbstractBasicAlignm
 	}
 	
 	
+	public void getTokens(String sequenceID, int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		getUnderlyingModel().getTokens(sequenceID, beginIndex, endIndex, destination, destinationOffset);
+	}
+	
+	
+	public void forEachToken(String sequenceID, int beginIndex, int endIndex, TokenVisitor<? super T> visitor) {
+		getUnderlyingModel().forEachToken(sequenceID, beginIndex, endIndex, visitor);
+	}
+	
+	
+	public SequenceCursor<T> getSequenceCursor(String sequenceID) {
+		return getUnderlyingModel().getSequenceCursor(sequenceID);
+	}
+	
+	
+	public SequenceHandle getSequenceHandle(String sequenceID) {
+		return getUnderlyingModel().getSequenceHandle(sequenceID);
+	}
+	
+	
+	public int getSequenceLength(SequenceHandle sequence) {
+		return getUnderlyingModel().getSequenceLength(sequence);
+	}
+	
+	
+	public T getTokenAt(SequenceHandle sequence, int index) {
+		return getUnderlyingModel().getTokenAt(sequence, index);
+	}
+	
+	
+	public void getTokens(SequenceHandle sequence, int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		getUnderlyingModel().getTokens(sequence, beginIndex, endIndex, destination, destinationOffset);
+	}
+	
+	
+	public SequenceCursor<T> getSequenceCursor(SequenceHandle sequence) {
+		return getUnderlyingModel().getSequenceCursor(sequence);
+	}
+	
+	
 	public void setTokenAt(String sequenceID, int index, T token)
 			throws AlignmentSourceNotWritableException {
 		getUnderlyingModel().setTokenAt(sequenceID, index, token);
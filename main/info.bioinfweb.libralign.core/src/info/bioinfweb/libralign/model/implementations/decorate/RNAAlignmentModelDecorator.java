@@ -35,7 +35,7 @@ import info.bioinfweb.libralign.model.utils.AlignmentModelUtils;
  * @param <T> the type of sequence elements (tokens) the implementing decorator works with
  * @param <U> the type of sequence elements (tokens) the underlying model works with
  */
-public class RNAAlignmentModelDecorator<T, U> extends AbstractTokenReplacementAlignmentModelDecorator<T, U> {
+public class RNAAlignmentModelDecorator<T, U> extends AbstractTranslationTableAlignmentModelDecorator<T, U> {
 	public RNAAlignmentModelDecorator(TokenSet<T> tokenSet,	AlignmentModel<U> underlyingModel) {
 		super(tokenSet, underlyingModel);
 	}
@@ -49,35 +49,25 @@ public class RNAAlignmentModelDecorator<T, U> extends AbstractTokenReplacementAl
 	
 	
 	@Override
-	protected T convertUnderlyingToken(String underlyingSequenceID, int underlyingIndex, U underlyingToken) {
-		if (underlyingToken != null) {
-			String representation = getUnderlyingModel().getTokenSet().representationByToken(underlyingToken);
-			if (representation.equals(AlignmentModelUtils.THYMINE)) {
-				return getTokenSet().tokenByRepresentation(AlignmentModelUtils.URACILE);
-			}
-			else {
-				return getTokenSet().tokenByRepresentation(representation);
-			}
+	protected T translateUnderlyingToken(U underlyingToken) {
+		String representation = getUnderlyingModel().getTokenSet().representationByToken(underlyingToken);
+		if (representation.equals(AlignmentModelUtils.THYMINE)) {
+			return getTokenSet().tokenByRepresentation(AlignmentModelUtils.URACILE);
 		}
 		else {
-			return null;
+			return getTokenSet().tokenByRepresentation(representation);
 		}
 	}
 
 	
 	@Override
-	protected U convertDecoratedToken(String viewedSequenceID, int viewedIndex, T decoratedToken) {
-		if (decoratedToken != null) {
-			String representation = getTokenSet().representationByToken(decoratedToken);
-			if (representation.equals(AlignmentModelUtils.URACILE)) {
-				return getUnderlyingModel().getTokenSet().tokenByRepresentation(AlignmentModelUtils.THYMINE);
-			}
-			else {
-				return getUnderlyingModel().getTokenSet().tokenByRepresentation(representation);
-			}
+	protected U translateDecoratedToken(T decoratedToken) {
+		String representation = getTokenSet().representationByToken(decoratedToken);
+		if (representation.equals(AlignmentModelUtils.URACILE)) {
+			return getUnderlyingModel().getTokenSet().tokenByRepresentation(AlignmentModelUtils.THYMINE);
 		}
 		else {
-			return null;
+			return getUnderlyingModel().getTokenSet().tokenByRepresentation(representation);
 		}
 	}
 }
@@ -0,0 +1,232 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.mapped;
+
+
+import info.bioinfweb.commons.Math2;
+
+import java.util.Arrays;
+
+
+
+/**
+ * A {@link CharSequence} that reads its characters directly from a memory-mapped file. Each byte of the file is
+ * interpreted as one character. Line breaks and other whitespace that separate the lines of a sequence in the
+ * file are skipped.
+ * <p>
+ * If all lines of a sequence (except the last one) have the same length and are separated by the same number
+ * of bytes, only the offset of the first character, the line length and the line stride are stored. Otherwise
+ * the offset and the sequence index of the first character of each line are stored and a binary search is
+ * performed to locate a character.
+ * <p>
+ * Instances are created by {@link MemoryMappedAlignmentModel}. Subsequences returned by {@link #subSequence(int, int)}
+ * are views sharing the same line index.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class MappedCharSequence implements CharSequence {
+	private final MappedFileBuffer buffer;
+	private final long firstOffset;
+	private final int lineLength;
+	private final long lineStride;
+	private final long[] lineOffsets;  // Only used for irregular line lengths.
+	private final int[] lineStartIndices;
+	private final int start;
+	private final int length;
+
+
+	private MappedCharSequence(MappedFileBuffer buffer, long firstOffset, int lineLength, long lineStride,
+			long[] lineOffsets, int[] lineStartIndices, int start, int length) {
+
+		super();
+		this.buffer = buffer;
+		this.firstOffset = firstOffset;
+		this.lineLength = lineLength;
+		this.lineStride = lineStride;
+		this.lineOffsets = lineOffsets;
+		this.lineStartIndices = lineStartIndices;
+		this.start = start;
+		this.length = length;
+	}
+
+
+	/**
+	 * Returns the offset of the byte in the mapped file that contains the character with the specified index.
+	 *
+	 * @param index the index of the character in this sequence
+	 * @return the offset in the file
+	 * @throws IndexOutOfBoundsException if {@code index} is {@code < 0} or {@code >=} {@link #length()}
+	 */
+	public long fileOffset(int index) {
+		if (Math2.isBetween(index, 0, length - 1)) {
+			index += start;
+			if (lineOffsets == null) {
+				return firstOffset + (index / lineLength) * lineStride + index % lineLength;
+			}
+			else {
+				int low = 0;
+				int high = lineStartIndices.length - 1;
+				while (low < high) {  // Find the last line starting at or before index.
+					int mid = (low + high + 1) >>> 1;
+					if (lineStartIndices[mid] <= index) {
+						low = mid;
+					}
+					else {
+						high = mid - 1;
+					}
+				}
+				return lineOffsets[low] + index - lineStartIndices[low];
+			}
+		}
+		else {
+			throw new IndexOutOfBoundsException("Invalid index " + index + ".");
+		}
+	}
+
+
+	/**
+	 * Determines whether all lines of the underlying sequence in the file have the same length (except the last
+	 * one) and are separated by the same number of bytes. In this case characters can be located without a
+	 * binary search.
+	 *
+	 * @return {@code true} if the lines of this sequence are regular or {@code false} otherwise
+	 */
+	public boolean hasRegularLines() {
+		return lineOffsets == null;
+	}
+
+
+	@Override
+	public char charAt(int index) {
+		return (char)(buffer.get(fileOffset(index)) & 0xFF);
+	}
+
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (Math2.isBetween(start, 0, end) && Math2.isBetween(end, start, length)) {
+			return new MappedCharSequence(buffer, firstOffset, lineLength, lineStride, lineOffsets, lineStartIndices,
+					this.start + start, end - start);
+		}
+		else {
+			throw new IndexOutOfBoundsException("Invalid sequence bounds (" + start + ", " + end + ").");
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		char[] result = new char[length];
+		for (int i = 0; i < length; i++) {
+			result[i] = charAt(i);
+		}
+		return new String(result);
+	}
+
+
+	/**
+	 * Collects the lines of a sequence while a file is scanned and creates the according {@link MappedCharSequence}.
+	 * The index is kept in the compact form as long as all lines are regular.
+	 */
+	static class Builder {
+		private long firstOffset = -1;
+		private int lineLength = 0;
+		private long lineStride = 0;
+		private int lineCount = 0;
+		private long length = 0;
+		private boolean lastLineShorter = false;
+		private long[] lineOffsets = null;
+		private int[] lineStartIndices = null;
+
+
+		public long getLength() {
+			return length;
+		}
+
+
+		private void convertToIrregular() {
+			lineOffsets = new long[Math.max(16, 2 * lineCount)];
+			lineStartIndices = new int[lineOffsets.length];
+			for (int i = 0; i < lineCount; i++) {
+				lineOffsets[i] = firstOffset + i * lineStride;
+				lineStartIndices[i] = i * lineLength;
+			}
+		}
+
+
+		/**
+		 * Adds a new line of characters that directly follows the previously added line in the sequence.
+		 *
+		 * @param offset the offset of the first character of the line in the file
+		 * @param count the number of characters in the line (must be greater than 0)
+		 */
+		public void addLine(long offset, int count) {
+			if (lineOffsets == null) {
+				if (lineCount == 0) {
+					firstOffset = offset;
+					lineLength = count;
+				}
+				else if (lastLineShorter || (count > lineLength) ||
+						((lineCount > 1) && (offset != firstOffset + lineCount * lineStride))) {
+
+					convertToIrregular();
+				}
+				else {
+					if (lineCount == 1) {
+						lineStride = offset - firstOffset;
+					}
+					lastLineShorter = (count < lineLength);
+				}
+			}
+
+			if (lineOffsets != null) {
+				if (lineCount == lineOffsets.length) {
+					lineOffsets = Arrays.copyOf(lineOffsets, 2 * lineCount);
+					lineStartIndices = Arrays.copyOf(lineStartIndices, 2 * lineCount);
+				}
+				lineOffsets[lineCount] = offset;
+				lineStartIndices[lineCount] = (int)length;
+			}
+			lineCount++;
+			length += count;
+		}
+
+
+		public MappedCharSequence build(MappedFileBuffer buffer) {
+			if (lineCount == 0) {
+				return new MappedCharSequence(buffer, 0, 1, 1, null, null, 0, 0);
+			}
+			else if (lineOffsets == null) {
+				return new MappedCharSequence(buffer, firstOffset, lineLength, (lineCount == 1) ? lineLength : lineStride,
+						null, null, 0, (int)length);
+			}
+			else {
+				return new MappedCharSequence(buffer, firstOffset, lineLength, lineStride, Arrays.copyOf(lineOffsets, lineCount),
+						Arrays.copyOf(lineStartIndices, lineCount), 0, (int)length);
+			}
+		}
+	}
+}
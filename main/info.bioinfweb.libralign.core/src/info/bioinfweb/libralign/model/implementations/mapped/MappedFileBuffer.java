@@ -0,0 +1,95 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.mapped;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+
+
+/**
+ * Provides read-only access to the contents of a file using {@link FileChannel#map(FileChannel.MapMode, long, long)}.
+ * <p>
+ * Since a single mapped buffer cannot be larger than 2 GB, the file is mapped in chunks of {@link #CHUNK_SIZE}
+ * bytes, which are addressed by {@code long} offsets. The file channel is closed again after mapping. (The mapped
+ * buffers remain valid until they are garbage collected.)
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+final class MappedFileBuffer {
+	private static final int CHUNK_BITS = 30;
+	public static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+
+	private final ByteBuffer[] chunks;
+	private final long size;
+
+
+	public MappedFileBuffer(File file) throws IOException {
+		super();
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			size = channel.size();
+			chunks = new ByteBuffer[(int)((size + CHUNK_MASK) >>> CHUNK_BITS)];
+			for (int i = 0; i < chunks.length; i++) {
+				long position = (long)i << CHUNK_BITS;
+				chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHUNK_SIZE, size - position));
+			}
+		}
+		finally {
+			channel.close();
+		}
+	}
+
+
+	public long size() {
+		return size;
+	}
+
+
+	public byte get(long offset) {
+		return chunks[(int)(offset >>> CHUNK_BITS)].get((int)(offset & CHUNK_MASK));
+	}
+
+
+	/**
+	 * Copies up to {@code length} bytes starting at {@code offset} into {@code destination}. Fewer bytes are copied,
+	 * if the end of the file or the end of a chunk is reached.
+	 *
+	 * @return the number of copied bytes or -1 if {@code offset} is located at or behind the end of the file
+	 */
+	public int get(long offset, byte[] destination, int destinationOffset, int length) {
+		if (offset >= size) {
+			return -1;
+		}
+		else {
+			ByteBuffer chunk = chunks[(int)(offset >>> CHUNK_BITS)].duplicate();  // Absolute bulk reads are not available before Java 13.
+			chunk.position((int)(offset & CHUNK_MASK));
+			length = Math.min(length, chunk.remaining());
+			chunk.get(destination, destinationOffset, length);
+			return length;
+		}
+	}
+}
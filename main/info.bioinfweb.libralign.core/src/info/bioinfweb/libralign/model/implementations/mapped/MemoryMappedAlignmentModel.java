@@ -0,0 +1,383 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.mapped;
+
+
+import info.bioinfweb.libralign.model.adapters.CharSequenceAdapter;
+import info.bioinfweb.libralign.model.implementations.AbstractUnmodifyableAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.CharSequenceAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.SequenceIDManager;
+import info.bioinfweb.libralign.model.tokenset.TokenSet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+
+
+/**
+ * A read-only alignment model that serves the sequences of a FASTA or sequential PHYLIP file directly from a
+ * memory-mapped buffer.
+ * <p>
+ * When an instance is created, the file is scanned once to build an index containing the position of each sequence
+ * in the file, its line length and the stride between its lines (see {@link MappedCharSequence}). The sequence data
+ * itself is never copied into the heap, so the memory consumption of this model is proportional to the number of
+ * sequences and not to the number of characters in the file. Calls of {@link #getTokenAt(String, int)} and of
+ * {@link CharSequenceAdapter}s viewing this model are answered directly from the mapped buffer.
+ * <p>
+ * Each byte of a sequence in the file is interpreted as one character token. (Multi-byte encodings are therefore
+ * only supported in sequence names.) Whitespace inside sequences is ignored. Interleaved PHYLIP files are not
+ * supported.
+ * <p>
+ * Since this class inherits from {@link AbstractUnmodifyableAlignmentModel}, tokens cannot be edited. Sequences
+ * may still be removed or reordered, or additional {@link CharSequence}s may be added using
+ * {@link #addSequence(String, CharSequence)}.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class MemoryMappedAlignmentModel extends CharSequenceAlignmentModel {
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+
+	private final File file;
+	private final MappedFileBuffer buffer;
+	private Reader reader = null;  // Only used while the file is scanned.
+
+
+	/**
+	 * Reads the bytes of a {@link MappedFileBuffer} sequentially using bulk reads.
+	 */
+	private static class Reader {
+		private MappedFileBuffer buffer;
+		private byte[] block = new byte[READ_BUFFER_SIZE];
+		private long blockOffset = 0;
+		private int blockLength = 0;
+		private int blockPosition = 0;
+
+
+		public Reader(MappedFileBuffer buffer) {
+			super();
+			this.buffer = buffer;
+		}
+
+
+		/**
+		 * Returns the file offset of the byte that will be returned by the next call of {@link #read()}.
+		 */
+		public long getOffset() {
+			return blockOffset + blockPosition;
+		}
+
+
+		private boolean nextBlock() {
+			blockOffset += blockLength;
+			blockPosition = 0;
+			blockLength = Math.max(0, buffer.get(blockOffset, block, 0, block.length));
+			return blockLength > 0;
+		}
+
+
+		public int read() {
+			if ((blockPosition == blockLength) && !nextBlock()) {
+				return -1;
+			}
+			else {
+				return block[blockPosition++] & 0xFF;
+			}
+		}
+
+
+		/**
+		 * Skips all following bytes up to the next whitespace, but not beyond {@code end}. This method is used to skip
+		 * sequence data faster than by calling {@link #read()} for each byte.
+		 */
+		public void skipNonWhitespace(long end) {
+			do {
+				int blockEnd = (int)Math.min(blockLength, end - blockOffset);
+				while ((blockPosition < blockEnd) && !isWhitespace(block[blockPosition])) {
+					blockPosition++;
+				}
+			} while ((blockPosition == blockLength) && (getOffset() < end) && nextBlock());
+		}
+	}
+
+
+	private MemoryMappedAlignmentModel(File file, TokenSet<Character> tokenSet, SequenceIDManager idManager,
+			boolean reuseSequenceIDs) throws IOException {
+
+		super(tokenSet, idManager, reuseSequenceIDs);
+		this.file = file;
+		buffer = new MappedFileBuffer(file);
+	}
+
+
+	/**
+	 * Creates a new instance of this class containing all sequences of the specified FASTA file. Sequence names
+	 * are taken from the whole header lines. Lines starting with {@code ';'} are treated as comments.
+	 *
+	 * @param file the FASTA file to be mapped
+	 * @param tokenSet the token set which is supported by the new model
+	 * @param idManager the ID manager to be used by the new instance (maybe shared among multiple instances)
+	 * @param reuseSequenceIDs Specifies whether unused IDs of the underlying ID manager should be reused by this model.
+	 *        (See the documentation of {@link #isReuseSequenceIDs()} for details. Specify {@code false}, if you are unsure
+	 *        what this property does.)
+	 * @return the new model
+	 * @throws IOException if the file cannot be mapped or does not have a valid FASTA format
+	 */
+	public static MemoryMappedAlignmentModel newFastaInstance(File file, TokenSet<Character> tokenSet,
+			SequenceIDManager idManager, boolean reuseSequenceIDs) throws IOException {
+
+		MemoryMappedAlignmentModel result = new MemoryMappedAlignmentModel(file, tokenSet, idManager, reuseSequenceIDs);
+		result.reader = new Reader(result.buffer);
+		result.readFasta();
+		result.reader = null;
+		return result;
+	}
+
+
+	/**
+	 * Creates a new instance of this class containing all sequences of the specified FASTA file using its own
+	 * ID manager.
+	 *
+	 * @param file the FASTA file to be mapped
+	 * @param tokenSet the token set which is supported by the new model
+	 * @return the new model
+	 * @throws IOException if the file cannot be mapped or does not have a valid FASTA format
+	 */
+	public static MemoryMappedAlignmentModel newFastaInstance(File file, TokenSet<Character> tokenSet) throws IOException {
+		return newFastaInstance(file, tokenSet, new SequenceIDManager(), false);
+	}
+
+
+	/**
+	 * Creates a new instance of this class containing all sequences of the specified sequential PHYLIP file.
+	 *
+	 * @param file the PHYLIP file to be mapped
+	 * @param tokenSet the token set which is supported by the new model
+	 * @param relaxedNames Specify {@code true} here, if sequence names end at the first whitespace (relaxed PHYLIP) or
+	 *        {@code false}, if they always consist of the first 10 characters of a sequence line (strict PHYLIP).
+	 * @param idManager the ID manager to be used by the new instance (maybe shared among multiple instances)
+	 * @param reuseSequenceIDs Specifies whether unused IDs of the underlying ID manager should be reused by this model.
+	 *        (See the documentation of {@link #isReuseSequenceIDs()} for details. Specify {@code false}, if you are unsure
+	 *        what this property does.)
+	 * @return the new model
+	 * @throws IOException if the file cannot be mapped or does not have a valid PHYLIP format
+	 */
+	public static MemoryMappedAlignmentModel newPhylipInstance(File file, TokenSet<Character> tokenSet, boolean relaxedNames,
+			SequenceIDManager idManager, boolean reuseSequenceIDs) throws IOException {
+
+		MemoryMappedAlignmentModel result = new MemoryMappedAlignmentModel(file, tokenSet, idManager, reuseSequenceIDs);
+		result.reader = new Reader(result.buffer);
+		result.readPhylip(relaxedNames);
+		result.reader = null;
+		return result;
+	}
+
+
+	/**
+	 * Creates a new instance of this class containing all sequences of the specified sequential PHYLIP file using its
+	 * own ID manager.
+	 *
+	 * @param file the PHYLIP file to be mapped
+	 * @param tokenSet the token set which is supported by the new model
+	 * @param relaxedNames Specify {@code true} here, if sequence names end at the first whitespace (relaxed PHYLIP) or
+	 *        {@code false}, if they always consist of the first 10 characters of a sequence line (strict PHYLIP).
+	 * @return the new model
+	 * @throws IOException if the file cannot be mapped or does not have a valid PHYLIP format
+	 */
+	public static MemoryMappedAlignmentModel newPhylipInstance(File file, TokenSet<Character> tokenSet, boolean relaxedNames)
+			throws IOException {
+
+		return newPhylipInstance(file, tokenSet, relaxedNames, new SequenceIDManager(), false);
+	}
+
+
+	/**
+	 * Returns the file this model has been created from.
+	 *
+	 * @return the mapped file
+	 */
+	public File getFile() {
+		return file;
+	}
+
+
+	private static boolean isWhitespace(int b) {
+		return (b <= ' ') && ((b == ' ') || (b == '\t') || (b == '\n') || (b == '\r') || (b == '\f') || (b == 0x0B));
+	}
+
+
+	private static boolean isLineBreak(int b) {
+		return (b == '\n') || (b == '\r');
+	}
+
+
+	private IOException createFormatException(String message, long offset) {
+		return new IOException(message + " (File \"" + file.getAbsolutePath() + "\", byte offset " + offset + ")");
+	}
+
+
+	/**
+	 * Adds a line to the specified builder, if the current line is not empty.
+	 */
+	private void addLine(MappedCharSequence.Builder builder, long lineStart, long lineEnd) throws IOException {
+		if (lineStart < lineEnd) {
+			if (builder.getLength() + (lineEnd - lineStart) > Integer.MAX_VALUE) {
+				throw createFormatException("The sequence is too long to be mapped.", lineStart);
+			}
+			builder.addLine(lineStart, (int)(lineEnd - lineStart));
+		}
+	}
+
+
+	private String readName(ByteArrayOutputStream name) {
+		return new String(name.toByteArray(), StandardCharsets.UTF_8).trim();
+	}
+
+
+	private void addMappedSequence(String name, MappedCharSequence.Builder builder) {
+		if (name != null) {
+			addSequence(name, builder.build(buffer));
+		}
+	}
+
+
+	private void readFasta() throws IOException {
+		String name = null;
+		MappedCharSequence.Builder builder = null;
+		long lineStart = -1;
+		boolean atLineStart = true;
+		int b = reader.read();
+		while (b != -1) {
+			if (atLineStart && ((b == '>') || (b == ';'))) {
+				boolean isHeader = (b == '>');
+				ByteArrayOutputStream header = new ByteArrayOutputStream();
+				b = reader.read();
+				while ((b != -1) && !isLineBreak(b)) {
+					header.write(b);
+					b = reader.read();
+				}
+				if (isHeader) {
+					addMappedSequence(name, builder);
+					name = readName(header);
+					builder = new MappedCharSequence.Builder();
+				}
+			}
+			else {
+				long offset = reader.getOffset() - 1;
+				if (isWhitespace(b)) {
+					if (lineStart != -1) {
+						addLine(builder, lineStart, offset);
+						lineStart = -1;
+					}
+					atLineStart = isLineBreak(b);
+				}
+				else {
+					if (builder == null) {
+						throw createFormatException("Sequence data was found before the first FASTA header.", offset);
+					}
+					else if (lineStart == -1) {
+						lineStart = offset;
+						reader.skipNonWhitespace(buffer.size());
+					}
+					atLineStart = false;
+				}
+				b = reader.read();
+			}
+		}
+		if (lineStart != -1) {
+			addLine(builder, lineStart, reader.getOffset());
+		}
+		addMappedSequence(name, builder);
+	}
+
+
+	private void readPhylip(boolean relaxedNames) throws IOException {
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		int b = reader.read();
+		while ((b != -1) && !isLineBreak(b)) {
+			header.write(b);
+			b = reader.read();
+		}
+		String[] values = readName(header).split("\\s+");
+		long sequenceCount;
+		long sequenceLength;
+		try {
+			sequenceCount = Long.parseLong(values[0]);
+			sequenceLength = Long.parseLong(values[1]);
+		}
+		catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			throw createFormatException("The first line of a PHYLIP file must contain the number of sequences and characters.", 0);
+		}
+		if (sequenceLength > Integer.MAX_VALUE) {
+			throw createFormatException("The sequences are too long to be mapped.", 0);
+		}
+
+		for (long i = 0; i < sequenceCount; i++) {
+			while (isWhitespace(b)) {
+				b = reader.read();
+			}
+			if (b == -1) {
+				throw createFormatException("The file ended before all " + sequenceCount + " sequences were read.",
+						reader.getOffset());
+			}
+
+			ByteArrayOutputStream name = new ByteArrayOutputStream();
+			if (relaxedNames) {
+				while ((b != -1) && !isWhitespace(b)) {
+					name.write(b);
+					b = reader.read();
+				}
+			}
+			else {
+				for (int j = 0; (j < 10) && (b != -1) && !isLineBreak(b); j++) {
+					name.write(b);
+					b = reader.read();
+				}
+			}
+
+			MappedCharSequence.Builder builder = new MappedCharSequence.Builder();
+			long lineStart = -1;
+			while ((b != -1) && (builder.getLength() + ((lineStart == -1) ? 0 : reader.getOffset() - 1 - lineStart) < sequenceLength)) {
+				long offset = reader.getOffset() - 1;
+				if (isWhitespace(b)) {
+					if (lineStart != -1) {
+						addLine(builder, lineStart, offset);
+						lineStart = -1;
+					}
+				}
+				else if (lineStart == -1) {
+					lineStart = offset;
+					reader.skipNonWhitespace(lineStart + sequenceLength - builder.getLength());
+				}
+				b = reader.read();
+			}
+			if (lineStart != -1) {
+				addLine(builder, lineStart, (b == -1) ? reader.getOffset() : reader.getOffset() - 1);
+			}
+			if (builder.getLength() < sequenceLength) {
+				throw createFormatException("The file ended before all characters of the sequence \"" + readName(name) +
+						"\" were read.", reader.getOffset());
+			}
+			addMappedSequence(readName(name), builder);
+		}
+	}
+}
@@ -0,0 +1,8 @@
+/**
+ * Contains a read-only alignment model implementation that accesses the sequences of a FASTA or PHYLIP file
+ * directly in a memory-mapped buffer instead of loading them into the heap.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+package info.bioinfweb.libralign.model.implementations.mapped;
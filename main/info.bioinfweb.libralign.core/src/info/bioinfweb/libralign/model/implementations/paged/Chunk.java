@@ -0,0 +1,53 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.paged;
+
+
+
+/**
+ * A fixed-size block of encoded tokens of a {@link PagedTokenList}.
+ * <p>
+ * {@link #data} is only guaranteed to be present while the chunk is loaded by {@link ChunkCache}. {@link #size}
+ * is always kept in the heap. The fields {@link #data}, {@link #slot}, {@link #loaded}, {@link #pendingWrites} and
+ * {@link #discarded} are only modified while the chunk is locked, since they are shared with the write-back thread of the cache.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+final class Chunk {
+	/** The encoded tokens or {@code null} if the chunk is currently only stored on disk. */
+	char[] data;
+
+	/** The number of tokens in {@link #data} that are used. */
+	int size = 0;
+
+	/** The index of the slot in the file of the cache or -1 if the chunk was never written to disk. */
+	long slot = -1;
+
+	/** Determines whether {@link #data} was modified since the chunk was loaded or last written. */
+	boolean dirty = true;
+
+	boolean loaded = false;
+
+	/** The number of write operations for this chunk that were submitted to the write-back thread, but not yet performed. */
+	int pendingWrites = 0;
+
+	/** Determines whether the chunk was removed from its list and must not be written any more. */
+	boolean discarded = false;
+}
@@ -0,0 +1,302 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.paged;
+
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+
+
+/**
+ * Keeps a limited number of {@link Chunk}s in the heap and pages all others out to a temporary file.
+ * <p>
+ * Loaded chunks are managed in least recently used order. If more chunks than allowed by the heap budget are
+ * loaded, the least recently used one is evicted. Modified chunks are written back to the file asynchronously
+ * by a single background thread. The number of pending write operations is limited by the number of chunks that
+ * can be loaded at a time, so that the heap consumption never exceeds twice the specified budget.
+ * <p>
+ * Except the write-back thread, instances are not thread-safe and are only meant to be used by the thread that
+ * modifies the owning alignment model.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+final class ChunkCache implements Closeable {
+	/** Operations of {@link PagedTokenList} access up to two chunks at once, which must not evict each other. */
+	public static final int MIN_LOADED_CHUNKS = 4;
+
+
+	private final int chunkSize;
+	private final int maxLoadedChunks;
+	private final FileChannel channel;
+	private final LinkedHashMap<Chunk, Chunk> loadedChunks = new LinkedHashMap<Chunk, Chunk>(16, 0.75f, true);  // Access order is used.
+	private Chunk mostRecentChunk = null;
+	private final ExecutorService writer;
+	private final Semaphore pendingWrites;
+	private final Deque<Long> freeSlots = new ArrayDeque<Long>();
+	private long slotCount = 0;
+
+
+	/**
+	 * Creates a new instance backed by a new temporary file, which is deleted again when the cache is closed.
+	 *
+	 * @param chunkSize the number of tokens in each chunk
+	 * @param cacheSize the maximum number of bytes used by loaded chunks in the heap (At least
+	 *        {@link #MIN_LOADED_CHUNKS} chunks are always kept.)
+	 * @throws IOException if the temporary file cannot be created
+	 */
+	public ChunkCache(int chunkSize, long cacheSize) throws IOException {
+		super();
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("The chunk size must be at least 1.");
+		}
+		this.chunkSize = chunkSize;
+		maxLoadedChunks = (int)Math.max(MIN_LOADED_CHUNKS, Math.min(Integer.MAX_VALUE, cacheSize / (2L * chunkSize)));
+		pendingWrites = new Semaphore(maxLoadedChunks);
+
+		Path path = Files.createTempFile("LibrAlign", ".chunks");
+		channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+		writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread result = new Thread(runnable, "LibrAlign chunk writer");
+						result.setDaemon(true);
+						return result;
+					}
+				});
+	}
+
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+
+	public int getMaxLoadedChunks() {
+		return maxLoadedChunks;
+	}
+
+
+	private synchronized long allocateSlot() {
+		if (freeSlots.isEmpty()) {
+			return slotCount++;
+		}
+		else {
+			return freeSlots.pop();
+		}
+	}
+
+
+	private synchronized void freeSlot(long slot) {
+		freeSlots.push(slot);
+	}
+
+
+	private long slotPosition(long slot) {
+		return slot * 2 * chunkSize;
+	}
+
+
+	private void read(long slot, char[] data) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(2 * data.length);
+		long position = slotPosition(slot);
+		while (buffer.hasRemaining() && (channel.read(buffer, position + buffer.position()) != -1));
+		buffer.flip();
+		buffer.asCharBuffer().get(data, 0, buffer.remaining() / 2);
+	}
+
+
+	private void write(long slot, char[] data) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(2 * data.length);
+		buffer.asCharBuffer().put(data);
+		long position = slotPosition(slot);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer, position + buffer.position());
+		}
+	}
+
+
+	private void writeBack(Chunk chunk) {
+		try {
+			synchronized (chunk) {
+				chunk.pendingWrites--;
+				if (!chunk.discarded) {
+					try {
+						if (chunk.slot == -1) {
+							chunk.slot = allocateSlot();
+						}
+						write(chunk.slot, chunk.data);
+						if (!chunk.loaded && (chunk.pendingWrites == 0)) {
+							chunk.data = null;
+						}
+					}
+					catch (IOException e) {
+						chunk.dirty = true;  // The data remains in the heap and writing is tried again on the next eviction.
+					}
+				}
+			}
+		}
+		finally {
+			pendingWrites.release();
+		}
+	}
+
+
+	private void evict(final Chunk chunk) {
+		pendingWrites.acquireUninterruptibly();  // Must not be called while the chunk is locked, since the writer might wait for the same chunk.
+		boolean submitted = false;
+		synchronized (chunk) {
+			chunk.loaded = false;
+			if (chunk.dirty) {
+				chunk.dirty = false;
+				chunk.pendingWrites++;
+				writer.execute(new Runnable() {
+							@Override
+							public void run() {
+								writeBack(chunk);
+							}
+						});
+				submitted = true;
+			}
+			else if (chunk.pendingWrites == 0) {
+				chunk.data = null;
+			}
+		}
+		if (!submitted) {
+			pendingWrites.release();
+		}
+	}
+
+
+	private void addLoadedChunk(Chunk chunk) {
+		loadedChunks.put(chunk, chunk);
+		mostRecentChunk = chunk;
+		if (loadedChunks.size() > maxLoadedChunks) {
+			Iterator<Chunk> iterator = loadedChunks.keySet().iterator();
+			Chunk eldest = iterator.next();
+			iterator.remove();
+			evict(eldest);
+		}
+	}
+
+
+	/**
+	 * Creates a new empty chunk, which is loaded and dirty.
+	 */
+	public Chunk newChunk() {
+		Chunk result = new Chunk();
+		synchronized (result) {
+			result.data = new char[chunkSize];
+			result.loaded = true;
+		}
+		addLoadedChunk(result);
+		return result;
+	}
+
+
+	/**
+	 * Makes sure that the data of the specified chunk is present in the heap and marks it as most recently used.
+	 *
+	 * @return the (possibly reloaded) data array of the chunk
+	 * @throws UncheckedIOException if the chunk cannot be read from disk
+	 */
+	public char[] load(Chunk chunk) {
+		if (chunk.loaded) {
+			if (chunk != mostRecentChunk) {
+				loadedChunks.get(chunk);  // Moves the chunk to the end of the access order.
+				mostRecentChunk = chunk;
+			}
+		}
+		else {
+			synchronized (chunk) {
+				if (chunk.data == null) {  // Otherwise the data is still present, because it is currently written back.
+					char[] data = new char[chunkSize];
+					if (chunk.slot != -1) {
+						try {
+							read(chunk.slot, data);
+						}
+						catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					}
+					chunk.data = data;
+				}
+				chunk.loaded = true;
+			}
+			addLoadedChunk(chunk);
+		}
+		return chunk.data;
+	}
+
+
+	/**
+	 * Removes the specified chunk from this cache and frees its slot in the file. The chunk must not be used
+	 * anymore afterwards.
+	 */
+	public void discard(Chunk chunk) {
+		if (chunk.loaded) {
+			loadedChunks.remove(chunk);
+			if (chunk == mostRecentChunk) {
+				mostRecentChunk = null;
+			}
+		}
+		synchronized (chunk) {
+			chunk.discarded = true;
+			chunk.loaded = false;
+			chunk.data = null;
+			if (chunk.slot != -1) {
+				freeSlot(chunk.slot);
+				chunk.slot = -1;
+			}
+		}
+	}
+
+
+	/**
+	 * Stops the write-back thread and deletes the underlying file. This cache and all chunks that were managed by
+	 * it cannot be used anymore afterwards.
+	 */
+	@Override
+	public void close() throws IOException {
+		writer.shutdownNow();
+		try {
+			writer.awaitTermination(1, TimeUnit.MINUTES);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		channel.close();
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.paged;
+
+
+import info.bioinfweb.libralign.model.implementations.AbstractListAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.SequenceIDManager;
+import info.bioinfweb.libralign.model.implementations.TokenDictionary;
+import info.bioinfweb.libralign.model.implementations.mapped.MemoryMappedAlignmentModel;
+import info.bioinfweb.libralign.model.tokenset.TokenSet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+
+
+/**
+ * An editable alignment model that can contain more tokens than fit into the heap.
+ * <p>
+ * The sequences are stored in {@link PagedTokenList}s, which split them into chunks of a fixed number of tokens.
+ * All chunks of a model share one cache, which keeps the most recently used chunks in the heap and pages all others
+ * out to a temporary file. Modified chunks are written back to the file asynchronously. The size of the cache is
+ * determined by a heap budget specified in the constructor. Apart from memory usage and speed, this model behaves
+ * like an {@link ArrayListAlignmentModel}. (See {@link MemoryMappedAlignmentModel} for a read-only alternative
+ * for large files.)
+ * <p>
+ * Each token is stored as a 16 bit code on disk, so that a model may contain up to 65536 different tokens. The
+ * temporary file is deleted when {@link #close()} is called or the JVM terminates.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens stored in this model
+ */
+public class PagedAlignmentModel<T> extends AbstractListAlignmentModel<T> implements Closeable {
+	/** The default number of tokens stored in one chunk. */
+	public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+	/** The default maximum number of bytes loaded chunks may take up in the heap. */
+	public static final long DEFAULT_CACHE_SIZE = 64L * 1024L * 1024L;
+
+
+	private final ChunkCache cache;
+	private final TokenDictionary<T> dictionary = new TokenDictionary<T>();
+	private final long cacheSize;
+
+
+	/**
+	 * Creates a new instance of this class.
+	 *
+	 * @param tokenSet the token set which is supported by the implementation
+	 * @param idManager the ID manager to be used by the new instance (maybe shared among multiple instances)
+	 * @param reuseSequenceIDs Specifies whether unused IDs of the underlying ID manager should be reused by this model.
+	 *        (See the documentation of {@link #isReuseSequenceIDs()} for details. Specify {@code false}, if you are unsure
+	 *        what this property does.)
+	 * @param chunkSize the number of tokens stored in each chunk
+	 * @param cacheSize the maximum number of bytes chunks may take up in the heap (Up to twice this value may be used
+	 *        temporarily while modified chunks are written to disk.)
+	 * @throws IOException if the temporary file to store the chunks cannot be created
+	 * @throws IllegalArgumentException if {@code chunkSize} is lower than 1
+	 */
+	public PagedAlignmentModel(TokenSet<T> tokenSet, SequenceIDManager idManager, boolean reuseSequenceIDs,
+			int chunkSize, long cacheSize) throws IOException {
+
+		super(tokenSet, idManager, reuseSequenceIDs);
+		cache = new ChunkCache(chunkSize, cacheSize);
+		this.cacheSize = cacheSize;
+	}
+
+
+	/**
+	 * Creates a new instance of this class using {@link #DEFAULT_CHUNK_SIZE} and {@link #DEFAULT_CACHE_SIZE}.
+	 *
+	 * @param tokenSet the token set which is supported by the implementation
+	 * @param idManager the ID manager to be used by the new instance (maybe shared among multiple instances)
+	 * @param reuseSequenceIDs Specifies whether unused IDs of the underlying ID manager should be reused by this model.
+	 *        (See the documentation of {@link #isReuseSequenceIDs()} for details. Specify {@code false}, if you are unsure
+	 *        what this property does.)
+	 * @throws IOException if the temporary file to store the chunks cannot be created
+	 */
+	public PagedAlignmentModel(TokenSet<T> tokenSet, SequenceIDManager idManager, boolean reuseSequenceIDs) throws IOException {
+		this(tokenSet, idManager, reuseSequenceIDs, DEFAULT_CHUNK_SIZE, DEFAULT_CACHE_SIZE);
+	}
+
+
+	/**
+	 * Creates a new instance of this class using its own ID manager and the specified cache settings.
+	 *
+	 * @param tokenSet the token set which is supported by the implementation
+	 * @param chunkSize the number of tokens stored in each chunk
+	 * @param cacheSize the maximum number of bytes chunks may take up in the heap
+	 * @throws IOException if the temporary file to store the chunks cannot be created
+	 * @throws IllegalArgumentException if {@code chunkSize} is lower than 1
+	 */
+	public PagedAlignmentModel(TokenSet<T> tokenSet, int chunkSize, long cacheSize) throws IOException {
+		this(tokenSet, new SequenceIDManager(), false, chunkSize, cacheSize);
+	}
+
+
+	/**
+	 * Creates a new instance of this class using its own ID manager, {@link #DEFAULT_CHUNK_SIZE} and
+	 * {@link #DEFAULT_CACHE_SIZE}.
+	 *
+	 * @param tokenSet the token set which is supported by the implementation
+	 * @throws IOException if the temporary file to store the chunks cannot be created
+	 */
+	public PagedAlignmentModel(TokenSet<T> tokenSet) throws IOException {
+		this(tokenSet, new SequenceIDManager(), false);
+	}
+
+
+	/**
+	 * Returns the number of tokens stored in one chunk.
+	 *
+	 * @return the chunk size specified in the constructor
+	 */
+	public int getChunkSize() {
+		return cache.getChunkSize();
+	}
+
+
+	/**
+	 * Returns the maximum number of bytes chunks may take up in the heap.
+	 *
+	 * @return the cache size specified in the constructor
+	 */
+	public long getCacheSize() {
+		return cacheSize;
+	}
+
+
+	@Override
+	protected List<T> createNewSequence(String sequenceID, String sequenceName, int initialCapacity) {
+		return new PagedTokenList<T>(cache, dictionary);
+	}
+
+
+	/**
+	 * Discards all chunks of the removed sequence before removing it from this model.
+	 */
+	@Override
+	protected void beforeSequenceRemoved(String sequenceID, List<T> sequence) {
+		sequence.clear();
+	}
+
+
+	/**
+	 * Stops the background thread writing chunks to disk and deletes the temporary file. This model cannot be used
+	 * anymore after this method was called.
+	 *
+	 * @throws IOException if closing the temporary file fails
+	 */
+	@Override
+	public void close() throws IOException {
+		cache.close();
+	}
+}
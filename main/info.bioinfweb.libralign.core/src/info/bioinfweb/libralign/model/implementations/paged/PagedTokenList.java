@@ -0,0 +1,334 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.paged;
+
+
+import info.bioinfweb.libralign.model.implementations.TokenDictionary;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+
+/**
+ * A list of tokens that stores its elements as 16 bit codes in chunks managed by the {@link ChunkCache} of a
+ * {@link PagedAlignmentModel}.
+ * <p>
+ * Each chunk can hold up to {@link ChunkCache#getChunkSize()} tokens. If a token is inserted into a full chunk, the
+ * chunk is split into two. Chunks that become empty are discarded. Only the chunk objects and their start indices
+ * are kept in the heap permanently, while their contents may be paged out.
+ * <p>
+ * Instances are created by {@link PagedAlignmentModel} and are not thread-safe.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens stored in this list
+ */
+public class PagedTokenList<T> extends AbstractList<T> implements RandomAccess {
+	private final ChunkCache cache;
+	private final TokenDictionary<T> dictionary;
+	private final ArrayList<Chunk> chunks = new ArrayList<Chunk>();
+	private int[] chunkStarts = new int[1];  // The last element contains the size of the list.
+	private boolean chunkStartsValid = true;
+	private int size = 0;
+
+
+	PagedTokenList(ChunkCache cache, TokenDictionary<T> dictionary) {
+		super();
+		this.cache = cache;
+		this.dictionary = dictionary;
+	}
+
+
+	/**
+	 * Returns the number of chunks currently used by this list.
+	 *
+	 * @return the chunk count
+	 */
+	public int getChunkCount() {
+		return chunks.size();
+	}
+
+
+	private void updateChunkStarts() {
+		if (!chunkStartsValid) {
+			if (chunkStarts.length != chunks.size() + 1) {
+				chunkStarts = new int[chunks.size() + 1];
+			}
+			int start = 0;
+			for (int i = 0; i < chunks.size(); i++) {
+				chunkStarts[i] = start;
+				start += chunks.get(i).size;
+			}
+			chunkStarts[chunks.size()] = start;
+			chunkStartsValid = true;
+		}
+	}
+
+
+	/**
+	 * Returns the index of the chunk containing the specified element. {@link #chunkStarts} is valid after this
+	 * method was called.
+	 */
+	private int chunkIndex(int index) {
+		updateChunkStarts();
+		int low = 0;
+		int high = chunks.size() - 1;
+		while (low < high) {  // Find the last chunk starting at or before index.
+			int mid = (low + high + 1) >>> 1;
+			if (chunkStarts[mid] <= index) {
+				low = mid;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+
+	private void checkIndex(int index, int size) {
+		if ((index < 0) || (index >= size)) {
+			throw new IndexOutOfBoundsException("Invalid index " + index + ". (Size: " + size() + ")");
+		}
+	}
+
+
+	/**
+	 * Moves all elements of the specified chunk starting at {@code offset} into a new chunk inserted behind it.
+	 */
+	private void splitChunk(int chunkIndex, int offset) {
+		Chunk chunk = chunks.get(chunkIndex);
+		Chunk next = cache.newChunk();
+		char[] data = cache.load(chunk);
+		char[] nextData = cache.load(next);
+		System.arraycopy(data, offset, nextData, 0, chunk.size - offset);
+		next.size = chunk.size - offset;
+		chunk.size = offset;
+		chunk.dirty = true;
+		chunks.add(chunkIndex + 1, next);
+		chunkStartsValid = false;
+	}
+
+
+	@Override
+	public T get(int index) {
+		checkIndex(index, size);
+		int chunkIndex = chunkIndex(index);
+		return dictionary.decode(cache.load(chunks.get(chunkIndex))[index - chunkStarts[chunkIndex]]);
+	}
+
+
+	@Override
+	public T set(int index, T element) {
+		checkIndex(index, size);
+		char code = dictionary.encode(element);
+		int chunkIndex = chunkIndex(index);
+		Chunk chunk = chunks.get(chunkIndex);
+		char[] data = cache.load(chunk);
+		int offset = index - chunkStarts[chunkIndex];
+		char replacedCode = data[offset];
+		data[offset] = code;
+		chunk.dirty = true;
+		return dictionary.decode(replacedCode);
+	}
+
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+
+	@Override
+	public void add(int index, T element) {
+		checkIndex(index, size + 1);
+		char code = dictionary.encode(element);
+		if (chunks.isEmpty()) {
+			chunks.add(cache.newChunk());
+		}
+
+		int chunkIndex;
+		int offset;
+		if (index == size) {
+			chunkIndex = chunks.size() - 1;
+			offset = chunks.get(chunkIndex).size;
+		}
+		else {
+			chunkIndex = chunkIndex(index);
+			offset = index - chunkStarts[chunkIndex];
+		}
+
+		Chunk chunk = chunks.get(chunkIndex);
+		if (chunk.size == cache.getChunkSize()) {
+			if (offset == chunk.size) {
+				chunkIndex++;
+				chunks.add(chunkIndex, cache.newChunk());
+				offset = 0;
+			}
+			else {
+				int half = chunk.size / 2;
+				splitChunk(chunkIndex, half);
+				if (offset > half) {
+					chunkIndex++;
+					offset -= half;
+				}
+			}
+			chunk = chunks.get(chunkIndex);
+		}
+
+		char[] data = cache.load(chunk);
+		System.arraycopy(data, offset, data, offset + 1, chunk.size - offset);
+		data[offset] = code;
+		chunk.size++;
+		chunk.dirty = true;
+		size++;
+		modCount++;
+		chunkStartsValid = false;
+	}
+
+
+	/**
+	 * Inserts the specified elements by filling the chunk in front of the insertion position and creating new
+	 * chunks for the remaining elements instead of inserting each element separately.
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		checkIndex(index, size + 1);
+		if (c.isEmpty()) {
+			return false;
+		}
+		else {
+			char[] codes = new char[c.size()];
+			int codeCount = 0;
+			for (T element : c) {
+				codes[codeCount++] = dictionary.encode(element);
+			}
+
+			int chunkIndex = chunks.size();  // The index where new chunks will be inserted.
+			if (index < size) {
+				chunkIndex = chunkIndex(index);
+				int offset = index - chunkStarts[chunkIndex];
+				if (offset > 0) {
+					splitChunk(chunkIndex, offset);
+					chunkIndex++;
+				}
+			}
+
+			int position = 0;
+			if (chunkIndex > 0) {  // Fill the remaining capacity of the previous chunk first.
+				Chunk previous = chunks.get(chunkIndex - 1);
+				int count = Math.min(codes.length, cache.getChunkSize() - previous.size);
+				if (count > 0) {
+					System.arraycopy(codes, 0, cache.load(previous), previous.size, count);
+					previous.size += count;
+					previous.dirty = true;
+					position = count;
+				}
+			}
+
+			List<Chunk> newChunks = new ArrayList<Chunk>();
+			while (position < codes.length) {
+				Chunk chunk = cache.newChunk();
+				int count = Math.min(codes.length - position, cache.getChunkSize());
+				System.arraycopy(codes, position, cache.load(chunk), 0, count);
+				chunk.size = count;
+				newChunks.add(chunk);
+				position += count;
+			}
+			chunks.addAll(chunkIndex, newChunks);
+
+			size += codes.length;
+			modCount++;
+			chunkStartsValid = false;
+			return true;
+		}
+	}
+
+
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		return addAll(size, c);
+	}
+
+
+	@Override
+	public T remove(int index) {
+		checkIndex(index, size);
+		int chunkIndex = chunkIndex(index);
+		Chunk chunk = chunks.get(chunkIndex);
+		char[] data = cache.load(chunk);
+		int offset = index - chunkStarts[chunkIndex];
+		T result = dictionary.decode(data[offset]);
+		System.arraycopy(data, offset + 1, data, offset, chunk.size - offset - 1);
+		chunk.size--;
+		chunk.dirty = true;
+		if (chunk.size == 0) {
+			cache.discard(chunk);
+			chunks.remove(chunkIndex);
+		}
+		size--;
+		modCount++;
+		chunkStartsValid = false;
+		return result;
+	}
+
+
+	/**
+	 * Removes the specified range by discarding all chunks that are completely contained in it and only moving
+	 * elements of the chunks at its borders.
+	 */
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		if (fromIndex < toIndex) {
+			int firstChunkIndex = chunkIndex(fromIndex);
+			int lastChunkIndex = chunkIndex(toIndex - 1);
+			boolean chunksDiscarded = false;
+			for (int i = firstChunkIndex; i <= lastChunkIndex; i++) {
+				Chunk chunk = chunks.get(i);
+				int start = chunkStarts[i];
+				int removeStart = Math.max(fromIndex, start) - start;
+				int removeEnd = Math.min(toIndex, start + chunk.size) - start;
+				if ((removeStart == 0) && (removeEnd == chunk.size)) {
+					cache.discard(chunk);
+					chunks.set(i, null);
+					chunksDiscarded = true;
+				}
+				else {
+					char[] data = cache.load(chunk);
+					System.arraycopy(data, removeEnd, data, removeStart, chunk.size - removeEnd);
+					chunk.size -= removeEnd - removeStart;
+					chunk.dirty = true;
+				}
+			}
+			if (chunksDiscarded) {
+				chunks.removeAll(Collections.singleton(null));
+			}
+
+			size -= toIndex - fromIndex;
+			modCount++;
+			chunkStartsValid = false;
+		}
+	}
+}
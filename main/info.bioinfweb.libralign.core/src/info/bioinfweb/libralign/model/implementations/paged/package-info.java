@@ -0,0 +1,8 @@
+/**
+ * Contains an editable alignment model implementation that stores its sequences in fixed-size chunks, which are
+ * paged between the heap and a file on disk, allowing to edit alignments that are larger than the available heap.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+package info.bioinfweb.libralign.model.implementations.paged;
@@ -0,0 +1,98 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.runlength;
+
+
+import info.bioinfweb.libralign.model.implementations.AbstractListAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.PackedAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.SequenceIDManager;
+import info.bioinfweb.libralign.model.implementations.TokenDictionary;
+import info.bioinfweb.libralign.model.tokenset.TokenSet;
+
+import java.util.List;
+
+
+
+/**
+ * An editable alignment model that is optimized for alignments mainly consisting of gaps, as they occur e.g. when
+ * short reads are aligned against a reference sequence.
+ * <p>
+ * The sequences are stored in {@link RunLengthTokenList}s, which represent each run of gaps (including leading and
+ * trailing gaps) by its length only and store all other tokens as 16 bit codes in blocks between these runs. The
+ * memory needed for a sequence therefore mainly depends on the number of its non-gap tokens and the number of its
+ * gap runs, but not on the length of the gap runs. For alignments with a high proportion of non-gap tokens,
+ * {@link PackedAlignmentModel} should be used instead.
+ * <p>
+ * Only tokens equal to the gap token returned by {@link TokenSet#getGapToken()} of the token set specified in the
+ * constructor are run-length encoded. Other tokens that are considered as gaps by the token set are stored like
+ * all other tokens. Since the gap token is determined on creation, this model does not support changing its token
+ * set. Apart from memory usage and speed, this model behaves like an {@link ArrayListAlignmentModel}.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens stored in this model
+ */
+public class RunLengthAlignmentModel<T> extends AbstractListAlignmentModel<T> {
+	private final TokenDictionary<T> dictionary = new TokenDictionary<T>();
+	private final T gapToken;
+
+
+	/**
+	 * Creates a new instance of this class.
+	 *
+	 * @param tokenSet the token set which is supported by the implementation
+	 * @param idManager the ID manager to be used by the new instance (maybe shared among multiple instances)
+	 * @param reuseSequenceIDs Specifies whether unused IDs of the underlying ID manager should be reused by this model.
+	 *        (See the documentation of {@link #isReuseSequenceIDs()} for details. Specify {@code false}, if you are unsure
+	 *        what this property does.)
+	 */
+	public RunLengthAlignmentModel(TokenSet<T> tokenSet, SequenceIDManager idManager, boolean reuseSequenceIDs) {
+		super(tokenSet, idManager, reuseSequenceIDs);
+		gapToken = tokenSet.getGapToken();
+	}
+
+
+	/**
+	 * Creates a new instance of this class using its own ID manager.
+	 *
+	 * @param tokenSet the token set which is supported by the implementation
+	 */
+	public RunLengthAlignmentModel(TokenSet<T> tokenSet) {
+		this(tokenSet, new SequenceIDManager(), false);
+	}
+
+
+	@Override
+	protected List<T> createNewSequence(String sequenceID, String sequenceName, int initialCapacity) {
+		return new RunLengthTokenList<T>(dictionary, gapToken);
+	}
+
+
+	/**
+	 * This method is not supported by this class.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setTokenSet(TokenSet<T> set) {
+		throw new UnsupportedOperationException("This class does not support changing the token set during runtime.");
+	}
+}
@@ -0,0 +1,420 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.runlength;
+
+
+import info.bioinfweb.libralign.model.implementations.TokenDictionary;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+
+/**
+ * A list of tokens that stores runs of gap tokens as a single length value and all other tokens as 16 bit codes in
+ * blocks between these runs.
+ * <p>
+ * The list consists of a sequence of segments that alternately represent a gap run or a block of other tokens.
+ * Inserting or removing tokens splits and merges segments as necessary, so that two neighboring segments never have
+ * the same type. Random access is performed by a binary search on the start indices of the segments, which are
+ * recalculated lazily after modifications.
+ * <p>
+ * Instances are created by {@link RunLengthAlignmentModel} and are not thread-safe.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens stored in this list
+ */
+public class RunLengthTokenList<T> extends AbstractList<T> implements RandomAccess {
+	/**
+	 * A gap run or a block of token codes.
+	 */
+	private static final class Segment {
+		private char[] codes;  // null for gap runs
+		private int length;
+
+
+		public Segment(char[] codes, int length) {
+			super();
+			this.codes = codes;
+			this.length = length;
+		}
+
+
+		public boolean isGapRun() {
+			return codes == null;
+		}
+
+
+		public void insert(int offset, char[] insertedCodes, int count) {
+			if (!isGapRun()) {
+				if (length + count > codes.length) {
+					codes = Arrays.copyOf(codes, Math.max(length + count, codes.length * 3 / 2));
+				}
+				System.arraycopy(codes, offset, codes, offset + count, length - offset);
+				System.arraycopy(insertedCodes, 0, codes, offset, count);
+			}
+			length += count;
+		}
+
+
+		public void remove(int beginOffset, int endOffset) {
+			if (!isGapRun()) {
+				System.arraycopy(codes, endOffset, codes, beginOffset, length - endOffset);
+			}
+			length -= endOffset - beginOffset;
+		}
+	}
+
+
+	private final TokenDictionary<T> dictionary;
+	private final T gapToken;
+	private final ArrayList<Segment> segments = new ArrayList<Segment>(3);
+	private int[] segmentStarts = new int[1];  // The last element contains the size of the list.
+	private boolean segmentStartsValid = true;
+	private int size = 0;
+
+
+	RunLengthTokenList(TokenDictionary<T> dictionary, T gapToken) {
+		super();
+		this.dictionary = dictionary;
+		this.gapToken = gapToken;
+	}
+
+
+	/**
+	 * Returns the number of gap runs and token blocks this list currently consists of.
+	 *
+	 * @return the segment count
+	 */
+	public int getSegmentCount() {
+		return segments.size();
+	}
+
+
+	private boolean isGap(T token) {
+		return (gapToken != null) && gapToken.equals(token);
+	}
+
+
+	private void updateSegmentStarts() {
+		if (!segmentStartsValid) {
+			if (segmentStarts.length != segments.size() + 1) {
+				segmentStarts = new int[segments.size() + 1];
+			}
+			int start = 0;
+			for (int i = 0; i < segments.size(); i++) {
+				segmentStarts[i] = start;
+				start += segments.get(i).length;
+			}
+			segmentStarts[segments.size()] = start;
+			segmentStartsValid = true;
+		}
+	}
+
+
+	/**
+	 * Returns the index of the segment containing the specified element. {@link #segmentStarts} is valid after this
+	 * method was called.
+	 */
+	private int segmentIndex(int index) {
+		updateSegmentStarts();
+		int low = 0;
+		int high = segments.size() - 1;
+		while (low < high) {  // Find the last segment starting at or before index.
+			int mid = (low + high + 1) >>> 1;
+			if (segmentStarts[mid] <= index) {
+				low = mid;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+
+	private void checkIndex(int index, int size) {
+		if ((index < 0) || (index >= size)) {
+			throw new IndexOutOfBoundsException("Invalid index " + index + ". (Size: " + size() + ")");
+		}
+	}
+
+
+	/**
+	 * Makes sure that a segment starts at the specified index by splitting the segment containing it if necessary.
+	 *
+	 * @return the index of the segment starting at {@code index} or the number of segments if {@code index} is
+	 *         equal to the size of this list
+	 */
+	private int splitAt(int index) {
+		if (index == size) {
+			return segments.size();
+		}
+		else {
+			int segmentIndex = segmentIndex(index);
+			int offset = index - segmentStarts[segmentIndex];
+			if (offset > 0) {
+				Segment segment = segments.get(segmentIndex);
+				char[] tailCodes = null;
+				if (!segment.isGapRun()) {
+					tailCodes = Arrays.copyOfRange(segment.codes, offset, segment.length);
+				}
+				segments.add(segmentIndex + 1, new Segment(tailCodes, segment.length - offset));
+				segment.length = offset;
+				segmentStartsValid = false;
+				segmentIndex++;
+			}
+			return segmentIndex;
+		}
+	}
+
+
+	/**
+	 * Merges the specified segment into its predecessor, if both have the same type.
+	 */
+	private void mergeWithPrevious(int segmentIndex) {
+		if ((segmentIndex > 0) && (segmentIndex < segments.size())) {
+			Segment previous = segments.get(segmentIndex - 1);
+			Segment segment = segments.get(segmentIndex);
+			if (previous.isGapRun() == segment.isGapRun()) {
+				previous.insert(previous.length, segment.codes, segment.length);
+				segments.remove(segmentIndex);
+				segmentStartsValid = false;
+			}
+		}
+	}
+
+
+	/**
+	 * Creates the segments representing the specified tokens.
+	 */
+	private List<Segment> createSegments(Collection<? extends T> tokens) {
+		List<Segment> result = new ArrayList<Segment>();
+		char[] codes = new char[tokens.size()];
+		int codeCount = 0;
+		int gapCount = 0;
+		for (T token : tokens) {
+			if (isGap(token)) {
+				if (codeCount > 0) {
+					result.add(new Segment(Arrays.copyOf(codes, codeCount), codeCount));
+					codeCount = 0;
+				}
+				gapCount++;
+			}
+			else {
+				if (gapCount > 0) {
+					result.add(new Segment(null, gapCount));
+					gapCount = 0;
+				}
+				codes[codeCount++] = dictionary.encode(token);
+			}
+		}
+		if (codeCount > 0) {
+			result.add(new Segment(Arrays.copyOf(codes, codeCount), codeCount));
+		}
+		else if (gapCount > 0) {
+			result.add(new Segment(null, gapCount));
+		}
+		return result;
+	}
+
+
+	@Override
+	public T get(int index) {
+		checkIndex(index, size);
+		int segmentIndex = segmentIndex(index);
+		Segment segment = segments.get(segmentIndex);
+		if (segment.isGapRun()) {
+			return gapToken;
+		}
+		else {
+			return dictionary.decode(segment.codes[index - segmentStarts[segmentIndex]]);
+		}
+	}
+
+
+	@Override
+	public T set(int index, T element) {
+		checkIndex(index, size);
+		int segmentIndex = segmentIndex(index);
+		Segment segment = segments.get(segmentIndex);
+		int offset = index - segmentStarts[segmentIndex];
+		if (segment.isGapRun()) {
+			if (!isGap(element)) {
+				removeRange(index, index + 1);
+				add(index, element);
+			}
+			return gapToken;
+		}
+		else {
+			T result = dictionary.decode(segment.codes[offset]);
+			if (isGap(element)) {
+				removeRange(index, index + 1);
+				add(index, element);
+			}
+			else {
+				segment.codes[offset] = dictionary.encode(element);
+			}
+			return result;
+		}
+	}
+
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+
+	/**
+	 * Inserts the specified element into the segment at the insertion position or into the segment in front of it,
+	 * if one of them has the same type as the element. Otherwise the segment at the insertion position is split.
+	 */
+	@Override
+	public void add(int index, T element) {
+		checkIndex(index, size + 1);
+		boolean gap = isGap(element);
+		char[] code = new char[1];
+		if (!gap) {
+			code[0] = dictionary.encode(element);
+		}
+
+		if (!segments.isEmpty()) {
+			int segmentIndex;
+			int offset;
+			if (index == size) {
+				segmentIndex = segments.size() - 1;
+				offset = segments.get(segmentIndex).length;
+			}
+			else {
+				segmentIndex = segmentIndex(index);
+				offset = index - segmentStarts[segmentIndex];
+			}
+
+			Segment segment = segments.get(segmentIndex);
+			if ((segment.isGapRun() != gap) && (offset == 0) && (segmentIndex > 0)) {
+				segment = segments.get(segmentIndex - 1);  // Has the type of the element, since neighbors always differ.
+				offset = segment.length;
+			}
+			if (segment.isGapRun() == gap) {
+				segment.insert(offset, code, 1);
+				size++;
+				modCount++;
+				segmentStartsValid = false;
+				return;
+			}
+		}
+		addAll(index, Collections.singletonList(element));
+	}
+
+
+	/**
+	 * Inserts the specified elements by creating new segments for them and merging these with the neighboring
+	 * segments if they have the same type.
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		checkIndex(index, size + 1);
+		if (c.isEmpty()) {
+			return false;
+		}
+		else {
+			List<Segment> newSegments = createSegments(c);
+			int segmentIndex = splitAt(index);
+			segments.addAll(segmentIndex, newSegments);
+			mergeWithPrevious(segmentIndex + newSegments.size());
+			mergeWithPrevious(segmentIndex);
+
+			size += c.size();
+			modCount++;
+			segmentStartsValid = false;
+			return true;
+		}
+	}
+
+
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		return addAll(size, c);
+	}
+
+
+	@Override
+	public T remove(int index) {
+		T result = get(index);
+		removeRange(index, index + 1);
+		return result;
+	}
+
+
+	/**
+	 * Removes the specified range by discarding all segments that are completely contained in it, shortening the
+	 * segments at its borders and merging the segments that become neighbors if they have the same type.
+	 */
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		if (fromIndex < toIndex) {
+			int firstSegmentIndex = segmentIndex(fromIndex);
+			int lastSegmentIndex = segmentIndex(toIndex - 1);
+			boolean segmentsDiscarded = false;
+			for (int i = firstSegmentIndex; i <= lastSegmentIndex; i++) {
+				Segment segment = segments.get(i);
+				int start = segmentStarts[i];
+				int removeStart = Math.max(fromIndex, start) - start;
+				int removeEnd = Math.min(toIndex, start + segment.length) - start;
+				if ((removeStart == 0) && (removeEnd == segment.length)) {
+					segments.set(i, null);
+					segmentsDiscarded = true;
+				}
+				else {
+					segment.remove(removeStart, removeEnd);
+				}
+			}
+			if (segmentsDiscarded) {
+				segments.removeAll(Collections.singleton(null));
+			}
+
+			size -= toIndex - fromIndex;
+			modCount++;
+			segmentStartsValid = false;
+			if ((fromIndex > 0) && (fromIndex < size)) {
+				int segmentIndex = segmentIndex(fromIndex);
+				if (segmentStarts[segmentIndex] == fromIndex) {
+					mergeWithPrevious(segmentIndex);
+				}
+			}
+		}
+	}
+
+
+	@Override
+	public void clear() {
+		segments.clear();
+		size = 0;
+		modCount++;
+		segmentStartsValid = false;
+	}
+}
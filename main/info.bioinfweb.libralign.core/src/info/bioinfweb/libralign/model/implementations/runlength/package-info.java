@@ -0,0 +1,9 @@
+/**
+ * Contains an editable alignment model implementation that stores runs of gaps as run-length encoded segments,
+ * allowing to efficiently store alignments that mainly consist of gaps (e.g. alignments of short reads against a
+ * reference).
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+package info.bioinfweb.libralign.model.implementations.runlength;
@@ -33,6 +33,9 @@ import info.bioinfweb.libralign.model.AlignmentModelListener;
 import info.bioinfweb.libralign.model.AlignmentModelView;
 import info.bioinfweb.libralign.model.AlignmentModelWriteType;
 import info.bioinfweb.libralign.model.DataModelLists;
+import info.bioinfweb.libralign.model.SequenceCursor;
+import info.bioinfweb.libralign.model.SequenceHandle;
+import info.bioinfweb.libralign.model.TokenVisitor;
 import info.bioinfweb.libralign.model.events.DataModelChangeEvent;
 import info.bioinfweb.libralign.model.events.SequenceChangeEvent;
 import info.bioinfweb.libralign.model.events.SequenceRenamedEvent;
@@ -269,6 +272,54 @@ public class SwingUndoAlignmentModel<T> extends AbstractAlignmentModel<T> implem
 	}
 
 
+	@Override
+	public void getTokens(String sequenceID, int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		underlyingModel.getTokens(sequenceID, beginIndex, endIndex, destination, destinationOffset);
+	}
+
+
+	@Override
+	public void forEachToken(String sequenceID, int beginIndex, int endIndex, TokenVisitor<? super T> visitor) {
+		underlyingModel.forEachToken(sequenceID, beginIndex, endIndex, visitor);
+	}
+
+
+	@Override
+	public SequenceCursor<T> getSequenceCursor(String sequenceID) {
+		return underlyingModel.getSequenceCursor(sequenceID);
+	}
+
+
+	@Override
+	public SequenceHandle getSequenceHandle(String sequenceID) {
+		return underlyingModel.getSequenceHandle(sequenceID);
+	}
+
+
+	@Override
+	public int getSequenceLength(SequenceHandle sequence) {
+		return underlyingModel.getSequenceLength(sequence);
+	}
+
+
+	@Override
+	public T getTokenAt(SequenceHandle sequence, int index) {
+		return underlyingModel.getTokenAt(sequence, index);
+	}
+
+
+	@Override
+	public void getTokens(SequenceHandle sequence, int beginIndex, int endIndex, T[] destination, int destinationOffset) {
+		underlyingModel.getTokens(sequence, beginIndex, endIndex, destination, destinationOffset);
+	}
+
+
+	@Override
+	public SequenceCursor<T> getSequenceCursor(SequenceHandle sequence) {
+		return underlyingModel.getSequenceCursor(sequence);
+	}
+
+
 	@Override
 	public void setTokenAt(String sequenceID, int index, T token)	throws AlignmentSourceNotWritableException {
     setTokensAt(sequenceID, index, Collections.nCopies(1, token));
@@ -0,0 +1,196 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.tiled;
+
+
+import info.bioinfweb.libralign.model.implementations.TokenDictionary;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+
+
+/**
+ * Stores the token codes of all sequences of a {@link TiledAlignmentModel} in tiles of
+ * {@link TiledAlignmentModel#TILE_ROWS} rows and {@link TiledAlignmentModel#TILE_COLUMNS} columns.
+ * <p>
+ * Each sequence occupies one row. The rows are grouped into bands of {@link TiledAlignmentModel#TILE_ROWS} rows
+ * and each band is split into tiles along the columns. Within a tile, the codes are stored column by column, so
+ * that the codes of all rows of a band in one column are located next to each other in memory. Tiles are only
+ * created when a code is stored in them and rows of removed sequences are reused for new sequences.
+ * <p>
+ * Instances of this class are not thread-safe.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens stored in the tiles
+ */
+final class TileStorage<T> {
+	static final int ROW_SHIFT = 6;
+	static final int COLUMN_SHIFT = 8;
+	static final int TILE_ROWS = 1 << ROW_SHIFT;
+	static final int TILE_COLUMNS = 1 << COLUMN_SHIFT;
+
+	private static final int ROW_MASK = TILE_ROWS - 1;
+	private static final int COLUMN_MASK = TILE_COLUMNS - 1;
+	private static final int TILE_SIZE = TILE_ROWS * TILE_COLUMNS;
+
+
+	private final TokenDictionary<T> dictionary = new TokenDictionary<T>();
+	private char[][][] bands = new char[0][][];  // [band][tile column][column-major codes]
+	private int[] lengths = new int[0];
+	private final BitSet usedRows = new BitSet();
+
+
+	public TokenDictionary<T> getDictionary() {
+		return dictionary;
+	}
+
+
+	/**
+	 * Reserves an unused row for a new sequence.
+	 *
+	 * @return the index of the reserved row
+	 */
+	public int allocateRow() {
+		int row = usedRows.nextClearBit(0);
+		usedRows.set(row);
+		int bandIndex = row >> ROW_SHIFT;
+		if (bandIndex >= bands.length) {
+			bands = Arrays.copyOf(bands, bandIndex + 1);
+			bands[bandIndex] = new char[0][];
+			lengths = Arrays.copyOf(lengths, bands.length << ROW_SHIFT);
+		}
+		lengths[row] = 0;
+		return row;
+	}
+
+
+	/**
+	 * Marks the specified row as unused, so that it can be reserved for another sequence. The tiles of the row are
+	 * kept, since they are shared with the other rows of its band.
+	 *
+	 * @param row the index of the row to be released
+	 */
+	public void releaseRow(int row) {
+		lengths[row] = 0;
+		usedRows.clear(row);
+	}
+
+
+	public int getLength(int row) {
+		return lengths[row];
+	}
+
+
+	public void setLength(int row, int length) {
+		ensureColumns(row, length);
+		lengths[row] = length;
+	}
+
+
+	/**
+	 * Makes sure that the band containing the specified row has enough tile columns to store the specified number
+	 * of columns.
+	 */
+	private void ensureColumns(int row, int columnCount) {
+		int bandIndex = row >> ROW_SHIFT;
+		int tileCount = (columnCount + COLUMN_MASK) >> COLUMN_SHIFT;
+		if (bands[bandIndex].length < tileCount) {
+			bands[bandIndex] = Arrays.copyOf(bands[bandIndex], Math.max(tileCount, bands[bandIndex].length * 3 / 2));
+		}
+	}
+
+
+	private static int offset(int row, int column) {
+		return ((column & COLUMN_MASK) << ROW_SHIFT) | (row & ROW_MASK);
+	}
+
+
+	/**
+	 * Returns the code at the specified position. The position must be located before the length of the row.
+	 */
+	public char getCode(int row, int column) {
+		return bands[row >> ROW_SHIFT][column >> COLUMN_SHIFT][offset(row, column)];
+	}
+
+
+	/**
+	 * Stores a code at the specified position. The band of the row must already contain enough tile columns. (See
+	 * {@link #setLength(int, int)}.)
+	 */
+	public void setCode(int row, int column, char code) {
+		char[][] band = bands[row >> ROW_SHIFT];
+		int tileIndex = column >> COLUMN_SHIFT;
+		char[] tile = band[tileIndex];
+		if (tile == null) {
+			tile = new char[TILE_SIZE];
+			band[tileIndex] = tile;
+		}
+		tile[offset(row, column)] = code;
+	}
+
+
+	/**
+	 * Moves a range of codes inside one row. Overlapping ranges are handled correctly.
+	 *
+	 * @param row the row containing the codes
+	 * @param sourceColumn the first column of the range to be moved
+	 * @param destinationColumn the column the first code of the range shall be moved to
+	 * @param count the number of codes to be moved
+	 */
+	public void moveCodes(int row, int sourceColumn, int destinationColumn, int count) {
+		if (destinationColumn > sourceColumn) {
+			for (int i = count - 1; i >= 0; i--) {
+				setCode(row, destinationColumn + i, getCode(row, sourceColumn + i));
+			}
+		}
+		else if (destinationColumn < sourceColumn) {
+			for (int i = 0; i < count; i++) {
+				setCode(row, destinationColumn + i, getCode(row, sourceColumn + i));
+			}
+		}
+	}
+
+
+	/**
+	 * Copies the tokens of one column of the specified rows into an array. Rows that are shorter than
+	 * {@code column + 1} lead to {@code null} entries.
+	 *
+	 * @param column the column to be read
+	 * @param rows the rows to be read in the order their tokens shall be stored in {@code destination}
+	 * @param destination the array to store the tokens in
+	 * @param destinationOffset the index in {@code destination} where the token of the first row shall be stored
+	 */
+	public void getColumn(int column, int[] rows, T[] destination, int destinationOffset) {
+		int tileIndex = column >> COLUMN_SHIFT;
+		int columnOffset = (column & COLUMN_MASK) << ROW_SHIFT;
+		for (int i = 0; i < rows.length; i++) {
+			int row = rows[i];
+			if (column < lengths[row]) {
+				destination[destinationOffset + i] =
+						dictionary.decode(bands[row >> ROW_SHIFT][tileIndex][columnOffset | (row & ROW_MASK)]);
+			}
+			else {
+				destination[destinationOffset + i] = null;
+			}
+		}
+	}
+}
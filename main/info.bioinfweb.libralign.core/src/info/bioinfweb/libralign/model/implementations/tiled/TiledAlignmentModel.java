@@ -0,0 +1,153 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.tiled;
+
+
+import info.bioinfweb.libralign.model.implementations.AbstractListAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.SequenceIDManager;
+import info.bioinfweb.libralign.model.tokenset.TokenSet;
+
+import java.util.List;
+
+
+
+/**
+ * An editable alignment model that stores its tokens in column-major tiles, which allows to efficiently read
+ * whole columns of the alignment.
+ * <p>
+ * All sequences of this model share one token matrix, which is split into tiles of {@link #TILE_ROWS} sequences
+ * and {@link #TILE_COLUMNS} columns. Inside a tile the tokens are stored column by column as 16 bit codes, so that
+ * the tokens of neighboring sequences in one column are located next to each other in memory, while the tokens
+ * of one sequence are still located in a compact block of memory. Column-oriented analyses (e.g. calculating
+ * consensus sequences or gap statistics) should therefore use {@link #getColumn(int, Object[], int)} instead of
+ * reading one token from each sequence.
+ * <p>
+ * Apart from memory layout and speed, this model behaves like an {@link ArrayListAlignmentModel}. Since each token
+ * is stored as a 16 bit code, a model may contain up to 65536 different tokens. Memory of the tiles is allocated
+ * according to the longest sequence in each band of {@link #TILE_ROWS} sequences, so this model is best suited for
+ * alignments with sequences of similar lengths.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens stored in this model
+ */
+public class TiledAlignmentModel<T> extends AbstractListAlignmentModel<T> {
+	/** The number of sequences stored in one tile. */
+	public static final int TILE_ROWS = TileStorage.TILE_ROWS;
+
+	/** The number of columns stored in one tile. */
+	public static final int TILE_COLUMNS = TileStorage.TILE_COLUMNS;
+
+
+	private final TileStorage<T> storage = new TileStorage<T>();
+	private int[] rowOrder = null;
+
+
+	/**
+	 * Creates a new instance of this class.
+	 *
+	 * @param tokenSet the token set which is supported by the implementation
+	 * @param idManager the ID manager to be used by the new instance (maybe shared among multiple instances)
+	 * @param reuseSequenceIDs Specifies whether unused IDs of the underlying ID manager should be reused by this model.
+	 *        (See the documentation of {@link #isReuseSequenceIDs()} for details. Specify {@code false}, if you are unsure
+	 *        what this property does.)
+	 */
+	public TiledAlignmentModel(TokenSet<T> tokenSet, SequenceIDManager idManager, boolean reuseSequenceIDs) {
+		super(tokenSet, idManager, reuseSequenceIDs);
+	}
+
+
+	/**
+	 * Creates a new instance of this class using its own ID manager.
+	 *
+	 * @param tokenSet the token set which is supported by the implementation
+	 */
+	public TiledAlignmentModel(TokenSet<T> tokenSet) {
+		this(tokenSet, new SequenceIDManager(), false);
+	}
+
+
+	@Override
+	protected List<T> createNewSequence(String sequenceID, String sequenceName, int initialCapacity) {
+		return new TiledTokenList<T>(storage, storage.allocateRow());
+	}
+
+
+	@Override
+	protected void doAddSequence(int index, String sequenceID, String sequenceName) {
+		super.doAddSequence(index, sequenceID, sequenceName);
+		rowOrder = null;
+	}
+
+
+	/**
+	 * Releases the row of the removed sequence in the tiles before removing it from this model.
+	 */
+	@Override
+	protected void beforeSequenceRemoved(String sequenceID, List<T> sequence) {
+		storage.releaseRow(((TiledTokenList<T>)sequence).getRow());
+		rowOrder = null;
+	}
+
+
+	/**
+	 * Returns the tile rows of all sequences in the order of {@link #sequenceIDIterator()}.
+	 */
+	private int[] getRowOrder() {
+		if (rowOrder == null) {
+			List<String> order = getSequenceOrder();
+			rowOrder = new int[order.size()];
+			for (int i = 0; i < rowOrder.length; i++) {
+				rowOrder[i] = ((TiledTokenList<T>)getSequence(order.get(i))).getRow();
+			}
+		}
+		return rowOrder;
+	}
+
+
+	/**
+	 * Copies the tokens of all sequences at the specified column into an array. The tokens are stored in the order
+	 * of the sequences returned by {@link #sequenceIDIterator()}. For sequences that are shorter than
+	 * {@code column + 1}, {@code null} is stored.
+	 * <p>
+	 * This method reads all tokens of the column from the same tiles and is therefore considerably faster than
+	 * calling {@link #getTokenAt(String, int)} for each sequence.
+	 *
+	 * @param column the index of the column to be read
+	 * @param destination the array to copy the tokens to
+	 * @param destinationOffset the index in {@code destination} where the token of the first sequence shall be stored
+	 * @throws IndexOutOfBoundsException if {@code column} is below zero or the tokens of all sequences do not fit into
+	 *         {@code destination}
+	 */
+	public void getColumn(int column, T[] destination, int destinationOffset) {
+		int[] rows = getRowOrder();
+		if (column < 0) {
+			throw new IndexOutOfBoundsException("Invalid column " + column + ".");
+		}
+		else if ((destinationOffset < 0) || (destinationOffset + rows.length > destination.length)) {
+			throw new IndexOutOfBoundsException("The tokens of " + rows.length + 
+					" sequences do not fit into the destination array at the offset " + destinationOffset + ".");
+		}
+		else {
+			storage.getColumn(column, rows, destination, destinationOffset);
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.tiled;
+
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+
+
+/**
+ * A list of tokens that stores its elements as 16 bit codes in one row of the tiles of a
+ * {@link TiledAlignmentModel}.
+ * <p>
+ * Inserting or removing elements moves the codes of all subsequent elements of the row, as in an
+ * {@link java.util.ArrayList}. Instances are created by {@link TiledAlignmentModel} and are not thread-safe.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens stored in this list
+ */
+public class TiledTokenList<T> extends AbstractList<T> implements RandomAccess {
+	private final TileStorage<T> storage;
+	private final int row;
+
+
+	TiledTokenList(TileStorage<T> storage, int row) {
+		super();
+		this.storage = storage;
+		this.row = row;
+	}
+
+
+	int getRow() {
+		return row;
+	}
+
+
+	private void checkIndex(int index, int size) {
+		if ((index < 0) || (index >= size)) {
+			throw new IndexOutOfBoundsException("Invalid index " + index + ". (Size: " + size() + ")");
+		}
+	}
+
+
+	@Override
+	public T get(int index) {
+		checkIndex(index, size());
+		return storage.getDictionary().decode(storage.getCode(row, index));
+	}
+
+
+	@Override
+	public T set(int index, T element) {
+		checkIndex(index, size());
+		char code = storage.getDictionary().encode(element);
+		T result = storage.getDictionary().decode(storage.getCode(row, index));
+		storage.setCode(row, index, code);
+		return result;
+	}
+
+
+	@Override
+	public int size() {
+		return storage.getLength(row);
+	}
+
+
+	@Override
+	public void add(int index, T element) {
+		int size = size();
+		checkIndex(index, size + 1);
+		char code = storage.getDictionary().encode(element);
+		storage.setLength(row, size + 1);
+		storage.moveCodes(row, index, index + 1, size - index);
+		storage.setCode(row, index, code);
+		modCount++;
+	}
+
+
+	/**
+	 * Inserts the specified elements by moving the subsequent elements only once instead of inserting each element
+	 * separately.
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		int size = size();
+		checkIndex(index, size + 1);
+		if (c.isEmpty()) {
+			return false;
+		}
+		else {
+			char[] codes = new char[c.size()];
+			int codeCount = 0;
+			for (T element : c) {
+				codes[codeCount++] = storage.getDictionary().encode(element);
+			}
+
+			storage.setLength(row, size + codes.length);
+			storage.moveCodes(row, index, index + codes.length, size - index);
+			for (int i = 0; i < codes.length; i++) {
+				storage.setCode(row, index + i, codes[i]);
+			}
+			modCount++;
+			return true;
+		}
+	}
+
+
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		return addAll(size(), c);
+	}
+
+
+	@Override
+	public T remove(int index) {
+		int size = size();
+		checkIndex(index, size);
+		T result = storage.getDictionary().decode(storage.getCode(row, index));
+		storage.moveCodes(row, index + 1, index, size - index - 1);
+		storage.setLength(row, size - 1);
+		modCount++;
+		return result;
+	}
+
+
+	/**
+	 * Removes the specified range by moving the subsequent elements only once.
+	 */
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		if (fromIndex < toIndex) {
+			int size = size();
+			storage.moveCodes(row, toIndex, fromIndex, size - toIndex);
+			storage.setLength(row, size - (toIndex - fromIndex));
+			modCount++;
+		}
+	}
+
+
+	@Override
+	public void clear() {
+		removeRange(0, size());
+	}
+}
@@ -0,0 +1,8 @@
+/**
+ * Contains an editable alignment model implementation that stores the token matrix in column-major tiles, allowing
+ * to efficiently read whole columns of an alignment.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+package info.bioinfweb.libralign.model.implementations.tiled;
@@ -49,12 +49,93 @@ import javax.swing.KeyStroke;
  * @param <T> the type of tokens represented by this set
  */
 public abstract class AbstractContinuousSet<T extends Number & Comparable<T>> implements TokenSet<ContinuousToken<T>> {
+	/** The number of entries of the value cache used by the default constructor. */
+	public static final int DEFAULT_VALUE_CACHE_SIZE = 1024;
+	
+	
 	private boolean spaceForGap = true;
+	private final ContinuousToken<T> gapToken = ContinuousToken.newGapInstance();
+	private final ContinuousToken<T> missingInformationToken = ContinuousToken.newMissingInformationInstance();
+	private final ContinuousToken<T>[] valueCache;
+	private final int valueCacheMask;
+	
+	
+	/**
+	 * Creates a new instance of this class with a value cache of {@link #DEFAULT_VALUE_CACHE_SIZE} entries.
+	 */
+	public AbstractContinuousSet() {
+		this(DEFAULT_VALUE_CACHE_SIZE);
+	}
+	
+	
+	/**
+	 * Creates a new instance of this class.
+	 * 
+	 * @param valueCacheSize the number of entries of the cache used by {@link #tokenByValue(Number)} (Will be rounded up 
+	 *        to the next power of two. Specify {@code 0} to disable caching.)
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public AbstractContinuousSet(int valueCacheSize) {
+		super();
+		if (valueCacheSize > 0) {
+			int size = Integer.highestOneBit(Math.max(1, valueCacheSize - 1)) << 1;
+			valueCache = new ContinuousToken[size];
+			valueCacheMask = size - 1;
+		}
+		else {
+			valueCache = null;
+			valueCacheMask = 0;
+		}
+	}
 	
 	
 	protected abstract ContinuousToken<T> parseValue(String value) throws NumberFormatException;
 	
 	
+	/**
+	 * Spreads the bits of a value over all bits of the result using the finalizer of <i>MurmurHash3</i>. This is 
+	 * necessary, since e.g. integer values represented as doubles differ only in their high bits.
+	 */
+	private static long mixBits(long bits) {
+		bits ^= bits >>> 33;
+		bits *= 0xff51afd7ed558ccdL;
+		bits ^= bits >>> 33;
+		bits *= 0xc4ceb9fe1a85ec53L;
+		bits ^= bits >>> 33;
+		return bits;
+	}
+	
+	
+	/**
+	 * Returns a token wrapping the specified value.
+	 * <p>
+	 * Tokens are stored in a bounded cache. Each value is mapped to a fixed cache entry and a previously created token is 
+	 * returned, if that entry contains a token with an equal value. Otherwise a new token is created and replaces the 
+	 * current entry. This way frequently repeated values (e.g. small integers from count data) share the same token 
+	 * instance, while the memory used by the cache is limited. Since tokens are immutable, this method can safely be 
+	 * called from multiple threads.
+	 * 
+	 * @param value the value to be wrapped
+	 * @return a new or cached token representing {@code value}
+	 * @throws NullPointerException if {@code value} is {@code null}
+	 * @since 0.10.0
+	 */
+	public ContinuousToken<T> tokenByValue(T value) {
+		if (valueCache == null) {
+			return new ContinuousToken<T>(value);
+		}
+		else {
+			int index = (int)mixBits(Double.doubleToLongBits(value.doubleValue())) & valueCacheMask;
+			ContinuousToken<T> result = valueCache[index];
+			if ((result == null) || !value.equals(result.getValue())) {
+				result = new ContinuousToken<T>(value);
+				valueCache[index] = result;
+			}
+			return result;
+		}
+	}
+	
+	
 	@Override
 	public ContinuousToken<T> tokenByRepresentation(String representation) {
 		if (Character.toString(SequenceUtils.GAP_CHAR).equals(representation)) {
@@ -86,25 +167,37 @@ public abstract class AbstractContinuousSet<T extends Number & Comparable<T>> im
 	
 	@Override
 	public boolean isGapToken(ContinuousToken<T> token) {
-		return (token != null) && (token.getMeaning().equals(CharacterSymbolMeaning.GAP));
+		return (token == gapToken) ||  // Fast check for the shared instance.
+				((token != null) && (token.getMeaning().equals(CharacterSymbolMeaning.GAP)));  // Gap tokens of subclasses of ContinuousToken.
 	}
 
 
+	/**
+	 * Returns the gap token of this set. The same instance is returned on each call.
+	 * 
+	 * @return the shared gap token
+	 */
 	@Override
 	public ContinuousToken<T> getGapToken() {
-		return ContinuousToken.newGapInstance();
+		return gapToken;
 	}
 
 
 	@Override
 	public boolean isMissingInformationToken(ContinuousToken<T> token) {
-		return (token != null) && (token.getMeaning().equals(CharacterSymbolMeaning.MISSING));
+		return (token == missingInformationToken) || 
+				((token != null) && (token.getMeaning().equals(CharacterSymbolMeaning.MISSING)));
 	}
 
 
+	/**
+	 * Returns the missing data token of this set. The same instance is returned on each call.
+	 * 
+	 * @return the shared missing data token
+	 */
 	@Override
 	public ContinuousToken<T> getMissingInformationToken() {
-		return ContinuousToken.newMissingInformationInstance();
+		return missingInformationToken;
 	}
 
 
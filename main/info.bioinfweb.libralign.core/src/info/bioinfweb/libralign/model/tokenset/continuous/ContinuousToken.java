@@ -27,6 +27,9 @@ import info.bioinfweb.commons.bio.CharacterSymbolMeaning;
  * A token class to represent continuous values. It acts as a wrapper for numeric values but additionally allows to act
  * as a gap or missing data token. In such cases the according value will be returned by {@link #getMeaning()} and 
  * {@code null} will be returned by {@link #getValue()}.
+ * <p>
+ * Instances of this class are immutable and may therefore be shared, e.g. by the value cache of an 
+ * {@link AbstractContinuousSet}.
  * 
  * @author Ben St&ouml;ver
  * @since 0.4.0
@@ -34,8 +37,14 @@ import info.bioinfweb.commons.bio.CharacterSymbolMeaning;
  * @param <V> the numeric type to be wrapped
  */
 public class ContinuousToken<V extends Number & Comparable<V>> implements Comparable<ContinuousToken<V>> {
-	private V value;
-	private CharacterSymbolMeaning meaning;
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private static final ContinuousToken GAP_INSTANCE = new ContinuousToken(null, CharacterSymbolMeaning.GAP);
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private static final ContinuousToken MISSING_INFORMATION_INSTANCE = new ContinuousToken(null, CharacterSymbolMeaning.MISSING);
+	
+	
+	private final V value;
+	private final CharacterSymbolMeaning meaning;
 	
 	
 	public ContinuousToken(V value) {
@@ -50,13 +59,31 @@ public class ContinuousToken<V extends Number & Comparable<V>> implements Compar
 	}
 	
 	
+	/**
+	 * Returns a token representing a gap. 
+	 * <p>
+	 * Since gap tokens carry no value, the same immutable instance is returned for all numeric types on each call. 
+	 * (Before version 0.10.0 a new instance was created on each call.)
+	 * 
+	 * @return the shared gap token
+	 */
+	@SuppressWarnings("unchecked")
 	public static <V extends Number & Comparable<V>> ContinuousToken<V> newGapInstance() {
-		return new ContinuousToken<V>(null, CharacterSymbolMeaning.GAP);
+		return GAP_INSTANCE;
 	}
 
 
+	/**
+	 * Returns a token representing missing data.
+	 * <p>
+	 * Since missing data tokens carry no value, the same immutable instance is returned for all numeric types on each 
+	 * call. (Before version 0.10.0 a new instance was created on each call.)
+	 * 
+	 * @return the shared missing data token
+	 */
+	@SuppressWarnings("unchecked")
 	public static <V extends Number & Comparable<V>> ContinuousToken<V> newMissingInformationInstance() {
-		return new ContinuousToken<V>(null, CharacterSymbolMeaning.MISSING);
+		return MISSING_INFORMATION_INSTANCE;
 	}
 
 
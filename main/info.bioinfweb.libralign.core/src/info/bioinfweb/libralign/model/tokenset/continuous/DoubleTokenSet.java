@@ -32,7 +32,7 @@ public class DoubleTokenSet extends AbstractContinuousSet<Double> {
 	
 	@Override
 	protected ContinuousToken<Double> parseValue(String value)	throws NumberFormatException {
-		return new ContinuousToken<Double>(Double.parseDouble(value));
+		return tokenByValue(Double.parseDouble(value));
 	}
 
 	
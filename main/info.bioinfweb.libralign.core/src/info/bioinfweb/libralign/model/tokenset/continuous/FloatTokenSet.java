@@ -33,7 +33,7 @@ public class FloatTokenSet extends AbstractContinuousSet<Float> {
 	
 	@Override
 	protected ContinuousToken<Float> parseValue(String value)	throws NumberFormatException {
-		return new ContinuousToken<Float>(Float.parseFloat(value));
+		return tokenByValue(Float.parseFloat(value));
 	}
 
 
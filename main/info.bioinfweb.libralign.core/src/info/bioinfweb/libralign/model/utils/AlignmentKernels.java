@@ -0,0 +1,415 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.utils;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.UnaryOperator;
+
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.SequenceCursor;
+import info.bioinfweb.libralign.model.tokenset.TokenSet;
+
+
+
+/**
+ * Provides operations that are applied to all (or many) sequences of an alignment model at once.
+ * <p>
+ * Each operation is defined as a kernel that converts the token array of a single sequence into a new array.
+ * The kernels are applied to the sequences in parallel using a {@link ForkJoinPool}. Each sequence is read once
+ * using a bulk read operation. Since implementations of {@link AlignmentModel} are not required to support 
+ * concurrent reads, these reads are synchronized on the model object. Token conversions are performed using 
+ * precomputed {@link TokenMapping}s instead of determining string representations for each token.
+ * <p>
+ * Modifying the model is not done in parallel. After all kernels are finished, the results are written on the 
+ * calling thread, which should therefore be the thread that is allowed to modify the model (e.g. the event 
+ * dispatch thread, if the model is displayed in a Swing component). The unchanged prefix and suffix of each 
+ * sequence are not written again. The remaining part is written using a single call of 
+ * {@link AlignmentModel#setTokensAt(String, int, Collection)}, followed by a single insertion or deletion, if the 
+ * length of the sequence changed. Sequences that are not changed by a kernel are not modified at all.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class AlignmentKernels {
+	private static final int SEQUENCES_PER_TASK = 16;
+	
+	
+	/**
+	 * Stores the changed part of a sequence until it is written to the model.
+	 */
+	private static class SequenceEdit<T> {
+		private final int beginIndex;
+		private final int endIndex;
+		private final T[] replacement;
+		
+		public SequenceEdit(int beginIndex, int endIndex, T[] replacement) {
+			super();
+			this.beginIndex = beginIndex;
+			this.endIndex = endIndex;
+			this.replacement = replacement;
+		}
+	}
+	
+	
+	private static class KernelTask<T> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final AlignmentModel<T> model;
+		private final List<String> sequenceIDs;
+		private final int start;
+		private final int end;
+		private final UnaryOperator<T[]> kernel;
+		private final List<SequenceEdit<T>> edits;
+		
+		public KernelTask(AlignmentModel<T> model, List<String> sequenceIDs, int start, int end, UnaryOperator<T[]> kernel,	
+				List<SequenceEdit<T>> edits) {
+			
+			super();
+			this.model = model;
+			this.sequenceIDs = sequenceIDs;
+			this.start = start;
+			this.end = end;
+			this.kernel = kernel;
+			this.edits = edits;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= SEQUENCES_PER_TASK) {
+				for (int i = start; i < end; i++) {
+					T[] tokens = readSequence(model, sequenceIDs.get(i));
+					edits.set(i, createEdit(tokens, kernel.apply(tokens)));  // Different indices are set by different tasks.
+				}
+			}
+			else {
+				int middle = (start + end) / 2;
+				invokeAll(new KernelTask<T>(model, sequenceIDs, start, middle, kernel, edits), 
+						new KernelTask<T>(model, sequenceIDs, middle, end, kernel, edits));
+			}
+		}
+	}
+	
+	
+	private static class NonGapColumnsTask<T> extends RecursiveTask<BitSet> {
+		private static final long serialVersionUID = 1L;
+		
+		private final AlignmentModel<T> model;
+		private final List<String> sequenceIDs;
+		private final int start;
+		private final int end;
+		
+		public NonGapColumnsTask(AlignmentModel<T> model, List<String> sequenceIDs, int start, int end) {
+			super();
+			this.model = model;
+			this.sequenceIDs = sequenceIDs;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected BitSet compute() {
+			if (end - start <= SEQUENCES_PER_TASK) {
+				TokenSet<T> tokenSet = model.getTokenSet();
+				BitSet result = new BitSet();
+				for (int i = start; i < end; i++) {
+					T[] tokens = readSequence(model, sequenceIDs.get(i));
+					for (int column = 0; column < tokens.length; column++) {
+						if (!tokenSet.isGapToken(tokens[column])) {
+							result.set(column);
+						}
+					}
+				}
+				return result;
+			}
+			else {
+				int middle = (start + end) / 2;
+				NonGapColumnsTask<T> second = new NonGapColumnsTask<T>(model, sequenceIDs, middle, end);
+				second.fork();
+				BitSet result = new NonGapColumnsTask<T>(model, sequenceIDs, start, middle).compute();
+				result.or(second.join());
+				return result;
+			}
+		}
+	}
+	
+	
+	@SuppressWarnings("unchecked")
+	private static <T> T[] readSequence(AlignmentModel<T> model, String sequenceID) {
+		synchronized (model) {  // Alignment models are not required to support concurrent reads.
+			SequenceCursor<T> cursor = model.getSequenceCursor(sequenceID);
+			T[] result = (T[])new Object[cursor.getLength()];
+			cursor.getTokens(0, result.length, result, 0);
+			return result;
+		}
+	}
+	
+	
+	private static <T> SequenceEdit<T> createEdit(T[] original, T[] result) {
+		if (result == original) {
+			return null;
+		}
+		else {
+			int prefix = 0;
+			int maxCommonLength = Math.min(original.length, result.length);
+			while ((prefix < maxCommonLength) && equals(original[prefix], result[prefix])) {
+				prefix++;
+			}
+			int suffix = 0;
+			while ((suffix < maxCommonLength - prefix) && 
+					equals(original[original.length - 1 - suffix], result[result.length - 1 - suffix])) {
+				
+				suffix++;
+			}
+			
+			if ((prefix == original.length) && (original.length == result.length)) {
+				return null;  // The kernel returned an equal sequence.
+			}
+			else {
+				return new SequenceEdit<T>(prefix, original.length - suffix, Arrays.copyOfRange(result, prefix, result.length - suffix));
+			}
+		}
+	}
+	
+	
+	private static boolean equals(Object token1, Object token2) {
+		return (token1 == token2) || ((token1 != null) && token1.equals(token2));
+	}
+	
+	
+	private static <T> void writeEdit(AlignmentModel<T> model, String sequenceID, SequenceEdit<T> edit) {
+		List<T> replacement = Arrays.asList(edit.replacement);
+		int replacedLength = Math.min(replacement.size(), edit.endIndex - edit.beginIndex);
+		if (replacedLength > 0) {
+			model.setTokensAt(sequenceID, edit.beginIndex, replacement.subList(0, replacedLength));
+		}
+		if (replacement.size() > replacedLength) {
+			model.insertTokensAt(sequenceID, edit.beginIndex + replacedLength, replacement.subList(replacedLength, replacement.size()), true);
+		}
+		else if (edit.endIndex - edit.beginIndex > replacedLength) {
+			model.removeTokensAt(sequenceID, edit.beginIndex + replacedLength, edit.endIndex);
+		}
+	}
+	
+	
+	private static List<String> allSequenceIDs(AlignmentModel<?> model) {
+		List<String> result = new ArrayList<String>(model.getSequenceCount());
+		Iterator<String> iterator = model.sequenceIDIterator();
+		while (iterator.hasNext()) {
+			result.add(iterator.next());
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Applies a kernel to the specified sequences of a model.
+	 * <p>
+	 * The kernel is called for each sequence with a new array containing all its tokens. It must not modify this array,
+	 * but return a new array containing the resulting sequence. If a sequence shall not be changed, the passed array 
+	 * itself should be returned. Kernels are called concurrently by different threads and must therefore be thread-safe.
+	 * 
+	 * @param model the model containing the sequences to be changed
+	 * @param sequenceIDs the IDs of the sequences to be changed
+	 * @param kernel the kernel converting the tokens of a sequence
+	 * @param pool the pool to run the kernels
+	 * @return the number of sequences that were changed
+	 */
+	public static <T> int apply(AlignmentModel<T> model, Collection<String> sequenceIDs, UnaryOperator<T[]> kernel, ForkJoinPool pool) {
+		List<String> ids = new ArrayList<String>(sequenceIDs);
+		List<SequenceEdit<T>> edits = Arrays.asList(createEditArray(ids.size()));
+		pool.invoke(new KernelTask<T>(model, ids, 0, ids.size(), kernel, edits));
+		
+		int result = 0;
+		for (int i = 0; i < ids.size(); i++) {
+			if (edits.get(i) != null) {
+				writeEdit(model, ids.get(i), edits.get(i));
+				result++;
+			}
+		}
+		return result;
+	}
+	
+	
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private static <T> SequenceEdit<T>[] createEditArray(int length) {
+		return new SequenceEdit[length];
+	}
+	
+	
+	/**
+	 * Applies a kernel to all sequences of a model using the common fork/join pool.
+	 * 
+	 * @param model the model containing the sequences to be changed
+	 * @param kernel the kernel converting the tokens of a sequence (see 
+	 *        {@link #apply(AlignmentModel, Collection, UnaryOperator, ForkJoinPool)} for details)
+	 * @return the number of sequences that were changed
+	 */
+	public static <T> int apply(AlignmentModel<T> model, UnaryOperator<T[]> kernel) {
+		return apply(model, allSequenceIDs(model), kernel, ForkJoinPool.commonPool());
+	}
+	
+	
+	/**
+	 * Replaces all tokens of all sequences of a model according to the specified mapping.
+	 * 
+	 * @param model the model containing the sequences to be changed
+	 * @param mapping the mapping defining the replacement of each token
+	 * @return the number of sequences that were changed
+	 */
+	public static <T> int mapTokens(AlignmentModel<T> model, final TokenMapping<T> mapping) {
+		if (mapping.isIdentity()) {
+			return 0;
+		}
+		else {
+			return apply(model, (tokens) -> {
+				T[] result = Arrays.copyOf(tokens, tokens.length);
+				mapping.map(result, 0, result.length);
+				return result;
+			});
+		}
+	}
+	
+	
+	/**
+	 * Converts the tokens of all sequences of a model to their upper or lower case variants. Tokens for which no
+	 * according variant is contained in the token set of the model remain unchanged.
+	 * 
+	 * @param model the model containing the sequences to be changed
+	 * @param upperCase Specify {@code true} to convert to upper case or {@code false} to convert to lower case.
+	 * @return the number of sequences that were changed
+	 */
+	public static <T> int convertCase(AlignmentModel<T> model, boolean upperCase) {
+		return mapTokens(model, TokenMapping.caseConversion(model.getTokenSet(), upperCase));
+	}
+	
+	
+	/**
+	 * Reverse complements all sequences of a nucleotide model. Tokens are complemented as described in 
+	 * {@link AlignmentModelUtils#reverseComplement(AlignmentModel, String, int, int)}.
+	 * 
+	 * @param model the model containing the sequences to be reverse complemented
+	 * @return the number of sequences that were changed
+	 * @throws IllegalArgumentException if the token set of {@code model} is not a nucleotide token set
+	 */
+	public static <T> int reverseComplement(AlignmentModel<T> model) {
+		if (model.getTokenSet().getType().isNucleotide()) {
+			final TokenMapping<T> mapping = TokenMapping.complement(model.getTokenSet());
+			return apply(model, (tokens) -> {
+				T[] result = Arrays.copyOf(tokens, tokens.length);
+				for (int i = 0; i < result.length; i++) {
+					result[i] = mapping.map(tokens[tokens.length - 1 - i]);
+				}
+				return result;
+			});
+		}
+		else {
+			throw new IllegalArgumentException("The specified model must contain nucleotide data to be reverse complemented.");
+		}
+	}
+	
+	
+	/**
+	 * Removes all gap tokens (as defined by {@link TokenSet#isGapToken(Object)}) from all sequences of a model.
+	 * 
+	 * @param model the model containing the sequences to be degapped
+	 * @return the number of sequences that were changed
+	 */
+	public static <T> int removeGaps(AlignmentModel<T> model) {
+		final TokenSet<T> tokenSet = model.getTokenSet();
+		return apply(model, (tokens) -> {
+			T[] result = Arrays.copyOf(tokens, tokens.length);
+			int length = 0;
+			for (int i = 0; i < tokens.length; i++) {
+				if (!tokenSet.isGapToken(tokens[i])) {
+					result[length] = tokens[i];
+					length++;
+				}
+			}
+			if (length == tokens.length) {
+				return tokens;
+			}
+			else {
+				return Arrays.copyOf(result, length);
+			}
+		});
+	}
+	
+	
+	/**
+	 * Removes the specified columns from all sequences of a model. All column ranges are removed from a sequence in a 
+	 * single pass, which leads to at most two edit operations per sequence independent of the number of ranges.
+	 * 
+	 * @param model the model containing the sequences to be changed
+	 * @param columns a bit set with a set bit for each column to be removed
+	 * @return the number of sequences that were changed
+	 * @see GapColumnIndex#removeGapColumns(double)
+	 */
+	public static <T> int removeColumns(AlignmentModel<T> model, final BitSet columns) {
+		return apply(model, (tokens) -> {
+			int length = 0;
+			@SuppressWarnings("unchecked")
+			T[] result = (T[])new Object[tokens.length];
+			for (int column = 0; column < tokens.length; column++) {
+				if (!columns.get(column)) {
+					result[length] = tokens[column];
+					length++;
+				}
+			}
+			if (length == tokens.length) {
+				return tokens;
+			}
+			else {
+				return Arrays.copyOf(result, length);
+			}
+		});
+	}
+	
+	
+	/**
+	 * Removes all columns from a model that only contain gap tokens. Positions behind the end of sequences that are 
+	 * shorter than others are treated as gaps.
+	 * <p>
+	 * This method scans the whole alignment. If gap-only columns shall be determined repeatedly, a 
+	 * {@link GapColumnIndex} should be used instead.
+	 * 
+	 * @param model the model containing the sequences to be changed
+	 * @return the number of sequences that were changed
+	 */
+	public static <T> int removeGapOnlyColumns(AlignmentModel<T> model) {
+		List<String> sequenceIDs = allSequenceIDs(model);
+		BitSet gapColumns = new BitSet();
+		gapColumns.set(0, model.getMaxSequenceLength());
+		gapColumns.andNot(ForkJoinPool.commonPool().invoke(new NonGapColumnsTask<T>(model, sequenceIDs, 0, sequenceIDs.size())));
+		if (gapColumns.isEmpty()) {
+			return 0;
+		}
+		else {
+			return removeColumns(model, gapColumns);
+		}
+	}
+}
@@ -115,17 +115,19 @@ public class AlignmentModelUtils {
 	 * @param start the first position of the subsequence to be reverse complemented
 	 * @param end the first position behind the subsequence to be reverse complemented
 	 * @see PherogramArea#reverseComplement()
+	 * @see AlignmentKernels#reverseComplement(AlignmentModel)
 	 */
 	public static <T> void reverseComplement(AlignmentModel<T> model, String sequenceID, int start, int end) {
 		TokenSet<T> tokenSet = model.getTokenSet();
 		if (tokenSet.getType().isNucleotide()) {
+			@SuppressWarnings("unchecked")
+			T[] originalTokens = (T[])new Object[end - start];
+			model.getTokens(sequenceID, start, end, originalTokens, 0);
+			
+			TokenMapping<T> complement = TokenMapping.complement(tokenSet);  // Tokens longer than one character are always considered to be non-nucleotide tokens.
 			Collection<T> tokens = new PackedObjectArrayList<T>(tokenSet.size(), end - start); 
-			for (int column = end - 1; column >= start; column--) {
-				String representation = tokenSet.representationByToken(model.getTokenAt(sequenceID, column));
-				if (representation.length() == 1) {  // Tokens longer than one character are always considered to be non-nucleotide tokens.
-					representation = SequenceUtils.complement(representation);
-				}
-				tokens.add(tokenSet.tokenByRepresentation(representation));
+			for (int i = originalTokens.length - 1; i >= 0; i--) {
+				tokens.add(complement.map(originalTokens[i]));
 			}			
 			model.setTokensAt(sequenceID, start, tokens);
 		}
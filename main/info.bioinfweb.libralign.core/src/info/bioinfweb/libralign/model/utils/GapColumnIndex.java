@@ -0,0 +1,378 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.utils;
+
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import info.bioinfweb.commons.collections.ListChangeType;
+import info.bioinfweb.commons.events.GenericEventObject;
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.AlignmentModelAdapter;
+import info.bioinfweb.libralign.model.AlignmentModelListener;
+import info.bioinfweb.libralign.model.DataModelLists;
+import info.bioinfweb.libralign.model.SequenceCursor;
+import info.bioinfweb.libralign.model.data.AbstractDataModel;
+import info.bioinfweb.libralign.model.events.DataModelChangeEvent;
+import info.bioinfweb.libralign.model.events.SequenceChangeEvent;
+import info.bioinfweb.libralign.model.events.TokenChangeEvent;
+import info.bioinfweb.libralign.model.tokenset.TokenSet;
+
+
+
+/**
+ * Data model that counts the gap tokens in each column of an alignment model, allowing to determine columns that 
+ * contain only gaps (or a certain fraction of gaps) without scanning the whole alignment.
+ * <p>
+ * Instances can be attached to their alignment model by adding them to 
+ * {@link DataModelLists#getAlignmentList() getDataModels().getAlignmentList()}. Gap tokens are identified using
+ * {@link TokenSet#isGapToken(Object)}. Positions behind the end of sequences that are shorter than others are 
+ * counted as gaps.
+ * <p>
+ * The index stores the positions of all non-gap tokens of each sequence (one bit per token) and the number of
+ * non-gap tokens in each column. It is kept up to date incrementally: For each {@link TokenChangeEvent} of the 
+ * alignment model, only the first changed position of the affected sequence is recorded. Columns from this position 
+ * to the end of the sequence are counted again the next time the index is queried, so that a series of edits 
+ * (e.g. by {@link AlignmentKernels#removeColumns(AlignmentModel, BitSet)}) leads to only one update of each 
+ * sequence. Afterwards all column queries are answered in constant time. Instances of this class are not thread-safe.
+ * <p>
+ * Each instance registers a listener on its alignment model. This listener is removed by {@link #dispose()}, which
+ * is called automatically when the index is removed from the data model lists of its alignment model.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class GapColumnIndex extends AbstractDataModel<GapColumnIndexListener> {
+	private static final int READ_BUFFER_SIZE = 4096;
+	
+	
+	private int[] nonGapCounts = new int[0];
+	private final Map<String, BitSet> nonGapPositions = new HashMap<String, BitSet>();
+	private final Map<String, Integer> outdatedSequences = new LinkedHashMap<String, Integer>();  // Stores the first outdated column of each sequence.
+	private TokenSet<?> countedTokenSet = null;
+	@SuppressWarnings("rawtypes")
+	private final AlignmentModelListener alignmentModelListener = createAlignmentModelListener();
+	private boolean attached = false;
+	
+	
+	/**
+	 * Creates a new instance of this class. The sequences of the model are counted with the first query.
+	 * 
+	 * @param alignmentModel the alignment model to be indexed
+	 */
+	public GapColumnIndex(AlignmentModel<?> alignmentModel) {
+		super(alignmentModel);
+		attach();
+	}
+	
+	
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private AlignmentModelListener createAlignmentModelListener() {
+		return new AlignmentModelAdapter() {
+			@Override
+			public void afterTokenChange(TokenChangeEvent e) {
+				if (getAlignmentModel() == e.getSource()) {
+					markOutdated(e.getSequenceID(), e.getStartIndex());
+					fireAfterIndexInvalidated();
+				}
+			}
+			
+			@Override
+			public void afterSequenceChange(SequenceChangeEvent e) {
+				if (getAlignmentModel() == e.getSource()) {
+					if (ListChangeType.DELETION.equals(e.getType())) {
+						outdatedSequences.remove(e.getSequenceID());
+						removeSequence(e.getSequenceID());
+					}
+					else {
+						markOutdated(e.getSequenceID(), 0);
+					}
+					fireAfterIndexInvalidated();
+				}
+			}
+			
+			@Override
+			public void afterDataModelChange(DataModelChangeEvent e) {
+				if ((e.getDataModel() == GapColumnIndex.this) && ListChangeType.DELETION.equals(e.getType())) {
+					dispose();
+				}
+			}
+		};
+	}
+	
+	
+	/**
+	 * Registers the listener of this index on the alignment model, if this has not already been done, and marks all 
+	 * sequences as outdated.
+	 */
+	@SuppressWarnings("unchecked")
+	private void attach() {
+		if (!attached) {
+			Iterator<String> iterator = getAlignmentModel().sequenceIDIterator();
+			while (iterator.hasNext()) {
+				outdatedSequences.put(iterator.next(), 0);
+			}
+			getAlignmentModel().addModelListener(alignmentModelListener);
+			attached = true;
+		}
+	}
+	
+	
+	/**
+	 * Removes the listener of this index from its alignment model and discards all counts. This method is called 
+	 * automatically if this index is removed from the data model lists of its alignment model. It should be called 
+	 * directly, if an index that was never added to these lists is no longer needed.
+	 * <p>
+	 * If the index is queried again after this method was called, it registers on the alignment model again and 
+	 * counts all sequences again.
+	 */
+	@SuppressWarnings("unchecked")
+	public void dispose() {
+		if (attached) {
+			getAlignmentModel().removeModelListener(alignmentModelListener);
+			attached = false;
+			nonGapCounts = new int[0];
+			nonGapPositions.clear();
+			outdatedSequences.clear();
+			countedTokenSet = null;
+		}
+	}
+	
+	
+	/**
+	 * Determines whether this index is currently registered on its alignment model.
+	 * 
+	 * @return {@code false} if {@link #dispose()} was called and the index was not queried since then, {@code true} 
+	 *         otherwise
+	 */
+	public boolean isAttached() {
+		return attached;
+	}
+	
+	
+	private void markOutdated(String sequenceID, int firstColumn) {
+		Integer previous = outdatedSequences.get(sequenceID);
+		if ((previous == null) || (firstColumn < previous)) {
+			outdatedSequences.put(sequenceID, Math.max(0, firstColumn));
+		}
+	}
+	
+	
+	private void removeSequence(String sequenceID) {
+		BitSet positions = nonGapPositions.remove(sequenceID);
+		if (positions != null) {
+			for (int column = positions.nextSetBit(0); column >= 0; column = positions.nextSetBit(column + 1)) {
+				nonGapCounts[column]--;
+			}
+		}
+	}
+	
+	
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private void countSequence(String sequenceID, int firstColumn) {
+		BitSet positions = nonGapPositions.get(sequenceID);
+		if (positions == null) {
+			positions = new BitSet();
+			nonGapPositions.put(sequenceID, positions);
+		}
+		
+		// Remove previous counts:
+		for (int column = positions.nextSetBit(firstColumn); column >= 0; column = positions.nextSetBit(column + 1)) {
+			nonGapCounts[column]--;
+		}
+		if (firstColumn < positions.length()) {
+			positions.clear(firstColumn, positions.length());
+		}
+		
+		// Count current tokens:
+		TokenSet tokenSet = getAlignmentModel().getTokenSet();
+		SequenceCursor<?> cursor = getAlignmentModel().getSequenceCursor(sequenceID);
+		int length = cursor.getLength();
+		if (length > nonGapCounts.length) {
+			nonGapCounts = Arrays.copyOf(nonGapCounts, Math.max(length, 2 * nonGapCounts.length));
+		}
+		Object[] buffer = new Object[Math.max(0, Math.min(length - firstColumn, READ_BUFFER_SIZE))];
+		for (int start = firstColumn; start < length; start += buffer.length) {
+			int end = Math.min(length, start + buffer.length);
+			((SequenceCursor)cursor).getTokens(start, end, buffer, 0);
+			for (int column = start; column < end; column++) {
+				if (!tokenSet.isGapToken(buffer[column - start])) {
+					positions.set(column);
+					nonGapCounts[column]++;
+				}
+			}
+		}
+	}
+	
+	
+	/**
+	 * Determines whether sequences have been changed since the index was last updated.
+	 * 
+	 * @return {@code true} if {@link #update()} would count columns of at least one sequence again, {@code false} otherwise
+	 */
+	public boolean isOutdated() {
+		return !attached || !outdatedSequences.isEmpty() || (getAlignmentModel().getTokenSet() != countedTokenSet);
+	}
+	
+	
+	/**
+	 * Counts the outdated parts of all sequences that have been changed since the last update. This method is called
+	 * automatically by all query methods and only needs to be called directly, if the index shall be updated at a 
+	 * certain time (e.g. in the background after editing).
+	 */
+	public void update() {
+		attach();
+		AlignmentModel<?> model = getAlignmentModel();
+		if (model.getTokenSet() != countedTokenSet) {  // Gap tokens may be different in a new token set.
+			if (countedTokenSet != null) {
+				Iterator<String> iterator = model.sequenceIDIterator();
+				while (iterator.hasNext()) {
+					outdatedSequences.put(iterator.next(), 0);
+				}
+			}
+			countedTokenSet = model.getTokenSet();
+		}
+		for (Map.Entry<String, Integer> entry : outdatedSequences.entrySet()) {
+			if (model.containsSequence(entry.getKey())) {
+				countSequence(entry.getKey(), entry.getValue());
+			}
+			else {
+				removeSequence(entry.getKey());
+			}
+		}
+		outdatedSequences.clear();
+	}
+	
+	
+	/**
+	 * Returns the number of sequences that contain a token that is not a gap in the specified column.
+	 * 
+	 * @param column the index of the column
+	 * @return the number of non-gap tokens in the column
+	 * @throws IndexOutOfBoundsException if {@code column} is below 0
+	 */
+	public int getNonGapCount(int column) {
+		if (column < 0) {
+			throw new IndexOutOfBoundsException("The column index must not be negative (" + column + ").");
+		}
+		update();
+		if (column < nonGapCounts.length) {
+			return nonGapCounts[column];
+		}
+		else {
+			return 0;
+		}
+	}
+	
+	
+	/**
+	 * Returns the number of sequences that contain a gap in the specified column or are shorter than the column index.
+	 * 
+	 * @param column the index of the column
+	 * @return the number of gaps in the column
+	 * @throws IndexOutOfBoundsException if {@code column} is below 0
+	 */
+	public int getGapCount(int column) {
+		return getAlignmentModel().getSequenceCount() - getNonGapCount(column);
+	}
+	
+	
+	/**
+	 * Returns the fraction of sequences that contain a gap in the specified column or are shorter than the column index.
+	 * 
+	 * @param column the index of the column
+	 * @return a value between 0 and 1 (or 1 if the alignment model contains no sequences)
+	 * @throws IndexOutOfBoundsException if {@code column} is below 0
+	 */
+	public double getGapFraction(int column) {
+		int sequenceCount = getAlignmentModel().getSequenceCount();
+		if (sequenceCount == 0) {
+			return 1;
+		}
+		else {
+			return (double)getGapCount(column) / (double)sequenceCount;
+		}
+	}
+	
+	
+	/**
+	 * Determines whether the specified column only contains gaps.
+	 * 
+	 * @param column the index of the column
+	 * @return {@code true} if no sequence contains a non-gap token in the column, {@code false} otherwise 
+	 * @throws IndexOutOfBoundsException if {@code column} is below 0
+	 */
+	public boolean isGapOnlyColumn(int column) {
+		return getNonGapCount(column) == 0;
+	}
+	
+	
+	/**
+	 * Determines all columns of the alignment model that contain at least the specified fraction of gaps.
+	 * 
+	 * @param minGapFraction the minimal fraction of gaps a column must contain to be included in the result (Specify 
+	 *        1 to determine all columns that only contain gaps.) 
+	 * @return a bit set with a set bit for each such column (only contains columns below 
+	 *         {@link AlignmentModel#getMaxSequenceLength()})
+	 */
+	public BitSet getGapColumns(double minGapFraction) {
+		update();
+		int sequenceCount = getAlignmentModel().getSequenceCount();
+		int columnCount = getAlignmentModel().getMaxSequenceLength();
+		BitSet result = new BitSet(columnCount);
+		for (int column = 0; column < columnCount; column++) {
+			int gapCount = sequenceCount;
+			if (column < nonGapCounts.length) {
+				gapCount -= nonGapCounts[column];
+			}
+			if (gapCount >= minGapFraction * sequenceCount) {
+				result.set(column);
+			}
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Removes all columns containing at least the specified fraction of gaps from the alignment model using
+	 * {@link AlignmentKernels#removeColumns(AlignmentModel, BitSet)}.
+	 * 
+	 * @param minGapFraction the minimal fraction of gaps a column must contain to be removed (Specify 1 to remove all
+	 *        columns that only contain gaps.)
+	 * @return the number of removed columns
+	 */
+	public int removeGapColumns(double minGapFraction) {
+		BitSet columns = getGapColumns(minGapFraction);
+		if (!columns.isEmpty()) {
+			AlignmentKernels.removeColumns(getAlignmentModel(), columns);
+		}
+		return columns.cardinality();
+	}
+	
+	
+	protected void fireAfterIndexInvalidated() {
+		GenericEventObject<GapColumnIndex> event = new GenericEventObject<GapColumnIndex>(this);
+		modelListeners.forEach(listener -> listener.afterIndexInvalidated(event));
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.utils;
+
+
+import info.bioinfweb.commons.events.GenericEventObject;
+
+
+
+/**
+ * Classes implementing this interface can be notified when the column gap counts of a {@link GapColumnIndex} become 
+ * outdated due to changes in its alignment model.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public interface GapColumnIndexListener {
+	/**
+	 * Called after one or more sequences of the alignment model were changed. The index will be updated the next
+	 * time it is queried or {@link GapColumnIndex#update()} is called.
+	 * 
+	 * @param event the event object referencing the affected index
+	 */
+	public void afterIndexInvalidated(GenericEventObject<GapColumnIndex> event);
+}
@@ -0,0 +1,150 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.utils;
+
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import info.bioinfweb.commons.bio.SequenceUtils;
+import info.bioinfweb.libralign.model.tokenset.TokenSet;
+
+
+
+/**
+ * A precomputed table that maps each token of a token set to another token of the same set. Instances are used by 
+ * {@link AlignmentKernels} to convert whole sequences (e.g. to complement nucleotides or to convert the case of 
+ * tokens) without determining string representations for each single token.
+ * <p>
+ * Tokens that are not contained in the table are mapped to themselves. Instances are immutable and can be used by
+ * several threads at the same time.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens to be mapped
+ */
+public class TokenMapping<T> {
+	private final Map<T, T> table;
+	
+	
+	private TokenMapping(Map<T, T> table) {
+		super();
+		this.table = table;
+	}
+	
+	
+	/**
+	 * Creates a new mapping by applying the specified function to the string representation of each token of a token set.
+	 * If the token set contains no token with the resulting representation, the token is mapped to itself.
+	 * 
+	 * @param tokenSet the token set containing the tokens to be mapped
+	 * @param function the function converting the representation of a token to the representation of its target token
+	 * @return the new mapping
+	 */
+	public static <T> TokenMapping<T> byRepresentation(TokenSet<T> tokenSet, Function<String, String> function) {
+		Map<T, T> table = new HashMap<T, T>();
+		for (T token : tokenSet) {
+			String representation = tokenSet.representationByToken(token);
+			if (representation != null) {
+				T target = tokenSet.tokenByRepresentation(function.apply(representation));
+				if ((target != null) && !target.equals(token)) {
+					table.put(token, target);
+				}
+			}
+		}
+		return new TokenMapping<T>(table);
+	}
+	
+	
+	/**
+	 * Creates a mapping from each nucleotide token to its complement. As in 
+	 * {@link AlignmentModelUtils#reverseComplement(info.bioinfweb.libralign.model.AlignmentModel, String, int, int)}
+	 * only tokens with a one-character string representation are considered to be nucleotides.
+	 * 
+	 * @param tokenSet the token set containing the nucleotide tokens
+	 * @return the new mapping
+	 */
+	public static <T> TokenMapping<T> complement(TokenSet<T> tokenSet) {
+		return byRepresentation(tokenSet, 
+				(representation) -> (representation.length() == 1) ? SequenceUtils.complement(representation) : representation);
+	}
+	
+	
+	/**
+	 * Creates a mapping from each token to the token with the upper or lower case variant of its representation.
+	 * 
+	 * @param tokenSet the token set containing the tokens to be mapped
+	 * @param upperCase Specify {@code true} to map to upper case or {@code false} to map to lower case tokens.
+	 * @return the new mapping
+	 */
+	public static <T> TokenMapping<T> caseConversion(TokenSet<T> tokenSet, boolean upperCase) {
+		if (upperCase) {
+			return byRepresentation(tokenSet, String::toUpperCase);
+		}
+		else {
+			return byRepresentation(tokenSet, String::toLowerCase);
+		}
+	}
+	
+	
+	/**
+	 * Returns the token the specified token is mapped to.
+	 * 
+	 * @param token the source token
+	 * @return the target token or {@code token} if no target is defined for it
+	 */
+	public T map(T token) {
+		T result = table.get(token);
+		if (result == null) {
+			result = token;
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Replaces each token in the specified range of an array by the token it is mapped to.
+	 * 
+	 * @param tokens the array containing the tokens to be mapped
+	 * @param beginIndex the index of the first token to be mapped
+	 * @param endIndex the index after the last token to be mapped
+	 */
+	public void map(T[] tokens, int beginIndex, int endIndex) {
+		if (!table.isEmpty()) {
+			for (int i = beginIndex; i < endIndex; i++) {
+				T target = table.get(tokens[i]);
+				if (target != null) {
+					tokens[i] = target;
+				}
+			}
+		}
+	}
+	
+	
+	/**
+	 * Determines whether this mapping maps all tokens to themselves.
+	 * 
+	 * @return {@code true} if no token is changed by this mapping, {@code false} otherwise
+	 */
+	public boolean isIdentity() {
+		return table.isEmpty();
+	}
+}
@@ -24,6 +24,7 @@ import java.util.Set;
 
 import info.bioinfweb.commons.collections.PackedIntegerArrayList;
 import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.SequenceHandle;
 
 
 
@@ -67,7 +68,8 @@ public class RandomAccessIndexTranslator<T> extends AbstractIndexTranslator<T, R
 	@Override
 	protected IndexTranslations createSequenceData(String sequenceID) {
 		IndexTranslations result = new IndexTranslations();
-		int length = getModel().getSequenceLength(sequenceID);
+		SequenceHandle sequence = getModel().getSequenceHandle(sequenceID);
+		int length = getModel().getSequenceLength(sequence);
 		int bitsPerValue = PackedIntegerArrayList.calculateBitsPerValue(length + 2);  // -2..(length - 1)
 		result.alignedIndices = new PackedIntegerArrayList(bitsPerValue, -2, length);
 		result.unalignedIndices = new PackedIntegerArrayList(bitsPerValue, -2, length);
@@ -75,7 +77,7 @@ public class RandomAccessIndexTranslator<T> extends AbstractIndexTranslator<T, R
 		int unalignedIndex = IndexRelation.OUT_OF_RANGE;
 		
 		while (alignedIndex < length) {
-			if (!getGapTokens().contains(getModel().getTokenAt(sequenceID, alignedIndex))) {
+			if (!getGapTokens().contains(getModel().getTokenAt(sequence, alignedIndex))) {
 				if (unalignedIndex == IndexRelation.OUT_OF_RANGE) {
 					unalignedIndex = 0;
 				}
@@ -0,0 +1,622 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.utils.search;
+
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import info.bioinfweb.commons.collections.ListChangeType;
+import info.bioinfweb.commons.events.GenericEventObject;
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.AlignmentModelAdapter;
+import info.bioinfweb.libralign.model.AlignmentModelListener;
+import info.bioinfweb.libralign.model.DataModelLists;
+import info.bioinfweb.libralign.model.SequenceCursor;
+import info.bioinfweb.libralign.model.data.AbstractDataModel;
+import info.bioinfweb.libralign.model.events.DataModelChangeEvent;
+import info.bioinfweb.libralign.model.events.SequenceChangeEvent;
+import info.bioinfweb.libralign.model.events.TokenChangeEvent;
+import info.bioinfweb.libralign.model.exception.SequenceNotFoundException;
+import info.bioinfweb.libralign.model.tokenset.TokenSet;
+
+
+
+/**
+ * Data model that indexes all k-mers of the unaligned nucleotide sequences of an alignment model, allowing to find 
+ * sequences containing a motif or similar to another sequence without scanning the whole alignment.
+ * <p>
+ * Instances can be attached to their alignment model by adding them to 
+ * {@link DataModelLists#getAlignmentList() getDataModels().getAlignmentList()}. Gap tokens are removed before 
+ * indexing and each token is represented by the first character of its string representation. Only the 
+ * nucleotides {@code A}, {@code C}, {@code G} and {@code T} (or {@code U}) are indexed (case insensitive). All 
+ * other tokens (e.g. ambiguity codes) interrupt k-mers.
+ * <p>
+ * The index is kept up to date incrementally: Sequences affected by a {@link TokenChangeEvent} or 
+ * {@link SequenceChangeEvent} of the alignment model are only marked as outdated and reindexed the next time
+ * the index is queried. (A series of edits in the same sequence therefore does not lead to repeated 
+ * indexing.) Each distinct k-mer of each sequence occupies about 12 bytes, so that the index needs roughly 
+ * 12 times as much memory as the nucleotides of the alignment.
+ * <p>
+ * All query results are verified against the current contents of the alignment model, so that k-mers only serve 
+ * to reduce the number of sequences that need to be read. Instances of this class are not thread-safe.
+ * <p>
+ * Each instance registers a listener on its alignment model. This listener is removed by {@link #dispose()}, which
+ * is called automatically when the index is removed from the data model lists of its alignment model.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ * @see SequenceSearch
+ */
+public class KMerIndex extends AbstractDataModel<KMerIndexListener> {
+	/** The k-mer length used if none is specified in the constructor. */
+	public static final int DEFAULT_K = 12;
+	
+	/** The maximum supported k-mer length, since each k-mer is encoded in a 64 bit integer. */
+	public static final int MAX_K = 31;
+	
+	private static final int READ_BUFFER_SIZE = 4096;
+	private static final byte GAP_CODE = -2;
+	private static final byte INTERRUPTING_CODE = -1;
+	private static final long[] EMPTY_K_MERS = new long[0];
+	
+	
+	private final int k;
+	private final KMerPostingsMap postings = new KMerPostingsMap();
+	private final Map<String, Integer> slotByID = new HashMap<String, Integer>();
+	private String[] slotIDs = new String[16];
+	private long[][] slotKMers = new long[16][];
+	private final Deque<Integer> freeSlots = new ArrayDeque<Integer>();
+	private int slotCount = 0;
+	private final Set<String> outdatedSequenceIDs = new LinkedHashSet<String>();
+	private final Map<Object, Byte> codeByToken = new HashMap<Object, Byte>();
+	private TokenSet<?> indexedTokenSet = null;
+	@SuppressWarnings("rawtypes")
+	private final AlignmentModelListener alignmentModelListener = createAlignmentModelListener();
+	private boolean attached = false;
+	
+	
+	/**
+	 * Creates a new instance of this class using {@link #DEFAULT_K}.
+	 * 
+	 * @param alignmentModel the alignment model to be indexed
+	 */
+	public KMerIndex(AlignmentModel<?> alignmentModel) {
+		this(alignmentModel, DEFAULT_K);
+	}
+	
+	
+	/**
+	 * Creates a new instance of this class. The sequences of the model are indexed with the first query.
+	 * 
+	 * @param alignmentModel the alignment model to be indexed
+	 * @param k the length of the indexed k-mers (Motifs that are shorter cannot be looked up in the index.)
+	 * @throws IllegalArgumentException if {@code k} is lower than 1 or greater than {@link #MAX_K}
+	 */
+	public KMerIndex(AlignmentModel<?> alignmentModel, int k) {
+		super(alignmentModel);
+		if ((k < 1) || (k > MAX_K)) {
+			throw new IllegalArgumentException("The k-mer length must be between 1 and " + MAX_K + " (" + k + ").");
+		}
+		this.k = k;
+		attach();
+	}
+	
+	
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private AlignmentModelListener createAlignmentModelListener() {
+		return new AlignmentModelAdapter() {
+			@Override
+			public void afterTokenChange(TokenChangeEvent e) {
+				if (getAlignmentModel() == e.getSource()) {
+					outdatedSequenceIDs.add(e.getSequenceID());
+					fireAfterIndexInvalidated();
+				}
+			}
+			
+			@Override
+			public void afterSequenceChange(SequenceChangeEvent e) {
+				if (getAlignmentModel() == e.getSource()) {
+					if (ListChangeType.DELETION.equals(e.getType())) {
+						outdatedSequenceIDs.remove(e.getSequenceID());
+						removeSequence(e.getSequenceID());
+					}
+					else {
+						outdatedSequenceIDs.add(e.getSequenceID());
+					}
+					fireAfterIndexInvalidated();
+				}
+			}
+			
+			@Override
+			public void afterDataModelChange(DataModelChangeEvent e) {
+				if ((e.getDataModel() == KMerIndex.this) && ListChangeType.DELETION.equals(e.getType())) {
+					dispose();
+				}
+			}
+		};
+	}
+	
+	
+	/**
+	 * Registers the listener of this index on the alignment model, if this has not already been done, and marks all 
+	 * sequences as outdated.
+	 */
+	@SuppressWarnings("unchecked")
+	private void attach() {
+		if (!attached) {
+			Iterator<String> iterator = getAlignmentModel().sequenceIDIterator();
+			while (iterator.hasNext()) {
+				outdatedSequenceIDs.add(iterator.next());
+			}
+			getAlignmentModel().addModelListener(alignmentModelListener);
+			attached = true;
+		}
+	}
+	
+	
+	/**
+	 * Removes the listener of this index from its alignment model and discards all indexed k-mers. This method is 
+	 * called automatically if this index is removed from the data model lists of its alignment model. It should be 
+	 * called directly, if an index that was never added to these lists is no longer needed.
+	 * <p>
+	 * If the index is queried again after this method was called, it registers on the alignment model again and 
+	 * indexes all sequences again.
+	 */
+	@SuppressWarnings("unchecked")
+	public void dispose() {
+		if (attached) {
+			getAlignmentModel().removeModelListener(alignmentModelListener);
+			attached = false;
+			postings.clear();
+			slotByID.clear();
+			Arrays.fill(slotIDs, null);
+			Arrays.fill(slotKMers, null);
+			freeSlots.clear();
+			slotCount = 0;
+			outdatedSequenceIDs.clear();
+			codeByToken.clear();
+			indexedTokenSet = null;
+		}
+	}
+	
+	
+	/**
+	 * Determines whether this index is currently registered on its alignment model.
+	 * 
+	 * @return {@code false} if {@link #dispose()} was called and the index was not queried since then, {@code true} 
+	 *         otherwise
+	 */
+	public boolean isAttached() {
+		return attached;
+	}
+
+
+	/**
+	 * Returns the length of the indexed k-mers.
+	 * 
+	 * @return the k-mer length
+	 */
+	public int getK() {
+		return k;
+	}
+	
+	
+	/**
+	 * Returns the number of distinct k-mers currently contained in the index. (Outdated sequences are not 
+	 * reindexed by this method.)
+	 * 
+	 * @return the number of distinct k-mers
+	 */
+	public int getKMerCount() {
+		return postings.size();
+	}
+	
+	
+	/**
+	 * Determines whether sequences have been changed since the index was last updated.
+	 * 
+	 * @return {@code true} if {@link #update()} would reindex at least one sequence, {@code false} otherwise
+	 */
+	public boolean isOutdated() {
+		return !attached || !outdatedSequenceIDs.isEmpty() || (getAlignmentModel().getTokenSet() != indexedTokenSet);
+	}
+	
+	
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private byte codeByToken(Object token) {
+		Byte result = codeByToken.get(token);
+		if (result == null) {
+			TokenSet tokenSet = getAlignmentModel().getTokenSet();
+			if (tokenSet.isGapToken(token)) {
+				result = GAP_CODE;
+			}
+			else {
+				result = INTERRUPTING_CODE;
+				String representation = null;
+				if (token != null) {
+					representation = tokenSet.representationByToken(token);
+				}
+				if ((representation != null) && !representation.isEmpty()) {
+					result = codeByNucleotide(representation.charAt(0));
+				}
+			}
+			codeByToken.put(token, result);
+		}
+		return result;
+	}
+	
+	
+	private static byte codeByNucleotide(char nucleotide) {
+		switch (Character.toUpperCase(nucleotide)) {
+			case 'A':
+				return 0;
+			case 'C':
+				return 1;
+			case 'G':
+				return 2;
+			case 'T':
+			case 'U':
+				return 3;
+			default:
+				return INTERRUPTING_CODE;
+		}
+	}
+	
+	
+	/**
+	 * Sorts the specified k-mers and removes duplicates.
+	 * 
+	 * @return an array containing each k-mer once
+	 */
+	private static long[] distinctKMers(long[] kMers, int count) {
+		if (count == 0) {
+			return EMPTY_K_MERS;
+		}
+		else {
+			Arrays.sort(kMers, 0, count);
+			int distinctCount = 1;
+			for (int i = 1; i < count; i++) {
+				if (kMers[i] != kMers[distinctCount - 1]) {
+					kMers[distinctCount] = kMers[i];
+					distinctCount++;
+				}
+			}
+			return Arrays.copyOf(kMers, distinctCount);
+		}
+	}
+	
+	
+	private long[] readKMers(String sequenceID) {
+		SequenceCursor<?> cursor = getAlignmentModel().getSequenceCursor(sequenceID);
+		int length = cursor.getLength();
+		long mask = (1L << (2 * k)) - 1;
+		long[] result = new long[Math.max(0, length - k + 1)];
+		int count = 0;
+		long kMer = 0;
+		int validLength = 0;
+		
+		Object[] buffer = new Object[Math.min(length, READ_BUFFER_SIZE)];
+		for (int start = 0; start < length; start += buffer.length) {
+			int end = Math.min(length, start + buffer.length);
+			readTokens(cursor, start, end, buffer);
+			for (int i = 0; i < end - start; i++) {
+				byte code = codeByToken(buffer[i]);
+				if (code == INTERRUPTING_CODE) {
+					validLength = 0;
+				}
+				else if (code != GAP_CODE) {
+					kMer = ((kMer << 2) | code) & mask;
+					validLength++;
+					if (validLength >= k) {
+						result[count] = kMer;
+						count++;
+					}
+				}
+			}
+		}
+		return distinctKMers(result, count);
+	}
+	
+	
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private static void readTokens(SequenceCursor cursor, int start, int end, Object[] buffer) {
+		cursor.getTokens(start, end, buffer, 0);
+	}
+	
+	
+	/**
+	 * Determines the distinct k-mers of the specified motif. Only windows of the motif that consist of unambiguous 
+	 * nucleotides are considered.
+	 * 
+	 * @return the k-mers of the motif or {@code null} if the motif contains no such window
+	 */
+	private long[] motifKMers(CharSequence motif) {
+		long mask = (1L << (2 * k)) - 1;
+		long[] result = new long[Math.max(0, motif.length() - k + 1)];
+		int count = 0;
+		long kMer = 0;
+		int validLength = 0;
+		for (int i = 0; i < motif.length(); i++) {
+			byte code = codeByNucleotide(motif.charAt(i));
+			if (code == INTERRUPTING_CODE) {
+				validLength = 0;
+			}
+			else {
+				kMer = ((kMer << 2) | code) & mask;
+				validLength++;
+				if (validLength >= k) {
+					result[count] = kMer;
+					count++;
+				}
+			}
+		}
+		
+		if (count == 0) {
+			return null;
+		}
+		else {
+			return distinctKMers(result, count);
+		}
+	}
+	
+	
+	private int allocateSlot(String sequenceID) {
+		int slot;
+		if (freeSlots.isEmpty()) {
+			slot = slotCount;
+			slotCount++;
+			if (slot == slotIDs.length) {
+				slotIDs = Arrays.copyOf(slotIDs, slotIDs.length * 2);
+				slotKMers = Arrays.copyOf(slotKMers, slotKMers.length * 2);
+			}
+		}
+		else {
+			slot = freeSlots.poll();
+		}
+		slotIDs[slot] = sequenceID;
+		slotByID.put(sequenceID, slot);
+		return slot;
+	}
+	
+	
+	private void indexSequence(String sequenceID) {
+		Integer slot = slotByID.get(sequenceID);
+		if (slot == null) {
+			slot = allocateSlot(sequenceID);
+		}
+		else {
+			for (long kMer : slotKMers[slot]) {
+				postings.remove(kMer, slot);
+			}
+		}
+		
+		long[] kMers = readKMers(sequenceID);
+		for (long kMer : kMers) {
+			postings.add(kMer, slot);
+		}
+		slotKMers[slot] = kMers;
+	}
+	
+	
+	private void removeSequence(String sequenceID) {
+		Integer slot = slotByID.remove(sequenceID);
+		if (slot != null) {
+			for (long kMer : slotKMers[slot]) {
+				postings.remove(kMer, slot);
+			}
+			slotIDs[slot] = null;
+			slotKMers[slot] = null;
+			freeSlots.add(slot);
+		}
+	}
+	
+	
+	/**
+	 * Reindexes all sequences that have been changed since the last update. This method is called by all query 
+	 * methods and only needs to be called directly, if the index shall be brought up to date in advance (e.g. 
+	 * directly after loading an alignment).
+	 */
+	public void update() {
+		attach();
+		AlignmentModel<?> model = getAlignmentModel();
+		if (model.getTokenSet() != indexedTokenSet) {  // Codes determined for the tokens of a previous token set may be invalid.
+			codeByToken.clear();
+			if (indexedTokenSet != null) {
+				outdatedSequenceIDs.addAll(slotByID.keySet());
+			}
+			indexedTokenSet = model.getTokenSet();
+		}
+		for (String sequenceID : outdatedSequenceIDs) {
+			if (model.containsSequence(sequenceID)) {
+				indexSequence(sequenceID);
+			}
+			else {
+				removeSequence(sequenceID);
+			}
+		}
+		outdatedSequenceIDs.clear();
+	}
+	
+	
+	/**
+	 * Determines the IDs of all sequences that contain all k-mers of the specified motif.
+	 * 
+	 * @return a list of sequence IDs that is guaranteed to contain all sequences matching the motif
+	 */
+	private List<String> candidateSequenceIDs(CharSequence motif) {
+		update();
+		List<String> result = new ArrayList<String>();
+		long[] kMers = motifKMers(motif);
+		if (kMers == null) {  // The motif cannot be looked up in the index.
+			result.addAll(slotByID.keySet());
+		}
+		else {
+			int smallestBucket = -1;
+			for (long kMer : kMers) {
+				int bucket = postings.find(kMer);
+				if (bucket == -1) {
+					return result;  // No sequence contains this k-mer.
+				}
+				else if ((smallestBucket == -1) || (postings.getPostingCount(bucket) < postings.getPostingCount(smallestBucket))) {
+					smallestBucket = bucket;
+				}
+			}
+			
+			int[] slots = postings.getPostings(smallestBucket);
+			for (int i = 0; i < postings.getPostingCount(smallestBucket); i++) {
+				long[] sequenceKMers = slotKMers[slots[i]];
+				boolean containsAll = true;
+				for (int j = 0; containsAll && (j < kMers.length); j++) {
+					containsAll = Arrays.binarySearch(sequenceKMers, kMers[j]) >= 0;
+				}
+				if (containsAll) {
+					result.add(slotIDs[slots[i]]);
+				}
+			}
+		}
+		return result;
+	}
+	
+	
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private List<SequenceSearchHit> findOccurrences(CharSequence motif, boolean firstSequenceHitOnly) {
+		SequenceSearch search = new SequenceSearch(getAlignmentModel());
+		Map characterTable = search.createCharacterTable();
+		TokenSet tokenSet = getAlignmentModel().getTokenSet();
+		Set gapTokens = new HashSet();
+		for (Object token : tokenSet) {
+			if (tokenSet.isGapToken(token)) {
+				gapTokens.add(token);
+			}
+		}
+		
+		Pattern pattern = SequenceSearch.compileNucleotideMotif(motif);
+		List<SequenceSearchHit> result = new ArrayList<SequenceSearchHit>();
+		for (String sequenceID : candidateSequenceIDs(motif)) {
+			List<SequenceSearchHit> hits = search.searchSequence(sequenceID, pattern, characterTable, gapTokens);
+			if (firstSequenceHitOnly && !hits.isEmpty()) {
+				result.add(hits.get(0));
+			}
+			else {
+				result.addAll(hits);
+			}
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Finds all occurrences of the specified nucleotide motif in the unaligned sequences. The motif is matched as 
+	 * defined by {@link SequenceSearch#compileNucleotideMotif(CharSequence)}, so it may e.g. be a primer containing 
+	 * IUPAC ambiguity codes. Windows of {@link #getK()} unambiguous nucleotides of the motif are looked up in the index. 
+	 * If the motif contains no such window, all sequences need to be searched.
+	 * <p>
+	 * Matches within one sequence do not overlap. Hits are reported with their alignment columns and unaligned 
+	 * positions.
+	 * 
+	 * @param motif the motif to search for
+	 * @return a list of all hits (may be empty but never {@code null})
+	 */
+	public List<SequenceSearchHit> findOccurrences(CharSequence motif) {
+		return findOccurrences(motif, false);
+	}
+	
+	
+	/**
+	 * Determines the IDs of all sequences that contain the specified nucleotide motif in their unaligned sequence.
+	 * 
+	 * @param motif the motif to search for (see {@link #findOccurrences(CharSequence)})
+	 * @return a set of sequence IDs in no specific order
+	 */
+	public Set<String> getSequencesContaining(CharSequence motif) {
+		Set<String> result = new HashSet<String>();
+		for (SequenceSearchHit hit : findOccurrences(motif, true)) {
+			result.add(hit.getSequenceID());
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Finds sequences that share a large fraction of their k-mers with the specified sequence, which allows to detect 
+	 * (near) duplicates. Similarity is measured by the Jaccard index of the sets of distinct k-mers of two sequences.
+	 * Sequences that contain no k-mers are never reported.
+	 * 
+	 * @param sequenceID the ID of the sequence to compare all other sequences to
+	 * @param minSimilarity the minimal Jaccard index a sequence must have to be returned (between 0 and 1)
+	 * @return a map from the IDs of the similar sequences (excluding {@code sequenceID}) to their similarity, 
+	 *         ordered by descending similarity
+	 * @throws SequenceNotFoundException if no sequence with the specified ID is present in the alignment model
+	 */
+	public Map<String, Double> findSimilarSequences(String sequenceID, double minSimilarity) {
+		update();
+		Integer slot = slotByID.get(sequenceID);
+		if (slot == null) {
+			throw new SequenceNotFoundException(getAlignmentModel(), sequenceID);
+		}
+		
+		long[] kMers = slotKMers[slot];
+		int[] sharedCounts = new int[slotCount];
+		for (long kMer : kMers) {
+			int bucket = postings.find(kMer);
+			int[] slots = postings.getPostings(bucket);
+			for (int i = 0; i < postings.getPostingCount(bucket); i++) {
+				sharedCounts[slots[i]]++;
+			}
+		}
+		
+		List<Map.Entry<String, Double>> entries = new ArrayList<Map.Entry<String, Double>>();
+		for (int otherSlot = 0; otherSlot < slotCount; otherSlot++) {
+			int shared = sharedCounts[otherSlot];
+			if ((shared > 0) && (otherSlot != slot)) {
+				double similarity = (double)shared / (kMers.length + slotKMers[otherSlot].length - shared);
+				if (similarity >= minSimilarity) {
+					entries.add(new AbstractMap.SimpleImmutableEntry<String, Double>(slotIDs[otherSlot], similarity));
+				}
+			}
+		}
+		Collections.sort(entries, (entry1, entry2) -> Double.compare(entry2.getValue(), entry1.getValue()));
+		
+		Map<String, Double> result = new LinkedHashMap<String, Double>();
+		for (Map.Entry<String, Double> entry : entries) {
+			result.put(entry.getKey(), entry.getValue());
+		}
+		return result;
+	}
+	
+	
+	protected void fireAfterIndexInvalidated() {
+		GenericEventObject<KMerIndex> event = new GenericEventObject<KMerIndex>(this);
+		modelListeners.forEach(listener -> listener.afterIndexInvalidated(event));
+	}
+}
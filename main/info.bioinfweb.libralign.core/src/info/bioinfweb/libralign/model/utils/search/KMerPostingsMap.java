@@ -0,0 +1,213 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.utils.search;
+
+
+import java.util.Arrays;
+
+
+
+/**
+ * Primitive hash map from k-mer codes to sorted lists of sequence slots, used by {@link KMerIndex}. Keys are stored
+ * using open addressing with linear probing, so that no wrapper objects need to be created for keys or postings.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+final class KMerPostingsMap {
+	private static final long EMPTY_KEY = -1L;  // K-mer codes never use the sign bit.
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final int INITIAL_POSTINGS_LENGTH = 2;
+	
+	
+	private long[] keys;
+	private int[][] postings;
+	private int[] postingCounts;
+	private int size = 0;
+	
+	
+	public KMerPostingsMap() {
+		super();
+		allocate(INITIAL_CAPACITY);
+	}
+	
+	
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		Arrays.fill(keys, EMPTY_KEY);
+		postings = new int[capacity][];
+		postingCounts = new int[capacity];
+	}
+	
+	
+	private int homeBucket(long key) {
+		key ^= key >>> 33;  // Finalization step of MurmurHash3
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return (int)key & (keys.length - 1);
+	}
+	
+	
+	/**
+	 * Returns the bucket containing the specified key.
+	 * 
+	 * @param key the k-mer code
+	 * @return the bucket index or -1 if the key is not contained in this map
+	 */
+	public int find(long key) {
+		int mask = keys.length - 1;
+		int bucket = homeBucket(key);
+		while (keys[bucket] != EMPTY_KEY) {
+			if (keys[bucket] == key) {
+				return bucket;
+			}
+			bucket = (bucket + 1) & mask;
+		}
+		return -1;
+	}
+	
+	
+	public int[] getPostings(int bucket) {
+		return postings[bucket];
+	}
+	
+	
+	public int getPostingCount(int bucket) {
+		return postingCounts[bucket];
+	}
+	
+	
+	public int size() {
+		return size;
+	}
+	
+	
+	private void grow() {
+		long[] oldKeys = keys;
+		int[][] oldPostings = postings;
+		int[] oldPostingCounts = postingCounts;
+		allocate(oldKeys.length * 2);
+		int mask = keys.length - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY_KEY) {
+				int bucket = homeBucket(oldKeys[i]);
+				while (keys[bucket] != EMPTY_KEY) {
+					bucket = (bucket + 1) & mask;
+				}
+				keys[bucket] = oldKeys[i];
+				postings[bucket] = oldPostings[i];
+				postingCounts[bucket] = oldPostingCounts[i];
+			}
+		}
+	}
+	
+	
+	/**
+	 * Adds a slot to the postings of the specified key. Nothing happens, if the slot is already contained.
+	 * 
+	 * @param key the k-mer code
+	 * @param slot the sequence slot to be added
+	 */
+	public void add(long key, int slot) {
+		int bucket = find(key);
+		if (bucket == -1) {
+			if (2 * (size + 1) > keys.length) {  // Keep the load factor below 0.5.
+				grow();
+			}
+			int mask = keys.length - 1;
+			bucket = homeBucket(key);
+			while (keys[bucket] != EMPTY_KEY) {
+				bucket = (bucket + 1) & mask;
+			}
+			keys[bucket] = key;
+			postings[bucket] = new int[INITIAL_POSTINGS_LENGTH];
+			postings[bucket][0] = slot;
+			postingCounts[bucket] = 1;
+			size++;
+		}
+		else {
+			int count = postingCounts[bucket];
+			int position = Arrays.binarySearch(postings[bucket], 0, count, slot);
+			if (position < 0) {
+				position = -position - 1;
+				if (count == postings[bucket].length) {
+					postings[bucket] = Arrays.copyOf(postings[bucket], count * 2);
+				}
+				System.arraycopy(postings[bucket], position, postings[bucket], position + 1, count - position);
+				postings[bucket][position] = slot;
+				postingCounts[bucket] = count + 1;
+			}
+		}
+	}
+	
+	
+	/**
+	 * Removes a slot from the postings of the specified key. The key is removed as well, if no postings remain.
+	 * 
+	 * @param key the k-mer code
+	 * @param slot the sequence slot to be removed
+	 */
+	public void remove(long key, int slot) {
+		int bucket = find(key);
+		if (bucket != -1) {
+			int count = postingCounts[bucket];
+			int position = Arrays.binarySearch(postings[bucket], 0, count, slot);
+			if (position >= 0) {
+				if (count == 1) {
+					deleteBucket(bucket);
+				}
+				else {
+					System.arraycopy(postings[bucket], position + 1, postings[bucket], position, count - position - 1);
+					postingCounts[bucket] = count - 1;
+				}
+			}
+		}
+	}
+	
+	
+	/**
+	 * Removes the entry in the specified bucket and moves following entries of the same probe sequence back, so that
+	 * no tombstones are necessary.
+	 */
+	private void deleteBucket(int bucket) {
+		int mask = keys.length - 1;
+		int hole = bucket;
+		int current = (hole + 1) & mask;
+		while (keys[current] != EMPTY_KEY) {
+			int home = homeBucket(keys[current]);
+			if (((current - home) & mask) >= ((current - hole) & mask)) {  // The hole is located between home and current.
+				keys[hole] = keys[current];
+				postings[hole] = postings[current];
+				postingCounts[hole] = postingCounts[current];
+				hole = current;
+			}
+			current = (current + 1) & mask;
+		}
+		keys[hole] = EMPTY_KEY;
+		postings[hole] = null;
+		postingCounts[hole] = 0;
+		size--;
+	}
+	
+	
+	public void clear() {
+		allocate(INITIAL_CAPACITY);
+		size = 0;
+	}
+}
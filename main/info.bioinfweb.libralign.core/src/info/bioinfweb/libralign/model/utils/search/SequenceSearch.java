@@ -0,0 +1,330 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.utils.search;
+
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import info.bioinfweb.commons.bio.SequenceUtils;
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.SequenceCursor;
+import info.bioinfweb.libralign.model.tokenset.TokenSet;
+import info.bioinfweb.libralign.model.utils.indextranslation.IndexTranslator;
+
+
+
+/**
+ * Searches all sequences of an alignment model for matches of a regular expression or a nucleotide motif.
+ * <p>
+ * Each sequence is read once using a bulk read operation and converted into a character array, on which the 
+ * regular expression is applied without any further model accesses. Sequences are searched in parallel by a 
+ * thread pool. Since implementations of {@link AlignmentModel} are not required to support concurrent reads, 
+ * the bulk reads are synchronized on the model object. The model should not be modified while a search is running.
+ * <p>
+ * Each token is represented by the first character of its string representation in the token set of the model.
+ * If an {@link IndexTranslator} is specified, gap tokens as defined by the translator are removed before searching, 
+ * so that hits may span gaps. The positions of all hits are nevertheless reported as alignment columns (in addition
+ * to the unaligned indices).
+ * <p>
+ * Searches run in the background. The returned {@link SequenceSearchResult} is populated while the search is running.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens contained in the searched model
+ */
+public class SequenceSearch<T> {
+	private final AlignmentModel<T> model;
+	private IndexTranslator<T> indexTranslator = null;
+	private int threadCount = Runtime.getRuntime().availableProcessors();
+	
+	
+	/**
+	 * Creates a new instance of this class.
+	 * 
+	 * @param model the alignment model to be searched
+	 */
+	public SequenceSearch(AlignmentModel<T> model) {
+		super();
+		this.model = model;
+	}
+
+
+	public AlignmentModel<T> getModel() {
+		return model;
+	}
+
+
+	/**
+	 * Returns the index translator defining how unaligned sequences are searched.
+	 * 
+	 * @return the index translator or {@code null} if the aligned sequences (including gaps) are searched
+	 */
+	public IndexTranslator<T> getIndexTranslator() {
+		return indexTranslator;
+	}
+
+
+	/**
+	 * Specifies whether the aligned or unaligned sequences shall be searched by future calls of 
+	 * {@link #search(Pattern)}.
+	 * 
+	 * @param indexTranslator the translator whose gap tokens shall be removed before searching or {@code null} if 
+	 *        the aligned sequences shall be searched including their gaps
+	 * @throws IllegalArgumentException if the translator does not belong to the model of this instance
+	 */
+	public void setIndexTranslator(IndexTranslator<T> indexTranslator) {
+		if ((indexTranslator != null) && (indexTranslator.getModel() != getModel())) {
+			throw new IllegalArgumentException("The specified index translator does not belong to the searched model.");
+		}
+		this.indexTranslator = indexTranslator;
+	}
+
+
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+
+	/**
+	 * Sets the number of threads used to search sequences in parallel. The default is the number of available 
+	 * processors.
+	 * 
+	 * @param threadCount the new number of threads
+	 * @throws IllegalArgumentException if {@code threadCount} is lower than 1
+	 */
+	public void setThreadCount(int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("At least one thread is necessary (" + threadCount + ").");
+		}
+		this.threadCount = threadCount;
+	}
+	
+	
+	private static Set<Character> nucleotideConstituents(char nucleotide) {
+		Set<Character> result = new HashSet<Character>();
+		char[] constituents = SequenceUtils.nucleotideConstituents(nucleotide);
+		if (constituents.length == 0) {
+			constituents = new char[]{Character.toUpperCase(nucleotide)};
+		}
+		for (char constituent : constituents) {
+			if (constituent == 'U') {
+				constituent = 'T';
+			}
+			result.add(constituent);
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Creates a regular expression that matches the specified nucleotide motif. Each IUPAC code in the motif 
+	 * matches all nucleotide codes (including ambiguity codes) that represent a subset of its constituents, 
+	 * e.g. {@code R} matches {@code A}, {@code G} and {@code R}, but not {@code N}. Thymine and uracil are treated 
+	 * as equal and case is ignored. Characters that are no nucleotide codes only match themselves.
+	 * 
+	 * @param motif the motif to be converted
+	 * @return the compiled pattern
+	 */
+	public static Pattern compileNucleotideMotif(CharSequence motif) {
+		Set<Character> nucleotides = SequenceUtils.getNucleotideCharacters();
+		StringBuilder regex = new StringBuilder(motif.length() * 8);
+		for (int i = 0; i < motif.length(); i++) {
+			char motifChar = Character.toUpperCase(motif.charAt(i));
+			if (nucleotides.contains(motifChar)) {
+				Set<Character> motifConstituents = nucleotideConstituents(motifChar);
+				regex.append('[');
+				for (Character nucleotide : nucleotides) {
+					if (motifConstituents.containsAll(nucleotideConstituents(nucleotide))) {
+						regex.append(nucleotide.charValue());
+						regex.append(Character.toLowerCase(nucleotide.charValue()));
+					}
+				}
+				regex.append(']');
+			}
+			else {
+				regex.append(Pattern.quote(Character.toString(motif.charAt(i))));
+			}
+		}
+		return Pattern.compile(regex.toString());
+	}
+	
+	
+	Map<T, Character> createCharacterTable() {
+		TokenSet<T> tokenSet = getModel().getTokenSet();
+		Map<T, Character> result = new HashMap<T, Character>();
+		for (T token : tokenSet) {
+			result.put(token, characterByToken(tokenSet, token));
+		}
+		return result;
+	}
+	
+	
+	private static <T> char characterByToken(TokenSet<T> tokenSet, T token) {
+		String representation = null;
+		if (token != null) {
+			representation = tokenSet.representationByToken(token);
+		}
+		if ((representation == null) || representation.isEmpty()) {
+			return SequenceUtils.MISSING_DATA_CHAR;
+		}
+		else {
+			return representation.charAt(0);
+		}
+	}
+	
+	
+	@SuppressWarnings("unchecked")
+	List<SequenceSearchHit> searchSequence(String sequenceID, Pattern pattern, Map<T, Character> characterTable, 
+			Set<T> gapTokens) {
+		
+		T[] tokens;
+		synchronized (getModel()) {  // Alignment models are not required to support concurrent reads.
+			SequenceCursor<T> cursor = getModel().getSequenceCursor(sequenceID);
+			tokens = (T[])new Object[cursor.getLength()];
+			cursor.getTokens(0, tokens.length, tokens, 0);
+		}
+		
+		TokenSet<T> tokenSet = getModel().getTokenSet();
+		char[] characters = new char[tokens.length];
+		int[] columns = null;  // Only used for unaligned searches.
+		int length = 0;
+		if (gapTokens != null) {
+			columns = new int[tokens.length];
+		}
+		for (int column = 0; column < tokens.length; column++) {
+			T token = tokens[column];
+			if ((gapTokens == null) || !gapTokens.contains(token)) {
+				Character character = characterTable.get(token);
+				characters[length] = (character != null) ? character : characterByToken(tokenSet, token);
+				if (columns != null) {
+					columns[length] = column;
+				}
+				length++;
+			}
+		}
+		
+		List<SequenceSearchHit> result = new ArrayList<SequenceSearchHit>();
+		Matcher matcher = pattern.matcher(CharBuffer.wrap(characters, 0, length));  // Wraps the array without copying it.
+		while (matcher.find()) {
+			if (columns == null) {
+				result.add(new SequenceSearchHit(sequenceID, matcher.start(), matcher.end(), -1, -1));
+			}
+			else {
+				int startColumn;
+				int endColumn;
+				if (matcher.end() > matcher.start()) {
+					startColumn = columns[matcher.start()];
+					endColumn = columns[matcher.end() - 1] + 1;
+				}
+				else {  // Empty match
+					if (matcher.start() < length) {
+						startColumn = columns[matcher.start()];
+					}
+					else if (length > 0) {
+						startColumn = columns[length - 1] + 1;
+					}
+					else {
+						startColumn = 0;
+					}
+					endColumn = startColumn;
+				}
+				result.add(new SequenceSearchHit(sequenceID, startColumn, endColumn, matcher.start(), matcher.end()));
+			}
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Starts searching all sequences of the model for the specified regular expression. Matches within one sequence
+	 * do not overlap (as defined by {@link Matcher#find()}).
+	 * 
+	 * @param pattern the pattern to search for
+	 * @return the result object that will be populated with the hits in the background
+	 */
+	public SequenceSearchResult search(final Pattern pattern) {
+		final Map<T, Character> characterTable = createCharacterTable();
+		final Set<T> gapTokens;
+		if (getIndexTranslator() != null) {
+			gapTokens = new HashSet<T>(getIndexTranslator().getGapTokens());
+		}
+		else {
+			gapTokens = null;
+		}
+		
+		List<String> sequenceIDs = new ArrayList<String>(getModel().getSequenceCount());
+		Iterator<String> iterator = getModel().sequenceIDIterator();
+		while (iterator.hasNext()) {
+			sequenceIDs.add(iterator.next());
+		}
+		
+		final SequenceSearchResult result = new SequenceSearchResult(sequenceIDs.size());
+		if (!sequenceIDs.isEmpty()) {
+			ExecutorService executor = Executors.newFixedThreadPool(Math.min(getThreadCount(), sequenceIDs.size()), runnable -> {
+				Thread thread = new Thread(runnable, "LibrAlign sequence search");
+				thread.setDaemon(true);
+				return thread;
+			});
+			result.setExecutor(executor);
+			try {
+				for (final String sequenceID : sequenceIDs) {
+					executor.execute(() -> {
+						try {
+							if (!result.isCancelled()) {
+								result.addHits(searchSequence(sequenceID, pattern, characterTable, gapTokens));
+							}
+						}
+						catch (RuntimeException e) {
+							result.setError(e);
+						}
+						finally {
+							result.sequenceFinished();
+						}
+					});
+				}
+			}
+			catch (RejectedExecutionException e) {}  // The search was cancelled while tasks were still submitted.
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Starts searching all sequences of the model for the specified nucleotide motif.
+	 * 
+	 * @param motif the motif that may contain IUPAC ambiguity codes (see {@link #compileNucleotideMotif(CharSequence)})
+	 * @return the result object that will be populated with the hits in the background
+	 */
+	public SequenceSearchResult searchNucleotideMotif(CharSequence motif) {
+		return search(compileNucleotideMotif(motif));
+	}
+}
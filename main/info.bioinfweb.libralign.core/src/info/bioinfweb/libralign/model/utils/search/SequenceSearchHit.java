@@ -0,0 +1,109 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.utils.search;
+
+
+
+/**
+ * Describes a match found by {@link SequenceSearch}. The positions of a hit are always given as alignment columns. 
+ * If the search was performed on the unaligned sequences, the unaligned indices are available in addition.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class SequenceSearchHit {
+	private final String sequenceID;
+	private final int startColumn;
+	private final int endColumn;
+	private final int unalignedStart;
+	private final int unalignedEnd;
+	
+	
+	/**
+	 * Creates a new instance of this class.
+	 * 
+	 * @param sequenceID the ID of the sequence containing the hit
+	 * @param startColumn the alignment column of the first token of the hit
+	 * @param endColumn the alignment column after the last token of the hit
+	 * @param unalignedStart the unaligned index of the first token of the hit or {@code -1} if the search was 
+	 *        performed in alignment coordinates
+	 * @param unalignedEnd the unaligned index after the last token of the hit or {@code -1} if the search was 
+	 *        performed in alignment coordinates
+	 */
+	public SequenceSearchHit(String sequenceID, int startColumn, int endColumn, int unalignedStart, int unalignedEnd) {
+		super();
+		this.sequenceID = sequenceID;
+		this.startColumn = startColumn;
+		this.endColumn = endColumn;
+		this.unalignedStart = unalignedStart;
+		this.unalignedEnd = unalignedEnd;
+	}
+
+
+	public String getSequenceID() {
+		return sequenceID;
+	}
+
+
+	/**
+	 * Returns the alignment column of the first token of this hit.
+	 * 
+	 * @return the first column (inclusive)
+	 */
+	public int getStartColumn() {
+		return startColumn;
+	}
+
+
+	/**
+	 * Returns the alignment column after the last token of this hit. If the search was performed on unaligned 
+	 * sequences, gaps between the start and end column are part of the hit.
+	 * 
+	 * @return the end column (exclusive)
+	 */
+	public int getEndColumn() {
+		return endColumn;
+	}
+
+
+	/**
+	 * Returns the unaligned index of the first token of this hit.
+	 * 
+	 * @return the unaligned start index (inclusive) or {@code -1} if the search was performed in alignment coordinates
+	 */
+	public int getUnalignedStart() {
+		return unalignedStart;
+	}
+
+
+	/**
+	 * Returns the unaligned index after the last token of this hit.
+	 * 
+	 * @return the unaligned end index (exclusive) or {@code -1} if the search was performed in alignment coordinates
+	 */
+	public int getUnalignedEnd() {
+		return unalignedEnd;
+	}
+
+
+	@Override
+	public String toString() {
+		return sequenceID + ":" + startColumn + "-" + endColumn;
+	}
+}
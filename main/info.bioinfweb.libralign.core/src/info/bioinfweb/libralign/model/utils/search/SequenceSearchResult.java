@@ -0,0 +1,191 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.utils.search;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+
+
+/**
+ * The result of a search started with {@link SequenceSearch#search(java.util.regex.Pattern)}. The list of hits is
+ * populated in the background while the search is running, so that hits can already be processed or displayed 
+ * before the whole alignment was searched. New hits can be fetched incrementally using {@link #getHits(int)}.
+ * <p>
+ * Hits are added in the order they are found. Hits from different sequences may therefore be interleaved in any
+ * order, while the hits of one sequence are always added together in ascending order.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class SequenceSearchResult {
+	private final List<SequenceSearchHit> hits = new ArrayList<SequenceSearchHit>();
+	private final CountDownLatch remainingSequences;
+	private ExecutorService executor = null;
+	private volatile boolean cancelled = false;
+	private volatile Throwable error = null;
+	
+	
+	SequenceSearchResult(int sequenceCount) {
+		super();
+		remainingSequences = new CountDownLatch(sequenceCount);
+	}
+	
+	
+	void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+
+	void addHits(List<SequenceSearchHit> sequenceHits) {
+		if (!sequenceHits.isEmpty() && !cancelled) {
+			synchronized (hits) {
+				hits.addAll(sequenceHits);
+			}
+		}
+	}
+	
+	
+	void sequenceFinished() {
+		remainingSequences.countDown();
+		if (isFinished() && (executor != null)) {
+			executor.shutdown();
+		}
+	}
+	
+	
+	void setError(Throwable error) {
+		this.error = error;
+		cancel();
+	}
+	
+	
+	/**
+	 * Returns a list of all hits that have been found since the specified number of hits was reached. This allows to 
+	 * process hits while the search is still running by passing the number of hits that have already been processed.
+	 * 
+	 * @param fromIndex the index of the first hit to be returned
+	 * @return a new list containing the hits (empty if no new hits were found)
+	 */
+	public List<SequenceSearchHit> getHits(int fromIndex) {
+		synchronized (hits) {
+			if (fromIndex >= hits.size()) {
+				return Collections.emptyList();
+			}
+			else {
+				return new ArrayList<SequenceSearchHit>(hits.subList(fromIndex, hits.size()));
+			}
+		}
+	}
+	
+	
+	/**
+	 * Returns a list of all hits that have been found until now.
+	 * 
+	 * @return a new list containing the hits
+	 */
+	public List<SequenceSearchHit> getHits() {
+		return getHits(0);
+	}
+	
+	
+	/**
+	 * Returns the number of hits that have been found until now.
+	 * 
+	 * @return the current number of hits
+	 */
+	public int getHitCount() {
+		synchronized (hits) {
+			return hits.size();
+		}
+	}
+	
+	
+	/**
+	 * Determines whether all sequences have been searched or the search was cancelled.
+	 * 
+	 * @return {@code true} if no more hits will be added, {@code false} otherwise
+	 */
+	public boolean isFinished() {
+		return cancelled || (remainingSequences.getCount() == 0);
+	}
+	
+	
+	/**
+	 * Determines whether the search was cancelled, either by a call of {@link #cancel()} or because an error occurred.
+	 * 
+	 * @return {@code true} if the search did not complete, {@code false} otherwise
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+	
+	
+	/**
+	 * Returns the exception that was thrown while searching a sequence.
+	 * 
+	 * @return the exception that cancelled the search or {@code null} if no error occurred 
+	 */
+	public Throwable getError() {
+		return error;
+	}
+
+
+	/**
+	 * Stops the search. Sequences that are currently searched may still add their hits to the list, if they are 
+	 * completed before they notice the cancellation.
+	 */
+	public void cancel() {
+		cancelled = true;
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		while (remainingSequences.getCount() > 0) {  // Release threads waiting in waitUntilFinished().
+			remainingSequences.countDown();
+		}
+	}
+	
+	
+	/**
+	 * Blocks the calling thread until the search is finished.
+	 * 
+	 * @throws InterruptedException if the current thread was interrupted while waiting
+	 */
+	public void waitUntilFinished() throws InterruptedException {
+		remainingSequences.await();
+	}
+	
+	
+	/**
+	 * Blocks the calling thread until the search is finished or the specified time has elapsed.
+	 * 
+	 * @param timeout the maximum time to wait
+	 * @param unit the unit of {@code timeout}
+	 * @return {@code true} if the search is finished, {@code false} if the waiting time elapsed before
+	 * @throws InterruptedException if the current thread was interrupted while waiting
+	 */
+	public boolean waitUntilFinished(long timeout, TimeUnit unit) throws InterruptedException {
+		return remainingSequences.await(timeout, unit);
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.pherogram;
+
+
+import info.bioinfweb.libralign.pherogram.model.PherogramComponentModel;
+import info.bioinfweb.libralign.pherogram.provider.PherogramProvider;
+
+
+
+/**
+ * Index of the trace positions of all base calls of a {@link PherogramProvider} that allows to map between
+ * trace positions and base call indices using binary searches instead of linear scans.
+ * <p>
+ * The base call positions are copied once from the provider when an instance is created. Instances are therefore
+ * only valid as long as the provider they were created from is not modified. Usually instances should not be
+ * created directly, but obtained from {@link PherogramComponentModel#getBaseCallPositionIndex()}, which reuses
+ * the same instance as long as its pherogram provider is not replaced.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class BaseCallPositionIndex {
+	private PherogramProvider provider;
+	private int traceLength;
+	private int[] positions;
+	private int[] maxPositions;
+	private int[] firstTracePositions;
+
+
+	/**
+	 * Creates a new instance of this class reading all base call positions from the specified provider.
+	 *
+	 * @param provider the provider of the pherogram data to be indexed
+	 * @throws NullPointerException if {@code null} is specified for {@code provider}
+	 */
+	public BaseCallPositionIndex(PherogramProvider provider) {
+		super();
+		if (provider == null) {
+			throw new NullPointerException("The pherogram provider must not be null.");
+		}
+		else {
+			this.provider = provider;
+			traceLength = provider.getTraceLength();
+
+			int length = provider.getSequenceLength();
+			positions = new int[length];
+			maxPositions = new int[length];
+			int max = Integer.MIN_VALUE;
+			for (int i = 0; i < length; i++) {
+				positions[i] = provider.getBaseCallPosition(i);
+				max = Math.max(max, positions[i]);
+				maxPositions[i] = max;  // Guarantees a sorted array for the binary search, even if positions in the file should not be monotonic.
+			}
+
+			firstTracePositions = new int[length + 1];
+			for (int i = 1; i < length; i++) {
+				firstTracePositions[i] = (positions[i - 1] + positions[i]) / 2;
+			}
+			if (length > 0) {
+				firstTracePositions[length] = traceLength - 1;
+			}
+		}
+	}
+
+
+	/**
+	 * Returns the provider this index was created from.
+	 *
+	 * @return the indexed pherogram provider
+	 */
+	public PherogramProvider getProvider() {
+		return provider;
+	}
+
+
+	/**
+	 * Returns the number of base calls stored in this index.
+	 *
+	 * @return the length of the base call sequence of the indexed provider
+	 */
+	public int getSequenceLength() {
+		return positions.length;
+	}
+
+
+	/**
+	 * Returns the trace position of the specified base call.
+	 *
+	 * @param baseCallIndex the index of the base call
+	 * @return the trace position as it was returned by {@link PherogramProvider#getBaseCallPosition(int)}
+	 *         when this instance was created
+	 * @throws ArrayIndexOutOfBoundsException if {@code baseCallIndex} is not a valid base call index
+	 */
+	public int getBaseCallPosition(int baseCallIndex) {
+		return positions[baseCallIndex];
+	}
+
+
+	/**
+	 * Returns the index of the first trace value in the area of a trace curve belonging the base call with the
+	 * specified index. The returned values are equal to the ones of
+	 * {@link PherogramUtils#getFirstTracePosition(PherogramProvider, int)}, but do not need to be recalculated
+	 * on each call.
+	 *
+	 * @param baseCallIndex the index of the base call
+	 * @return a valid trace value index
+	 */
+	public int getFirstTracePosition(int baseCallIndex) {
+		if (baseCallIndex <= 0) {
+			return 0;
+		}
+		else if (baseCallIndex >= positions.length) {
+			return traceLength - 1;
+		}
+		else {
+			return firstTracePositions[baseCallIndex];
+		}
+	}
+
+
+	/**
+	 * Returns the index of the first base call that is located at or behind the specified trace position.
+	 *
+	 * @param traceX the trace position
+	 * @return the base call index or {@link #getSequenceLength()} if all base calls are located before
+	 *         {@code traceX}
+	 */
+	public int firstBaseCallIndexAtOrAfter(int traceX) {
+		int low = 0;
+		int high = maxPositions.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (maxPositions[mid] < traceX) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+
+	/**
+	 * Returns the index of the base call to which area of the trace curves the specified trace position belongs.
+	 * (The area of a base call starts at {@link #getFirstTracePosition(int)} and ends before the first trace
+	 * position of the next base call.)
+	 *
+	 * @param traceX the trace position
+	 * @return a valid base call index or -1 if the indexed provider has an empty base call sequence
+	 */
+	public int baseCallIndexByTracePosition(int traceX) {
+		int low = 1;
+		int high = positions.length;
+		while (low < high) {  // Find the first base call index with a first trace position greater than traceX.
+			int mid = (low + high) >>> 1;
+			if (firstTracePositions[mid] <= traceX) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return Math.min(low, positions.length) - 1;
+	}
+}
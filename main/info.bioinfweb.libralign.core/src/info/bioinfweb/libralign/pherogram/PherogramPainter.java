@@ -29,7 +29,6 @@ import info.bioinfweb.libralign.dataarea.implementations.pherogram.PherogramArea
 import info.bioinfweb.libralign.pherogram.PherogramFormats.QualityOutputType;
 import info.bioinfweb.libralign.pherogram.distortion.GapPattern;
 import info.bioinfweb.libralign.pherogram.distortion.PherogramDistortion;
-import info.bioinfweb.libralign.pherogram.model.PherogramComponentModel;
 import info.bioinfweb.libralign.pherogram.provider.PherogramProvider;
 import info.bioinfweb.libralign.pherogram.view.PherogramTraceCurveView;
 
@@ -44,6 +43,12 @@ import info.bioinfweb.libralign.pherogram.view.PherogramTraceCurveView;
 public class PherogramPainter {
 	public static final int INDEX_LABEL_INTERVAL = 5;
 	
+	/** 
+	 * Trace curves painted with a lower horizontal scale (pixels per trace value) are reduced to the minimal and
+	 * maximal value of each pixel column. 
+	 */
+	public static final double MIN_UNDECIMATED_HORIZONTAL_SCALE = 0.5;
+	
 	
 	private PherogramComponent owner; 
 	
@@ -162,29 +167,24 @@ public class PherogramPainter {
 	public void paintUnscaledBaseCalls(int startX, int endX, Graphics2D g, double paintStartX, double paintY, 
 			double horizontalScale) {
 		
-		PherogramProvider provider = owner.getModel().getPherogramProvider();
-		int index = 0;
-		while ((index < provider.getSequenceLength()) && 
-				(provider.getBaseCallPosition(index) < startX)) {
-			
-			index++;
-		}
+		BaseCallPositionIndex positionIndex = owner.getModel().getBaseCallPositionIndex();
+		int index = positionIndex.firstBaseCallIndexAtOrAfter(startX);
 		
-		if (index < provider.getSequenceLength()) {
+		if (index < positionIndex.getSequenceLength()) {
 			if (index > 0) {
 				index--;  // Also paint first possible partly visible character
 			}
 			
-			while ((index < provider.getSequenceLength()) && 
-					(provider.getBaseCallPosition(index) < endX)) {
+			while ((index < positionIndex.getSequenceLength()) && 
+					(positionIndex.getBaseCallPosition(index) < endX)) {
 				
-    		paintBaseCallData(g, index, paintStartX + (provider.getBaseCallPosition(index) - startX) * horizontalScale, 
+    		paintBaseCallData(g, index, paintStartX + (positionIndex.getBaseCallPosition(index) - startX) * horizontalScale, 
     				paintY);
 				index++;
 			}
 
-			if (index < provider.getSequenceLength()) {
-				paintBaseCallData(g, index, paintStartX + (provider.getBaseCallPosition(index) - startX) * horizontalScale, 
+			if (index < positionIndex.getSequenceLength()) {
+				paintBaseCallData(g, index, paintStartX + (positionIndex.getBaseCallPosition(index) - startX) * horizontalScale, 
 						paintY);  // Also paint last possible partly visible character
 			}
     }
@@ -203,6 +203,42 @@ public class PherogramPainter {
 	}
 	
 
+	/**
+	 * Appends the minimal and maximal trace values of the pixel columns covered by the specified trace range to 
+	 * {@code path}. This way the number of vertices depends on the painted width and not on the number of
+	 * trace values.
+	 * 
+	 * @param path - the path to append lines to
+	 * @param nucleotide - the nucleotide of the trace curve to be painted 
+	 * @param startTraceX - the first trace position to be painted
+	 * @param endTraceX - the trace position after the last position to be painted
+	 * @param paintX - the x coordinate of {@code startTraceX}
+	 * @param baseY - the y coordinate of the trace value 0
+	 * @param horizontalScale - the horizontal scale (should be lower than {@link #MIN_UNDECIMATED_HORIZONTAL_SCALE})
+	 */
+	private void appendDecimatedTraceCurve(Path2D path, char nucleotide, int startTraceX, int endTraceX, double paintX, 
+			double baseY, double horizontalScale) {
+		
+		TraceCurveMinMaxPyramid pyramid = owner.getModel().getTraceCurveMinMaxPyramid();
+		int valuesPerColumn = Math.max(1, (int)(1.0 / horizontalScale));
+		for (int columnStart = startTraceX; columnStart < endTraceX; columnStart += valuesPerColumn) {
+			int columnEnd = Math.min(endTraceX, columnStart + valuesPerColumn);
+			double minY = baseY - pyramid.getMinimum(nucleotide, columnStart, columnEnd) * owner.getVerticalScale();
+			double maxY = baseY - pyramid.getMaximum(nucleotide, columnStart, columnEnd) * owner.getVerticalScale();
+			double firstX = paintX + (columnStart - startTraceX) * horizontalScale;
+			double lastX = paintX + (columnEnd - 1 - startTraceX) * horizontalScale;
+			if (Math.abs(path.getCurrentPoint().getY() - minY) <= Math.abs(path.getCurrentPoint().getY() - maxY)) {  // Continue with the closer value.
+				path.lineTo(firstX, minY);
+				path.lineTo(lastX, maxY);
+			}
+			else {
+				path.lineTo(firstX, maxY);
+				path.lineTo(lastX, minY);
+			}
+		}
+	}
+	
+
 	/**
 	 * Paints parts the four trace curves stored in the specified provider with a constant scale on x.
 	 * <p>
@@ -230,10 +266,15 @@ public class PherogramPainter {
 			path.moveTo(x, paintY + height - 
 					provider.getTraceValue(nucleotide, startX) * owner.getVerticalScale());
 			
-			for (int traceX = startX + 1; traceX < endX; traceX++) {
-				x += horizontalScale;
-				path.lineTo(x, paintY + height - 
-						provider.getTraceValue(nucleotide, traceX) * owner.getVerticalScale());  //TODO curveTo() could be used alternatively.
+			if (horizontalScale < MIN_UNDECIMATED_HORIZONTAL_SCALE) {
+				appendDecimatedTraceCurve(path, nucleotide, startX + 1, endX, x + horizontalScale, paintY + height, horizontalScale);
+			}
+			else {
+				for (int traceX = startX + 1; traceX < endX; traceX++) {
+					x += horizontalScale;
+					path.lineTo(x, paintY + height - 
+							provider.getTraceValue(nucleotide, traceX) * owner.getVerticalScale());  //TODO curveTo() could be used alternatively.
+				}
 			}
 
 			g.setColor(owner.getFormats().getNucleotideColor(getOwner(), nucleotide.toString().charAt(0)));
@@ -247,16 +288,12 @@ public class PherogramPainter {
 	public void paintUnscaledBaseCallLines(int startX, int endX, Graphics2D g, double paintX, double paintY, double height,
 			double horizontalScale) {
 		
-		PherogramComponentModel model = owner.getModel();
-		PherogramProvider provider = model.getPherogramProvider();
-		int index = 0;
-		while ((index < provider.getSequenceLength()) && (provider.getBaseCallPosition(index) < startX)) {
-			index++;			
-		}
+		BaseCallPositionIndex positionIndex = owner.getModel().getBaseCallPositionIndex();
+		int index = positionIndex.firstBaseCallIndexAtOrAfter(startX);
 		
-		if (index < provider.getSequenceLength()) {
-			while ((index < provider.getSequenceLength()) && (provider.getBaseCallPosition(index) <= endX)) {
-	  		double x = paintX + (provider.getBaseCallPosition(index) - startX) * horizontalScale;
+		if (index < positionIndex.getSequenceLength()) {
+			while ((index < positionIndex.getSequenceLength()) && (positionIndex.getBaseCallPosition(index) <= endX)) {
+	  		double x = paintX + (positionIndex.getBaseCallPosition(index) - startX) * horizontalScale;
 	  		Path2D path = new Path2D.Double();
 	  		path.moveTo(x, paintY);
 	  		path.lineTo(x, paintY + height);
@@ -290,24 +327,19 @@ public class PherogramPainter {
 	public void paintUnscaledBaseCallIndices(int startX, int endX, Graphics2D g, double paintX, double paintY, 
 			double horizontalScale) {
 		
-		PherogramProvider provider = owner.getModel().getPherogramProvider();
-		int index = 0;
-		while ((index < provider.getSequenceLength()) && 
-				(provider.getBaseCallPosition(index) < startX)) {
-			
-			index++;			
-		}
+		BaseCallPositionIndex positionIndex = owner.getModel().getBaseCallPositionIndex();
+		int index = positionIndex.firstBaseCallIndexAtOrAfter(startX);
 		
 		float leftMostLabelStart = 0;  // Make sure the first label is always painted
-		if (index < provider.getSequenceLength()) {
+		if (index < positionIndex.getSequenceLength()) {
 			index = Math.max(INDEX_LABEL_INTERVAL, index - index % INDEX_LABEL_INTERVAL - INDEX_LABEL_INTERVAL);
 			
-			while ((index < provider.getSequenceLength()) && 
-					(provider.getBaseCallPosition(index) < endX)) {
+			while ((index < positionIndex.getSequenceLength()) && 
+					(positionIndex.getBaseCallPosition(index) < endX)) {
 				
 				String label = "" + index;
 				int labelWidth = g.getFontMetrics().stringWidth(label);
-				float labelX = (float)(paintX + (provider.getBaseCallPosition(index) - startX) * horizontalScale - 
+				float labelX = (float)(paintX + (positionIndex.getBaseCallPosition(index) - startX) * horizontalScale - 
 						0.5 * labelWidth);
 				if (labelX > leftMostLabelStart) {  // Draw label only if it does not overlap with its left neighbor.
 					g.drawString(label, labelX,	(float)paintY + g.getFont().getSize());
@@ -317,10 +349,10 @@ public class PherogramPainter {
 				index += INDEX_LABEL_INTERVAL;			
 			}
 			
-			if (index < provider.getSequenceLength()) {  // Draw possibly partly visible label
+			if (index < positionIndex.getSequenceLength()) {  // Draw possibly partly visible label
 				String label = "" + index;
 				int labelWidth = g.getFontMetrics().stringWidth(label);
-				float labelX = (float)(paintX + (provider.getBaseCallPosition(index) - startX) * horizontalScale - 
+				float labelX = (float)(paintX + (positionIndex.getBaseCallPosition(index) - startX) * horizontalScale - 
 						0.5 * labelWidth);
 				if (labelX > leftMostLabelStart) {  // Draw label only if it does not overlap with its left neighbor.
 					g.drawString(label, labelX,	(float)paintY + g.getFont().getSize());
@@ -360,37 +392,46 @@ public class PherogramPainter {
 			PherogramDistortion distortion, double compoundWidth) {
 		
 		PherogramProvider provider = owner.getModel().getPherogramProvider();
+		BaseCallPositionIndex positionIndex = owner.getModel().getBaseCallPositionIndex();
 		final double height = calculateTraceCurvesHeight();
 		for (Character nucleotide: PherogramProvider.TRACE_CURVE_NUCLEOTIDES) {
-			int startTraceIndex = PherogramUtils.getFirstTracePosition(provider, firstBaseCallIndex);
+			int startTraceIndex = positionIndex.getFirstTracePosition(firstBaseCallIndex);
 			Path2D path = new Path2D.Double();
 			path.moveTo(x + distortion.getPaintStartX(firstBaseCallIndex), 
 					y + height - provider.getTraceValue(nucleotide, startTraceIndex) * owner.getVerticalScale());
 			for (int baseCallIndex = firstBaseCallIndex; baseCallIndex <= lastBaseCallIndex; baseCallIndex++) {
         // Create path for trace curve:
-				int endTraceIndex = PherogramUtils.getFirstTracePosition(provider, baseCallIndex + 1);
+				int endTraceIndex = positionIndex.getFirstTracePosition(baseCallIndex + 1);
 				
 				double paintX = x + distortion.getPaintStartX(baseCallIndex);
 				double previousX = paintX - compoundWidth;
 				int editablePos = 0;
 				
-				for (int traceX = startTraceIndex; traceX < endTraceIndex; traceX++) {
-					if (paintX - previousX >= compoundWidth) {
-						previousX += compoundWidth;
-						while ((distortion.getGapPattern(baseCallIndex) != null) && 
-								(distortion.getGapPattern(baseCallIndex).isGap(editablePos))) {
-							
-							paintX += compoundWidth;
-							path.moveTo(paintX, y + height - provider.getTraceValue(nucleotide, 
-									Math.max(startTraceIndex, traceX - 1)) * owner.getVerticalScale());
+				if ((distortion.getGapPattern(baseCallIndex) == null) && 
+						(distortion.getHorizontalScale(baseCallIndex) < MIN_UNDECIMATED_HORIZONTAL_SCALE)) {
+					
+					appendDecimatedTraceCurve(path, nucleotide, startTraceIndex, endTraceIndex, 
+							paintX + distortion.getHorizontalScale(baseCallIndex), y + height, distortion.getHorizontalScale(baseCallIndex));
+				}
+				else {
+					for (int traceX = startTraceIndex; traceX < endTraceIndex; traceX++) {
+						if (paintX - previousX >= compoundWidth) {
 							previousX += compoundWidth;
+							while ((distortion.getGapPattern(baseCallIndex) != null) && 
+									(distortion.getGapPattern(baseCallIndex).isGap(editablePos))) {
+							
+								paintX += compoundWidth;
+								path.moveTo(paintX, y + height - provider.getTraceValue(nucleotide, 
+										Math.max(startTraceIndex, traceX - 1)) * owner.getVerticalScale());
+								previousX += compoundWidth;
+								editablePos++;
+							}
 							editablePos++;
 						}
-						editablePos++;
+						paintX += distortion.getHorizontalScale(baseCallIndex);
+						path.lineTo(paintX, y + height - 
+								provider.getTraceValue(nucleotide, traceX) * owner.getVerticalScale());  //TODO curveTo() could be used alternatively.
 					}
-					paintX += distortion.getHorizontalScale(baseCallIndex);
-					path.lineTo(paintX, y + height - 
-							provider.getTraceValue(nucleotide, traceX) * owner.getVerticalScale());  //TODO curveTo() could be used alternatively.
 				}
 				
 				// Leave space for remaining gaps at the end:
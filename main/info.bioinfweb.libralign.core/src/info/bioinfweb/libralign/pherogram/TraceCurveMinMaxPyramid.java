@@ -0,0 +1,169 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.pherogram;
+
+
+import info.bioinfweb.libralign.pherogram.model.PherogramComponentModel;
+import info.bioinfweb.libralign.pherogram.provider.PherogramProvider;
+
+
+
+/**
+ * Stores the minimum and maximum values of the four trace curves of a {@link PherogramProvider} for blocks of
+ * 2, 4, 8, ... trace positions. This allows {@link PherogramPainter} to determine the range of values that falls
+ * into one pixel column in logarithmic time, when the trace curves are painted at a low horizontal scale.
+ * <p>
+ * All values are copied from the provider when an instance is created. Usually instances should not be created
+ * directly, but obtained from {@link PherogramComponentModel#getTraceCurveMinMaxPyramid()}, which reuses the same
+ * instance as long as its pherogram provider is not replaced.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class TraceCurveMinMaxPyramid {
+	private static final String CHANNELS = "ACGT";
+
+
+	private PherogramProvider provider;
+	private float[][][] minima;  // Indices: channel, level, block
+	private float[][][] maxima;
+
+
+	/**
+	 * Creates a new instance of this class reading all trace values from the specified provider.
+	 *
+	 * @param provider the provider of the pherogram data
+	 * @throws NullPointerException if {@code null} is specified for {@code provider}
+	 */
+	public TraceCurveMinMaxPyramid(PherogramProvider provider) {
+		super();
+		if (provider == null) {
+			throw new NullPointerException("The pherogram provider must not be null.");
+		}
+		else {
+			this.provider = provider;
+
+			int length = provider.getTraceLength();
+			int levelCount = 1;
+			for (int size = length; size > 1; size = (size + 1) / 2) {
+				levelCount++;
+			}
+
+			minima = new float[CHANNELS.length()][levelCount][];
+			maxima = new float[CHANNELS.length()][levelCount][];
+			for (int channel = 0; channel < CHANNELS.length(); channel++) {
+				float[] values = new float[length];
+				for (int traceX = 0; traceX < length; traceX++) {
+					values[traceX] = (float)provider.getTraceValue(CHANNELS.charAt(channel), traceX);
+				}
+				minima[channel][0] = values;
+				maxima[channel][0] = values;
+
+				for (int level = 1; level < levelCount; level++) {
+					minima[channel][level] = combine(minima[channel][level - 1], false);
+					maxima[channel][level] = combine(maxima[channel][level - 1], true);
+				}
+			}
+		}
+	}
+
+
+	private static float[] combine(float[] values, boolean maximum) {
+		float[] result = new float[(values.length + 1) / 2];
+		for (int i = 0; i < result.length; i++) {
+			float value = values[2 * i];
+			if (2 * i + 1 < values.length) {
+				value = maximum ? Math.max(value, values[2 * i + 1]) : Math.min(value, values[2 * i + 1]);
+			}
+			result[i] = value;
+		}
+		return result;
+	}
+
+
+	private static int channelByNucleotide(char nucleotide) {
+		int result = CHANNELS.indexOf(Character.toUpperCase(nucleotide));
+		if (result == -1) {
+			throw new IllegalArgumentException("There is no trace curve for the nucleotide '" + nucleotide + "'.");
+		}
+		else {
+			return result;
+		}
+	}
+
+
+	private double extremum(float[][] levels, boolean maximum, int startTraceX, int endTraceX) {
+		double result = maximum ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		int start = Math.max(0, startTraceX);
+		int end = Math.min(endTraceX, levels[0].length);
+		int level = 0;
+		while (start < end) {  // Decompose the range into the largest possible aligned blocks.
+			if ((start & 1) != 0) {
+				result = maximum ? Math.max(result, levels[level][start]) : Math.min(result, levels[level][start]);
+				start++;
+			}
+			if ((end & 1) != 0) {
+				end--;
+				result = maximum ? Math.max(result, levels[level][end]) : Math.min(result, levels[level][end]);
+			}
+			start >>= 1;
+			end >>= 1;
+			level++;
+		}
+		return result;
+	}
+
+
+	/**
+	 * Returns the provider this instance was created from.
+	 *
+	 * @return the underlying pherogram provider
+	 */
+	public PherogramProvider getProvider() {
+		return provider;
+	}
+
+
+	/**
+	 * Returns the minimal value of the trace curve of the specified nucleotide in the specified range.
+	 *
+	 * @param nucleotide the nucleotide of the trace curve (A, C, G or T)
+	 * @param startTraceX the first trace position of the range
+	 * @param endTraceX the trace position after the last position of the range
+	 * @return the minimal (normalized) trace value or {@link Double#POSITIVE_INFINITY} if the range is empty
+	 * @throws IllegalArgumentException if no trace curve for {@code nucleotide} exists
+	 */
+	public double getMinimum(char nucleotide, int startTraceX, int endTraceX) {
+		return extremum(minima[channelByNucleotide(nucleotide)], false, startTraceX, endTraceX);
+	}
+
+
+	/**
+	 * Returns the maximal value of the trace curve of the specified nucleotide in the specified range.
+	 *
+	 * @param nucleotide the nucleotide of the trace curve (A, C, G or T)
+	 * @param startTraceX the first trace position of the range
+	 * @param endTraceX the trace position after the last position of the range
+	 * @return the maximal (normalized) trace value or {@link Double#NEGATIVE_INFINITY} if the range is empty
+	 * @throws IllegalArgumentException if no trace curve for {@code nucleotide} exists
+	 */
+	public double getMaximum(char nucleotide, int startTraceX, int endTraceX) {
+		return extremum(maxima[channelByNucleotide(nucleotide)], true, startTraceX, endTraceX);
+	}
+}
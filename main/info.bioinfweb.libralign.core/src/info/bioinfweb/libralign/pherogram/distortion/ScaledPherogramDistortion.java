@@ -19,6 +19,8 @@
 package info.bioinfweb.libralign.pherogram.distortion;
 
 
+import java.util.Arrays;
+
 import info.bioinfweb.libralign.dataarea.implementations.pherogram.PherogramArea;
 
 
@@ -30,15 +32,10 @@ import info.bioinfweb.libralign.dataarea.implementations.pherogram.PherogramArea
  * @since 0.2.0
  */
 public class ScaledPherogramDistortion implements PherogramDistortion {
-	class BaseCallInfo {
-		public double horizontalScale = 0;
-		public double paintStartX = 0;
-		public double paintCenterX = 0;
-		public GapPattern gapPattern = null;
-	}
-	
-	
-	private BaseCallInfo[] baseCallInfos;
+	private double[] horizontalScales;
+	private double[] paintStartXs;
+	private double[] paintCenterXs;
+	private GapPattern[] gapPatterns;
   
 	
 	
@@ -49,53 +46,78 @@ public class ScaledPherogramDistortion implements PherogramDistortion {
 	 */
 	public ScaledPherogramDistortion(int size) {
 		super();
-		baseCallInfos = new BaseCallInfo[size];
-		for (int i = 0; i < size; i++) {
-			baseCallInfos[i] = new BaseCallInfo();
-		}
+		horizontalScales = new double[size];
+		paintStartXs = new double[size];
+		paintCenterXs = new double[size];
+		gapPatterns = new GapPattern[size];
+	}
+
+
+	/**
+	 * Returns the number of base call indices for which values are stored in this instance.
+	 * 
+	 * @return the size specified in the constructor
+	 * @since 0.10.0
+	 */
+	public int size() {
+		return horizontalScales.length;
+	}
+	
+	
+	/**
+	 * Resets all values stored for the specified base call index and all subsequent indices to their initial state.
+	 * 
+	 * @param firstBaseCallIndex - the first base call index to be reset
+	 * @since 0.10.0
+	 */
+	public void clear(int firstBaseCallIndex) {
+		Arrays.fill(horizontalScales, firstBaseCallIndex, size(), 0);
+		Arrays.fill(paintStartXs, firstBaseCallIndex, size(), 0);
+		Arrays.fill(paintCenterXs, firstBaseCallIndex, size(), 0);
+		Arrays.fill(gapPatterns, firstBaseCallIndex, size(), null);
 	}
 
 
 	public void setHorizontalScale(int baseCallIndex, double scale) {
-		baseCallInfos[baseCallIndex].horizontalScale = scale; 
+		horizontalScales[baseCallIndex] = scale; 
 	}
 
 
 	@Override
 	public double getHorizontalScale(int baseCallIndex) {
-		return baseCallInfos[baseCallIndex].horizontalScale;
+		return horizontalScales[baseCallIndex];
 	}
 
 	
 	public void setPaintStartX(int baseCallIndex, double paintX) {
-		baseCallInfos[baseCallIndex].paintStartX = paintX;
+		paintStartXs[baseCallIndex] = paintX;
 	}
 
 
 	@Override
 	public double getPaintStartX(int baseCallIndex) {
-		return baseCallInfos[baseCallIndex].paintStartX;
+		return paintStartXs[baseCallIndex];
 	}
 
 
 	public void setPaintCenterX(int baseCallIndex, double paintX) {
-		baseCallInfos[baseCallIndex].paintCenterX = paintX;
+		paintCenterXs[baseCallIndex] = paintX;
 	}
 
 
 	@Override
 	public double getPaintCenterX(int baseCallIndex) {
-		return baseCallInfos[baseCallIndex].paintCenterX;
+		return paintCenterXs[baseCallIndex];
 	}
 
 
 	public void setGapPattern(int baseCallIndex, GapPattern pattern) {
-		baseCallInfos[baseCallIndex].gapPattern = pattern;
+		gapPatterns[baseCallIndex] = pattern;
 	}
 
 	
 	@Override
 	public GapPattern getGapPattern(int baseCallIndex) {
-		return baseCallInfos[baseCallIndex].gapPattern;
+		return gapPatterns[baseCallIndex];
 	}
 }
@@ -19,7 +19,7 @@
 package info.bioinfweb.libralign.pherogram.distortion;
 
 
-import info.bioinfweb.libralign.pherogram.PherogramUtils;
+import info.bioinfweb.libralign.pherogram.BaseCallPositionIndex;
 import info.bioinfweb.libralign.pherogram.provider.PherogramProvider;
 import info.bioinfweb.libralign.pherogram.view.PherogramTraceCurveView;
 
@@ -33,13 +33,26 @@ import info.bioinfweb.libralign.pherogram.view.PherogramTraceCurveView;
  */
 public class UnscaledPherogramDistortion implements PherogramDistortion {
 	private double horizontalScale;
-	private PherogramProvider provider;
+	private BaseCallPositionIndex positionIndex;
 	
 
 	public UnscaledPherogramDistortion(double horizontalScale, PherogramProvider provider) {
+		this(horizontalScale, new BaseCallPositionIndex(provider));
+	}
+	
+	
+	/**
+	 * Creates a new instance of this class that uses an existing index of the base call positions.
+	 * 
+	 * @param horizontalScale the constant scale to be used
+	 * @param positionIndex the base call position index of the pherogram (e.g. obtained from 
+	 *        {@link info.bioinfweb.libralign.pherogram.model.PherogramComponentModel#getBaseCallPositionIndex()})
+	 * @since 0.10.0
+	 */
+	public UnscaledPherogramDistortion(double horizontalScale, BaseCallPositionIndex positionIndex) {
 		super();
 		this.horizontalScale = horizontalScale;
-		this.provider = provider;
+		this.positionIndex = positionIndex;
 	}
 
 
@@ -51,13 +64,13 @@ public class UnscaledPherogramDistortion implements PherogramDistortion {
 	
 	@Override
 	public double getPaintStartX(int baseCallIndex) {
-		return PherogramUtils.getFirstTracePosition(provider, baseCallIndex) * horizontalScale;
+		return positionIndex.getFirstTracePosition(baseCallIndex) * horizontalScale;
 	}
 
 
 	@Override
 	public double getPaintCenterX(int baseCallIndex) {
-		return provider.getBaseCallPosition(baseCallIndex) * horizontalScale;
+		return positionIndex.getBaseCallPosition(baseCallIndex) * horizontalScale;
 	}
 
 	
@@ -53,9 +53,11 @@ public class PherogramAreaModel extends PherogramComponentModel implements DataM
 	private String labeledSequenceID;
 	private int firstSeqPos;
 	private List<ShiftChange> shiftChangeList = new ArrayList<ShiftChange>();
+	private ShiftChangeIndex shiftChangeIndex = null;
 	private boolean firstSeqPosUpdateOngoing = false;
 	private PherogramModelListener undoListener = null;
 	private EditRecorder<?, ?> editRecorder = null;
+	private List<TokenChangeEvent<?>> tokenChangesWhileLoading = null;
   
 	
 	/**
@@ -124,35 +126,11 @@ public class PherogramAreaModel extends PherogramComponentModel implements DataM
 				public void afterTokenChange(TokenChangeEvent<Object> e) {
 					//TODO This operations should not be performed when the edit is resulting from a redo operation or during the loading of a file. (The latter would not be a problem, if this object would be created or linked to the alignment model later. Late linking is currently not possible.)
 					if (e.getSource().equals(getAlignmentModel()) && (e.getSequenceID() == getLabeledSequenceID())) {
-						int addend = e.isLeftBound() ? -1 : 0;
-						int lastSeqPos = editableIndexByBaseCallIndex(getRightCutPosition() - 1).getAfter() - addend;
-						if (e.getStartIndex() <= lastSeqPos) {  // Do not process edits behind the pherogram.
-							int tokensBefore = Math.min(e.getAffectedTokens().size(), Math.max(0, getFirstSeqPos() - e.getStartIndex() - addend));
-							int tokensAfter = Math.max(0, e.getAffectedTokens().size() - Math.max(0, lastSeqPos - e.getStartIndex()) + addend);
-							int tokensInside = e.getAffectedTokens().size() - tokensBefore - tokensAfter;
-							
-							switch (e.getType()) {
-								case INSERTION:
-									if (tokensBefore > 0) {
-										setFirstSeqPos(getFirstSeqPos() + tokensBefore);
-									}
-									if (tokensInside > 0) {
-										addShiftChange(baseCallIndexByEditableIndex(
-												Math.max(0, e.getStartIndex() + tokensBefore + addend)).getBeforeValidIndex(), tokensInside);
-									}
-									break;
-								case DELETION:
-									if (tokensBefore > 0) {
-										setFirstSeqPos(getFirstSeqPos() - tokensBefore);
-									}
-									if (tokensInside > 0) {
-										addShiftChange(baseCallIndexByEditableIndex(
-												e.getStartIndex() + tokensBefore).getAfterValidIndex(), -e.getAffectedTokens().size());
-									}
-									break;
-								case REPLACEMENT:  // Nothing to do (Replacements differing in length are not allowed.)
-									break;  //TODO If a token is replaced by a gap a shift change would have to be added. (Solve this problem when gap displaying is generally implemented for all data areas.)
-							}
+						if (tokenChangesWhileLoading != null) {
+							tokenChangesWhileLoading.add(e);
+						}
+						else if (isPherogramLoaded()) {
+							processTokenChange(e);
 						}
 					}
 				}
@@ -161,6 +139,92 @@ public class PherogramAreaModel extends PherogramComponentModel implements DataM
 	}
 	
 	
+	private void processTokenChange(TokenChangeEvent<?> e) {
+		int addend = e.isLeftBound() ? -1 : 0;
+		int lastSeqPos = editableIndexByBaseCallIndex(getRightCutPosition() - 1).getAfter() - addend;
+		if (e.getStartIndex() <= lastSeqPos) {  // Do not process edits behind the pherogram.
+			int tokensBefore = Math.min(e.getAffectedTokens().size(), Math.max(0, getFirstSeqPos() - e.getStartIndex() - addend));
+			int tokensAfter = Math.max(0, e.getAffectedTokens().size() - Math.max(0, lastSeqPos - e.getStartIndex()) + addend);
+			int tokensInside = e.getAffectedTokens().size() - tokensBefore - tokensAfter;
+			
+			switch (e.getType()) {
+				case INSERTION:
+					if (tokensBefore > 0) {
+						setFirstSeqPos(getFirstSeqPos() + tokensBefore);
+					}
+					if (tokensInside > 0) {
+						addShiftChange(baseCallIndexByEditableIndex(
+								Math.max(0, e.getStartIndex() + tokensBefore + addend)).getBeforeValidIndex(), tokensInside);
+					}
+					break;
+				case DELETION:
+					if (tokensBefore > 0) {
+						setFirstSeqPos(getFirstSeqPos() - tokensBefore);
+					}
+					if (tokensInside > 0) {
+						addShiftChange(baseCallIndexByEditableIndex(
+								e.getStartIndex() + tokensBefore).getAfterValidIndex(), -e.getAffectedTokens().size());
+					}
+					break;
+				case REPLACEMENT:  // Nothing to do (Replacements differing in length are not allowed.)
+					break;  //TODO If a token is replaced by a gap a shift change would have to be added. (Solve this problem when gap displaying is generally implemented for all data areas.)
+			}
+		}
+	}
+	
+	
+	/**
+	 * Starts recording all token changes of the labeled sequence instead of adapting the shift changes and the 
+	 * first sequence position to them. Inherited classes that load their pherogram in the background must call 
+	 * this method before the loading starts, since the positions of a pherogram that is not yet available cannot
+	 * be adapted. The recorded changes are processed by a subsequent call of {@link #stopRecordingTokenChanges(boolean)}.
+	 * 
+	 * @since 0.10.0
+	 */
+	protected void startRecordingTokenChanges() {
+		if (tokenChangesWhileLoading == null) {
+			tokenChangesWhileLoading = new ArrayList<TokenChangeEvent<?>>();
+		}
+	}
+	
+	
+	/**
+	 * Stops recording token changes started by {@link #startRecordingTokenChanges()} and optionally processes all 
+	 * recorded changes in the order they were made. Inherited classes should call this method after the loaded 
+	 * pherogram and its cut positions and first sequence position (as they were before the recorded changes) have 
+	 * been set.
+	 * 
+	 * @param process {@code true} if the recorded changes shall be processed or {@code false} if they shall be
+	 *        discarded (e.g. because loading the pherogram failed)
+	 * @since 0.10.0
+	 */
+	protected void stopRecordingTokenChanges(boolean process) {
+		List<TokenChangeEvent<?>> changes = tokenChangesWhileLoading;
+		tokenChangesWhileLoading = null;
+		if (process && (changes != null)) {
+			for (TokenChangeEvent<?> change : changes) {
+				processTokenChange(change);
+			}
+		}
+	}
+	
+	
+	/**
+	 * Determines whether the pherogram data of this model is available. This implementation always returns 
+	 * {@code true}. Inherited classes that load their pherogram in the background (e.g. 
+	 * {@link info.bioinfweb.libralign.pherogram.provider.PherogramReference}) return {@code false} until the 
+	 * loading is finished. Pherogram areas display a placeholder instead of the traces as long as this method 
+	 * returns {@code false}.
+	 * 
+	 * @return {@code true} if the pherogram provider of this model contains the actual pherogram data, {@code false}
+	 *         otherwise
+	 * @since 0.10.0
+	 */
+	public boolean isPherogramLoaded() {
+		return true;
+	}
+	
+	
 	public String getLabeledSequenceID() {
 		return labeledSequenceID;
 	}
@@ -283,81 +347,68 @@ public class PherogramAreaModel extends PherogramComponentModel implements DataM
   	}
     else {
     	int resultPos = baseCallIndex - getLeftCutPosition() + getFirstSeqPos();
+    	ShiftChangeIndex index = getShiftChangeIndex();
     	
-    	ListIterator<ShiftChange> iterator = shiftChangeList.listIterator();
-    	if (!shiftChangeList.isEmpty()) {
-      	while (iterator.hasNext()) {
-      		ShiftChange shiftChangeEntry = iterator.next();
-      		if ((shiftChangeEntry.shiftChange < 0) && (Math2.isBetween(baseCallIndex, 
-      				shiftChangeEntry.baseCallIndex, shiftChangeEntry.baseCallIndex - shiftChangeEntry.shiftChange - 1))) {
-      			
-      			resultPos -= baseCallIndex - shiftChangeEntry.baseCallIndex;
-      			return new PherogramAlignmentRelation(resultPos - 1, PherogramAlignmentRelation.GAP,	resultPos, iterator);
-      		}
-      		else if ((shiftChangeEntry.baseCallIndex < baseCallIndex)) {
-      			resultPos += shiftChangeEntry.shiftChange;
-      		}
-      		else {
-      			if (iterator.hasPrevious()) {
-      				iterator.previous();
-      			}
-      			
-      			int afterPos = resultPos;
-      			if (Math2.isBetween(baseCallIndex, shiftChangeEntry.baseCallIndex, 
-      					shiftChangeEntry.baseCallIndex + shiftChangeEntry.shiftChange - 1)) {
-      				
-      				afterPos += shiftChangeEntry.shiftChange;
-      			}
-      			return new PherogramAlignmentRelation(resultPos, resultPos, afterPos, iterator);
-      		}
-      	}
+    	int nextIndex = index.firstIndexAtOrAfter(baseCallIndex);
+    	while ((nextIndex < index.size()) && (index.getBaseCallIndex(nextIndex) == baseCallIndex) && 
+    			(index.getShiftChange(nextIndex) < 0)) {
+    		
+    		nextIndex++;  // Deletions starting at baseCallIndex contain it and are treated below.
+    	}
+    	
+    	int deletionIndex = index.firstDeletionEndingAtOrAfter(baseCallIndex);
+    	if (deletionIndex < nextIndex) {  // All entries before nextIndex start at or before baseCallIndex.
+    		resultPos += index.getCumulativeShift(deletionIndex) - (baseCallIndex - index.getBaseCallIndex(deletionIndex));
+  			return new PherogramAlignmentRelation(resultPos - 1, PherogramAlignmentRelation.GAP,	resultPos, 
+  					shiftChangeList.listIterator(deletionIndex + 1));
+    	}
+    	else {
+    		resultPos += index.getCumulativeShift(nextIndex);
+  			int afterPos = resultPos;
+  			if ((nextIndex < index.size()) && Math2.isBetween(baseCallIndex, index.getBaseCallIndex(nextIndex), 
+  					index.getBaseCallIndex(nextIndex) + index.getShiftChange(nextIndex) - 1)) {
+  				
+  				afterPos += index.getShiftChange(nextIndex);
+  			}
+  			return new PherogramAlignmentRelation(resultPos, resultPos, afterPos, shiftChangeList.listIterator(nextIndex));
     	}
-			return new PherogramAlignmentRelation(resultPos, resultPos, resultPos, iterator);
   	}
   }
   
   
   public PherogramAlignmentRelation baseCallIndexByEditableIndex(int editableIndex) {
   	int resultPos = editableIndex - getFirstSeqPos() + getLeftCutPosition();
+  	ShiftChangeIndex index = getShiftChangeIndex();
   	
-  	ListIterator<ShiftChange> iterator = shiftChangeList.listIterator();
-  	if (!shiftChangeList.isEmpty()) {
-    	while (iterator.hasNext()) {
-    		ShiftChange shiftChangeEntry = iterator.next();
-    		if ((shiftChangeEntry.shiftChange > 0) && (Math2.isBetween(resultPos, 
-    				shiftChangeEntry.baseCallIndex, shiftChangeEntry.baseCallIndex + shiftChangeEntry.shiftChange - 1))) {
-    			
-    			int beforePos = shiftChangeEntry.baseCallIndex;
-    			int correspondingPos = shiftChangeEntry.baseCallIndex;
-    			int afterPos = shiftChangeEntry.baseCallIndex;
-    			if (isGap(editableIndex)) {
-    				correspondingPos = PherogramAlignmentRelation.GAP;
-    				if (resultPos == shiftChangeEntry.baseCallIndex) {
-    					beforePos = shiftChangeEntry.baseCallIndex - 1;  // First editable position in the distortion is the gap.
-    					if (beforePos < 0) {
-    						beforePos = PherogramAlignmentRelation.OUT_OF_RANGE;
-    					}
-    				}
-    				if (resultPos == shiftChangeEntry.baseCallIndex + shiftChangeEntry.shiftChange - 1) {
-    					afterPos = shiftChangeEntry.baseCallIndex + 1;  // Last editable position in the distortion is the gap.
-    					if (afterPos >= getPherogramProvider().getSequenceLength()) {
-    						afterPos = PherogramAlignmentRelation.OUT_OF_RANGE;
-    					}
-    				}
-    			}
-    			return new PherogramAlignmentRelation(beforePos, correspondingPos, afterPos, iterator);  //TODO Does the iterator have to be moved back in one of the cases?
-    		}
-    		else if ((shiftChangeEntry.baseCallIndex <= resultPos)) {
-    			resultPos -= shiftChangeEntry.shiftChange;
-    		}
-    		else {
-    			if (iterator.hasPrevious()) {
-    				iterator.previous();  // Move iterator back by one position if the next gap has not been reached.
-    			}
-    			break;  // End loop and go on with range check. 
-    		}
-    	}
+  	int nextIndex = index.firstEditableStartAfter(resultPos);
+  	int insertionIndex = index.firstInsertionEndingAtOrAfter(resultPos);
+  	if (insertionIndex < nextIndex) {  // All entries before nextIndex start at or before resultPos.
+  		resultPos -= index.getCumulativeShift(insertionIndex);
+  		int shiftChangeBaseCallIndex = index.getBaseCallIndex(insertionIndex);
+			int beforePos = shiftChangeBaseCallIndex;
+			int correspondingPos = shiftChangeBaseCallIndex;
+			int afterPos = shiftChangeBaseCallIndex;
+			if (isGap(editableIndex)) {
+				correspondingPos = PherogramAlignmentRelation.GAP;
+				if (resultPos == shiftChangeBaseCallIndex) {
+					beforePos = shiftChangeBaseCallIndex - 1;  // First editable position in the distortion is the gap.
+					if (beforePos < 0) {
+						beforePos = PherogramAlignmentRelation.OUT_OF_RANGE;
+					}
+				}
+				if (resultPos == shiftChangeBaseCallIndex + index.getShiftChange(insertionIndex) - 1) {
+					afterPos = shiftChangeBaseCallIndex + 1;  // Last editable position in the distortion is the gap.
+					if (afterPos >= getPherogramProvider().getSequenceLength()) {
+						afterPos = PherogramAlignmentRelation.OUT_OF_RANGE;
+					}
+				}
+			}
+			return new PherogramAlignmentRelation(beforePos, correspondingPos, afterPos, 
+					shiftChangeList.listIterator(insertionIndex + 1));  //TODO Does the iterator have to be moved back in one of the cases?
   	}
+  	
+  	resultPos -= index.getCumulativeShift(nextIndex);
+  	ListIterator<ShiftChange> iterator = shiftChangeList.listIterator(nextIndex);  // Positioned before the next shift change that has not been reached.
   	if (resultPos < 0) {
   		return new PherogramAlignmentRelation(PherogramAlignmentRelation.OUT_OF_RANGE, PherogramAlignmentRelation.OUT_OF_RANGE, 0, 
   				iterator);
@@ -373,20 +424,8 @@ public class PherogramAreaModel extends PherogramComponentModel implements DataM
   
   
   public int shiftAtBaseCallIndex(int baseCallIndex) {
-  	int result = 0;
-  	ListIterator<ShiftChange> iterator = shiftChangeList.listIterator();
-  	if (!shiftChangeList.isEmpty()) {
-    	while (iterator.hasNext()) {
-    		ShiftChange shiftChangeEntry = iterator.next();
-    		if ((shiftChangeEntry.baseCallIndex <= baseCallIndex)) {
-    			result += shiftChangeEntry.shiftChange;
-    		}
-    		else {
-    			return result;
-    		}
-    	}
-  	}
-  	return result;
+  	ShiftChangeIndex index = getShiftChangeIndex();
+  	return index.getCumulativeShift(index.firstIndexAfter(baseCallIndex));
   }
   
   
@@ -395,11 +434,38 @@ public class PherogramAreaModel extends PherogramComponentModel implements DataM
    * {@code shiftChangeList.size()} if no such element exists.
    */
   private int shiftChangeListIndexByBaseCallIndex(int baseCallIndex) {
-  	int pos = 0;
-  	while ((pos < shiftChangeList.size()) && (shiftChangeList.get(pos).baseCallIndex < baseCallIndex)) {
-  		pos++;
+  	int low = 0;
+  	int high = shiftChangeList.size();
+  	while (low < high) {
+  		int mid = (low + high) >>> 1;
+  		if (shiftChangeList.get(mid).baseCallIndex < baseCallIndex) {
+  			low = mid + 1;
+  		}
+  		else {
+  			high = mid;
+  		}
 		}
-  	return pos;
+  	return low;
+  }
+  
+  
+  /**
+   * Returns the index used to translate between base call and editable indices. It is recreated from 
+   * {@link #shiftChangeList} if it has been invalidated by a previous modification.
+   */
+  private ShiftChangeIndex getShiftChangeIndex() {
+  	if (shiftChangeIndex == null) {
+  		shiftChangeIndex = new ShiftChangeIndex(shiftChangeList);
+  	}
+  	return shiftChangeIndex;
+  }
+  
+  
+  /**
+   * Needs to be called whenever {@link #shiftChangeList} or one of its elements is modified.
+   */
+  private void invalidateShiftChangeIndex() {
+  	shiftChangeIndex = null;
   }
   
   
@@ -467,6 +533,7 @@ public class PherogramAreaModel extends PherogramComponentModel implements DataM
   		shiftChangeList.add(listIndex, new ShiftChange(baseCallIndex, shiftChange));
   		combineThreeShiftChanges(listIndex);
   	}
+  	invalidateShiftChangeIndex();
   }
   
   
@@ -543,15 +610,7 @@ public class PherogramAreaModel extends PherogramComponentModel implements DataM
 
 
 	public ListIterator<ShiftChange> shiftChangeIteratorByBaseCallIndex(int baseCallIndex) {
-		ListIterator<ShiftChange> result = shiftChangeIterator();
-		while (result.hasNext()) {
-			ShiftChange shiftChange = result.next();
-			if (shiftChange.getBaseCallIndex() >= baseCallIndex) {
-				result.previous();
-				return result;  // Return iterator positioned before the first element at or after the specified base call index.
-			}
-		}
-		return result;  // Return iterator positioned behind the end of the list
+		return shiftChangeIterator(shiftChangeListIndexByBaseCallIndex(baseCallIndex));  // Iterator positioned before the first element at or after the specified base call index or behind the end of the list.
 	}
   
   
@@ -606,6 +665,7 @@ public class PherogramAreaModel extends PherogramComponentModel implements DataM
 				iterator.remove();
 			}
 		}
+		invalidateShiftChangeIndex();
 		setFirstSeqPos(getFirstSeqPos() + firstPosShift);	
 		// Repainting and flagging recalculation of maxLengthBeforeStart/AfterEnd is performed by calling methods of PherogramArea and is not repeated here for performance reasons.
 	}
@@ -630,6 +690,7 @@ public class PherogramAreaModel extends PherogramComponentModel implements DataM
 		
 		shiftChangeList.clear();
 		shiftChangeList.addAll(newList);  // shiftChangeList = newList; would be easier, but problematic, if references to the list are currently stored by any application objects.
+		invalidateShiftChangeIndex();
 	}
 	
 	
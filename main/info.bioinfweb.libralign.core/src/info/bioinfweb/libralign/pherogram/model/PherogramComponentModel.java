@@ -20,6 +20,8 @@ package info.bioinfweb.libralign.pherogram.model;
 
 
 import info.bioinfweb.commons.Math2;
+import info.bioinfweb.libralign.pherogram.BaseCallPositionIndex;
+import info.bioinfweb.libralign.pherogram.TraceCurveMinMaxPyramid;
 import info.bioinfweb.libralign.pherogram.provider.PherogramProvider;
 
 import java.util.Collection;
@@ -38,6 +40,8 @@ public class PherogramComponentModel {
 	private PherogramProvider pherogramProvider;
 	private int leftCutPosition = 0;
 	private int rightCutPosition = 0;
+	private BaseCallPositionIndex baseCallPositionIndex = null;
+	private TraceCurveMinMaxPyramid traceCurveMinMaxPyramid = null;
 	protected Set<PherogramModelListener> modelListeners = new HashSet<PherogramModelListener>();
 
 
@@ -109,6 +113,38 @@ public class PherogramComponentModel {
 	}
 
 
+	/**
+	 * Returns an index of the base call positions of the current pherogram provider. The index is created on the
+	 * first call and then reused by all views sharing this model until the provider is replaced (e.g. by
+	 * {@link #setProvider(PherogramProvider)} or {@link #reverseComplement(Collection)}).
+	 *
+	 * @return the base call position index of the current provider
+	 * @since 0.10.0
+	 */
+	public BaseCallPositionIndex getBaseCallPositionIndex() {
+		if ((baseCallPositionIndex == null) || (baseCallPositionIndex.getProvider() != pherogramProvider)) {
+			baseCallPositionIndex = new BaseCallPositionIndex(pherogramProvider);
+		}
+		return baseCallPositionIndex;
+	}
+
+
+	/**
+	 * Returns the minimum and maximum values of the trace curves of the current pherogram provider, which are used to
+	 * paint the curves at low horizontal scales. The instance is created on the first call and then reused until
+	 * the provider is replaced.
+	 *
+	 * @return the trace curve pyramid of the current provider
+	 * @since 0.10.0
+	 */
+	public TraceCurveMinMaxPyramid getTraceCurveMinMaxPyramid() {
+		if ((traceCurveMinMaxPyramid == null) || (traceCurveMinMaxPyramid.getProvider() != pherogramProvider)) {
+			traceCurveMinMaxPyramid = new TraceCurveMinMaxPyramid(pherogramProvider);
+		}
+		return traceCurveMinMaxPyramid;
+	}
+
+
 	/**
 	 * Reverse complements the pherogram and swaps the left and right cut positions accordingly.
 	 */
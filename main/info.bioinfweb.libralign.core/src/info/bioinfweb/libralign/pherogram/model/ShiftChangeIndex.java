@@ -0,0 +1,170 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ *
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.pherogram.model;
+
+
+import java.util.List;
+
+
+
+/**
+ * Snapshot of a shift change list of {@link PherogramAreaModel} stored in primitive arrays, which allows to
+ * translate between base call and editable indices using binary searches.
+ * <p>
+ * Besides the cumulative shifts before each entry, prefix maxima of the ranges covered by deletions and
+ * insertions are stored. This way the results of the binary searches are equal to the ones of a linear walk
+ * through the list, even if ranges of neighboring entries should overlap.
+ * <p>
+ * Instances are immutable and need to be recreated whenever the underlying list or one of its elements is
+ * modified.
+ *
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+class ShiftChangeIndex {
+	private int[] baseCallIndices;
+	private int[] shiftChanges;
+	private int[] cumulativeShifts;
+	private int[] maxDeletionEnds;
+	private int[] maxEditableStarts;
+	private int[] maxInsertionEnds;
+
+
+	public ShiftChangeIndex(List<ShiftChange> shiftChangeList) {
+		super();
+		int size = shiftChangeList.size();
+		baseCallIndices = new int[size];
+		shiftChanges = new int[size];
+		cumulativeShifts = new int[size + 1];
+		maxDeletionEnds = new int[size];
+		maxEditableStarts = new int[size];
+		maxInsertionEnds = new int[size];
+
+		int maxDeletionEnd = Integer.MIN_VALUE;
+		int maxEditableStart = Integer.MIN_VALUE;
+		int maxInsertionEnd = Integer.MIN_VALUE;
+		for (int i = 0; i < size; i++) {
+			ShiftChange shiftChange = shiftChangeList.get(i);
+			baseCallIndices[i] = shiftChange.baseCallIndex;
+			shiftChanges[i] = shiftChange.shiftChange;
+			cumulativeShifts[i + 1] = cumulativeShifts[i] + shiftChange.shiftChange;
+
+			int editableStart = shiftChange.baseCallIndex + cumulativeShifts[i];  // Position in the editable sequence (relative to the first sequence position) without the shift of this entry.
+			maxEditableStart = Math.max(maxEditableStart, editableStart);
+			maxEditableStarts[i] = maxEditableStart;
+			if (shiftChange.shiftChange < 0) {
+				maxDeletionEnd = Math.max(maxDeletionEnd, shiftChange.baseCallIndex - shiftChange.shiftChange - 1);
+			}
+			else if (shiftChange.shiftChange > 0) {
+				maxInsertionEnd = Math.max(maxInsertionEnd, editableStart + shiftChange.shiftChange - 1);
+			}
+			maxDeletionEnds[i] = maxDeletionEnd;
+			maxInsertionEnds[i] = maxInsertionEnd;
+		}
+	}
+
+
+	public int size() {
+		return baseCallIndices.length;
+	}
+
+
+	public int getBaseCallIndex(int listIndex) {
+		return baseCallIndices[listIndex];
+	}
+
+
+	public int getShiftChange(int listIndex) {
+		return shiftChanges[listIndex];
+	}
+
+
+	/**
+	 * Returns the sum of all shift changes in the list before the specified list index.
+	 */
+	public int getCumulativeShift(int listIndex) {
+		return cumulativeShifts[listIndex];
+	}
+
+
+	/**
+	 * Returns the index of the first element in {@code values} that is greater than or equal to {@code value}
+	 * or the length of {@code values} if no such element exists. {@code values} must be sorted ascending.
+	 */
+	private static int firstIndexAtLeast(int[] values, int value) {
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < value) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+
+	/**
+	 * Returns the list index of the first entry with a base call index greater or equal to the specified one or
+	 * {@link #size()} if no such element exists.
+	 */
+	public int firstIndexAtOrAfter(int baseCallIndex) {
+		return firstIndexAtLeast(baseCallIndices, baseCallIndex);
+	}
+
+
+	/**
+	 * Returns the list index of the first entry with a base call index greater than the specified one or
+	 * {@link #size()} if no such element exists.
+	 */
+	public int firstIndexAfter(int baseCallIndex) {
+		return firstIndexAtLeast(baseCallIndices, baseCallIndex + 1);
+	}
+
+
+	/**
+	 * Returns the list index of the first deletion that may contain the specified base call index or {@link #size()}
+	 * if no such deletion exists. (Only entries starting at or before {@code baseCallIndex} actually contain it.)
+	 */
+	public int firstDeletionEndingAtOrAfter(int baseCallIndex) {
+		return firstIndexAtLeast(maxDeletionEnds, baseCallIndex);
+	}
+
+
+	/**
+	 * Returns the list index of the first entry that starts behind the specified relative editable position or
+	 * {@link #size()} if no such element exists.
+	 */
+	public int firstEditableStartAfter(int relativeEditableIndex) {
+		return firstIndexAtLeast(maxEditableStarts, relativeEditableIndex + 1);
+	}
+
+
+	/**
+	 * Returns the list index of the first insertion that may contain the specified relative editable position or
+	 * {@link #size()} if no such insertion exists. (Only entries starting at or before {@code relativeEditableIndex}
+	 * actually contain it.)
+	 */
+	public int firstInsertionEndingAtOrAfter(int relativeEditableIndex) {
+		return firstIndexAtLeast(maxInsertionEnds, relativeEditableIndex);
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.pherogram.provider;
+
+
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+
+
+/**
+ * Abstract implementation of {@link PherogramProviderByURL} that shares provider instances for equal URLs.
+ * <p>
+ * Providers are stored in a cache with weak values. As long as a provider returned by 
+ * {@link #getPherogramProvider(URL)} is referenced somewhere else in the application (e.g. by a 
+ * {@link info.bioinfweb.libralign.pherogram.model.PherogramAreaModel}), subsequent calls with the same URL will 
+ * return the same instance without loading the file again. Providers that are no longer used can be garbage 
+ * collected and will be loaded again, if they are requested later on.
+ * <p>
+ * URLs are compared by their string representation, since {@link URL#equals(Object)} may perform host name 
+ * resolutions. Instances of this class are thread safe, but a provider may be loaded twice if two threads request 
+ * the same URL at the same time using {@link #getPherogramProvider(URL)}. (Only one of the two instances will be 
+ * stored in the cache.) Concurrent calls of {@link #getPherogramProviderAsync(URL, Executor)} with the same URL 
+ * share a single loading operation instead. 
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public abstract class AbstractCachingPherogramProviderByURL implements PherogramProviderByURL {
+	private static class ProviderReference extends WeakReference<PherogramProvider> {
+		private final String key;
+		
+		public ProviderReference(String key, PherogramProvider provider, ReferenceQueue<PherogramProvider> queue) {
+			super(provider, queue);
+			this.key = key;
+		}
+	}
+	
+	
+	private final Map<String, ProviderReference> cache = new HashMap<String, ProviderReference>();
+	private final ReferenceQueue<PherogramProvider> queue = new ReferenceQueue<PherogramProvider>();
+	private final Map<String, CompletableFuture<PherogramProvider>> pendingLoads = new HashMap<String, CompletableFuture<PherogramProvider>>();
+	
+	
+	/**
+	 * Implementing classes must load the pherogram from the specified URL in this method. It is called by 
+	 * {@link #getPherogramProvider(URL)} if no according instance is present in the cache.
+	 * 
+	 * @param url the URL to load the pherogram from
+	 * @return the new provider instance (Must not be {@code null}.)
+	 * @throws IOException if the pherogram cannot be read from {@code url}
+	 */
+	protected abstract PherogramProvider loadPherogramProvider(URL url) throws IOException;
+	
+	
+	/**
+	 * Removes entries of providers that have been garbage collected from the cache.
+	 */
+	private void removeCollectedEntries() {
+		ProviderReference reference = (ProviderReference)queue.poll();
+		while (reference != null) {
+			if (cache.get(reference.key) == reference) {  // The entry may already have been replaced by a new reference.
+				cache.remove(reference.key);
+			}
+			reference = (ProviderReference)queue.poll();
+		}
+	}
+	
+	
+	/**
+	 * Returns the cached provider for the specified URL, if present.
+	 * 
+	 * @param url the URL of the pherogram
+	 * @return the provider or {@code null} if no provider for {@code url} is currently cached
+	 */
+	public PherogramProvider getCachedPherogramProvider(URL url) {
+		synchronized (cache) {
+			removeCollectedEntries();
+			ProviderReference reference = cache.get(url.toString());
+			if (reference != null) {
+				return reference.get();
+			}
+			else {
+				return null;
+			}
+		}
+	}
+	
+	
+	@Override
+	public PherogramProvider getPherogramProvider(URL url) throws IOException {
+		PherogramProvider result = getCachedPherogramProvider(url);
+		if (result == null) {
+			result = loadPherogramProvider(url);  // Loading is performed outside the synchronized block to allow reading different files in parallel.
+			String key = url.toString();
+			synchronized (cache) {
+				ProviderReference reference = cache.get(key);
+				PherogramProvider concurrentResult = null;
+				if (reference != null) {
+					concurrentResult = reference.get();
+				}
+				if (concurrentResult == null) {
+					cache.put(key, new ProviderReference(key, result, queue));
+				}
+				else {
+					result = concurrentResult;  // Another thread loaded the same URL in the meantime.
+				}
+			}
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Returns a future providing the pherogram from the specified URL. If the provider is cached, the returned future
+	 * is already completed. If the same URL is currently loaded due to a previous call of this method, the future of
+	 * that operation is returned. Otherwise a new loading operation is started using {@code executor}.
+	 * 
+	 * @param url the URL to load the pherogram from
+	 * @param executor the executor to perform the loading (e.g. a thread pool)
+	 * @return a future that is completed with the loaded provider or exceptionally if loading failed
+	 */
+	@Override
+	public CompletableFuture<PherogramProvider> getPherogramProviderAsync(URL url, Executor executor) {
+		PherogramProvider provider = getCachedPherogramProvider(url);
+		if (provider != null) {
+			return CompletableFuture.completedFuture(provider);
+		}
+		else {
+			String key = url.toString();
+			CompletableFuture<PherogramProvider> result;
+			boolean created = false;
+			synchronized (pendingLoads) {
+				result = pendingLoads.get(key);
+				if (result == null) {
+					result = PherogramProviderByURL.super.getPherogramProviderAsync(url, executor);
+					pendingLoads.put(key, result);
+					created = true;
+				}
+			}
+			if (created) {
+				final CompletableFuture<PherogramProvider> future = result;
+				future.whenComplete((loadedProvider, exception) -> {
+					synchronized (pendingLoads) {
+						pendingLoads.remove(key, future);  // The loaded provider is available from the cache from now on.
+					}
+				});
+			}
+			return result;
+		}
+	}
+	
+	
+	/**
+	 * Removes all entries from the cache of this instance.
+	 */
+	public void clearCache() {
+		synchronized (cache) {
+			cache.clear();
+			while (queue.poll() != null);
+		}
+	}
+}
@@ -21,6 +21,9 @@ package info.bioinfweb.libralign.pherogram.provider;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 
 
@@ -29,4 +32,24 @@ public interface PherogramProviderByURL {
 	public PherogramProvider getPherogramProvider(URL url) throws IOException;
 	
 	
+	/**
+	 * Loads the pherogram from the specified URL in the background by calling {@link #getPherogramProvider(URL)} 
+	 * using the specified executor.
+	 * 
+	 * @param url the URL to load the pherogram from
+	 * @param executor the executor to perform the loading (e.g. a thread pool)
+	 * @return a future that is completed with the loaded provider or exceptionally with a {@link CompletionException}
+	 *         wrapping the {@link IOException} that occurred during loading
+	 * @since 0.10.0
+	 */
+	public default CompletableFuture<PherogramProvider> getPherogramProviderAsync(URL url, Executor executor) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return getPherogramProvider(url);
+			}
+			catch (IOException e) {
+				throw new CompletionException(e);
+			}
+		}, executor);
+	}
 }
@@ -22,6 +22,10 @@ package info.bioinfweb.libralign.pherogram.provider;
 import java.io.IOException;
 import java.net.URL;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import info.bioinfweb.libralign.model.AlignmentModel;
 import info.bioinfweb.libralign.pherogram.model.PherogramAreaModel;
@@ -30,12 +34,67 @@ import info.bioinfweb.libralign.pherogram.model.ShiftChange;
 
 
 public class PherogramReference extends PherogramAreaModel {
+	/**
+	 * Provider without any trace or base call data that is used until the actual pherogram is loaded.
+	 */
+	private static class PendingPherogramProvider implements PherogramProvider {
+		@Override
+		public double getTraceValue(char nucleotide, int x) {
+			throw new IndexOutOfBoundsException("The pherogram is not yet loaded.");
+		}
+
+		@Override
+		public int getTraceLength() {
+			return 0;
+		}
+
+		@Override
+		public double getMaxTraceValue(char nucleotide) {
+			return 0;
+		}
+
+		@Override
+		public char getBaseCall(int baseIndex) {
+			throw new IndexOutOfBoundsException("The pherogram is not yet loaded.");
+		}
+
+		@Override
+		public int getBaseCallPosition(int baseIndex) {
+			throw new IndexOutOfBoundsException("The pherogram is not yet loaded.");
+		}
+
+		@Override
+		public int getQuality(char nucleotide, int baseIndex) {
+			return -1;
+		}
+
+		@Override
+		public int getAnnotation(String label, int baseIndex) {
+			return -1;
+		}
+
+		@Override
+		public int getSequenceLength() {
+			return 0;
+		}
+
+		@Override
+		public PherogramProvider reverseComplement() {
+			return this;
+		}
+	}
+	
+	
 	private URL url;
+	private final CompletableFuture<PherogramReference> loadingFuture;
+	private volatile boolean pherogramLoaded = false;
 	
 	
 	public PherogramReference(AlignmentModel<?> alignmentModel, PherogramProvider provider, URL url, String sequenceID) {
 		super(provider, alignmentModel, sequenceID);
 		this.url = url;
+		pherogramLoaded = true;
+		loadingFuture = CompletableFuture.completedFuture(this);
 	}
 
 
@@ -46,11 +105,88 @@ public class PherogramReference extends PherogramAreaModel {
 	public PherogramReference(AlignmentModel<?> alignmentModel, PherogramProvider provider, URL url, String sequenceID, List<ShiftChange> shiftChangeList) {
 		super(provider, alignmentModel,sequenceID, shiftChangeList);
 		this.url = url;
+		pherogramLoaded = true;
+		loadingFuture = CompletableFuture.completedFuture(this);
 	}
+	
+	
+	/**
+	 * Creates a new instance with a pherogram that is still loading. Until {@code providerFuture} is completed, 
+	 * the instance contains an empty placeholder provider and {@link #isPherogramLoaded()} returns {@code false}.
+	 * <p>
+	 * When loading is finished, the loaded provider is set using {@link #setProvider(PherogramProvider)}, 
+	 * {@code initializer} is called and {@link #getLoadingFuture()} is completed. All of this is done by a task 
+	 * passed to {@code updateExecutor}, which should therefore execute tasks on the thread that is allowed to 
+	 * modify this model (e.g. the event dispatch thread in Swing). 
+	 * <p>
+	 * Edits of the labeled sequence that are made while the pherogram is loading are recorded and applied to the 
+	 * shift changes and the first sequence position after {@code initializer} was called, as if they were made after
+	 * the pherogram was loaded. 
+	 * 
+	 * @param alignmentModel the alignment model containing the sequence the pherogram is attached to
+	 * @param providerFuture the future providing the loaded pherogram
+	 * @param url the URL of the pherogram
+	 * @param sequenceID the ID of the sequence the pherogram is attached to
+	 * @param shiftChangeList the shift changes of the pherogram
+	 * @param updateExecutor the executor that applies the loaded provider to this instance
+	 * @param initializer an optional operation that sets cut positions or the first sequence position (as they were 
+	 *        when this instance was created) after the loaded provider was set (May be {@code null}.)
+	 * @since 0.10.0
+	 */
+	public PherogramReference(AlignmentModel<?> alignmentModel, CompletableFuture<? extends PherogramProvider> providerFuture, URL url, 
+			String sequenceID, List<ShiftChange> shiftChangeList, Executor updateExecutor, Consumer<? super PherogramReference> initializer) {
+		
+		super(new PendingPherogramProvider(), alignmentModel, sequenceID, shiftChangeList);
+		this.url = url;
+		loadingFuture = new CompletableFuture<PherogramReference>();
+		startRecordingTokenChanges();
+		providerFuture.whenComplete((provider, exception) -> updateExecutor.execute(() -> {
+			if (exception != null) {
+				stopRecordingTokenChanges(false);
+				if ((exception instanceof CompletionException) && (exception.getCause() != null)) {
+					loadingFuture.completeExceptionally(exception.getCause());
+				}
+				else {
+					loadingFuture.completeExceptionally(exception);
+				}
+			}
+			else {
+				pherogramLoaded = true;
+				setProvider(provider);
+				if (initializer != null) {
+					initializer.accept(this);
+				}
+				stopRecordingTokenChanges(true);
+				loadingFuture.complete(this);
+			}
+		}));
+	}
+	
 
 	public URL getURL() {
 		return url;
 	}
+	
+	
+	/**
+	 * Returns a future that is completed with this instance as soon as its pherogram is loaded or exceptionally
+	 * if loading failed. When the future is completed, the loaded provider is set, the initializer specified in the
+	 * constructor was applied and the edits made during loading have been processed.
+	 * <p>
+	 * The future of instances that were created with an already loaded provider is always completed.
+	 * 
+	 * @return the loading future
+	 * @since 0.10.0
+	 */
+	public CompletableFuture<PherogramReference> getLoadingFuture() {
+		return loadingFuture;
+	}
+
+
+	@Override
+	public boolean isPherogramLoaded() {
+		return pherogramLoaded;
+	}
 
 
 	@Override
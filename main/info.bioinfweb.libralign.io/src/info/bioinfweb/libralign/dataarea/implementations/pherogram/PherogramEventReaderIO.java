@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import info.bioinfweb.jphyloio.JPhyloIOEventReader;
 import info.bioinfweb.jphyloio.events.JPhyloIOEvent;
@@ -49,6 +50,8 @@ public class PherogramEventReaderIO extends AbstractDataElementEventReader<Phero
 	private PherogramProviderByURL provider;
 	private List<ShiftChange> shiftChangeList = new ArrayList<ShiftChange>();
 	private URL pherogramURL;
+	private Executor loadingExecutor = null;
+	private Executor updateExecutor = Runnable::run;
 
 	
 	
@@ -58,27 +61,100 @@ public class PherogramEventReaderIO extends AbstractDataElementEventReader<Phero
 	}
 	
 	
+	/**
+	 * Returns the executor that is used to load referenced pherograms in the background.
+	 * 
+	 * @return the executor or {@code null} if pherograms are loaded synchronously during event processing
+	 * @since 0.10.0
+	 */
+	public Executor getLoadingExecutor() {
+		return loadingExecutor;
+	}
+
+
+	/**
+	 * Specifies an executor that shall be used to load referenced pherograms in the background. If an executor
+	 * is set, the created {@link PherogramReference}s initially contain a placeholder and are updated as soon as
+	 * their pherogram is loaded (see {@link PherogramReference#getLoadingFuture()}). Equal URLs are only loaded once,
+	 * if the provider used by this instance inherits from 
+	 * {@link info.bioinfweb.libralign.pherogram.provider.AbstractCachingPherogramProviderByURL}.
+	 * 
+	 * @param loadingExecutor the executor to load pherograms (e.g. a thread pool) or {@code null} if pherograms 
+	 *        shall be loaded synchronously during event processing
+	 * @since 0.10.0
+	 */
+	public void setLoadingExecutor(Executor loadingExecutor) {
+		this.loadingExecutor = loadingExecutor;
+	}
+
+
+	/**
+	 * Returns the executor that applies pherograms loaded in the background to their references.
+	 * 
+	 * @return the update executor
+	 * @since 0.10.0
+	 */
+	public Executor getUpdateExecutor() {
+		return updateExecutor;
+	}
+
+
+	/**
+	 * Specifies the executor that applies pherograms loaded in the background to their references. The default
+	 * executor runs these tasks directly on the loading thread. If the read references may already be displayed 
+	 * when loading is finished, an executor running tasks on the thread of the GUI toolkit should be specified 
+	 * (e.g. {@code SwingUtilities::invokeLater}). 
+	 * 
+	 * @param updateExecutor the new update executor
+	 * @throws NullPointerException if {@code updateExecutor} is {@code null}
+	 * @since 0.10.0
+	 */
+	public void setUpdateExecutor(Executor updateExecutor) {
+		if (updateExecutor == null) {
+			throw new NullPointerException("The update executor must not be null.");
+		}
+		else {
+			this.updateExecutor = updateExecutor;
+		}
+	}
+
+
+	private static void setPositions(PherogramReference reference, int leftCutPosition, int rightCutPosition, int firstSeqPosition) {
+		if (leftCutPosition != -1) {
+			reference.setLeftCutPosition(leftCutPosition);
+		}
+		if (rightCutPosition != -1) {
+			reference.setRightCutPosition(rightCutPosition);				
+		}
+		if (firstSeqPosition != -1) {
+			reference.setFirstSeqPos(firstSeqPosition);
+		}
+	}
+	
+	
 	private void getPherogramAreaModel() {
 		if (pherogramURL != null) {
 			DataElementKey key = new DataElementKey(currentAlignmentID, currentSequenceID);
-			try {
-				PherogramReference reference = new PherogramReference(getMainReader().getAlignmentModelReader().getModelByJPhyloIOID(key.getAlignmentID()), 
-						provider.getPherogramProvider(pherogramURL), pherogramURL, currentSequenceID, shiftChangeList);
-				if (leftCutPosition != -1) {
-					reference.setLeftCutPosition(leftCutPosition);
-				}
-				if (rightCutPosition != -1) {
-					reference.setRightCutPosition(rightCutPosition);				
+			if (loadingExecutor == null) {
+				try {
+					PherogramReference reference = new PherogramReference(getMainReader().getAlignmentModelReader().getModelByJPhyloIOID(key.getAlignmentID()), 
+							provider.getPherogramProvider(pherogramURL), pherogramURL, currentSequenceID, shiftChangeList);
+					setPositions(reference, leftCutPosition, rightCutPosition, firstSeqPosition);
+					getCompletedElements().put(key, reference);
+				} 
+				catch (IOException e) {
+					// TODO Auto-generated catch block
+					e.printStackTrace();
 				}
-				if (firstSeqPosition != -1) {
-					reference.setFirstSeqPos(firstSeqPosition);
-				}
-				
+			}
+			else {
+				final int left = leftCutPosition;
+				final int right = rightCutPosition;
+				final int first = firstSeqPosition;
+				PherogramReference reference = new PherogramReference(getMainReader().getAlignmentModelReader().getModelByJPhyloIOID(key.getAlignmentID()), 
+						provider.getPherogramProviderAsync(pherogramURL, loadingExecutor), pherogramURL, currentSequenceID, shiftChangeList, 
+						updateExecutor, loadedReference -> setPositions(loadedReference, left, right, first));
 				getCompletedElements().put(key, reference);
-			} 
-			catch (IOException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
 			}
 		}
 	}
@@ -24,12 +24,14 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import info.bioinfweb.jphyloio.JPhyloIOEventReader;
 import info.bioinfweb.jphyloio.ReadWriteParameterMap;
 import info.bioinfweb.jphyloio.events.JPhyloIOEvent;
-import info.bioinfweb.jphyloio.events.type.EventContentType;
 import info.bioinfweb.jphyloio.factory.JPhyloIOReaderWriterFactory;
+import info.bioinfweb.jphyloio.push.JPhyloIOEventListener;
 import info.bioinfweb.libralign.model.AlignmentModel;
 import info.bioinfweb.libralign.model.data.DataModel;
 import info.bioinfweb.libralign.model.factory.AlignmentModelFactory;
@@ -47,12 +49,43 @@ import info.bioinfweb.libralign.model.factory.BioPolymerCharAlignmentModelFactor
 public class AlignmentDataReader {
 	//TODO Could this class be inherited from EventForwarder?
 	
+	/** The number of events that are buffered between the parser thread and the processing thread by {@link #readAllPipelined()}. */
+	public static final int DEFAULT_PIPELINE_CAPACITY = 1024;
+	
 	private static final JPhyloIOReaderWriterFactory FACTORY = new JPhyloIOReaderWriterFactory();
+	private static final Object END_OF_STREAM = new Object();
+	
+	
+	/**
+	 * Transfers an exception or error thrown on the parser thread to the processing thread.
+	 */
+	private static class ParserFailure {
+		private final Throwable throwable;
+
+		public ParserFailure(Throwable throwable) {
+			super();
+			this.throwable = throwable;
+		}
+		
+		public void rethrow() throws Exception {
+			if (throwable instanceof Exception) {
+				throw (Exception)throwable;
+			}
+			else if (throwable instanceof Error) {
+				throw (Error)throwable;
+			}
+			else {
+				throw new Exception(throwable);
+			}
+		}
+	}
 	
 	
 	private JPhyloIOEventReader eventReader;
 	private AlignmentModelEventReader alignmentModelReader;
 	private List<DataElementEventReader<?>> dataElementReaders = new ArrayList<>();
+	private List<JPhyloIOEventListener> eventListeners = new ArrayList<>();
+	private long processedEventCount = 0;
 	
 	
 	/**
@@ -198,18 +231,64 @@ public class AlignmentDataReader {
 	}
 	
 	
+	/**
+	 * Adds a listener that is informed about each event processed by this instance, after it was passed to the 
+	 * alignment model reader and all data element readers. Such listeners can be used for logging or diagnostic
+	 * purposes.
+	 * 
+	 * @param listener the listener to be added
+	 * @return {@code true} if the listener was added, {@code false} if it was already present
+	 * @since 0.10.0
+	 */
+	public boolean addEventListener(JPhyloIOEventListener listener) {
+		if (!eventListeners.contains(listener)) {
+			return eventListeners.add(listener);
+		}
+		else {
+			return false;
+		}
+	}
+	
+	
+	/**
+	 * Removes a listener that was previously added using {@link #addEventListener(JPhyloIOEventListener)}.
+	 * 
+	 * @param listener the listener to be removed
+	 * @return {@code true} if the listener was removed, {@code false} if it was not present
+	 * @since 0.10.0
+	 */
+	public boolean removeEventListener(JPhyloIOEventListener listener) {
+		return eventListeners.remove(listener);
+	}
+	
+	
+	/**
+	 * Returns the number of <i>JPhyloIO</i> events that have been processed by this instance until now.
+	 * 
+	 * @return the number of processed events
+	 * @since 0.10.0
+	 */
+	public long getProcessedEventCount() {
+		return processedEventCount;
+	}
+
+
+	private void processEvent(JPhyloIOEvent event) throws Exception {
+		alignmentModelReader.processEvent(eventReader, event);
+		for (DataElementEventReader<?> dataModelReader : dataElementReaders) {
+			dataModelReader.processEvent(eventReader, event);
+		}
+		processedEventCount++;
+		for (JPhyloIOEventListener listener : eventListeners) {
+			listener.processEvent(eventReader, event);
+		}
+	}
+	
+	
 	protected JPhyloIOEvent processNextEvent() throws Exception {
 		if (eventReader.hasNextEvent()) {
 			JPhyloIOEvent event = eventReader.next();
-			System.out.println(event.getType());
-			if (event.getType().getContentType().equals(EventContentType.LITERAL_META_CONTENT) && (event.asLiteralMetadataContentEvent().getObjectValue() instanceof List)) {
-				System.out.println("ShiftList");
-			}
-			
-			alignmentModelReader.processEvent(eventReader, event);
-			for (DataElementEventReader<?> dataModelReader : dataElementReaders) {
-				dataModelReader.processEvent(eventReader, event);
-			}
+			processEvent(event);
 			return event;
 		}
 		else {
@@ -230,6 +309,75 @@ public class AlignmentDataReader {
 	}
 	
 	
+	/**
+	 * Processes all events from the underlying <i>JPhyloIO</i> event stream like {@link #readAll()}, but parses
+	 * the events on a separate thread. Parsing the input and creating tokens and filling the models (or data models) 
+	 * can therefore be performed concurrently. Up to {@code capacity} events are buffered between both threads.
+	 * <p>
+	 * Alignment model and data element readers are still called from the thread calling this method in the order
+	 * of the events in the stream. Since the parser thread is usually ahead of the processing, these readers must 
+	 * not use the event reader passed to them to access the stream themselves. (None of the readers provided by 
+	 * <i>LibrAlign</i> does that.)
+	 * 
+	 * @param capacity the maximum number of parsed events to be buffered
+	 * @throws Exception if an exception was thrown by {@link JPhyloIOEventReader#next()} on the parser thread or
+	 *         by one of the readers while processing an event (Errors thrown on the parser thread are rethrown as
+	 *         well.)
+	 * @throws IllegalArgumentException if {@code capacity} is below 1
+	 * @since 0.10.0
+	 */
+	public void readAllPipelined(int capacity) throws Exception {
+		final BlockingQueue<Object> queue = new ArrayBlockingQueue<Object>(capacity);
+		Thread parserThread = new Thread(() -> {
+			try {
+				try {
+					while (eventReader.hasNextEvent()) {
+						queue.put(eventReader.next());
+					}
+					queue.put(END_OF_STREAM);
+				}
+				catch (InterruptedException e) {
+					throw e;
+				}
+				catch (Throwable e) {  // Errors must be passed as well, since the processing thread would otherwise wait forever.
+					queue.put(new ParserFailure(e));
+				}
+			}
+			catch (InterruptedException e) {}  // Processing was terminated before the end of the stream was reached.
+		}, "LibrAlign event parser");
+		parserThread.setDaemon(true);
+		parserThread.start();
+		
+		try {
+			Object element = queue.take();
+			while (element != END_OF_STREAM) {
+				if (element instanceof ParserFailure) {
+					((ParserFailure)element).rethrow();
+				}
+				processEvent((JPhyloIOEvent)element);
+				element = queue.take();
+			}
+		}
+		finally {
+			parserThread.interrupt();  // Stops the parser thread if processing was terminated by an exception.
+			queue.clear();  // Makes sure that a parser thread blocked in put() can terminate.
+		}
+	}
+	
+	
+	/**
+	 * Processes all events from the underlying <i>JPhyloIO</i> event stream by calling 
+	 * {@link #readAllPipelined(int)} with {@link #DEFAULT_PIPELINE_CAPACITY}.
+	 * 
+	 * @throws Exception if an exception was thrown by {@link JPhyloIOEventReader#next()} on the parser thread or
+	 *         by one of the readers while processing an event
+	 * @since 0.10.0
+	 */
+	public void readAllPipelined() throws Exception {
+		readAllPipelined(DEFAULT_PIPELINE_CAPACITY);
+	}
+	
+	
 //	public void readUntilAlignmentEnd() throws Exception {
 //		JPhyloIOEvent event;
 //		do {
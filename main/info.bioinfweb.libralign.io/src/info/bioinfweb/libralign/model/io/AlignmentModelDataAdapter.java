@@ -20,8 +20,12 @@ package info.bioinfweb.libralign.model.io;
 
 
 import java.io.IOException;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.RandomAccess;
 
 import org.semanticweb.owlapi.io.XMLUtils;
 
@@ -38,6 +42,7 @@ import info.bioinfweb.jphyloio.events.SequenceTokensEvent;
 import info.bioinfweb.jphyloio.events.TokenSetDefinitionEvent;
 import info.bioinfweb.jphyloio.events.type.EventContentType;
 import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.SequenceCursor;
 import info.bioinfweb.libralign.model.concatenated.ConcatenatedAlignmentModel;
 
 
@@ -56,6 +61,10 @@ import info.bioinfweb.libralign.model.concatenated.ConcatenatedAlignmentModel;
  * shall be written the methods {@link #writeMetadata(JPhyloIOEventReceiver)} or 
  * {@link #writeSequenceMetadata(JPhyloIOEventReceiver, String)} should be overwritten accordingly. If character 
  * definitions or sets shall be written, the according methods need to be overwritten as well.
+ * <p>
+ * If all tokens of the model are represented by single characters, the tokens of a sequence are encoded into 
+ * {@code char} arrays, which are passed to the writer as {@link SequenceTokensEvent}s backed by these arrays. In this
+ * case no {@link String} object is created for each written token.
  * 
  * @author Ben St&ouml;ver
  *
@@ -65,6 +74,47 @@ public class AlignmentModelDataAdapter<T> extends NoCharDefsNoSetsMatrixDataAdap
 	//TODO Can this class be simplified, now that String IDs are also used in LibrAlign? (It can probably remain unchanged, since an ID prefix is still necessary, if multiple alignments are combined in a single file.)
 	
 	private static final int MAX_TOKENS_PER_EVENT = 64;
+	private static final int MAX_CHARACTER_TOKENS_PER_EVENT = 1024;
+	private static final int NO_SINGLE_CHARACTER = -1;
+	private static final String[] SINGLE_CHARACTER_STRINGS = new String[256];
+	static {
+		for (char c = 0; c < SINGLE_CHARACTER_STRINGS.length; c++) {
+			SINGLE_CHARACTER_STRINGS[c] = Character.toString(c);
+		}
+	}
+	
+	
+	/**
+	 * A read-only list of single character token representations backed by a {@code char} array. The strings
+	 * of the most common characters are shared between all instances.
+	 */
+	private static class CharacterTokenList extends AbstractList<String> implements RandomAccess {
+		private char[] characters;
+		
+		
+		public CharacterTokenList(char[] characters) {
+			super();
+			this.characters = characters;
+		}
+
+
+		@Override
+		public String get(int index) {
+			char c = characters[index];
+			if (c < SINGLE_CHARACTER_STRINGS.length) {
+				return SINGLE_CHARACTER_STRINGS[c];
+			}
+			else {
+				return Character.toString(c);
+			}
+		}
+
+
+		@Override
+		public int size() {
+			return characters.length;
+		}
+	}
 	
 	
 	private String idPrefix;
@@ -72,6 +122,9 @@ public class AlignmentModelDataAdapter<T> extends NoCharDefsNoSetsMatrixDataAdap
 	private AlignmentModel<T> model;
 	private boolean linkOTUs;
 	private TokenSetAdapter<T> tokenSetAdapter;
+	private long columnCount;
+	private long columnCountModificationCount = -1;
+	private Map<T, Integer> characterByToken = new HashMap<T, Integer>();
 	
 
 	/**
@@ -139,15 +192,7 @@ public class AlignmentModelDataAdapter<T> extends NoCharDefsNoSetsMatrixDataAdap
 	}
 
 
-	/**
-	 * Returns the number of columns in the underlying {@link AlignmentModel} instance if all sequences have an equal length.
-	 * If at least two of these sequences differ in their length, -1 is returned. 
-	 * 
-	 * @return the column count or -1
-	 * @see info.bioinfweb.jphyloio.dataadapters.MatrixDataAdapter#getColumnCount(info.bioinfweb.jphyloio.ReadWriteParameterMap)
-	 */
-	@Override
-	public long getColumnCount(ReadWriteParameterMap parameters) {
+	private long calculateColumnCount() {
 		Iterator<String> iterator = model.sequenceIDIterator();
 		if (iterator.hasNext()) {
 			long lastLength = model.getSequenceLength(iterator.next());
@@ -160,6 +205,27 @@ public class AlignmentModelDataAdapter<T> extends NoCharDefsNoSetsMatrixDataAdap
 		}
 		return -1;
 	}
+	
+	
+	/**
+	 * Returns the number of columns in the underlying {@link AlignmentModel} instance if all sequences have an equal length.
+	 * If at least two of these sequences differ in their length, -1 is returned.
+	 * <p>
+	 * The result is cached until {@link AlignmentModel#getModificationCount()} changes. (Models that do not count their
+	 * modifications are scanned again with each call.)
+	 * 
+	 * @return the column count or -1
+	 * @see info.bioinfweb.jphyloio.dataadapters.MatrixDataAdapter#getColumnCount(info.bioinfweb.jphyloio.ReadWriteParameterMap)
+	 */
+	@Override
+	public long getColumnCount(ReadWriteParameterMap parameters) {
+		long modificationCount = model.getModificationCount();
+		if ((modificationCount == -1) || (modificationCount != columnCountModificationCount)) {
+			columnCount = calculateColumnCount();
+			columnCountModificationCount = modificationCount;
+		}
+		return columnCount;
+	}
 
 
 	@Override
@@ -301,6 +367,48 @@ public class AlignmentModelDataAdapter<T> extends NoCharDefsNoSetsMatrixDataAdap
 			throws IOException,	IllegalArgumentException {}  //TODO Automatically write content of linked data models here (if there are such in future versions of AlignmentModel)?
 
 
+	private int characterByToken(T token) {
+		Integer result = characterByToken.get(token);
+		if (result == null) {
+			String representation = model.getTokenSet().representationByToken(token);
+			if ((representation != null) && (representation.length() == 1)) {
+				result = (int)representation.charAt(0);
+			}
+			else {
+				result = NO_SINGLE_CHARACTER;
+			}
+			characterByToken.put(token, result);
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Encodes the specified tokens into an array of their single character representations.
+	 * 
+	 * @param tokens the tokens to be encoded
+	 * @param count the number of tokens from the beginning of {@code tokens} to be encoded
+	 * @return the new character array or {@code null} if at least one of the tokens is not represented by a single 
+	 *         character
+	 */
+	private char[] encodeSingleCharacterTokens(T[] tokens, int count) {
+		char[] result = new char[count];
+		T lastToken = null;
+		int lastCharacter = NO_SINGLE_CHARACTER;
+		for (int i = 0; i < count; i++) {
+			if ((lastToken == null) || !lastToken.equals(tokens[i])) {  // Avoids map lookups for runs of equal tokens (e.g. gaps).
+				lastToken = tokens[i];
+				lastCharacter = characterByToken(lastToken);
+				if (lastCharacter == NO_SINGLE_CHARACTER) {
+					return null;
+				}
+			}
+			result[i] = (char)lastCharacter;
+		}
+		return result;
+	}
+	
+	
 	@Override
 	public void writeSequencePartContentData(ReadWriteParameterMap parameters, JPhyloIOEventReceiver receiver, String sequenceID, 
 			long startColumn, long endColumn) throws IOException, IllegalArgumentException {
@@ -312,16 +420,31 @@ public class AlignmentModelDataAdapter<T> extends NoCharDefsNoSetsMatrixDataAdap
 				writeSequenceMetadata(receiver, sequenceID);
 			}
 			
-			ArrayList<String> tokens = new ArrayList<String>(MAX_TOKENS_PER_EVENT);
-			for (int column = (int)startColumn; column < (int)endColumn; column++) {
-				if (tokens.size() >= MAX_TOKENS_PER_EVENT) {
-					receiver.add(new SequenceTokensEvent(tokens));
-					tokens = new ArrayList<String>(MAX_TOKENS_PER_EVENT);
+			if (startColumn < endColumn) {  // Nothing to write for an empty range.
+				SequenceCursor<T> cursor = model.getSequenceCursor(modelSequenceID);
+				boolean singleCharacterTokens = !containsLongTokens(parameters);
+				@SuppressWarnings("unchecked")
+				T[] buffer = (T[])new Object[(int)Math.min(singleCharacterTokens ? MAX_CHARACTER_TOKENS_PER_EVENT : MAX_TOKENS_PER_EVENT, 
+						endColumn - startColumn)];
+				for (int column = (int)startColumn; column < (int)endColumn; column += buffer.length) {  // Tokens are read in blocks of the event size.
+					int count = Math.min(buffer.length, (int)endColumn - column);
+					cursor.getTokens(column, column + count, buffer, 0);
+					
+					char[] characters = null;
+					if (singleCharacterTokens) {
+						characters = encodeSingleCharacterTokens(buffer, count);
+					}
+					if (characters != null) {
+						receiver.add(new SequenceTokensEvent(new CharacterTokenList(characters)));
+					}
+					else {
+						ArrayList<String> tokens = new ArrayList<String>(count);
+						for (int i = 0; i < count; i++) {
+							tokens.add(model.getTokenSet().representationByToken(buffer[i]));
+						}
+						receiver.add(new SequenceTokensEvent(tokens));
+					}
 				}
-				tokens.add(model.getTokenSet().representationByToken(model.getTokenAt(modelSequenceID, column)));
-			}
-			if (!tokens.isEmpty()) {
-				receiver.add(new SequenceTokensEvent(tokens));
 			}
 		}
 		else {
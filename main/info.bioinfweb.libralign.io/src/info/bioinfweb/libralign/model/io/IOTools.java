@@ -33,7 +33,12 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 
 
@@ -56,21 +61,98 @@ public class IOTools {
 	 * Reads a set of alignments from a file into a list of alignment model instances.
 	 * <p>
 	 * This is a convenience method that uses {@link AlignmentDataReader} and {@link BioPolymerCharAlignmentModelFactory} internally.
+	 * The file is parsed on a separate thread while the models are filled (see {@link AlignmentDataReader#readAllPipelined()}).
 	 * 
 	 * @param file the file to read the alignment(s) from
 	 * @param parameters the writer parameters for the <i>JPhyloIO</i> writer that is used internally
 	 * @return a list if read alignments (May have the length 0, if no alignment was present in the specified file.)
-	 * @throws Exception if an exception occurs while reading the file (See  {@link AlignmentDataReader#readAll()} 
+	 * @throws Exception if an exception occurs while reading the file (See  {@link AlignmentDataReader#readAllPipelined()} 
 	 *         and the documentation of its constructor for details on exceptions that could occur.)
 	 */
 	public static List<AlignmentModel<?>> readAlignments(File file, ReadWriteParameterMap parameters) throws Exception {
 		AlignmentDataReader mainReader = new AlignmentDataReader(FACTORY.guessReader(file, parameters), 
 				new BioPolymerCharAlignmentModelFactory());
-		mainReader.readAll();
+		mainReader.readAllPipelined();
 		return mainReader.getAlignmentModelReader().getCompletedModels();
 	}
 	
 	
+	/**
+	 * Reads the alignments from a set of files concurrently. Each file is read by a separate instance of
+	 * {@link AlignmentDataReader} on one of up to {@link Runtime#availableProcessors()} worker threads.
+	 * <p>
+	 * This is a convenience method that uses {@link AlignmentDataReader} and {@link BioPolymerCharAlignmentModelFactory} 
+	 * internally. Each reader obtains its own shallow copy of {@code parameters}. Objects stored as parameter values 
+	 * (e.g. a logger) are therefore shared between all readers and must be thread-safe.
+	 * 
+	 * @param files the files to read the alignments from
+	 * @param parameters the reader parameters for the <i>JPhyloIO</i> readers that are used internally
+	 * @return a list of the read alignments of all files, sorted by the order of {@code files} and the order of 
+	 *         the alignments in each file
+	 * @throws Exception the first exception (in the order of {@code files}) that was thrown while reading one of 
+	 *         the files
+	 * @since 0.10.0
+	 */
+	public static List<AlignmentModel<?>> readAlignments(List<File> files, final ReadWriteParameterMap parameters) throws Exception {
+		List<AlignmentModel<?>> result = new ArrayList<AlignmentModel<?>>();
+		if (!files.isEmpty()) {
+			ExecutorService executor = Executors.newFixedThreadPool(Math.min(Runtime.getRuntime().availableProcessors(), files.size()), 
+					runnable -> {
+						Thread thread = new Thread(runnable, "LibrAlign alignment reader");
+						thread.setDaemon(true);
+						return thread;
+					});
+			try {
+				List<Future<List<AlignmentModel<?>>>> futures = new ArrayList<Future<List<AlignmentModel<?>>>>(files.size());
+				for (final File file : files) {
+					futures.add(executor.submit(() -> {
+						ReadWriteParameterMap fileParameters = new ReadWriteParameterMap();
+						fileParameters.putAll(parameters);
+						AlignmentDataReader mainReader = new AlignmentDataReader(FACTORY.guessReader(file, fileParameters), 
+								new BioPolymerCharAlignmentModelFactory());
+						mainReader.readAll();
+						return mainReader.getAlignmentModelReader().getCompletedModels();
+					}));
+				}
+				
+				for (Future<List<AlignmentModel<?>>> future : futures) {
+					try {
+						result.addAll(future.get());
+					}
+					catch (ExecutionException e) {
+						if (e.getCause() instanceof Exception) {
+							throw (Exception)e.getCause();
+						}
+						else {
+							throw e;
+						}
+					}
+				}
+			}
+			finally {
+				executor.shutdownNow();
+			}
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Reads the alignments from a set of files concurrently by calling {@link #readAlignments(List, ReadWriteParameterMap)}
+	 * with an empty parameter map.
+	 * 
+	 * @param files the files to read the alignments from
+	 * @return a list of the read alignments of all files, sorted by the order of {@code files} and the order of 
+	 *         the alignments in each file
+	 * @throws Exception the first exception (in the order of {@code files}) that was thrown while reading one of 
+	 *         the files
+	 * @since 0.10.0
+	 */
+	public static List<AlignmentModel<?>> readAlignments(List<File> files) throws Exception {
+		return readAlignments(files, new ReadWriteParameterMap());
+	}
+	
+	
 	/**
 	 * Reads a set of alignments from a file into a list of alignment model instances.
 	 * <p>
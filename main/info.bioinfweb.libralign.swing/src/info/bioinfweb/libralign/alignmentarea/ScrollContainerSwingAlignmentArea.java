@@ -55,11 +55,27 @@ public class ScrollContainerSwingAlignmentArea extends JScrollPane implements To
 
 
 	private AlignmentArea independentComponent;
+	private boolean useSubcomponents;
 	
 	
 	public ScrollContainerSwingAlignmentArea(AlignmentArea independentComponent) {
+		this(independentComponent, true);
+	}
+	
+	
+	/**
+	 * Creates a new instance of this class.
+	 * 
+	 * @param independentComponent the alignment area to be displayed
+	 * @param useSubcomponents Specify {@code true} here, if the content area shall contain a subcomponent for
+	 *        each sequence and data area or {@code false} if it shall paint all its contents directly into a 
+	 *        single buffered component that only renders the newly exposed areas while scrolling.
+	 * @since 0.10.0
+	 */
+	public ScrollContainerSwingAlignmentArea(AlignmentArea independentComponent, Boolean useSubcomponents) {
 		super();
 		this.independentComponent = independentComponent;
+		this.useSubcomponents = useSubcomponents;
 		init();
 		SwingComponentTools.registerScrollEventForwarders(this);
 		
@@ -106,7 +122,8 @@ public class ScrollContainerSwingAlignmentArea extends JScrollPane implements To
 		setBorder(null);
 		removeArrowKeyBindings();
 		
-		setViewportView(SwingComponentFactory.getInstance().getSwingComponent(getIndependentComponent().getContentArea()));
+		setViewportView(SwingComponentFactory.getInstance().getSwingComponent(getIndependentComponent().getContentArea(),
+				Boolean.valueOf(useSubcomponents)));
 		setRowHeaderView(SwingComponentFactory.getInstance().getSwingComponent(getIndependentComponent().getLabelArea()));  // Swing component of content area must already exist when this is called.
 	}
 
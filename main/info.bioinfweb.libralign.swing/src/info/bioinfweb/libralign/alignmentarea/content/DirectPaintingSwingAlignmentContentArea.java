@@ -0,0 +1,256 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.alignmentarea.content;
+
+
+import info.bioinfweb.libralign.alignmentarea.rowsarea.SwingAlignmentRowsArea;
+import info.bioinfweb.tic.TICPaintEvent;
+import info.bioinfweb.tic.toolkit.SwingComponentTools;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.Scrollable;
+
+
+
+/**
+ * A <i>Swing</i> component displaying the contents of an {@link AlignmentContentArea} without creating 
+ * subcomponents for each sequence and data area. All contents are painted directly into a single component.
+ * <p>
+ * The visible part of the content area is rendered into a back buffer. If the visible rectangle is moved by
+ * scrolling, the buffer contents are shifted using {@link Graphics#copyArea(int, int, int, int, int, int)} and 
+ * only the newly exposed strips are rendered, instead of repainting the whole visible rectangle on each scroll
+ * step. Areas of the content area that are repainted due to model or selection changes are invalidated in the
+ * buffer using {@link #repaint(long, int, int, int, int)}.
+ * <p>
+ * Instances of this class are created by {@link AlignmentContentArea} if {@code false} was specified as the
+ * subcomponents parameter of the <i>TIC</i> component factory.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ * @bioinfweb.module info.bioinfweb.libralign.swing
+ */
+public class DirectPaintingSwingAlignmentContentArea extends SwingAlignmentRowsArea<AlignmentSubArea> 
+		implements Scrollable, ToolkitSpecificAlignmentContentArea {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/** The number of separate invalid regions above which all regions are combined to their bounding rectangle. */
+	private static final int MAX_INVALID_REGIONS = 16;
+	
+	
+	private BufferedImage backBuffer = null;
+	private Rectangle backBufferArea = null;  // The part of this component currently contained in the back buffer or null if the whole buffer is invalid.
+	private List<Rectangle> invalidRegions;
+	
+	
+	public DirectPaintingSwingAlignmentContentArea(AlignmentContentArea independentComponent) {
+		super(independentComponent);
+		invalidRegions = new ArrayList<Rectangle>();  // Not initialized in the declaration, since repaint() is already called by the super constructor.
+		setFocusable(true);
+		setOpaque(true);
+		
+		// Ensure that all key and mouse events will be forwarded to respective AlignmentSubAreas:
+		InputEventForwarder forwarder = new InputEventForwarder(independentComponent); 
+		independentComponent.addKeyListener(forwarder);
+		independentComponent.addMouseListener(forwarder);
+		independentComponent.addMouseWheelListener(forwarder);
+	}
+	
+	
+	@Override
+	public AlignmentContentArea getIndependentComponent() {
+		return (AlignmentContentArea)super.getIndependentComponent();
+	}
+	
+
+	@Override
+	public boolean hasSubcomponents() {
+		return false;
+	}
+
+
+	@Override
+	public void reinsertSubelements() {
+		invalidateBackBuffer();  // No subcomponents need to be inserted, but the positions of the areas may have changed.
+		repaint();
+	}
+
+
+	@Override
+	public void repaintSequences() {
+		repaint();
+	}
+	
+	
+	@Override
+	public void assignSize() {
+		invalidateBackBuffer();
+		SwingComponentTools.assignSize(this);
+	}
+
+
+	/**
+	 * Marks the whole back buffer as invalid, so that the whole visible area will be rendered again with the 
+	 * next paint operation.
+	 */
+	public void invalidateBackBuffer() {
+		backBufferArea = null;
+	}
+	
+	
+	private void addInvalidRegion(Rectangle region) {
+		if (invalidRegions.size() >= MAX_INVALID_REGIONS) {
+			Rectangle union = new Rectangle(region);
+			for (Rectangle invalidRegion : invalidRegions) {
+				union.add(invalidRegion);
+			}
+			invalidRegions.clear();
+			invalidRegions.add(union);
+		}
+		else {
+			invalidRegions.add(region);
+		}
+	}
+	
+	
+	/**
+	 * Marks the specified rectangle as invalid in the back buffer and then delegates to the inherited method.
+	 */
+	@Override
+	public void repaint(long tm, int x, int y, int width, int height) {
+		if ((invalidRegions != null) && (width > 0) && (height > 0)) {
+			addInvalidRegion(new Rectangle(x, y, width, height));
+		}
+		super.repaint(tm, x, y, width, height);
+	}
+	
+	
+	private void createBackBuffer(int width, int height) {
+		GraphicsConfiguration configuration = getGraphicsConfiguration();
+		if (configuration != null) {
+			backBuffer = configuration.createCompatibleImage(width, height);
+		}
+		else {
+			backBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		}
+		backBufferArea = null;
+	}
+	
+	
+	/**
+	 * Renders the specified area of this component into the back buffer.
+	 * 
+	 * @param bufferGraphics the graphics context of the back buffer
+	 * @param area the area in the coordinates of this component to be rendered 
+	 * @param visibleRect the visible rectangle of this component that is represented by the back buffer
+	 */
+	private void renderArea(Graphics2D bufferGraphics, Rectangle area, Rectangle visibleRect) {
+		area = area.intersection(visibleRect);
+		if (!area.isEmpty()) {
+			Graphics2D g = (Graphics2D)bufferGraphics.create();
+			try {
+				g.translate(-visibleRect.x, -visibleRect.y);
+				g.clip(area);
+				g.setColor(getBackground());  // Otherwise antialiased edges would be blended with the previous buffer contents.
+				g.fill(area);
+				getIndependentComponent().paint(new TICPaintEvent(this, g, area));
+			}
+			finally {
+				g.dispose();
+			}
+		}
+	}
+	
+	
+	/**
+	 * Moves the contents of the back buffer according to the difference between the previously buffered and the 
+	 * current visible rectangle and marks the newly exposed strips as invalid.
+	 * 
+	 * @param bufferGraphics the graphics context of the back buffer
+	 * @param visibleRect the current visible rectangle of this component
+	 */
+	private void shiftBackBuffer(Graphics2D bufferGraphics, Rectangle visibleRect) {
+		int dx = backBufferArea.x - visibleRect.x;
+		int dy = backBufferArea.y - visibleRect.y;
+		if ((Math.abs(dx) >= visibleRect.width) || (Math.abs(dy) >= visibleRect.height)) {
+			backBufferArea = null;  // No buffered content remains visible.
+		}
+		else {
+			bufferGraphics.copyArea(0, 0, visibleRect.width, visibleRect.height, dx, dy);
+			if (dx > 0) {
+				addInvalidRegion(new Rectangle(visibleRect.x, visibleRect.y, dx, visibleRect.height));
+			}
+			else if (dx < 0) {
+				addInvalidRegion(new Rectangle(visibleRect.x + visibleRect.width + dx, visibleRect.y, -dx, visibleRect.height));
+			}
+			if (dy > 0) {
+				addInvalidRegion(new Rectangle(visibleRect.x, visibleRect.y, visibleRect.width, dy));
+			}
+			else if (dy < 0) {
+				addInvalidRegion(new Rectangle(visibleRect.x, visibleRect.y + visibleRect.height + dy, visibleRect.width, -dy));
+			}
+		}
+	}
+	
+	
+	/**
+	 * Updates the invalid parts of the back buffer and then copies the buffer to the specified graphics context.
+	 */
+	@Override
+	protected void paintComponent(Graphics g) {
+		Rectangle visibleRect = getVisibleRect();
+		if (!visibleRect.isEmpty()) {
+			if ((backBuffer == null) || (backBuffer.getWidth() != visibleRect.width) || 
+					(backBuffer.getHeight() != visibleRect.height)) {
+				
+				createBackBuffer(visibleRect.width, visibleRect.height);
+			}
+			
+			Graphics2D bufferGraphics = backBuffer.createGraphics();
+			try {
+				if ((backBufferArea != null) && !backBufferArea.getLocation().equals(visibleRect.getLocation())) {
+					shiftBackBuffer(bufferGraphics, visibleRect);
+				}
+				
+				if (backBufferArea == null) {
+					renderArea(bufferGraphics, visibleRect, visibleRect);
+				}
+				else {
+					for (Rectangle invalidRegion : invalidRegions) {
+						renderArea(bufferGraphics, invalidRegion, visibleRect);
+					}
+				}
+				invalidRegions.clear();
+				backBufferArea = visibleRect;
+			}
+			finally {
+				bufferGraphics.dispose();
+			}
+			
+			g.drawImage(backBuffer, visibleRect.x, visibleRect.y, null);
+		}
+	}
+}
@@ -19,6 +19,7 @@
 package info.bioinfweb.libralign.alignmentarea.rowsarea;
 
 
+import info.bioinfweb.libralign.alignmentarea.content.DirectPaintingSwingAlignmentContentArea;
 import info.bioinfweb.libralign.alignmentarea.content.ScrollContainerSwingAlignmentContentArea;
 import info.bioinfweb.libralign.alignmentarea.label.ScrollContainerSwingAlignmentLabelArea;
 import info.bioinfweb.tic.TICComponent;
@@ -33,7 +34,8 @@ import javax.swing.Scrollable;
 
 
 /**
- * Abstract base class for {@link ScrollContainerSwingAlignmentContentArea} and {@link ScrollContainerSwingAlignmentLabelArea}.
+ * Abstract base class for {@link ScrollContainerSwingAlignmentContentArea}, {@link ScrollContainerSwingAlignmentLabelArea}
+ * and {@link DirectPaintingSwingAlignmentContentArea}.
  * 
  * @author Ben St&ouml;ver
  * @since 0.3.0
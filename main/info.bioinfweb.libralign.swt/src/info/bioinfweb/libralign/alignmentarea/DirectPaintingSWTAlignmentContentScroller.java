@@ -22,9 +22,23 @@ package info.bioinfweb.libralign.alignmentarea;
 import info.bioinfweb.libralign.alignmentarea.content.AlignmentContentArea;
 import info.bioinfweb.libralign.alignmentarea.content.InputEventForwarder;
 import info.bioinfweb.libralign.alignmentarea.content.ToolkitSpecificAlignmentContentArea;
+import info.bioinfweb.tic.TICPaintEvent;
 import info.bioinfweb.tic.toolkit.DirectPaintingSWTScrollContainer;
 
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
+import org.eclipse.swt.events.PaintEvent;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Composite;
 
 
@@ -32,6 +46,11 @@ import org.eclipse.swt.widgets.Composite;
 /**
  * Extends {@link DirectPaintingSWTScrollContainer} from <i>TIC</i> with some <i>LibrAlign</i> specific
  * functionality to allow direct scrolling of an {@link AlignmentContentArea}.
+ * <p>
+ * The visible part of the content area is kept in a back buffer. If the scroll offset changes, the buffer
+ * contents are shifted using {@link GC#copyArea(int, int, int, int, int, int)} and only the newly exposed
+ * strips are rendered, instead of rendering the whole visible rectangle on each scroll step. All other calls 
+ * of {@link #redraw()} (e.g. caused by model or selection changes) invalidate the whole buffer.
  * 
  * @author Ben St&ouml;ver
  * @since 0.5.0
@@ -41,6 +60,13 @@ import org.eclipse.swt.widgets.Composite;
 public class DirectPaintingSWTAlignmentContentScroller extends DirectPaintingSWTScrollContainer 
 		implements ToolkitSpecificAlignmentContentArea {
 	
+	private Image backBuffer = null;
+	private boolean backBufferValid = false;
+	private int backBufferScrollX = 0;
+	private int backBufferScrollY = 0;
+	private boolean keepBackBufferOnRedraw = false;
+	
+	
 	public DirectPaintingSWTAlignmentContentScroller(AlignmentArea ticComponent, Composite parent, int style) {
 		super(ticComponent, parent, style | SWT.NO_BACKGROUND |	SWT.NO_REDRAW_RESIZE, ticComponent.getContentArea());
 		
@@ -54,6 +80,13 @@ public class DirectPaintingSWTAlignmentContentScroller extends DirectPaintingSWT
 		getVerticalBar().setPageIncrement(50);
 		getHorizontalBar().setIncrement(10);
 		getHorizontalBar().setPageIncrement(50);
+		
+		addDisposeListener(new DisposeListener() {
+			@Override
+			public void widgetDisposed(DisposeEvent e) {
+				disposeBackBuffer();
+			}
+		});
 	}
 	
 	
@@ -77,4 +110,149 @@ public class DirectPaintingSWTAlignmentContentScroller extends DirectPaintingSWT
 	public void repaintSequences() {
 		repaint();
 	}
+	
+	
+	private void disposeBackBuffer() {
+		if (backBuffer != null) {
+			backBuffer.dispose();
+			backBuffer = null;
+		}
+		backBufferValid = false;
+	}
+	
+	
+	/**
+	 * Invalidates the back buffer, unless the redraw was caused by {@link #setScrollOffset(int, int)}, and
+	 * then delegates to the inherited method.
+	 */
+	@Override
+	public void redraw() {
+		if (!keepBackBufferOnRedraw) {
+			backBufferValid = false;
+		}
+		super.redraw();
+	}
+
+
+	@Override
+	public void redraw(int x, int y, int width, int height, boolean all) {
+		backBufferValid = false;
+		super.redraw(x, y, width, height, all);
+	}
+
+
+	@Override
+	public void setScrollOffset(int x, int y) {
+		keepBackBufferOnRedraw = true;  // The buffer contents will be shifted by the next paint operation.
+		try {
+			super.setScrollOffset(x, y);
+		}
+		finally {
+			keepBackBufferOnRedraw = false;
+		}
+	}
+
+
+	/**
+	 * Renders the specified area of the client area into the back buffer.
+	 * 
+	 * @param bufferGC the graphics context of the back buffer
+	 * @param x the left coordinate of the area in the client area
+	 * @param y the top coordinate of the area in the client area
+	 * @param width the width of the area
+	 * @param height the height of the area
+	 */
+	private void renderArea(GC bufferGC, int x, int y, int width, int height) {
+		if ((width > 0) && (height > 0)) {
+			int contentX = x - getScrollOffsetX();
+			int contentY = y - getScrollOffsetY();
+			BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+			Graphics2D g = image.createGraphics();
+			try {
+				g.translate(-contentX, -contentY);
+				getOutputComponent().paint(new TICPaintEvent(this, g, new Rectangle2D.Double(contentX, contentY, width, height)));
+			}
+			finally {
+				g.dispose();
+			}
+			
+			ImageData data = new ImageData(width, height, 24, new PaletteData(0xFF, 0xFF00, 0xFF0000), 3 * width, 
+					((DataBufferByte)image.getRaster().getDataBuffer()).getData());
+			Image part = new Image(getDisplay(), data);
+			try {
+				bufferGC.drawImage(part, x, y);
+			}
+			finally {
+				part.dispose();
+			}
+		}
+	}
+	
+	
+	/**
+	 * Moves the contents of the back buffer according to the difference between the buffered and the current
+	 * scroll offset and renders the newly exposed strips. If no buffered contents remain visible, the whole
+	 * buffer is rendered again.
+	 * 
+	 * @param bufferGC the graphics context of the back buffer
+	 * @param width the width of the back buffer
+	 * @param height the height of the back buffer
+	 */
+	private void shiftBackBuffer(GC bufferGC, int width, int height) {
+		int dx = getScrollOffsetX() - backBufferScrollX;
+		int dy = getScrollOffsetY() - backBufferScrollY;
+		if ((Math.abs(dx) >= width) || (Math.abs(dy) >= height)) {
+			renderArea(bufferGC, 0, 0, width, height);
+		}
+		else {
+			bufferGC.copyArea(0, 0, width, height, dx, dy);
+			if (dx > 0) {
+				renderArea(bufferGC, 0, 0, dx, height);
+			}
+			else if (dx < 0) {
+				renderArea(bufferGC, width + dx, 0, -dx, height);
+			}
+			if (dy > 0) {
+				renderArea(bufferGC, 0, 0, width, dy);
+			}
+			else if (dy < 0) {
+				renderArea(bufferGC, 0, height + dy, width, -dy);
+			}
+		}
+	}
+	
+	
+	/**
+	 * Updates the back buffer if necessary and then copies the requested area from the buffer to the screen.
+	 */
+	@Override
+	public void paintControl(PaintEvent e) {
+		Rectangle clientArea = getClientArea();
+		if ((clientArea.width > 0) && (clientArea.height > 0)) {
+			if ((backBuffer == null) || (backBuffer.getBounds().width != clientArea.width) || 
+					(backBuffer.getBounds().height != clientArea.height)) {
+				
+				disposeBackBuffer();
+				backBuffer = new Image(getDisplay(), clientArea.width, clientArea.height);
+			}
+			
+			GC bufferGC = new GC(backBuffer);
+			try {
+				if (!backBufferValid) {
+					renderArea(bufferGC, 0, 0, clientArea.width, clientArea.height);
+				}
+				else if ((backBufferScrollX != getScrollOffsetX()) || (backBufferScrollY != getScrollOffsetY())) {
+					shiftBackBuffer(bufferGC, clientArea.width, clientArea.height);
+				}
+				backBufferValid = true;
+				backBufferScrollX = getScrollOffsetX();
+				backBufferScrollY = getScrollOffsetY();
+			}
+			finally {
+				bufferGC.dispose();
+			}
+			
+			e.gc.drawImage(backBuffer, e.x, e.y, e.width, e.height, e.x, e.y, e.width, e.height);
+		}
+	}
 }
@@ -0,0 +1,303 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.alignmentarea.content;
+
+
+import static org.junit.Assert.* ;
+
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import info.bioinfweb.libralign.alignmentarea.AlignmentArea;
+import info.bioinfweb.libralign.dataarea.DataArea;
+import info.bioinfweb.libralign.dataelement.DataListType;
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.implementations.PackedAlignmentModel;
+import info.bioinfweb.libralign.model.tokenset.CharacterTokenSet;
+import info.bioinfweb.libralign.model.utils.AlignmentModelUtils;
+
+import org.junit.* ;
+
+
+
+/**
+ * Contains test cases for {@link SubAreaHeightIndex}. The results of the index (as used by {@link AlignmentContentArea})
+ * are compared to a linear scan over all subareas.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class SubAreaHeightIndexTest {
+	private static class TestDataArea extends DataArea {
+		private double height;
+		
+		
+		public TestDataArea(AlignmentArea owner, double height) {
+			super(owner);
+			this.height = height;
+		}
+
+
+		public void setHeight(double height) {
+			this.height = height;
+		}
+
+
+		@Override
+		public double getHeight() {
+			return height;
+		}
+
+
+		@Override
+		public Set<DataListType> validLocations() {
+			return EnumSet.allOf(DataListType.class);
+		}
+	}
+	
+	
+	private AlignmentModel<Character> model;
+	private AlignmentArea area;
+	private List<String> ids;
+	
+	
+	@Before
+	public void setUp() {
+		model = new PackedAlignmentModel<Character>(CharacterTokenSet.newDNAInstance(false));
+		area = new AlignmentArea();
+		ids = new ArrayList<String>();
+		for (int i = 0; i < 4; i++) {
+			addSequence();
+		}
+		area.setAlignmentModel(model);
+	}
+	
+	
+	private String addSequence() {
+		String id = model.addSequence("Sequence " + ids.size());
+		model.appendTokens(id, AlignmentModelUtils.charSequenceToTokenList("ATCG-TAG", model.getTokenSet()), true);
+		ids.add(id);
+		return id;
+	}
+	
+	
+	private static List<AlignmentSubArea> visibleAreas(AlignmentContentArea contentArea) {
+		List<AlignmentSubArea> result = new ArrayList<AlignmentSubArea>();
+		Iterator<AlignmentSubArea> iterator = contentArea.subAreaIterator();
+		while (iterator.hasNext()) {
+			AlignmentSubArea subArea = iterator.next();
+			if (!(subArea instanceof DataArea) || ((DataArea)subArea).isVisible()) {
+				result.add(subArea);
+			}
+		}
+		return result;
+	}
+	
+	
+	private static int linearPosition(double[] tops, double y) {
+		if (y >= 0) {
+			for (int position = 0; position < tops.length - 1; position++) {
+				if (tops[position + 1] >= y) {
+					return position;
+				}
+			}
+		}
+		return -1;
+	}
+	
+	
+	private int linearRow(List<AlignmentSubArea> areas, int position, double y) {
+		int row = -1;
+		if (position != -1) {
+			for (int i = 0; i <= position; i++) {
+				if (areas.get(i) instanceof SequenceArea) {
+					row++;
+				}
+			}
+		}
+		if (row != -1) {
+			return row;
+		}
+		else if (y < 0) {
+			return 0;
+		}
+		else {
+			return Math.max(0, model.getSequenceCount() - 1);
+		}
+	}
+	
+	
+	private void assertIndex() {
+		AlignmentContentArea contentArea = area.getContentArea();
+		List<AlignmentSubArea> areas = visibleAreas(contentArea);
+		double[] tops = new double[areas.size() + 1];
+		for (int position = 0; position < areas.size(); position++) {
+			tops[position + 1] = tops[position] + areas.get(position).getHeight();
+		}
+		double totalHeight = tops[areas.size()];
+		
+		List<Double> yValues = new ArrayList<Double>();
+		yValues.add(-1.0);
+		yValues.add(-0.5);
+		for (int position = 0; position < areas.size(); position++) {
+			yValues.add(tops[position]);  // Exactly on the border to the previous area
+			yValues.add((tops[position] + tops[position + 1]) / 2);
+			yValues.add(Math.nextUp(tops[position]));
+		}
+		yValues.add(totalHeight);
+		yValues.add(Math.nextUp(totalHeight));
+		yValues.add(totalHeight + 0.5);
+		yValues.add(totalHeight + 100);
+		
+		for (double y : yValues) {
+			int expectedPosition = linearPosition(tops, y);
+			AlignmentSubAreaInfo info = contentArea.getAreaInfoByPaintY(y);
+			if (expectedPosition == -1) {
+				assertNull("y = " + y, info);
+			}
+			else {
+				assertNotNull("y = " + y, info);
+				assertSame("y = " + y, areas.get(expectedPosition), info.getArea());
+				assertEquals("y = " + y, tops[expectedPosition], info.getY(), 0.0);
+			}
+			assertEquals("y = " + y, linearRow(areas, expectedPosition, y), contentArea.rowByPaintY(y));
+		}
+		
+		for (int row = 0; row < model.getSequenceCount(); row++) {
+			SequenceArea sequenceArea = contentArea.getSequenceAreaByID(area.getSequenceOrder().idByIndex(row));
+			assertEquals(tops[areas.indexOf(sequenceArea)], contentArea.paintYByRow(row), 0.0);
+		}
+		if (model.getSequenceCount() > 0) {
+			assertEquals(contentArea.paintYByRow(0), contentArea.paintYByRow(-1), 0.0);
+			assertEquals(contentArea.paintYByRow(model.getSequenceCount() - 1), 
+					contentArea.paintYByRow(model.getSequenceCount()), 0.0);
+		}
+	}
+	
+	
+	@Test
+	public void test_noDataAreas() {
+		assertIndex();
+	}
+	
+	
+	@Test
+	public void test_dataAreas() {
+		area.getDataAreas().getTopList().add(new TestDataArea(area, 12.5));
+		area.getDataAreas().getTopList().add(new TestDataArea(area, 0));  // Areas without height must not be found.
+		area.getDataAreas().getSequenceList(ids.get(1)).add(new TestDataArea(area, 7));
+		area.getDataAreas().getSequenceList(ids.get(1)).add(new TestDataArea(area, 3.25));
+		area.getDataAreas().getSequenceList(ids.get(3)).add(new TestDataArea(area, 20));
+		area.getDataAreas().getBottomList().add(new TestDataArea(area, 5));
+		assertIndex();
+	}
+	
+	
+	@Test
+	public void test_heightChanges() {
+		TestDataArea topArea = new TestDataArea(area, 12.5);
+		area.getDataAreas().getTopList().add(topArea);
+		TestDataArea sequenceDataArea = new TestDataArea(area, 7);
+		area.getDataAreas().getSequenceList(ids.get(2)).add(sequenceDataArea);
+		TestDataArea bottomArea = new TestDataArea(area, 5);
+		area.getDataAreas().getBottomList().add(bottomArea);
+		assertIndex();
+		
+		sequenceDataArea.setHeight(30);
+		area.getContentArea().invalidateSubAreaHeight(sequenceDataArea);
+		assertIndex();
+		
+		topArea.setHeight(0);
+		area.getContentArea().invalidateSubAreaHeight(topArea);
+		assertIndex();
+		
+		topArea.setHeight(4.5);
+		bottomArea.setHeight(40);
+		area.getContentArea().invalidateSubAreaHeights();
+		assertIndex();
+		
+		area.getPaintSettings().setZoomY(1.5);  // Changes the heights of all sequence areas.
+		area.getContentArea().invalidateSubAreaHeights();
+		assertIndex();
+	}
+	
+	
+	@Test
+	public void test_randomHeightChanges() {
+		for (int i = 0; i < 20; i++) {
+			addSequence();
+		}
+		List<TestDataArea> dataAreas = new ArrayList<TestDataArea>();
+		for (String id : ids) {
+			TestDataArea dataArea = new TestDataArea(area, 1);
+			area.getDataAreas().getSequenceList(id).add(dataArea);
+			dataAreas.add(dataArea);
+		}
+		assertIndex();
+		
+		Random random = new Random(4);
+		for (int i = 0; i < 100; i++) {
+			TestDataArea dataArea = dataAreas.get(random.nextInt(dataAreas.size()));
+			dataArea.setHeight(random.nextInt(80) / 4.0);
+			area.getContentArea().invalidateSubAreaHeight(dataArea);
+			assertIndex();
+		}
+	}
+	
+	
+	@Test
+	public void test_insertionsAndRemovals() {
+		area.getDataAreas().getTopList().add(new TestDataArea(area, 12.5));
+		area.getDataAreas().getSequenceList(ids.get(0)).add(new TestDataArea(area, 7));
+		assertIndex();
+		
+		String id = addSequence();  // Sequence insertion
+		assertIndex();
+		area.getDataAreas().getSequenceList(id).add(new TestDataArea(area, 9));
+		area.getDataAreas().getBottomList().add(new TestDataArea(area, 5));
+		assertIndex();
+		
+		area.getSequenceOrder().moveSequence(model.getSequenceCount() - 1, -2);
+		assertIndex();
+		area.getSequenceOrder().setAlphabeticalSequenceOrder(false);
+		assertIndex();
+		
+		TestDataArea hiddenArea = new TestDataArea(area, 11);
+		area.getDataAreas().getSequenceList(ids.get(2)).add(hiddenArea);
+		assertIndex();
+		hiddenArea.setVisible(false);
+		assertIndex();
+		hiddenArea.setVisible(true);
+		assertIndex();
+		
+		area.getDataAreas().getTopList().remove(0);  // Data area removal
+		assertIndex();
+		model.removeSequence(ids.get(0));  // Sequence removal together with its data area
+		ids.remove(0);
+		assertIndex();
+		model.removeSequence(id);
+		ids.remove(id);
+		assertIndex();
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.alignmentarea.label;
+
+
+import static org.junit.Assert.*;
+
+import java.awt.Font;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import info.bioinfweb.libralign.alignmentarea.AlignmentArea;
+import info.bioinfweb.libralign.alignmentarea.content.AlignmentSubArea;
+import info.bioinfweb.libralign.dataarea.DataArea;
+import info.bioinfweb.libralign.dataelement.DataListType;
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.implementations.PackedAlignmentModel;
+import info.bioinfweb.libralign.model.tokenset.CharacterTokenSet;
+import info.bioinfweb.libralign.model.utils.AlignmentModelUtils;
+
+import org.junit.*;
+
+
+
+/**
+ * Contains test cases for {@link AlignmentLabelArea}.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class AlignmentLabelAreaTest {
+	private static class TestLabelSubArea extends DefaultLabelSubArea {
+		private int neededWidth;
+		
+		
+		public TestLabelSubArea(AlignmentArea owner, AlignmentSubArea labeledSubArea, int neededWidth) {
+			super(owner, labeledSubArea);
+			this.neededWidth = neededWidth;
+		}
+
+
+		@Override
+		public int getNeededWidth() {
+			return neededWidth;
+		}
+	}
+	
+	
+	private static class TestDataArea extends DataArea {
+		private final int labelWidth;
+		
+		
+		public TestDataArea(AlignmentArea owner, int labelWidth) {
+			super(owner);
+			this.labelWidth = labelWidth;
+		}
+
+
+		@Override
+		protected AlignmentLabelSubArea createLabelSubArea(AlignmentArea owner) {
+			return new TestLabelSubArea(owner, this, labelWidth);
+		}
+
+
+		@Override
+		public double getHeight() {
+			return 10;
+		}
+
+
+		@Override
+		public Set<DataListType> validLocations() {
+			return EnumSet.allOf(DataListType.class);
+		}
+	}
+	
+	
+	private AlignmentModel<Character> model;
+	private AlignmentArea area;
+	private AlignmentLabelArea labelArea;
+	
+	
+	@Before
+	public void setUp() {
+		model = new PackedAlignmentModel<Character>(CharacterTokenSet.newDNAInstance(false));
+		area = new AlignmentArea();
+		area.setAlignmentModel(model);
+		labelArea = area.getLabelArea();
+	}
+	
+	
+	private String addSequence(String name) {
+		String id = model.addSequence(name);
+		model.appendTokens(id, AlignmentModelUtils.charSequenceToTokenList("ACGT", model.getTokenSet()), true);
+		return id;
+	}
+	
+	
+	private double linearMaximumNeededWidth() {
+		int result = 0;
+		Iterator<AlignmentLabelSubArea> iterator = labelArea.subAreaIterator();
+		while (iterator.hasNext()) {
+			result = Math.max(result, iterator.next().getNeededWidth());
+		}
+		return result;
+	}
+	
+	
+	private double assertMaximumNeededWidth() {
+		double result = labelArea.getLocalMaximumNeededWidth();
+		assertEquals(linearMaximumNeededWidth(), result, 0.0);
+		return result;
+	}
+	
+	
+	@Test
+	public void test_removeWidestSequence() {
+		addSequence("A");
+		addSequence("Medium name");
+		String id = addSequence("A much longer sequence name");
+		addSequence("Medium name 2");
+		double width = assertMaximumNeededWidth();
+		
+		model.removeSequence(id);
+		assertTrue(assertMaximumNeededWidth() < width);
+	}
+	
+	
+	@Test
+	public void test_renameSequence() {
+		String id = addSequence("A");
+		addSequence("Medium name");
+		double width = assertMaximumNeededWidth();
+		
+		model.renameSequence(id, "A much longer sequence name");
+		double renamedWidth = assertMaximumNeededWidth();
+		assertTrue(renamedWidth > width);
+		
+		model.renameSequence(id, "B");
+		assertEquals(width, assertMaximumNeededWidth(), 0.0);
+	}
+	
+	
+	@Test
+	public void test_dataAreas() {
+		addSequence("A");
+		double width = assertMaximumNeededWidth();
+		
+		area.getDataAreas().getTopList().add(new TestDataArea(area, 1000));
+		area.getDataAreas().getBottomList().add(new TestDataArea(area, 500));
+		area.getDataAreas().getBottomList().add(new TestDataArea(area, 1000));  // Equal widths must be counted separately.
+		assertEquals(1000, assertMaximumNeededWidth(), 0.0);
+		
+		area.getDataAreas().getTopList().remove(0);
+		assertEquals(1000, assertMaximumNeededWidth(), 0.0);
+		area.getDataAreas().getBottomList().set(1, new TestDataArea(area, 700));
+		assertEquals(700, assertMaximumNeededWidth(), 0.0);
+		area.getDataAreas().getBottomList().remove(1);
+		assertEquals(500, assertMaximumNeededWidth(), 0.0);
+		area.getDataAreas().getBottomList().remove(0);
+		assertEquals(width, assertMaximumNeededWidth(), 0.0);
+	}
+	
+	
+	@Test
+	public void test_setLocalMaxWidthRecalculate() {
+		addSequence("A");
+		TestDataArea dataArea = new TestDataArea(area, 200);
+		area.getDataAreas().getTopList().add(dataArea);
+		assertEquals(200, assertMaximumNeededWidth(), 0.0);
+		
+		((TestLabelSubArea)dataArea.getLabelSubArea()).neededWidth = 100;  // Changes that are not reported are not considered ...
+		assertEquals(200, labelArea.getLocalMaximumNeededWidth(), 0.0);
+		labelArea.setLocalMaxWidthRecalculate();  // ... until all widths are measured again.
+		assertEquals(100, assertMaximumNeededWidth(), 0.0);
+		
+		((TestLabelSubArea)dataArea.getLabelSubArea()).neededWidth = 300;
+		labelArea.updateNeededWidth(dataArea.getLabelSubArea());
+		assertEquals(300, assertMaximumNeededWidth(), 0.0);
+	}
+	
+	
+	@Test
+	public void test_getTextWidth() {
+		Font font = new Font(Font.SANS_SERIF, Font.PLAIN, 12);
+		float width = labelArea.getTextWidth(font, "Sequence");
+		assertTrue(width > 0);
+		assertEquals(width, labelArea.getTextWidth(font, "Sequence"), 0.0);
+		assertTrue(labelArea.getTextWidth(font, "Sequence name") > width);
+		assertTrue(labelArea.getTextWidth(font.deriveFont(24f), "Sequence") > width);  // The cache must be cleared if the font changes.
+		assertEquals(width, labelArea.getTextWidth(font, "Sequence"), 0.0);
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model;
+
+
+import static org.junit.Assert.*;
+
+
+import info.bioinfweb.libralign.model.adapters.SingleCharSequenceAdapter;
+import info.bioinfweb.libralign.model.exception.SequenceNotFoundException;
+import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.CharSequenceAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.PackedAlignmentModel;
+import info.bioinfweb.libralign.model.implementations.decorate.DNAAlignmentModelDecorator;
+import info.bioinfweb.libralign.model.tokenset.CharacterTokenSet;
+import info.bioinfweb.libralign.model.utils.AlignmentModelUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+
+
+/**
+ * Contains test cases for the bulk read methods {@link AlignmentModel#getTokens(String, int, int, Object[], int)},
+ * {@link AlignmentModel#getTokens(SequenceHandle, int, int, Object[], int)}, 
+ * {@link AlignmentModel#forEachToken(String, int, int, TokenVisitor)} and {@link SequenceCursor#getTokens(int, int, Object[], int)}
+ * of different alignment model implementations.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class AlignmentModelBulkReadTest {
+	private static final String SEQUENCE = "ACG-TTA";
+	
+	
+	/**
+	 * Creates an array like generic callers do. Implementations with a fixed token type must not cast it to an array of
+	 * that type.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T[] createArray(int length) {
+		return (T[])new Object[length];
+	}
+	
+	
+	private static String toString(Object[] tokens, int offset, int length) {
+		StringBuilder result = new StringBuilder(length);
+		for (int i = offset; i < offset + length; i++) {
+			result.append(tokens[i]);
+		}
+		return result.toString();
+	}
+	
+	
+	private static <T> void assertInvalidRange(AlignmentModel<T> model, String sequenceID, int beginIndex, int endIndex,
+			int destinationLength) {
+		
+		T[] destination = createArray(destinationLength);
+		try {
+			model.getTokens(sequenceID, beginIndex, endIndex, destination, 0);
+			fail("No exception thrown for the range (" + beginIndex + ", " + endIndex + ").");
+		}
+		catch (IndexOutOfBoundsException e) {}
+		try {
+			model.getTokens(model.getSequenceHandle(sequenceID), beginIndex, endIndex, destination, 0);
+			fail("No exception thrown for the range (" + beginIndex + ", " + endIndex + ").");
+		}
+		catch (IndexOutOfBoundsException e) {}
+		try {
+			model.getSequenceCursor(sequenceID).getTokens(beginIndex, endIndex, destination, 0);
+			fail("No exception thrown for the range (" + beginIndex + ", " + endIndex + ").");
+		}
+		catch (IndexOutOfBoundsException e) {}
+	}
+	
+	
+	/**
+	 * Tests all bulk read methods of the specified model, which must contain a sequence with the tokens of 
+	 * {@link #SEQUENCE} with the specified ID.
+	 */
+	private static <T> void assertBulkRead(AlignmentModel<T> model, String sequenceID) {
+		int length = SEQUENCE.length();
+		SequenceHandle handle = model.getSequenceHandle(sequenceID);
+		SequenceCursor<T> cursor = model.getSequenceCursor(sequenceID);
+		assertEquals(length, cursor.getLength());
+		
+		// Full sequence:
+		T[] tokens = createArray(length);
+		model.getTokens(sequenceID, 0, length, tokens, 0);
+		assertEquals(SEQUENCE, toString(tokens, 0, length));
+		tokens = createArray(length);
+		model.getTokens(handle, 0, length, tokens, 0);
+		assertEquals(SEQUENCE, toString(tokens, 0, length));
+		tokens = createArray(length);
+		cursor.getTokens(0, length, tokens, 0);
+		assertEquals(SEQUENCE, toString(tokens, 0, length));
+		tokens = createArray(length);
+		model.getSequenceCursor(handle).getTokens(0, length, tokens, 0);
+		assertEquals(SEQUENCE, toString(tokens, 0, length));
+		
+		// Subsequence with destination offset:
+		tokens = createArray(length + 2);
+		model.getTokens(sequenceID, 2, 5, tokens, 3);
+		assertNull(tokens[2]);
+		assertEquals(SEQUENCE.substring(2, 5), toString(tokens, 3, 3));
+		assertNull(tokens[6]);
+		tokens = createArray(length + 2);
+		model.getTokens(handle, 2, 5, tokens, 3);
+		assertEquals(SEQUENCE.substring(2, 5), toString(tokens, 3, 3));
+		tokens = createArray(length + 2);
+		cursor.getTokens(2, 5, tokens, 3);
+		assertEquals(SEQUENCE.substring(2, 5), toString(tokens, 3, 3));
+		
+		// Empty ranges:
+		tokens = createArray(0);
+		model.getTokens(sequenceID, 0, 0, tokens, 0);
+		model.getTokens(handle, length, length, tokens, 0);
+		cursor.getTokens(3, 3, tokens, 0);
+		
+		// Visitor:
+		final StringBuilder visited = new StringBuilder();
+		final List<Integer> indices = new ArrayList<Integer>();
+		model.forEachToken(sequenceID, 1, 6, new TokenVisitor<T>() {
+			@Override
+			public void visitToken(int index, T token) {
+				indices.add(index);
+				visited.append(token);
+			}
+		});
+		assertEquals(SEQUENCE.substring(1, 6), visited.toString());
+		assertEquals(5, indices.size());
+		for (int i = 0; i < indices.size(); i++) {
+			assertEquals(i + 1, indices.get(i).intValue());
+		}
+		
+		// Invalid ranges:
+		assertInvalidRange(model, sequenceID, -1, 2, length);
+		assertInvalidRange(model, sequenceID, 0, length + 1, length + 1);
+		assertInvalidRange(model, sequenceID, 4, 2, length);
+		assertInvalidRange(model, sequenceID, 0, length, length - 1);  // Does not fit into the destination.
+		
+		// Unknown sequence:
+		try {
+			model.getTokens("unknown", 0, 0, AlignmentModelBulkReadTest.<T>createArray(0), 0);
+			fail("No exception thrown for an unknown sequence.");
+		}
+		catch (SequenceNotFoundException e) {}
+	}
+	
+	
+	private static <M extends AlignmentModel<Character>> String addSequence(M model) {
+		String sequenceID = model.addSequence("seq");
+		model.appendTokens(sequenceID, AlignmentModelUtils.charSequenceToTokenList(SEQUENCE, model.getTokenSet()), true);
+		return sequenceID;
+	}
+	
+	
+	@Test
+	public void test_ArrayListAlignmentModel() {
+		ArrayListAlignmentModel<Character> model = new ArrayListAlignmentModel<Character>(CharacterTokenSet.newDNAInstance(false));
+		assertBulkRead(model, addSequence(model));
+	}
+	
+	
+	@Test
+	public void test_PackedAlignmentModel() {
+		PackedAlignmentModel<Character> model = new PackedAlignmentModel<Character>(CharacterTokenSet.newDNAInstance(false));
+		assertBulkRead(model, addSequence(model));
+	}
+	
+	
+	@Test
+	public void test_CharSequenceAlignmentModel() {
+		CharSequenceAlignmentModel model = new CharSequenceAlignmentModel(CharacterTokenSet.newDNAInstance(false));
+		assertBulkRead(model, model.addSequence("seq", (CharSequence)SEQUENCE));  // Otherwise SEQUENCE would be used as the ID.
+	}
+	
+	
+	/**
+	 * Tests reading from a {@link CharSequenceAlignmentModel} using only generic references and arrays created as 
+	 * {@code Object[]}. (Its methods must not be bridge methods casting the destination to {@code Character[]}.)
+	 */
+	@Test
+	public void test_CharSequenceAlignmentModel_genericAccess() {
+		CharSequenceAlignmentModel charSequenceModel = new CharSequenceAlignmentModel(CharacterTokenSet.newDNAInstance(false));
+		String sequenceID = charSequenceModel.addSequence("seq", (CharSequence)SEQUENCE);
+		AlignmentModel<Character> model = charSequenceModel;
+		
+		Object[] tokens = new Object[SEQUENCE.length()];
+		readGeneric(model, sequenceID, tokens);
+		assertEquals(SEQUENCE, toString(tokens, 0, tokens.length));
+		assertEquals(SEQUENCE, new SingleCharSequenceAdapter<Character>(model, sequenceID, false).toString());
+		assertEquals(SEQUENCE.substring(1, 5), new SingleCharSequenceAdapter<Character>(model, sequenceID, 1, 4, false).toString());
+	}
+	
+	
+	@SuppressWarnings("unchecked")
+	private static <T> void readGeneric(AlignmentModel<T> model, String sequenceID, Object[] destination) {
+		int length = model.getSequenceLength(sequenceID);
+		model.getTokens(sequenceID, 0, length, (T[])destination, 0);
+		model.getTokens(model.getSequenceHandle(sequenceID), 0, length, (T[])destination, 0);
+		model.getSequenceCursor(sequenceID).getTokens(0, length, (T[])destination, 0);
+	}
+	
+	
+	@Test
+	public void test_DNAAlignmentModelDecorator() {
+		ArrayListAlignmentModel<Character> underlyingModel = 
+				new ArrayListAlignmentModel<Character>(CharacterTokenSet.newRNAInstance(false));
+		String sequenceID = underlyingModel.addSequence("seq");
+		underlyingModel.appendTokens(sequenceID, AlignmentModelUtils.charSequenceToTokenList(SEQUENCE.replace('T', 'U'), 
+				underlyingModel.getTokenSet()), true);
+		DNAAlignmentModelDecorator<Character, Character> model = DNAAlignmentModelDecorator.newCharacterInstance(underlyingModel);
+		assertBulkRead(model, model.sequenceIDIterator().next());
+	}
+}
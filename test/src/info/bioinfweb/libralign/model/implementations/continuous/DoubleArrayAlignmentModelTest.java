@@ -0,0 +1,93 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.continuous;
+
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import info.bioinfweb.libralign.model.AlignmentModelAdapter;
+import info.bioinfweb.libralign.model.events.TokenChangeEvent;
+import info.bioinfweb.libralign.model.tokenset.continuous.ContinuousToken;
+
+import org.junit.Test;
+
+
+
+/**
+ * Contains test cases for {@link DoubleArrayAlignmentModel}.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class DoubleArrayAlignmentModelTest {
+	@Test
+	public void test_tokenAccess() {
+		DoubleArrayAlignmentModel model = new DoubleArrayAlignmentModel();
+		String id = model.addSequence("A");
+		List<ContinuousToken<Double>> tokens = new ArrayList<ContinuousToken<Double>>();
+		tokens.add(new ContinuousToken<Double>(1.5));
+		tokens.add(ContinuousToken.<Double>newGapInstance());
+		tokens.add(ContinuousToken.<Double>newMissingInformationInstance());
+		tokens.add(new ContinuousToken<Double>(Double.NaN));
+		model.appendTokens(id, tokens, true);
+		
+		assertEquals(4, model.getSequenceLength(id));
+		for (int i = 0; i < tokens.size(); i++) {
+			assertEquals(tokens.get(i), model.getTokenAt(id, i));
+		}
+		assertEquals(1.5, model.getValueAt(id, 0), 0.0);
+		assertTrue(DoubleArrayTokenList.isGapValue(model.getValueAt(id, 1)));
+		assertTrue(DoubleArrayTokenList.isMissingValue(model.getValueAt(id, 2)));
+		assertTrue(DoubleArrayTokenList.isCharacterStateValue(model.getValueAt(id, 3)));
+		assertTrue(model.getTokenSet().isGapToken(model.getTokenAt(id, 1)));
+		
+		model.removeTokensAt(id, 1, 3);
+		assertEquals(2, model.getSequenceLength(id));
+		assertEquals(tokens.get(3), model.getTokenAt(id, 1));
+	}
+	
+	
+	@Test
+	public void test_primitiveAccess() {
+		DoubleArrayAlignmentModel model = new DoubleArrayAlignmentModel();
+		String id = model.addSequence("A");
+		final List<TokenChangeEvent<ContinuousToken<Double>>> events = new ArrayList<TokenChangeEvent<ContinuousToken<Double>>>();
+		model.addModelListener(new AlignmentModelAdapter<ContinuousToken<Double>>() {
+			@Override
+			public void afterTokenChange(TokenChangeEvent<ContinuousToken<Double>> e) {
+				events.add(e);
+			}
+		});
+		
+		model.appendValues(id, new double[]{1.0, 2.0, DoubleArrayTokenList.GAP_VALUE, 4.0}, true);
+		model.insertValuesAt(id, 1, new double[]{0.5}, true);
+		model.setValuesAt(id, 3, new double[]{3.0});
+		
+		double[] values = new double[7];
+		model.getValues(id, 0, 5, values, 2);
+		assertArrayEquals(new double[]{0.0, 0.0, 1.0, 0.5, 2.0, 3.0, 4.0}, values, 0.0);
+		
+		assertEquals(3, events.size());
+		assertEquals(ContinuousToken.newGapInstance(), events.get(2).getAffectedTokens().iterator().next());
+		assertEquals(new ContinuousToken<Double>(3.0), events.get(2).getNewTokens().iterator().next());
+	}
+}
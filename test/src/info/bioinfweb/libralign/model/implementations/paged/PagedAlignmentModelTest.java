@@ -0,0 +1,95 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.paged;
+
+
+import static org.junit.Assert.*;
+
+
+import info.bioinfweb.libralign.model.tokenset.CharacterTokenSet;
+import info.bioinfweb.libralign.test.RandomEditTester;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+
+
+/**
+ * Contains test cases for {@link PagedAlignmentModel} and {@link PagedTokenList}.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class PagedAlignmentModelTest {
+	private static final int CHUNK_SIZE = 16;
+	private static final long CACHE_SIZE = 1;  // Results in ChunkCache.MIN_LOADED_CHUNKS loaded chunks.
+	
+	
+	@Test
+	public void test_edit() throws IOException {
+		CharacterTokenSet tokenSet = CharacterTokenSet.newDNAInstance(false);
+		final PagedAlignmentModel<Character> model = new PagedAlignmentModel<Character>(tokenSet, CHUNK_SIZE, CACHE_SIZE);  // Created here, since the constructor may throw an IOException.
+		try {
+			RandomEditTester<Character, PagedAlignmentModel<Character>> tester = 
+					new RandomEditTester<Character, PagedAlignmentModel<Character>>(() -> model, 8, RandomEditTester.randomTokens(tokenSet));
+			tester.setMaxInsertionLength(4 * CHUNK_SIZE).setMaxRemovalLength(3 * CHUNK_SIZE);
+			tester.setFullComparisonInterval(100);  // Reading all sequences evicts chunks and reloads them from the file.
+			tester.run(5000, 1);
+		}
+		finally {
+			model.close();
+		}
+	}
+	
+	
+	@Test
+	public void test_removeSequence() throws IOException {
+		CharacterTokenSet tokenSet = CharacterTokenSet.newDNAInstance(false);
+		PagedAlignmentModel<Character> model = new PagedAlignmentModel<Character>(tokenSet, CHUNK_SIZE, CACHE_SIZE);
+		try {
+			List<Character> tokens = new ArrayList<Character>();
+			for (int i = 0; i < 5 * CHUNK_SIZE; i++) {
+				tokens.add('A');
+			}
+			String sequenceID1 = model.addSequence("seq1");
+			model.appendTokens(sequenceID1, tokens, true);
+			String sequenceID2 = model.addSequence("seq2");
+			model.appendTokens(sequenceID2, tokens, true);
+			PagedTokenList<Character> sequence1 = (PagedTokenList<Character>)model.getSequence(sequenceID1);
+			PagedTokenList<Character> sequence2 = (PagedTokenList<Character>)model.getSequence(sequenceID2);
+			assertEquals(5, sequence1.getChunkCount());
+			
+			model.removeSequence(sequenceID1);
+			assertEquals(0, sequence1.getChunkCount());
+			
+			Iterator<String> iterator = model.sequenceIDIterator();
+			iterator.next();
+			iterator.remove();
+			assertEquals(0, sequence2.getChunkCount());
+			assertEquals(0, model.getSequenceCount());
+		}
+		finally {
+			model.close();
+		}
+	}
+}
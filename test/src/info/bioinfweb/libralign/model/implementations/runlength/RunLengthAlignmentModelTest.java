@@ -0,0 +1,180 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.runlength;
+
+
+import static org.junit.Assert.*;
+
+
+import info.bioinfweb.libralign.model.tokenset.CharacterTokenSet;
+import info.bioinfweb.libralign.model.utils.AlignmentModelUtils;
+import info.bioinfweb.libralign.test.RandomEditTester;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+
+
+/**
+ * Contains test cases for {@link RunLengthAlignmentModel} and {@link RunLengthTokenList}.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class RunLengthAlignmentModelTest {
+	private RunLengthAlignmentModel<Character> model = 
+			new RunLengthAlignmentModel<Character>(CharacterTokenSet.newDNAInstance(false));
+	
+	
+	private RunLengthTokenList<Character> createSequence(String tokens) {
+		String sequenceID = model.addSequence("seq" + model.getSequenceCount());
+		model.appendTokens(sequenceID, AlignmentModelUtils.charSequenceToTokenList(tokens, model.getTokenSet()), true);
+		return (RunLengthTokenList<Character>)model.getSequence(sequenceID);
+	}
+	
+	
+	private static String toString(List<Character> sequence) {
+		StringBuilder result = new StringBuilder(sequence.size());
+		for (Character token : sequence) {
+			result.append(token);
+		}
+		return result.toString();
+	}
+	
+	
+	private static void assertSequence(String expected, int expectedSegmentCount, RunLengthTokenList<Character> sequence) {
+		assertEquals(expected, toString(sequence));
+		assertEquals(expected.length(), sequence.size());
+		assertEquals(expectedSegmentCount, sequence.getSegmentCount());
+	}
+	
+	
+	@Test
+	public void test_segments() {
+		assertSequence("", 0, createSequence(""));
+		assertSequence("-----", 1, createSequence("-----"));
+		assertSequence("ACGT", 1, createSequence("ACGT"));
+		assertSequence("--AC---GT--", 5, createSequence("--AC---GT--"));
+	}
+	
+	
+	@Test
+	public void test_add() {
+		RunLengthTokenList<Character> sequence = createSequence("--AC--");
+		sequence.add(0, '-');  // Into the leading gap run
+		assertSequence("---AC--", 3, sequence);
+		sequence.add(3, 'G');  // At the boundary between a gap run and a block
+		assertSequence("---GAC--", 3, sequence);
+		sequence.add(6, '-');  // At the boundary between a block and a gap run
+		assertSequence("---GAC---", 3, sequence);
+		sequence.add(5, '-');  // Splits a block
+		assertSequence("---GA-C---", 5, sequence);
+		sequence.add(1, 'T');  // Splits a gap run
+		assertSequence("-T--GA-C---", 7, sequence);
+		sequence.add(sequence.size(), 'A');  // Appends a block
+		assertSequence("-T--GA-C---A", 8, sequence);
+		sequence.add(0, 'C');  // Prepends a block
+		assertSequence("C-T--GA-C---A", 9, sequence);
+	}
+	
+	
+	@Test
+	public void test_addAll() {
+		RunLengthTokenList<Character> sequence = createSequence("AC--GT");
+		sequence.addAll(3, AlignmentModelUtils.charSequenceToTokenList("--", model.getTokenSet()));  // Merged with the gap run
+		assertSequence("AC----GT", 3, sequence);
+		sequence.addAll(1, AlignmentModelUtils.charSequenceToTokenList("T-G", model.getTokenSet()));  // Splits a block
+		assertSequence("AT-GC----GT", 5, sequence);
+		sequence.addAll(5, AlignmentModelUtils.charSequenceToTokenList("A", model.getTokenSet()));  // Between block and gap run
+		assertSequence("AT-GCA----GT", 5, sequence);
+		sequence.addAll(8, AlignmentModelUtils.charSequenceToTokenList("-C-", model.getTokenSet()));  // Splits a gap run
+		assertSequence("AT-GCA---C---GT", 7, sequence);
+	}
+	
+	
+	@Test
+	public void test_set() {
+		RunLengthTokenList<Character> sequence = createSequence("AC---GT");
+		assertEquals(Character.valueOf('-'), sequence.set(3, 'T'));  // Splits a gap run
+		assertSequence("AC-T-GT", 5, sequence);
+		assertEquals(Character.valueOf('T'), sequence.set(3, '-'));  // Merges both gap runs
+		assertSequence("AC---GT", 3, sequence);
+		assertEquals(Character.valueOf('C'), sequence.set(1, '-'));  // Moves a token from a block to a gap run
+		assertSequence("A----GT", 3, sequence);
+		assertEquals(Character.valueOf('-'), sequence.set(1, 'G'));  // Moves a token from a gap run to a block
+		assertSequence("AG---GT", 3, sequence);
+		assertEquals(Character.valueOf('G'), sequence.set(1, 'C'));  // Stays in the block
+		assertSequence("AC---GT", 3, sequence);
+		assertEquals(Character.valueOf('A'), sequence.set(0, '-'));
+		assertSequence("-C---GT", 4, sequence);
+	}
+	
+	
+	@Test
+	public void test_remove() {
+		RunLengthTokenList<Character> sequence = createSequence("AC-G-TT");
+		assertEquals(Character.valueOf('G'), sequence.remove(3));  // Merges the neighboring gap runs
+		assertSequence("AC--TT", 3, sequence);
+		sequence.subList(1, 5).clear();  // Merges the neighboring blocks
+		assertSequence("AT", 1, sequence);
+		
+		sequence = createSequence("--AC---GT--A");
+		sequence.subList(3, 9).clear();  // Removes a whole segment and parts of its neighbors
+		assertSequence("--A--A", 4, sequence);
+		sequence.subList(2, 3).clear();  // Merges the gap runs around the removed block
+		assertSequence("----A", 2, sequence);
+		sequence.subList(0, 5).clear();
+		assertSequence("", 0, sequence);
+	}
+	
+	
+	@Test
+	public void test_edit() {
+		final Function<Random, Character> nonGapTokens = RandomEditTester.randomTokens(model.getTokenSet());
+		final boolean[] gap = new boolean[1];
+		RandomEditTester<Character, RunLengthAlignmentModel<Character>> tester = 
+				new RandomEditTester<Character, RunLengthAlignmentModel<Character>>(() -> model, 8, random -> {
+					if (random.nextInt(6) == 0) {  // Creates runs of gaps and other tokens.
+						gap[0] = !gap[0];
+					}
+					return gap[0] ? '-' : nonGapTokens.apply(random);
+				});
+		tester.setEditCheck((sequenceID, expectedSequence) -> assertEquals(countRuns(expectedSequence), 
+				((RunLengthTokenList<Character>)model.getSequence(sequenceID)).getSegmentCount()));
+		tester.run(5000, 1);
+	}
+	
+	
+	/**
+	 * Returns the number of runs of gaps and runs of other tokens in the specified sequence, which must be equal to the 
+	 * number of segments of an according {@link RunLengthTokenList}.
+	 */
+	private static int countRuns(List<Character> sequence) {
+		int result = 0;
+		for (int i = 0; i < sequence.size(); i++) {
+			if ((i == 0) || ((sequence.get(i) == '-') != (sequence.get(i - 1) == '-'))) {
+				result++;
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.implementations.tiled;
+
+
+import static org.junit.Assert.*;
+
+
+import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+import info.bioinfweb.libralign.model.tokenset.CharacterTokenSet;
+import info.bioinfweb.libralign.model.utils.AlignmentModelUtils;
+import info.bioinfweb.libralign.test.RandomEditTester;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+
+
+/**
+ * Contains test cases for {@link TiledAlignmentModel}.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class TiledAlignmentModelTest {
+	private static TiledAlignmentModel<Character> createModel(String... sequences) {
+		TiledAlignmentModel<Character> model = new TiledAlignmentModel<Character>(CharacterTokenSet.newDNAInstance(false));
+		for (int i = 0; i < sequences.length; i++) {
+			String sequenceID = model.addSequence("seq" + i);
+			model.appendTokens(sequenceID, AlignmentModelUtils.charSequenceToTokenList(sequences[i], model.getTokenSet()), true);
+		}
+		return model;
+	}
+	
+	
+	@Test
+	public void test_getColumn() {
+		TiledAlignmentModel<Character> model = createModel("ACGT", "A-G", "TTTTT");
+		Character[] column = new Character[4];
+		
+		model.getColumn(3, column, 1);
+		assertNull(column[0]);
+		assertEquals(Character.valueOf('T'), column[1]);
+		assertNull(column[2]);
+		assertEquals(Character.valueOf('T'), column[3]);
+		
+		model.getColumn(1, column, 0);
+		assertEquals(Character.valueOf('C'), column[0]);
+		assertEquals(Character.valueOf('-'), column[1]);
+		assertEquals(Character.valueOf('T'), column[2]);
+	}
+	
+	
+	@Test
+	public void test_getColumn_removeSequence() {
+		TiledAlignmentModel<Character> model = createModel("ACGT", "A-G", "TTTTT");
+		Iterator<String> iterator = model.sequenceIDIterator();
+		iterator.next();
+		iterator.next();
+		iterator.remove();
+		assertEquals(2, model.getSequenceCount());
+		
+		Character[] column = new Character[2];
+		model.getColumn(1, column, 0);
+		assertEquals(Character.valueOf('C'), column[0]);
+		assertEquals(Character.valueOf('T'), column[1]);
+
+		model.removeSequence(model.sequenceIDIterator().next());
+		column = new Character[1];
+		model.getColumn(4, column, 0);
+		assertEquals(Character.valueOf('T'), column[0]);
+		
+		String sequenceID = model.addSequence("new");  // Reuses a released row.
+		model.appendTokens(sequenceID, AlignmentModelUtils.charSequenceToTokenList("GG", model.getTokenSet()), true);
+		column = new Character[2];
+		model.getColumn(1, column, 0);
+		assertEquals(Character.valueOf('T'), column[0]);
+		assertEquals(Character.valueOf('G'), column[1]);
+		model.getColumn(2, column, 0);
+		assertNull(column[1]);
+	}
+	
+	
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void test_getColumn_destinationTooShort() {
+		createModel("ACGT", "A-G", "TTTTT").getColumn(0, new Character[2], 0);
+	}
+	
+	
+	@Test
+	public void test_edit() {
+		final CharacterTokenSet tokenSet = CharacterTokenSet.newDNAInstance(false);
+		RandomEditTester<Character, TiledAlignmentModel<Character>> tester = 
+				new RandomEditTester<Character, TiledAlignmentModel<Character>>(() -> new TiledAlignmentModel<Character>(tokenSet), 
+						2 * TiledAlignmentModel.TILE_ROWS + 3, RandomEditTester.randomTokens(tokenSet));
+		tester.setMaxInsertionLength(2 * TiledAlignmentModel.TILE_COLUMNS).setMaxRemovalLength(2 * TiledAlignmentModel.TILE_COLUMNS);
+		tester.run(5000, 1);
+		
+		TiledAlignmentModel<Character> model = tester.getModel();
+		ArrayListAlignmentModel<Character> expectedModel = tester.getExpectedModel();
+		List<String> expectedIDs = tester.getExpectedIDs();
+		int maxLength = 0;
+		for (String expectedID : expectedIDs) {
+			maxLength = Math.max(maxLength, expectedModel.getSequenceLength(expectedID));
+		}
+		Character[] column = new Character[expectedIDs.size()];
+		for (int columnIndex = 0; columnIndex < maxLength; columnIndex++) {
+			model.getColumn(columnIndex, column, 0);
+			for (int i = 0; i < expectedIDs.size(); i++) {
+				String expectedID = expectedIDs.get(i);
+				if (columnIndex < expectedModel.getSequenceLength(expectedID)) {
+					assertEquals(expectedModel.getTokenAt(expectedID, columnIndex), column[i]);
+				}
+				else {
+					assertNull(column[i]);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.io;
+
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import info.bioinfweb.jphyloio.ReadWriteParameterMap;
+import info.bioinfweb.jphyloio.events.JPhyloIOEvent;
+import info.bioinfweb.jphyloio.formats.nexus.NexusEventReader;
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.factory.BioPolymerCharAlignmentModelFactory;
+
+import org.junit.*;
+
+
+
+/**
+ * Contains test cases for {@link AlignmentDataReader} and {@link IOTools}.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class AlignmentDataReaderTest {
+	private static final File MULTIPLE_ALIGNMENTS_FILE = new File("data/alignments/MultipleAlignments.nex");
+	private static final File ADDITIONAL_TOKENS_FILE = new File("data/alignments/AdditionalDNATokens.nex");
+	
+	
+	private static class TestError extends Error {
+		private static final long serialVersionUID = 1L;
+	}
+	
+	
+	private static List<AlignmentModel<?>> readAll(File file, boolean pipelined) throws Exception {
+		AlignmentDataReader reader = new AlignmentDataReader(new NexusEventReader(file, new ReadWriteParameterMap()), 
+				new BioPolymerCharAlignmentModelFactory());
+		if (pipelined) {
+			reader.readAllPipelined(1);
+		}
+		else {
+			reader.readAll();
+		}
+		return reader.getAlignmentModelReader().getCompletedModels();
+	}
+	
+	
+	private static List<String> sequenceIDs(AlignmentModel<?> model) {
+		List<String> result = new ArrayList<String>();
+		Iterator<String> iterator = model.sequenceIDIterator();
+		while (iterator.hasNext()) {
+			result.add(iterator.next());
+		}
+		return result;
+	}
+	
+	
+	private static void assertModelsEqual(List<AlignmentModel<?>> expected, List<AlignmentModel<?>> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			AlignmentModel<?> expectedModel = expected.get(i);
+			AlignmentModel<?> actualModel = actual.get(i);
+			assertEquals(expectedModel.getClass(), actualModel.getClass());
+			assertEquals(expectedModel.getTokenSet().getType(), actualModel.getTokenSet().getType());
+			
+			List<String> expectedIDs = sequenceIDs(expectedModel);
+			List<String> actualIDs = sequenceIDs(actualModel);
+			assertEquals(expectedIDs.size(), actualIDs.size());
+			for (int j = 0; j < expectedIDs.size(); j++) {
+				String expectedID = expectedIDs.get(j);
+				String actualID = actualIDs.get(j);
+				assertEquals(expectedModel.sequenceNameByID(expectedID), actualModel.sequenceNameByID(actualID));
+				assertEquals(expectedModel.getSequenceLength(expectedID), actualModel.getSequenceLength(actualID));
+				for (int column = 0; column < expectedModel.getSequenceLength(expectedID); column++) {
+					assertEquals(expectedModel.getTokenAt(expectedID, column), actualModel.getTokenAt(actualID, column));
+				}
+			}
+		}
+	}
+	
+	
+	@Test
+	public void test_readAllPipelined() throws Exception {
+		List<AlignmentModel<?>> expected = readAll(MULTIPLE_ALIGNMENTS_FILE, false);
+		assertEquals(3, expected.size());
+		assertEquals(3, expected.get(0).getSequenceCount());
+		assertEquals('T', expected.get(0).getTokenAt(expected.get(0).sequenceIDsByName("C").iterator().next(), 3));
+		
+		assertModelsEqual(expected, readAll(MULTIPLE_ALIGNMENTS_FILE, true));
+	}
+	
+	
+	@Test(timeout = 10000)
+	public void test_readAllPipelined_parserError() throws Exception {
+		final TestError error = new TestError();
+		AlignmentDataReader reader = new AlignmentDataReader(
+				new NexusEventReader(MULTIPLE_ALIGNMENTS_FILE, new ReadWriteParameterMap()) {
+					private int eventCount = 0;
+					
+					@Override
+					public JPhyloIOEvent next() throws IOException {
+						eventCount++;
+						if (eventCount == 10) {
+							throw error;
+						}
+						else {
+							return super.next();
+						}
+					}
+				}, 
+				new BioPolymerCharAlignmentModelFactory());
+		try {
+			reader.readAllPipelined(1);
+			fail("The error was not rethrown.");
+		}
+		catch (TestError e) {
+			assertSame(error, e);
+		}
+		assertEquals(9, reader.getProcessedEventCount());
+	}
+	
+	
+	@Test
+	public void test_readAlignments_list() throws Exception {
+		List<AlignmentModel<?>> expected = new ArrayList<AlignmentModel<?>>();
+		expected.addAll(readAll(MULTIPLE_ALIGNMENTS_FILE, false));
+		expected.addAll(readAll(ADDITIONAL_TOKENS_FILE, false));
+		expected.addAll(readAll(MULTIPLE_ALIGNMENTS_FILE, false));
+		
+		assertModelsEqual(expected, 
+				IOTools.readAlignments(Arrays.asList(MULTIPLE_ALIGNMENTS_FILE, ADDITIONAL_TOKENS_FILE, MULTIPLE_ALIGNMENTS_FILE)));
+	}
+	
+	
+	@Test
+	public void test_readAlignments_emptyList() throws Exception {
+		assertTrue(IOTools.readAlignments(new ArrayList<File>()).isEmpty());
+	}
+}
@@ -22,6 +22,14 @@ package info.bioinfweb.libralign.model.utils;
 import static org.junit.Assert.*;
 
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
 import org.junit.Test;
 
 import info.bioinfweb.libralign.model.AlignmentModel;
@@ -29,6 +37,7 @@ import info.bioinfweb.libralign.model.adapters.CharSequenceAdapter;
 import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
 import info.bioinfweb.libralign.model.implementations.PackedAlignmentModel;
 import info.bioinfweb.libralign.model.tokenset.CharacterTokenSet;
+import info.bioinfweb.libralign.model.tokenset.TokenSet;
 
 
 
@@ -88,4 +97,86 @@ public class AlignmentModelUtilsTest {
 		assertFalse(AlignmentModelUtils.sequencesEqual(alignmentModel2, sequenceID1, alignmentModel2, sequenceID7));//same AM, third position changed
 		assertFalse(AlignmentModelUtils.sequencesEqual(alignmentModel2, sequenceID1, alignmentModel2, sequenceID8));//same AM, last position changed
 	}
+	
+	
+	private static AlignmentModel<Character> createNucleotideModel(String... sequences) {
+		AlignmentModel<Character> model = new ArrayListAlignmentModel<Character>(CharacterTokenSet.newNucleotideInstance(false));
+		for (int i = 0; i < sequences.length; i++) {
+			String sequenceID = model.addSequence("seq" + i);
+			model.appendTokens(sequenceID, AlignmentModelUtils.charSequenceToTokenList(sequences[i], model.getTokenSet()), true);
+		}
+		return model;
+	}
+	
+	
+	private static List<String> getSequences(AlignmentModel<Character> model) {
+		CharSequenceAdapter<Character> adapter = new CharSequenceAdapter<Character>(model, true);
+		List<String> result = new ArrayList<String>();
+		Iterator<String> iterator = model.sequenceIDIterator();
+		while (iterator.hasNext()) {
+			result.add(adapter.getSequence(iterator.next()).toString());
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Creates a kernel that replaces each sequence by the sequence mapped to it in {@code replacements}. 
+	 */
+	private static <T> UnaryOperator<T[]> createReplacingKernel(final TokenSet<T> tokenSet, final Map<String, String> replacements) {
+		return (tokens) -> {
+			StringBuilder sequence = new StringBuilder();
+			for (T token : tokens) {
+				sequence.append(tokenSet.representationByToken(token));
+			}
+			String replacement = replacements.get(sequence.toString());
+			T[] result = Arrays.copyOf(tokens, replacement.length());
+			for (int i = 0; i < result.length; i++) {
+				result[i] = tokenSet.tokenByRepresentation(Character.toString(replacement.charAt(i)));
+			}
+			return result;
+		};
+	}
+	
+	
+	@Test
+	public void test_AlignmentKernels_apply() {
+		Map<String, String> replacements = new HashMap<String, String>();
+		replacements.put("ACGT", "ACCCGT");  // Insertion between common prefix and suffix
+		replacements.put("ACCCGA", "AA");  // Removal between common prefix and suffix
+		replacements.put("AC", "ACGG");  // Appending
+		replacements.put("GGAC", "AC");  // Removal of a prefix
+		replacements.put("TTTT", "GAAAC");  // Replacement of the whole sequence and insertion
+		replacements.put("CAGA", "CAGA");  // Unchanged
+		replacements.put("", "");
+		AlignmentModel<Character> model = createNucleotideModel("ACGT", "ACCCGA", "AC", "GGAC", "TTTT", "CAGA", "");
+		
+		assertEquals(5, AlignmentKernels.apply(model, createReplacingKernel(model.getTokenSet(), replacements)));
+		assertEquals(Arrays.asList("ACCCGT", "AA", "ACGG", "AC", "GAAAC", "CAGA", ""), getSequences(model));
+	}
+	
+	
+	@Test
+	public void test_AlignmentKernels_reverseComplement() {
+		AlignmentModel<Character> model = createNucleotideModel("AAGT", "ACGT", "A-CGTT", "");
+		assertEquals(2, AlignmentKernels.reverseComplement(model));
+		assertEquals(Arrays.asList("ACTT", "ACGT", "AACG-T", ""), getSequences(model));
+	}
+	
+	
+	@Test
+	public void test_AlignmentKernels_removeGaps() {
+		AlignmentModel<Character> model = createNucleotideModel("A--CG-T", "--AC", "ACGT-", "ACGT", "---");
+		assertEquals(4, AlignmentKernels.removeGaps(model));
+		assertEquals(Arrays.asList("ACGT", "AC", "ACGT", "ACGT", ""), getSequences(model));
+	}
+	
+	
+	@Test
+	public void test_AlignmentKernels_removeGapOnlyColumns() {
+		AlignmentModel<Character> model = createNucleotideModel("A-C-G--", "T-GA-", "--C-");
+		assertEquals(3, AlignmentKernels.removeGapOnlyColumns(model));
+		assertEquals(Arrays.asList("AC-G", "TGA-", "-C-"), getSequences(model));
+		assertEquals(0, AlignmentKernels.removeGapOnlyColumns(model));
+	}
 }
@@ -0,0 +1,153 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.utils;
+
+
+import static org.junit.Assert.*;
+
+
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+import info.bioinfweb.libralign.model.tokenset.CharacterTokenSet;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+
+
+/**
+ * Contains test cases for {@link GapColumnIndex}.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class GapColumnIndexTest {
+	private static int countNonGaps(AlignmentModel<Character> model, int column) {
+		int result = 0;
+		Iterator<String> iterator = model.sequenceIDIterator();
+		while (iterator.hasNext()) {
+			String sequenceID = iterator.next();
+			if ((column < model.getSequenceLength(sequenceID)) && 
+					!model.getTokenSet().isGapToken(model.getTokenAt(sequenceID, column))) {
+				
+				result++;
+			}
+		}
+		return result;
+	}
+	
+	
+	private static void assertIndexValid(AlignmentModel<Character> model, GapColumnIndex index) {
+		int columnCount = model.getMaxSequenceLength();
+		BitSet expectedGapColumns = new BitSet();
+		for (int column = 0; column < columnCount + 2; column++) {
+			int nonGapCount = countNonGaps(model, column);
+			assertEquals(nonGapCount, index.getNonGapCount(column));
+			assertEquals(model.getSequenceCount() - nonGapCount, index.getGapCount(column));
+			if ((nonGapCount == 0) && (column < columnCount)) {
+				expectedGapColumns.set(column);
+			}
+		}
+		assertEquals(expectedGapColumns, index.getGapColumns(1));
+		assertFalse(index.isOutdated());
+	}
+	
+	
+	@Test
+	public void test_incrementalUpdate() {
+		CharacterTokenSet tokenSet = CharacterTokenSet.newDNAInstance(false);
+		List<Character> tokens = new ArrayList<Character>(tokenSet);
+		for (int i = 0; i < 4; i++) {
+			tokens.add('-');  // Gaps should be frequent enough to create gap only columns.
+		}
+		AlignmentModel<Character> model = new ArrayListAlignmentModel<Character>(tokenSet);
+		GapColumnIndex index = new GapColumnIndex(model);
+		model.getDataModels().getAlignmentList().add(index);
+		List<String> sequenceIDs = new ArrayList<String>();
+		
+		Random random = new Random(1);
+		for (int step = 0; step < 1000; step++) {
+			int operation = random.nextInt(10);
+			if ((operation == 0) || sequenceIDs.isEmpty()) {
+				sequenceIDs.add(model.addSequence("seq" + step));
+			}
+			else if ((operation == 1) && (sequenceIDs.size() > 2)) {
+				model.removeSequence(sequenceIDs.remove(random.nextInt(sequenceIDs.size())));
+			}
+			else {
+				String sequenceID = sequenceIDs.get(random.nextInt(sequenceIDs.size()));
+				int length = model.getSequenceLength(sequenceID);
+				if ((operation < 6) || (length == 0)) {
+					List<Character> inserted = new ArrayList<Character>();
+					int count = 1 + random.nextInt(8);
+					for (int i = 0; i < count; i++) {
+						inserted.add(tokens.get(random.nextInt(tokens.size())));
+					}
+					model.insertTokensAt(sequenceID, random.nextInt(length + 1), inserted, true);
+				}
+				else if (operation < 8) {
+					int beginIndex = random.nextInt(length);
+					model.removeTokensAt(sequenceID, beginIndex, Math.min(length, beginIndex + 1 + random.nextInt(5)));
+				}
+				else {
+					model.setTokenAt(sequenceID, random.nextInt(length), tokens.get(random.nextInt(tokens.size())));
+				}
+			}
+			
+			if (step % 50 == 0) {
+				assertIndexValid(model, index);
+			}
+		}
+		assertIndexValid(model, index);
+		
+		int removedColumns = index.removeGapColumns(1);
+		assertTrue(removedColumns > 0);
+		assertIndexValid(model, index);
+		assertTrue(index.getGapColumns(1).isEmpty());
+	}
+	
+	
+	@Test
+	public void test_dispose() {
+		AlignmentModel<Character> model = new ArrayListAlignmentModel<Character>(CharacterTokenSet.newDNAInstance(false));
+		String sequenceID = model.addSequence("A");
+		model.appendTokens(sequenceID, AlignmentModelUtils.charSequenceToTokenList("A-C", model.getTokenSet()), true);
+		GapColumnIndex index = new GapColumnIndex(model);
+		model.getDataModels().getAlignmentList().add(index);
+		assertTrue(index.isGapOnlyColumn(1));
+		
+		model.getDataModels().getAlignmentList().remove(0);  // ListDecorator.remove(Object) of the commons library does not terminate.
+		assertFalse(index.isAttached());
+		model.setTokenAt(sequenceID, 1, 'T');  // Must not be processed by the disposed index.
+		assertFalse(index.isAttached());
+		
+		assertFalse(index.isGapOnlyColumn(1));  // Querying attaches the index again.
+		assertTrue(index.isAttached());
+		model.setTokenAt(sequenceID, 1, '-');
+		assertTrue(index.isGapOnlyColumn(1));
+		
+		index.dispose();
+		assertFalse(index.isAttached());
+	}
+}
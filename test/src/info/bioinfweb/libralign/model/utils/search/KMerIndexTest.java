@@ -0,0 +1,154 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.model.utils.search;
+
+
+import static org.junit.Assert.*;
+
+
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+import info.bioinfweb.libralign.model.tokenset.CharacterTokenSet;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+
+
+/**
+ * Contains test cases for {@link KMerIndex}.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class KMerIndexTest {
+	private static final int K = 4;
+	private static final char[] TOKENS = {'A', 'C', 'G', 'T', 'N', '-', '-', '-'};
+	
+	
+	private static Set<String> findSequencesByScan(AlignmentModel<Character> model, String motif) {
+		Set<String> result = new HashSet<String>();
+		Iterator<String> iterator = model.sequenceIDIterator();
+		while (iterator.hasNext()) {
+			String sequenceID = iterator.next();
+			StringBuilder unaligned = new StringBuilder();
+			for (int i = 0; i < model.getSequenceLength(sequenceID); i++) {
+				char token = model.getTokenAt(sequenceID, i);
+				if (token != '-') {
+					unaligned.append(token);
+				}
+			}
+			if (unaligned.indexOf(motif) >= 0) {
+				result.add(sequenceID);
+			}
+		}
+		return result;
+	}
+	
+	
+	private static String randomMotif(Random random, int length) {
+		StringBuilder result = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			result.append(TOKENS[random.nextInt(4)]);
+		}
+		return result.toString();
+	}
+	
+	
+	private static void assertIndexValid(AlignmentModel<Character> model, KMerIndex index, Random random) {
+		for (int i = 0; i < 20; i++) {
+			String motif = randomMotif(random, K + random.nextInt(3));
+			assertEquals(findSequencesByScan(model, motif), index.getSequencesContaining(motif));
+		}
+		assertFalse(index.isOutdated());
+	}
+	
+	
+	@Test
+	public void test_incrementalUpdate() {
+		AlignmentModel<Character> model = new ArrayListAlignmentModel<Character>(CharacterTokenSet.newDNAInstance(false));
+		KMerIndex index = new KMerIndex(model, K);
+		model.getDataModels().getAlignmentList().add(index);
+		List<String> sequenceIDs = new ArrayList<String>();
+		
+		Random random = new Random(1);
+		for (int step = 0; step < 1000; step++) {
+			int operation = random.nextInt(10);
+			if ((operation == 0) || sequenceIDs.isEmpty()) {
+				sequenceIDs.add(model.addSequence("seq" + step));
+			}
+			else if ((operation == 1) && (sequenceIDs.size() > 2)) {
+				model.removeSequence(sequenceIDs.remove(random.nextInt(sequenceIDs.size())));
+			}
+			else {
+				String sequenceID = sequenceIDs.get(random.nextInt(sequenceIDs.size()));
+				int length = model.getSequenceLength(sequenceID);
+				if ((operation < 6) || (length == 0)) {
+					List<Character> inserted = new ArrayList<Character>();
+					int count = 1 + random.nextInt(20);
+					for (int i = 0; i < count; i++) {
+						inserted.add(TOKENS[random.nextInt(TOKENS.length)]);
+					}
+					model.insertTokensAt(sequenceID, random.nextInt(length + 1), inserted, true);
+				}
+				else if (operation < 8) {
+					int beginIndex = random.nextInt(length);
+					model.removeTokensAt(sequenceID, beginIndex, Math.min(length, beginIndex + 1 + random.nextInt(5)));
+				}
+				else {
+					model.setTokenAt(sequenceID, random.nextInt(length), TOKENS[random.nextInt(TOKENS.length)]);
+				}
+			}
+			
+			if (step % 50 == 0) {
+				assertIndexValid(model, index, random);
+			}
+		}
+		assertIndexValid(model, index, random);
+	}
+	
+	
+	@Test
+	public void test_dispose() {
+		AlignmentModel<Character> model = new ArrayListAlignmentModel<Character>(CharacterTokenSet.newDNAInstance(false));
+		String sequenceID = model.addSequence("A");
+		for (char token : "ACGTAC".toCharArray()) {
+			model.appendToken(sequenceID, token, true);
+		}
+		KMerIndex index = new KMerIndex(model, K);
+		model.getDataModels().getAlignmentList().add(index);
+		assertEquals(1, index.getSequencesContaining("CGTA").size());
+		
+		model.getDataModels().getAlignmentList().remove(0);  // ListDecorator.remove(Object) of the commons library does not terminate.
+		assertFalse(index.isAttached());
+		assertEquals(0, index.getKMerCount());
+		model.setTokenAt(sequenceID, 2, 'A');  // Must not be processed by the disposed index.
+		assertFalse(index.isAttached());
+		
+		assertTrue(index.getSequencesContaining("CGTA").isEmpty());  // Querying attaches the index again.
+		assertTrue(index.isAttached());
+		assertEquals(1, index.getSequencesContaining("CATA").size());
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.pherogram;
+
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import info.bioinfweb.libralign.pherogram.provider.PherogramProvider;
+
+import org.junit.*;
+
+
+
+/**
+ * Contains test cases for {@link TraceCurveMinMaxPyramid}. The results are compared to a linear scan over 
+ * the trace values.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class TraceCurveMinMaxPyramidTest {
+	private static final String NUCLEOTIDES = "ACGT";
+	
+	
+	private static class RandomTracePherogramProvider implements PherogramProvider {
+		private double[][] traceValues;
+		
+		
+		public RandomTracePherogramProvider(int traceLength, long seed) {
+			super();
+			Random random = new Random(seed);
+			traceValues = new double[NUCLEOTIDES.length()][traceLength];
+			for (int channel = 0; channel < NUCLEOTIDES.length(); channel++) {
+				for (int x = 0; x < traceLength; x++) {
+					traceValues[channel][x] = random.nextInt(2000) - 100 + random.nextDouble();
+				}
+			}
+		}
+
+		@Override
+		public double getTraceValue(char nucleotide, int x) {
+			return traceValues[NUCLEOTIDES.indexOf(nucleotide)][x];
+		}
+
+		@Override
+		public int getTraceLength() {
+			return traceValues[0].length;
+		}
+
+		@Override
+		public double getMaxTraceValue(char nucleotide) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public char getBaseCall(int baseIndex) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int getBaseCallPosition(int baseIndex) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int getQuality(char nucleotide, int baseIndex) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int getAnnotation(String label, int baseIndex) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int getSequenceLength() {
+			return 0;
+		}
+
+		@Override
+		public PherogramProvider reverseComplement() {
+			throw new UnsupportedOperationException();
+		}
+	}
+	
+	
+	private static void assertPyramid(int traceLength) {
+		PherogramProvider provider = new RandomTracePherogramProvider(traceLength, traceLength);
+		TraceCurveMinMaxPyramid pyramid = new TraceCurveMinMaxPyramid(provider);
+		assertSame(provider, pyramid.getProvider());
+		
+		for (char nucleotide : NUCLEOTIDES.toCharArray()) {
+			for (int start = -2; start <= traceLength + 2; start++) {
+				double minimum = Double.POSITIVE_INFINITY;
+				double maximum = Double.NEGATIVE_INFINITY;
+				for (int end = start; end <= traceLength + 2; end++) {  // All ranges, most of which are not aligned with the levels of the pyramid.
+					if ((end > Math.max(0, start)) && (end <= traceLength)) {
+						double value = (float)provider.getTraceValue(nucleotide, end - 1);  // The pyramid stores float values.
+						minimum = Math.min(minimum, value);
+						maximum = Math.max(maximum, value);
+					}
+					String message = nucleotide + " [" + start + ", " + end + ") of " + traceLength;
+					assertEquals(message, minimum, pyramid.getMinimum(nucleotide, start, end), 0.0);
+					assertEquals(message, maximum, pyramid.getMaximum(nucleotide, start, end), 0.0);
+					assertEquals(message, minimum, pyramid.getMinimum(Character.toLowerCase(nucleotide), start, end), 0.0);
+				}
+			}
+		}
+	}
+	
+	
+	@Test
+	public void test_getMinimumMaximum() {
+		for (int traceLength : new int[]{0, 1, 2, 3, 16, 17, 31, 100}) {
+			assertPyramid(traceLength);
+		}
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_getMinimum_invalidNucleotide() {
+		new TraceCurveMinMaxPyramid(new RandomTracePherogramProvider(10, 0)).getMinimum('N', 0, 5);
+	}
+	
+	
+	@Test(expected=NullPointerException.class)
+	public void test_nullProvider() {
+		new TraceCurveMinMaxPyramid(null);
+	}
+}
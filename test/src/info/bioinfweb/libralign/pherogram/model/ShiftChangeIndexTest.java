@@ -0,0 +1,287 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.pherogram.model;
+
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import info.bioinfweb.commons.Math2;
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+import info.bioinfweb.libralign.model.tokenset.CharacterTokenSet;
+import info.bioinfweb.libralign.pherogram.provider.PherogramProvider;
+
+import org.junit.*;
+
+
+
+/**
+ * Contains test cases for {@link ShiftChangeIndex}. The translations of {@link PherogramAreaModel}, which
+ * use the index, are compared to the linear walks over the shift change list that were used before. 
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class ShiftChangeIndexTest {
+	private static final int BASE_CALL_COUNT = 30;
+	private static final int SEQUENCE_LENGTH = 80;
+	
+	
+	private static class TestPherogramProvider implements PherogramProvider {
+		@Override
+		public double getTraceValue(char nucleotide, int x) {
+			return 0;
+		}
+
+		@Override
+		public int getTraceLength() {
+			return 10 * BASE_CALL_COUNT;
+		}
+
+		@Override
+		public double getMaxTraceValue(char nucleotide) {
+			return 1;
+		}
+
+		@Override
+		public char getBaseCall(int baseIndex) {
+			return "ACGT".charAt(baseIndex % 4);
+		}
+
+		@Override
+		public int getBaseCallPosition(int baseIndex) {
+			return 10 * baseIndex + 5;
+		}
+
+		@Override
+		public int getQuality(char nucleotide, int baseIndex) {
+			return 10;
+		}
+
+		@Override
+		public int getAnnotation(String label, int baseIndex) {
+			return -1;
+		}
+
+		@Override
+		public int getSequenceLength() {
+			return BASE_CALL_COUNT;
+		}
+
+		@Override
+		public PherogramProvider reverseComplement() {
+			return this;
+		}
+	}
+	
+	
+	private static boolean isGap(PherogramAreaModel model, int editableIndex) {
+		return model.getAlignmentModel().getTokenAt(model.getLabeledSequenceID(), editableIndex).equals('-');
+	}
+	
+	
+	private static PherogramAlignmentRelation linearEditableIndexByBaseCallIndex(PherogramAreaModel model, int baseCallIndex) {
+		List<ShiftChange> shiftChangeList = model.getShiftChangeList();
+		int sequenceLength = model.getPherogramProvider().getSequenceLength();
+		if (baseCallIndex < 0) {
+			return new PherogramAlignmentRelation(PherogramAlignmentRelation.OUT_OF_RANGE, PherogramAlignmentRelation.OUT_OF_RANGE, 
+					1 - model.getLeftCutPosition() + model.getFirstSeqPos(), shiftChangeList.listIterator());
+		}
+		else if (baseCallIndex >= sequenceLength) {
+			return new PherogramAlignmentRelation(linearEditableIndexByBaseCallIndex(model, sequenceLength - 1).getCorresponding(), 
+					PherogramAlignmentRelation.OUT_OF_RANGE, PherogramAlignmentRelation.OUT_OF_RANGE, 
+					shiftChangeList.listIterator(shiftChangeList.size()));
+		}
+		else {
+			int resultPos = baseCallIndex - model.getLeftCutPosition() + model.getFirstSeqPos();
+			ListIterator<ShiftChange> iterator = shiftChangeList.listIterator();
+			while (iterator.hasNext()) {
+				ShiftChange entry = iterator.next();
+				if ((entry.getShiftChange() < 0) && (Math2.isBetween(baseCallIndex, 
+						entry.getBaseCallIndex(), entry.getBaseCallIndex() - entry.getShiftChange() - 1))) {
+					
+					resultPos -= baseCallIndex - entry.getBaseCallIndex();
+					return new PherogramAlignmentRelation(resultPos - 1, PherogramAlignmentRelation.GAP,	resultPos, iterator);
+				}
+				else if (entry.getBaseCallIndex() < baseCallIndex) {
+					resultPos += entry.getShiftChange();
+				}
+				else {
+					iterator.previous();
+					int afterPos = resultPos;
+					if (Math2.isBetween(baseCallIndex, entry.getBaseCallIndex(), entry.getBaseCallIndex() + entry.getShiftChange() - 1)) {
+						afterPos += entry.getShiftChange();
+					}
+					return new PherogramAlignmentRelation(resultPos, resultPos, afterPos, iterator);
+				}
+			}
+			return new PherogramAlignmentRelation(resultPos, resultPos, resultPos, iterator);
+		}
+	}
+	
+	
+	private static PherogramAlignmentRelation linearBaseCallIndexByEditableIndex(PherogramAreaModel model, int editableIndex) {
+		int sequenceLength = model.getPherogramProvider().getSequenceLength();
+		int resultPos = editableIndex - model.getFirstSeqPos() + model.getLeftCutPosition();
+		ListIterator<ShiftChange> iterator = model.getShiftChangeList().listIterator();
+		while (iterator.hasNext()) {
+			ShiftChange entry = iterator.next();
+			if ((entry.getShiftChange() > 0) && (Math2.isBetween(resultPos, 
+					entry.getBaseCallIndex(), entry.getBaseCallIndex() + entry.getShiftChange() - 1))) {
+				
+				int beforePos = entry.getBaseCallIndex();
+				int correspondingPos = entry.getBaseCallIndex();
+				int afterPos = entry.getBaseCallIndex();
+				if (isGap(model, editableIndex)) {
+					correspondingPos = PherogramAlignmentRelation.GAP;
+					if (resultPos == entry.getBaseCallIndex()) {
+						beforePos = entry.getBaseCallIndex() - 1;
+						if (beforePos < 0) {
+							beforePos = PherogramAlignmentRelation.OUT_OF_RANGE;
+						}
+					}
+					if (resultPos == entry.getBaseCallIndex() + entry.getShiftChange() - 1) {
+						afterPos = entry.getBaseCallIndex() + 1;
+						if (afterPos >= sequenceLength) {
+							afterPos = PherogramAlignmentRelation.OUT_OF_RANGE;
+						}
+					}
+				}
+				return new PherogramAlignmentRelation(beforePos, correspondingPos, afterPos, iterator);
+			}
+			else if (entry.getBaseCallIndex() <= resultPos) {
+				resultPos -= entry.getShiftChange();
+			}
+			else {
+				iterator.previous();
+				break;
+			}
+		}
+		
+		if (resultPos < 0) {
+			return new PherogramAlignmentRelation(PherogramAlignmentRelation.OUT_OF_RANGE, PherogramAlignmentRelation.OUT_OF_RANGE, 0, 
+					iterator);
+		}
+		else if (resultPos >= sequenceLength) {
+			return new PherogramAlignmentRelation(sequenceLength - 1, PherogramAlignmentRelation.OUT_OF_RANGE, 
+					PherogramAlignmentRelation.OUT_OF_RANGE, iterator);
+		}
+		else {
+			return new PherogramAlignmentRelation(resultPos, resultPos, resultPos, iterator);
+		}
+	}
+	
+	
+	private static int linearShiftAtBaseCallIndex(PherogramAreaModel model, int baseCallIndex) {
+		int result = 0;
+		for (ShiftChange entry : model.getShiftChangeList()) {
+			if (entry.getBaseCallIndex() <= baseCallIndex) {
+				result += entry.getShiftChange();
+			}
+		}
+		return result;
+	}
+	
+	
+	private static void assertRelation(String message, PherogramAlignmentRelation expected, PherogramAlignmentRelation actual) {
+		assertEquals(message, expected.getBefore(), actual.getBefore());
+		assertEquals(message, expected.getCorresponding(), actual.getCorresponding());
+		assertEquals(message, expected.getAfter(), actual.getAfter());
+		assertEquals(message, expected.getIterator().nextIndex(), actual.getIterator().nextIndex());
+	}
+	
+	
+	private static void assertTranslations(PherogramAreaModel model) {
+		String shiftChanges = "";
+		for (ShiftChange entry : model.getShiftChangeList()) {
+			shiftChanges += entry.getBaseCallIndex() + ":" + entry.getShiftChange() + " ";
+		}
+		
+		for (int baseCallIndex = -2; baseCallIndex < BASE_CALL_COUNT + 2; baseCallIndex++) {
+			String message = "Base call index " + baseCallIndex + " with shift changes " + shiftChanges;
+			assertRelation(message, linearEditableIndexByBaseCallIndex(model, baseCallIndex), 
+					model.editableIndexByBaseCallIndex(baseCallIndex));
+			assertEquals(message, linearShiftAtBaseCallIndex(model, baseCallIndex), model.shiftAtBaseCallIndex(baseCallIndex));
+		}
+		for (int editableIndex = 0; editableIndex < SEQUENCE_LENGTH; editableIndex++) {  // Includes positions before the first shift change and before the pherogram.
+			assertRelation("Editable index " + editableIndex + " with shift changes " + shiftChanges, 
+					linearBaseCallIndexByEditableIndex(model, editableIndex), model.baseCallIndexByEditableIndex(editableIndex));
+		}
+	}
+	
+	
+	private static PherogramAreaModel createModel(Random random) {
+		AlignmentModel<Character> alignmentModel = new ArrayListAlignmentModel<Character>(CharacterTokenSet.newDNAInstance(false));
+		String id = alignmentModel.addSequence("Sequence 1");
+		for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+			alignmentModel.appendToken(id, random.nextInt(4) == 0 ? '-' : 'A', true);
+		}
+		return new PherogramAreaModel(new TestPherogramProvider(), alignmentModel, id);
+	}
+	
+	
+	@Test
+	public void test_noShiftChanges() {
+		PherogramAreaModel model = createModel(new Random(1));
+		assertTranslations(model);
+		model.setFirstSeqPos(7);
+		model.setLeftCutPosition(3);
+		assertTranslations(model);
+	}
+	
+	
+	@Test
+	public void test_singleShiftChanges() {
+		for (int shiftChange = -3; shiftChange <= 3; shiftChange++) {
+			if (shiftChange != 0) {
+				for (int baseCallIndex : new int[]{0, 1, 15, BASE_CALL_COUNT - 1}) {
+					PherogramAreaModel model = createModel(new Random(2));
+					model.setFirstSeqPos(10);
+					model.addShiftChange(baseCallIndex, shiftChange);
+					assertTranslations(model);
+				}
+			}
+		}
+	}
+	
+	
+	@Test
+	public void test_randomShiftChanges() {
+		Random random = new Random(3);
+		for (int i = 0; i < 300; i++) {
+			PherogramAreaModel model = createModel(random);
+			model.setFirstSeqPos(random.nextInt(15));
+			model.setLeftCutPosition(random.nextInt(4));
+			
+			int count = random.nextInt(10);
+			for (int j = 0; j < count; j++) {
+				int shiftChange = random.nextInt(4) + 1;
+				if (random.nextBoolean()) {
+					shiftChange = -shiftChange;
+				}
+				model.addShiftChange(random.nextInt(BASE_CALL_COUNT), shiftChange);
+			}
+			assertTranslations(model);
+		}
+	}
+}
@@ -0,0 +1,256 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.pherogram.provider;
+
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+import info.bioinfweb.libralign.model.tokenset.CharacterTokenSet;
+import info.bioinfweb.libralign.model.utils.AlignmentModelUtils;
+import info.bioinfweb.libralign.pherogram.model.PherogramAreaModel;
+import info.bioinfweb.libralign.pherogram.model.ShiftChange;
+
+import org.junit.*;
+
+
+
+/**
+ * Contains test cases for {@link PherogramReference} and {@link AbstractCachingPherogramProviderByURL}.
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ */
+public class PherogramReferenceTest {
+	private static final String BASE_CALLS = "ACGTACGT";
+	private static final int FIRST_SEQ_POS = 2;
+	
+	
+	private static class TestPherogramProvider implements PherogramProvider {
+		@Override
+		public double getTraceValue(char nucleotide, int x) {
+			return 0;
+		}
+
+		@Override
+		public int getTraceLength() {
+			return 10 * BASE_CALLS.length();
+		}
+
+		@Override
+		public double getMaxTraceValue(char nucleotide) {
+			return 1;
+		}
+
+		@Override
+		public char getBaseCall(int baseIndex) {
+			return BASE_CALLS.charAt(baseIndex);
+		}
+
+		@Override
+		public int getBaseCallPosition(int baseIndex) {
+			return 10 * baseIndex + 5;
+		}
+
+		@Override
+		public int getQuality(char nucleotide, int baseIndex) {
+			return 10;
+		}
+
+		@Override
+		public int getAnnotation(String label, int baseIndex) {
+			return -1;
+		}
+
+		@Override
+		public int getSequenceLength() {
+			return BASE_CALLS.length();
+		}
+
+		@Override
+		public PherogramProvider reverseComplement() {
+			return this;
+		}
+	}
+	
+	
+	private static class TestProviderByURL extends AbstractCachingPherogramProviderByURL {
+		private final List<URL> loadedURLs = new ArrayList<URL>();
+		
+		@Override
+		protected PherogramProvider loadPherogramProvider(URL url) throws IOException {
+			loadedURLs.add(url);
+			return new TestPherogramProvider();
+		}
+	}
+	
+	
+	private static AlignmentModel<Character> createModel() {
+		AlignmentModel<Character> model = new ArrayListAlignmentModel<Character>(CharacterTokenSet.newDNAInstance(false));
+		String id = model.addSequence("Sequence 1");
+		model.appendTokens(id, AlignmentModelUtils.charSequenceToTokenList("--" + BASE_CALLS + "--", model.getTokenSet()), true);
+		return model;
+	}
+	
+	
+	private static String firstID(AlignmentModel<?> model) {
+		return model.sequenceIDIterator().next();
+	}
+	
+	
+	private static PherogramReference createLoadingReference(AlignmentModel<?> model, CompletableFuture<PherogramProvider> future) {
+		return new PherogramReference(model, future, null, firstID(model), new ArrayList<ShiftChange>(), Runnable::run, 
+				reference -> reference.setFirstSeqPos(FIRST_SEQ_POS));
+	}
+	
+	
+	private static void edit(AlignmentModel<Character> model) {
+		String id = firstID(model);
+		model.insertTokenAt(id, 0, '-', true);  // Before the pherogram
+		model.insertTokenAt(id, 6, '-', true);  // Inside the pherogram
+		model.removeTokensAt(id, 8, 10);  // Inside the pherogram
+		model.insertTokenAt(id, 1, '-', true);  // Before the pherogram
+	}
+	
+	
+	private static String shiftChanges(PherogramAreaModel model) {
+		StringBuilder result = new StringBuilder();
+		for (ShiftChange shiftChange : model.getShiftChangeList()) {
+			result.append(shiftChange.getBaseCallIndex() + ":" + shiftChange.getShiftChange() + " ");
+		}
+		return result.toString();
+	}
+	
+	
+	@Test
+	public void test_editsWhileLoading() throws Exception {
+		AlignmentModel<Character> expectedModel = createModel();
+		PherogramReference expected = new PherogramReference(expectedModel, new TestPherogramProvider(), null, firstID(expectedModel));
+		expected.setFirstSeqPos(FIRST_SEQ_POS);
+		edit(expectedModel);
+		assertEquals(FIRST_SEQ_POS + 2, expected.getFirstSeqPos());
+		assertEquals(2, expected.getShiftChangeCount());
+		
+		AlignmentModel<Character> model = createModel();
+		CompletableFuture<PherogramProvider> future = new CompletableFuture<PherogramProvider>();
+		PherogramReference reference = createLoadingReference(model, future);
+		edit(model);
+		assertFalse(reference.isPherogramLoaded());
+		assertFalse(reference.getLoadingFuture().isDone());
+		assertEquals(0, reference.getShiftChangeCount());
+		
+		future.complete(new TestPherogramProvider());
+		assertTrue(reference.isPherogramLoaded());
+		assertSame(reference, reference.getLoadingFuture().getNow(null));
+		assertEquals(expected.getFirstSeqPos(), reference.getFirstSeqPos());
+		assertEquals(shiftChanges(expected), shiftChanges(reference));
+		
+		expectedModel.insertTokenAt(firstID(expectedModel), 0, '-', true);  // Edits after loading are processed directly.
+		model.insertTokenAt(firstID(model), 0, '-', true);
+		assertEquals(expected.getFirstSeqPos(), reference.getFirstSeqPos());
+		assertEquals(shiftChanges(expected), shiftChanges(reference));
+	}
+	
+	
+	@Test
+	public void test_updateExecutor() {
+		AlignmentModel<Character> model = createModel();
+		CompletableFuture<PherogramProvider> future = new CompletableFuture<PherogramProvider>();
+		List<Runnable> tasks = new ArrayList<Runnable>();
+		PherogramReference reference = new PherogramReference(model, future, null, firstID(model), 
+				new ArrayList<ShiftChange>(), tasks::add, null);
+		
+		future.complete(new TestPherogramProvider());
+		assertFalse(reference.isPherogramLoaded());  // The provider is only set by the update executor.
+		assertFalse(reference.getLoadingFuture().isDone());
+		assertEquals(1, tasks.size());
+		
+		tasks.get(0).run();
+		assertTrue(reference.isPherogramLoaded());
+		assertTrue(reference.getLoadingFuture().isDone());
+	}
+	
+	
+	private static void assertFailedLoading(Throwable failure, Throwable expectedCause) throws InterruptedException {
+		AlignmentModel<Character> model = createModel();
+		CompletableFuture<PherogramProvider> future = new CompletableFuture<PherogramProvider>();
+		PherogramReference reference = createLoadingReference(model, future);
+		edit(model);
+		
+		future.completeExceptionally(failure);
+		assertFalse(reference.isPherogramLoaded());
+		assertTrue(reference.getLoadingFuture().isCompletedExceptionally());
+		try {
+			reference.getLoadingFuture().get();
+			fail("Exception not thrown.");
+		}
+		catch (ExecutionException e) {
+			assertSame(expectedCause, e.getCause());
+		}
+		
+		model.insertTokenAt(firstID(model), 0, '-', true);  // Neither recorded nor processed edits must be applied.
+		assertEquals(0, reference.getFirstSeqPos());
+		assertEquals(0, reference.getShiftChangeCount());
+	}
+	
+	
+	@Test
+	public void test_failedLoading() throws Exception {
+		IOException exception = new IOException("Test");
+		assertFailedLoading(exception, exception);
+		assertFailedLoading(new CompletionException(exception), exception);
+	}
+	
+	
+	@Test
+	public void test_getPherogramProviderAsync() throws Exception {
+		TestProviderByURL providerByURL = new TestProviderByURL();
+		URL url1 = new URL("file:/pherogram1.scf");
+		URL url2 = new URL("file:/pherogram2.scf");
+		List<Runnable> tasks = new ArrayList<Runnable>();
+		
+		CompletableFuture<PherogramProvider> future1 = providerByURL.getPherogramProviderAsync(url1, tasks::add);
+		assertSame(future1, providerByURL.getPherogramProviderAsync(new URL(url1.toString()), tasks::add));  // Concurrent request
+		CompletableFuture<PherogramProvider> future2 = providerByURL.getPherogramProviderAsync(url2, tasks::add);
+		assertNotSame(future1, future2);
+		assertEquals(2, tasks.size());
+		
+		for (Runnable task : tasks) {
+			task.run();
+		}
+		assertEquals(2, providerByURL.loadedURLs.size());
+		PherogramProvider provider = future1.getNow(null);
+		assertNotNull(provider);
+		
+		tasks.clear();
+		CompletableFuture<PherogramProvider> future3 = providerByURL.getPherogramProviderAsync(url1, tasks::add);  // Loaded from the cache
+		assertTrue(tasks.isEmpty());
+		assertSame(provider, future3.getNow(null));
+		assertEquals(2, providerByURL.loadedURLs.size());
+	}
+}
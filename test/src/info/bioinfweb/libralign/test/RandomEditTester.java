@@ -0,0 +1,252 @@
+/*
+ * LibrAlign - A GUI library for displaying and editing multiple sequence alignments and attached data
+ * Copyright (C) 2014-2018  Ben Stöver
+ * <http://bioinfweb.info/LibrAlign>
+ * 
+ * This file is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This file is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package info.bioinfweb.libralign.test;
+
+
+import static org.junit.Assert.*;
+
+
+import info.bioinfweb.libralign.model.AlignmentModel;
+import info.bioinfweb.libralign.model.implementations.ArrayListAlignmentModel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+
+
+/**
+ * Performs random edits on an alignment model and mirrors them on an {@link ArrayListAlignmentModel}, which is used as 
+ * the reference. The edited sequence of both models is compared after each edit. All sequences are compared at the end 
+ * and optionally in regular intervals.
+ * <p>
+ * Edits insert single tokens or lists of tokens, remove single tokens or ranges and replace tokens. Model specific
+ * assertions can be performed after each edit by specifying an {@link EditCheck}. 
+ * 
+ * @author Ben St&ouml;ver
+ * @since 0.10.0
+ *
+ * @param <T> the type of tokens in the tested model
+ * @param <M> the type of the tested model
+ */
+public class RandomEditTester<T, M extends AlignmentModel<T>> {
+	/**
+	 * Performs model specific assertions after each edit.
+	 * 
+	 * @param <T> the type of tokens in the tested model
+	 */
+	public static interface EditCheck<T> {
+		/**
+		 * Called after an edit was performed on both models.
+		 * 
+		 * @param sequenceID the ID of the edited sequence in the tested model
+		 * @param expectedSequence the tokens the edited sequence is expected to contain
+		 */
+		public void check(String sequenceID, List<T> expectedSequence);
+	}
+	
+	
+	private final M model;
+	private final ArrayListAlignmentModel<T> expectedModel;
+	private final Function<Random, T> tokenSupplier;
+	private final List<String> sequenceIDs = new ArrayList<String>();
+	private final List<String> expectedIDs = new ArrayList<String>();
+	private int maxInsertionLength = 30;
+	private int maxRemovalLength = 20;
+	private int fullComparisonInterval = 0;
+	private EditCheck<T> editCheck = null;
+	
+	
+	/**
+	 * Creates a new instance and adds the specified number of empty sequences to the tested model and the reference 
+	 * model.
+	 * 
+	 * @param modelFactory the factory creating the empty model to be tested
+	 * @param sequenceCount the number of sequences to be edited
+	 * @param tokenSupplier the function returning a new token using the specified random number generator (Tokens 
+	 *        in a list to be inserted are requested one after another, so that the function may create runs of 
+	 *        similar tokens.)
+	 */
+	public RandomEditTester(Supplier<? extends M> modelFactory, int sequenceCount, Function<Random, T> tokenSupplier) {
+		super();
+		this.model = modelFactory.get();
+		this.expectedModel = new ArrayListAlignmentModel<T>(model.getTokenSet());
+		this.tokenSupplier = tokenSupplier;
+		for (int i = 0; i < sequenceCount; i++) {
+			sequenceIDs.add(model.addSequence("seq" + i));
+			expectedIDs.add(expectedModel.addSequence("seq" + i));
+		}
+	}
+	
+	
+	/**
+	 * Returns a token supplier that selects one of the specified tokens with equal probability.
+	 * 
+	 * @param tokens the tokens to select from (Tokens contained multiple times are selected more often.)
+	 * @return the token supplier
+	 */
+	public static <T> Function<Random, T> randomTokens(Collection<? extends T> tokens) {
+		final List<T> tokenList = new ArrayList<T>(tokens);
+		return random -> tokenList.get(random.nextInt(tokenList.size()));
+	}
+
+
+	public M getModel() {
+		return model;
+	}
+
+
+	public ArrayListAlignmentModel<T> getExpectedModel() {
+		return expectedModel;
+	}
+
+
+	/**
+	 * Returns the IDs of the edited sequences in the tested model.
+	 */
+	public List<String> getSequenceIDs() {
+		return sequenceIDs;
+	}
+
+
+	/**
+	 * Returns the IDs of the edited sequences in the reference model in the same order as {@link #getSequenceIDs()}.
+	 */
+	public List<String> getExpectedIDs() {
+		return expectedIDs;
+	}
+
+
+	/**
+	 * Specifies the maximum number of tokens inserted at once. (The default is 30.)
+	 */
+	public RandomEditTester<T, M> setMaxInsertionLength(int maxInsertionLength) {
+		this.maxInsertionLength = maxInsertionLength;
+		return this;
+	}
+
+
+	/**
+	 * Specifies the maximum number of tokens removed at once. (The default is 20.)
+	 */
+	public RandomEditTester<T, M> setMaxRemovalLength(int maxRemovalLength) {
+		this.maxRemovalLength = maxRemovalLength;
+		return this;
+	}
+
+
+	/**
+	 * Specifies the number of edits after which all sequences shall be compared. (The default value 0 means, that all
+	 * sequences are only compared at the end of {@link #run(int, long)}.)
+	 */
+	public RandomEditTester<T, M> setFullComparisonInterval(int fullComparisonInterval) {
+		this.fullComparisonInterval = fullComparisonInterval;
+		return this;
+	}
+
+
+	/**
+	 * Specifies the check to be performed after each edit.
+	 */
+	public RandomEditTester<T, M> setEditCheck(EditCheck<T> editCheck) {
+		this.editCheck = editCheck;
+		return this;
+	}
+	
+	
+	private void assertSequence(int sequenceIndex) {
+		String sequenceID = sequenceIDs.get(sequenceIndex);
+		List<T> expected = expectedModel.getSequence(expectedIDs.get(sequenceIndex));
+		assertEquals(expected.size(), model.getSequenceLength(sequenceID));
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), model.getTokenAt(sequenceID, i));
+		}
+	}
+	
+	
+	private void assertAllSequences() {
+		for (int i = 0; i < sequenceIDs.size(); i++) {
+			assertSequence(i);
+		}
+	}
+	
+	
+	/**
+	 * Performs the specified number of random edits and compares the models as described in the documentation of this 
+	 * class.
+	 * 
+	 * @param stepCount the number of edits to be performed
+	 * @param seed the seed of the random number generator
+	 */
+	public void run(int stepCount, long seed) {
+		Random random = new Random(seed);
+		for (int step = 0; step < stepCount; step++) {
+			int sequenceIndex = random.nextInt(sequenceIDs.size());
+			String sequenceID = sequenceIDs.get(sequenceIndex);
+			String expectedID = expectedIDs.get(sequenceIndex);
+			int length = expectedModel.getSequenceLength(expectedID);
+			int operation = random.nextInt(5);
+			if ((operation == 0) || (length == 0)) {
+				List<T> inserted = new ArrayList<T>();
+				int count = random.nextInt(maxInsertionLength + 1);
+				for (int i = 0; i < count; i++) {
+					inserted.add(tokenSupplier.apply(random));
+				}
+				int index = random.nextInt(length + 1);
+				model.insertTokensAt(sequenceID, index, inserted, true);
+				expectedModel.insertTokensAt(expectedID, index, inserted, true);
+			}
+			else if (operation == 1) {
+				int index = random.nextInt(length + 1);
+				T token = tokenSupplier.apply(random);
+				model.insertTokenAt(sequenceID, index, token, true);
+				expectedModel.insertTokenAt(expectedID, index, token, true);
+			}
+			else if (operation == 2) {
+				int beginIndex = random.nextInt(length);
+				int endIndex = Math.min(length, beginIndex + random.nextInt(maxRemovalLength + 1));
+				model.removeTokensAt(sequenceID, beginIndex, endIndex);
+				expectedModel.removeTokensAt(expectedID, beginIndex, endIndex);
+			}
+			else if (operation == 3) {
+				int index = random.nextInt(length);
+				model.removeTokenAt(sequenceID, index);
+				expectedModel.removeTokenAt(expectedID, index);
+			}
+			else {
+				int index = random.nextInt(length);
+				T token = tokenSupplier.apply(random);
+				model.setTokenAt(sequenceID, index, token);
+				expectedModel.setTokenAt(expectedID, index, token);
+			}
+			
+			assertSequence(sequenceIndex);
+			if (editCheck != null) {
+				editCheck.check(sequenceID, expectedModel.getSequence(expectedID));
+			}
+			if ((fullComparisonInterval > 0) && (step % fullComparisonInterval == 0)) {
+				assertAllSequences();
+			}
+		}
+		assertAllSequences();
+	}
+}